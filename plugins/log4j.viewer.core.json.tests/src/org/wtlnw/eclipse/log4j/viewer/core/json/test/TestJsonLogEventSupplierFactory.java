@@ -15,13 +15,24 @@
 package org.wtlnw.eclipse.log4j.viewer.core.json.test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Semaphore;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
@@ -29,12 +40,24 @@ import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.JsonLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.spi.MutableThreadContextStack;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventFrameReader;
 import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.FramingLogEventSupplier;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.LogEventSupplier;
 import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventServer;
 import org.wtlnw.eclipse.log4j.viewer.core.impl.SerializedLogEventSupplierFactory;
 import org.wtlnw.eclipse.log4j.viewer.core.json.impl.JsonLogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.json.impl.StreamingJsonLogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.load.LoadGenerator;
 
 /**
  * Tests for {@link JsonLogEventSupplierFactory}.
@@ -118,6 +141,313 @@ public class TestJsonLogEventSupplierFactory {
 		runWithConfiguration(config(CONFIG_SERIALIZED), new JsonLogEventSupplierFactory(), new SerializedLogEventSupplierFactory());
 	}
 
+	@Test
+	void testStreamingComplete() throws IOException, InterruptedException {
+		runWithConfiguration(config(CONFIG_COMPLETE), new StreamingJsonLogEventSupplierFactory());
+	}
+
+	@Test
+	void testStreamingFragments() throws IOException, InterruptedException {
+		runWithConfiguration(config(CONFIG_FRAGMENTS), new StreamingJsonLogEventSupplierFactory());
+	}
+
+	@Test
+	void testStreamingMultiSuppliers1() throws IOException, InterruptedException {
+		runWithConfiguration(config(CONFIG_FRAGMENTS), new SerializedLogEventSupplierFactory(), new StreamingJsonLogEventSupplierFactory());
+	}
+
+	@Test
+	void testStreamingMultiSuppliers2() throws IOException, InterruptedException {
+		runWithConfiguration(config(CONFIG_SERIALIZED), new StreamingJsonLogEventSupplierFactory(), new SerializedLogEventSupplierFactory());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void testStreamingEquivalence() throws IOException {
+		final byte[] data = layout(100);
+		final List<LogEvent> expected = decode(new JsonLogEventSupplierFactory(), data);
+		final List<LogEvent> actual = decode(new StreamingJsonLogEventSupplierFactory(), data);
+
+		Assertions.assertEquals(100, expected.size());
+		Assertions.assertEquals(expected.size(), actual.size());
+
+		// logger names are deduplicated by the string pool
+		Assertions.assertSame(actual.get(0).getLoggerName(), actual.get(1).getLoggerName());
+		for (int i = 0; i < expected.size(); i++) {
+			final LogEvent e = expected.get(i);
+			final LogEvent a = actual.get(i);
+			Assertions.assertEquals(e.getInstant(), a.getInstant());
+			Assertions.assertEquals(e.getLevel(), a.getLevel());
+			Assertions.assertEquals(e.getLoggerName(), a.getLoggerName());
+			Assertions.assertEquals(e.getLoggerFqcn(), a.getLoggerFqcn());
+			Assertions.assertEquals(e.getThreadName(), a.getThreadName());
+			Assertions.assertEquals(e.getThreadId(), a.getThreadId());
+			Assertions.assertEquals(e.getThreadPriority(), a.getThreadPriority());
+			Assertions.assertEquals(e.getMarker(), a.getMarker());
+			Assertions.assertEquals(e.getMessage().getFormattedMessage(), a.getMessage().getFormattedMessage());
+			Assertions.assertEquals(e.getContextData().toMap(), a.getContextData().toMap());
+			Assertions.assertEquals(e.getSource(), a.getSource());
+			if (e.getThrownProxy() == null) {
+				Assertions.assertNull(a.getThrownProxy());
+			} else {
+				Assertions.assertEquals(e.getThrownProxy().getExtendedStackTraceAsString(), a.getThrownProxy().getExtendedStackTraceAsString());
+			}
+		}
+	}
+
+	@Test
+	void testStreamingAllocation() throws Exception {
+		final int count = 50_000;
+		final byte[] data = layout(count);
+
+		// warm up both suppliers in order not to count class loading
+		decode(new JsonLogEventSupplierFactory(), data);
+		decode(new StreamingJsonLogEventSupplierFactory(), data);
+
+		final long[] binding = measure(new JsonLogEventSupplierFactory(), data, count);
+		final long[] streaming = measure(new StreamingJsonLogEventSupplierFactory(), data, count);
+
+		// the streaming decoder neither builds a tree nor binds to beans
+		Assertions.assertTrue(streaming[1] < binding[1],
+				"streaming " + streaming[1] / count + " bytes/event, data binding " + binding[1] / count + " bytes/event");
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testStreamingThroughput() throws Exception {
+		final int count = 50_000;
+		final byte[] data = layout(count);
+
+		// both suppliers decode on the calling thread, so the best of several
+		// rounds after the warm-up compares the events/s of a single core
+		long binding = Long.MAX_VALUE;
+		long streaming = Long.MAX_VALUE;
+		for (int i = 0; i < 8; i++) {
+			final long b = measure(new JsonLogEventSupplierFactory(), data, count)[0];
+			final long s = measure(new StreamingJsonLogEventSupplierFactory(), data, count)[0];
+			if (i >= 3) {
+				binding = Math.min(binding, b);
+				streaming = Math.min(streaming, s);
+			}
+		}
+
+		// the streaming decoder has to at least double the events/s per core
+		Assertions.assertTrue(streaming * 2 <= binding,
+				"streaming " + streaming / 1_000_000 + " ms, data binding " + binding / 1_000_000 + " ms");
+	}
+
+	private long[] measure(final LogEventSupplierFactory factory, final byte[] data, final int count) throws Exception {
+		final long allocated = allocatedBytes();
+		final long start = System.nanoTime();
+		final List<LogEvent> events = decode(factory, data);
+		final long elapsed = System.nanoTime() - start;
+		final long bytes = allocatedBytes() - allocated;
+
+		Assertions.assertEquals(count, events.size());
+		return new long[] { elapsed, bytes };
+	}
+
+	private long allocatedBytes() throws JMException {
+		// use the platform MBean server in order not to depend on com.sun.management
+		final Object allocated = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME), "CurrentThreadAllocatedBytes");
+		Assumptions.assumeTrue(allocated instanceof Long value && value.longValue() >= 0);
+		return ((Long) allocated).longValue();
+	}
+
+	private List<LogEvent> decode(final LogEventSupplierFactory factory, final byte[] data) throws IOException {
+		final List<LogEvent> events = new ArrayList<>();
+		final LogEventSupplier supplier = factory.get(new ByteArrayInputStream(data));
+		Assertions.assertNotNull(supplier);
+		try {
+			while (true) {
+				events.add(supplier.get());
+			}
+		} catch (final EOFException ex) {
+			// end of data reached
+		}
+		return events;
+	}
+
+	private byte[] layout(final int count) {
+		final JsonLayout layout = JsonLayout.newBuilder()
+				.setCompact(true)
+				.setEventEol(true)
+				.setLocationInfo(true)
+				.setProperties(true)
+				.build();
+		final RuntimeException thrown = new RuntimeException("Failure", new IllegalStateException("Cause"));
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (int i = 0; i < count; i++) {
+			final SortedArrayStringMap context = new SortedArrayStringMap();
+			context.putValue("request", "r" + (i % 7));
+			context.putValue("user", "u" + (i % 3));
+
+			final LogEvent event = Log4jLogEvent.newBuilder()
+					.setLoggerName(TestJsonLogEventSupplierFactory.class.getName())
+					.setLoggerFqcn(Logger.class.getName())
+					.setLevel(i % 10 == 0 ? Level.WARN : Level.INFO)
+					.setMarker(i % 5 == 0 ? MarkerManager.getMarker("AUDIT") : null)
+					.setMessage(new SimpleMessage("Message " + i))
+					.setThrown(i % 20 == 0 ? thrown : null)
+					.setContextData(context)
+					.setContextStack(new MutableThreadContextStack(List.of("outer", "inner")))
+					.setSource(new StackTraceElement(TestJsonLogEventSupplierFactory.class.getName(), "layout", "TestJsonLogEventSupplierFactory.java", i))
+					.setThreadName("worker-" + (i % 4))
+					.setThreadId(i % 4)
+					.setThreadPriority(5)
+					.setTimeMillis(System.currentTimeMillis())
+					.build();
+			bytes.writeBytes(layout.toByteArray(event));
+		}
+		return bytes.toByteArray();
+	}
+
+	@Test
+	void testFrameReader() throws IOException {
+		final byte[] data = "[{\"message\":\"a}\\\"{[\"},\n{\"message\":\"b\",\"contextStack\":[\"]\"]}\n]".getBytes(StandardCharsets.UTF_8);
+		final LogEventSupplier supplier = new StreamingJsonLogEventSupplierFactory().get(new ByteArrayInputStream(data));
+		final FramingLogEventSupplier framing = Assertions.assertInstanceOf(FramingLogEventSupplier.class, supplier);
+		final LogEventFrameReader reader = framing.getFrameReader();
+		Assertions.assertEquals("a}\"{[", framing.decode(reader.next()).getMessage().getFormattedMessage());
+		Assertions.assertEquals("b", framing.decode(reader.next()).getMessage().getFormattedMessage());
+		Assertions.assertThrows(EOFException.class, reader::next);
+	}
+
+	@Test
+	void testParallelParsing() throws Exception {
+		final int count = 10_000;
+		final byte[] data = layout(count);
+
+		final List<LogEvent> events = new ArrayList<>();
+		runWithParserThreads(data, 4, events);
+
+		Assertions.assertEquals(count, events.size());
+		for (int i = 0; i < count; i++) {
+			Assertions.assertEquals("Message " + i, events.get(i).getMessage().getFormattedMessage());
+		}
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testParallelThroughput() throws Exception {
+		final int count = 50_000;
+		final byte[] data = layout(count);
+		final int threads = Runtime.getRuntime().availableProcessors();
+
+		Assumptions.assumeTrue(threads >= 4, "parallel parsing requires at least four processors");
+
+		// one round starts the parser threads and compiles both paths, after it
+		// the fastest of four runs per pipeline is compared
+		long sequential = Long.MAX_VALUE;
+		long parallel = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			final long s = runWithParserThreads(data, 0, new ArrayList<>());
+			final long p = runWithParserThreads(data, threads, new ArrayList<>());
+			if (i > 0) {
+				sequential = Math.min(sequential, s);
+				parallel = Math.min(parallel, p);
+			}
+		}
+
+		// framing only tracks the brace depth of the bytes, so decoding the
+		// frames on four or more cores has to cut the time by at least a third
+		Assertions.assertTrue(parallel < sequential * 2 / 3,
+				threads + " parser threads " + parallel / 1_000_000 + " ms, sequential " + sequential / 1_000_000 + " ms");
+	}
+
+	private long runWithParserThreads(final byte[] data, final int parserThreads, final List<LogEvent> events) throws Exception {
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = new ArrayList<>();
+		final LogEventServer server = new LogEventServer(List.of(new StreamingJsonLogEventSupplierFactory()), events::add);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setParserThreads(parserThreads);
+		server.start();
+
+		final long start = System.nanoTime();
+		try {
+			try (final Socket socket = new Socket("localhost", server.getPort())) {
+				socket.getOutputStream().write(data);
+			}
+			sema.acquire();
+		} finally {
+			server.stop();
+		}
+		final long elapsed = System.nanoTime() - start;
+
+		if (!errors.isEmpty()) {
+			Assertions.fail(errors.getFirst());
+		}
+		return elapsed;
+	}
+
+	@Test
+	void testLoadGenerator() throws Exception {
+		final LoadGenerator generator = new LoadGenerator();
+		generator.setLayout(LoadGenerator.Layout.JSON);
+		generator.setConnections(2);
+		generator.setEvents(2_000);
+		generator.setThrowableRatio(0.1);
+
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final LogEventServer server = new LogEventServer(List.of(new JsonLogEventSupplierFactory()), generator);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+		});
+		server.start();
+
+		final LoadGenerator.Report report;
+		try {
+			report = generator.run("localhost", server.getPort());
+		} finally {
+			server.stop();
+		}
+
+		if (!errors.isEmpty()) {
+			Assertions.fail(errors.getFirst());
+		}
+		Assertions.assertEquals(2_000, report.received());
+		Assertions.assertEquals(200, report.thrown());
+		Assertions.assertTrue(report.p50() <= report.p99() && report.p99() <= report.p999(), report.toString());
+		Assertions.assertTrue(report.eventsPerSecond() > 0, report.toString());
+	}
+
+	@Test
+	void testFirstEventLatency() throws Exception {
+		final LoadGenerator generator = new LoadGenerator();
+		generator.setLayout(LoadGenerator.Layout.JSON);
+		generator.setEvents(1);
+
+		final LogEventServer server = new LogEventServer(List.of(new JsonLogEventSupplierFactory()), generator);
+		// deliver single events right away
+		server.setBatchDelay(0);
+		server.start();
+
+		final int samples = 50;
+		final long[] latencies = new long[samples];
+		try {
+			for (int i = 0; i < samples; i++) {
+				final LoadGenerator.Report report = generator.run("localhost", server.getPort());
+				Assertions.assertEquals(1, report.received());
+				latencies[i] = report.firstNanos();
+			}
+		} finally {
+			server.stop();
+		}
+
+		// the shared readers are warmed up once, connections do not pay for
+		// it again
+		Arrays.sort(latencies);
+		Assertions.assertTrue(latencies[samples / 2] < 100_000_000L, "connect to first event " + latencies[samples / 2] / 1_000_000 + " ms (median)");
+	}
+
 	@SuppressWarnings("deprecation")
 	private void runWithConfiguration(final Configuration config, final LogEventSupplierFactory... factories) throws IOException, InterruptedException {
 		// use a semaphore to block until the handler thread fails
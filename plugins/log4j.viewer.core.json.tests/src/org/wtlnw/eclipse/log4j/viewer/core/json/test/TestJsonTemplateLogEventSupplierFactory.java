@@ -0,0 +1,445 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.json.test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ExtendedStackTraceElement;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.core.layout.JsonLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventFrameReader;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.FramingLogEventSupplier;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.LogEventSupplier;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventServer;
+import org.wtlnw.eclipse.log4j.viewer.core.json.impl.JsonTemplateLogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.json.impl.JsonTemplateMapping;
+import org.wtlnw.eclipse.log4j.viewer.core.json.impl.StreamingJsonLogEventSupplierFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Tests for {@link JsonTemplateLogEventSupplierFactory}.
+ */
+public class TestJsonTemplateLogEventSupplierFactory {
+
+	private static final JsonFactory FACTORY = new JsonFactory();
+
+	private static final long EPOCH_MILLIS = 1_700_000_000_123L;
+
+	private static final Throwable THROWN = thrown();
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void testEcs() throws IOException {
+		final List<LogEvent> events = decode(new JsonTemplateLogEventSupplierFactory(), ecs(100));
+		Assertions.assertEquals(100, events.size());
+
+		for (int i = 0; i < events.size(); i++) {
+			final LogEvent event = events.get(i);
+			Assertions.assertEquals(EPOCH_MILLIS + i, event.getTimeMillis());
+			Assertions.assertEquals(i % 10 == 0 ? Level.WARN : Level.INFO, event.getLevel());
+			Assertions.assertEquals(TestJsonTemplateLogEventSupplierFactory.class.getName(), event.getLoggerName());
+			Assertions.assertEquals("worker-" + (i % 4), event.getThreadName());
+			Assertions.assertEquals("Message " + i, event.getMessage().getFormattedMessage());
+			Assertions.assertEquals(Map.of("request", "r" + (i % 7), "tenant", "t" + (i % 2), "service.name", "viewer"), event.getContextData().toMap());
+			if (i % 20 == 0) {
+				assertThrown(event.getThrownProxy());
+			} else {
+				Assertions.assertNull(event.getThrownProxy());
+			}
+		}
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void testGelf() throws IOException {
+		final List<LogEvent> events = decode(new JsonTemplateLogEventSupplierFactory(), gelf(100));
+		Assertions.assertEquals(100, events.size());
+
+		for (int i = 0; i < events.size(); i++) {
+			final LogEvent event = events.get(i);
+			Assertions.assertEquals(EPOCH_MILLIS + i, event.getTimeMillis());
+			Assertions.assertEquals(i % 10 == 0 ? Level.WARN : Level.INFO, event.getLevel());
+			Assertions.assertEquals(TestJsonTemplateLogEventSupplierFactory.class.getName(), event.getLoggerName());
+			Assertions.assertEquals("worker-" + (i % 4), event.getThreadName());
+			Assertions.assertEquals("Message " + i, event.getMessage().getFormattedMessage());
+			Assertions.assertEquals(Map.of("request", "r" + (i % 7)), event.getContextData().toMap());
+			if (i % 20 == 0) {
+				assertThrown(event.getThrownProxy());
+			} else {
+				Assertions.assertNull(event.getThrownProxy());
+			}
+		}
+	}
+
+	@Test
+	void testCustomMapping() throws IOException {
+		final JsonTemplateMapping mapping = JsonTemplateMapping.newBuilder("Custom", "app")
+				.setTimestamp("ts", TimeUnit.SECONDS)
+				.setLevel("severity")
+				.setMessage("text")
+				.build();
+		final byte[] data = "{\"app\":\"viewer\",\"ts\":1700000000.5,\"severity\":\"ERROR\",\"text\":\"custom\"}\n".getBytes(StandardCharsets.UTF_8);
+
+		// the default mappings do not recognize the signature
+		Assertions.assertNull(new JsonTemplateLogEventSupplierFactory().get(new ByteArrayInputStream(data)));
+
+		final List<LogEvent> events = decode(new JsonTemplateLogEventSupplierFactory(mapping), data);
+		Assertions.assertEquals(1, events.size());
+		Assertions.assertEquals(1_700_000_000_500L, events.getFirst().getTimeMillis());
+		Assertions.assertEquals(Level.ERROR, events.getFirst().getLevel());
+		Assertions.assertEquals("custom", events.getFirst().getMessage().getFormattedMessage());
+	}
+
+	@Test
+	void testProbe() throws IOException {
+		final JsonTemplateLogEventSupplierFactory factory = new JsonTemplateLogEventSupplierFactory();
+
+		// JsonLayout events, both compact and pretty printed, are left to the other factories
+		final byte[] compact = jsonLayoutEvent(true);
+		final InputStream stream = new ByteArrayInputStream(compact);
+		Assertions.assertNull(factory.get(stream));
+		Assertions.assertArrayEquals(compact, stream.readAllBytes());
+		Assertions.assertNull(factory.get(new ByteArrayInputStream(jsonLayoutEvent(false))));
+		Assertions.assertNotNull(new StreamingJsonLogEventSupplierFactory().get(new ByteArrayInputStream(compact)));
+
+		// streams of other formats are declined without waiting for a newline
+		Assertions.assertNull(factory.get(new ByteArrayInputStream(new byte[] { (byte) 0xAC, (byte) 0xED, 0, 5 })));
+		Assertions.assertNull(factory.get(new ByteArrayInputStream("<Event".getBytes(StandardCharsets.UTF_8))));
+		Assertions.assertNull(factory.get(new ByteArrayInputStream(new byte[0])));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> factory.get(new BufferedInputStream(InputStream.nullInputStream()) {
+			@Override
+			public boolean markSupported() {
+				return false;
+			}
+		}));
+	}
+
+	@Test
+	void testProbeWithoutNewline() throws Exception {
+		final Semaphore sema = new Semaphore(0);
+		final List<LogEvent> events = new CopyOnWriteArrayList<>();
+		final LogEventServer server = new LogEventServer(List.of(new JsonTemplateLogEventSupplierFactory(), new StreamingJsonLogEventSupplierFactory()), event -> {
+			events.add(event);
+			sema.release();
+		});
+		server.start();
+
+		// a compact JsonLayout event without eventEol is decoded while the
+		// connection is still open
+		try (final Socket socket = new Socket("localhost", server.getPort())) {
+			final JsonLayout layout = JsonLayout.newBuilder().setCompact(true).build();
+			socket.getOutputStream().write(layout.toByteArray(Log4jLogEvent.newBuilder()
+					.setLoggerName(TestJsonTemplateLogEventSupplierFactory.class.getName())
+					.setLevel(Level.INFO)
+					.setMessage(new SimpleMessage("Message"))
+					.build()));
+			socket.getOutputStream().flush();
+			Assertions.assertTrue(sema.tryAcquire(10, TimeUnit.SECONDS));
+		} finally {
+			server.stop();
+		}
+		Assertions.assertEquals("Message", events.getFirst().getMessage().getFormattedMessage());
+	}
+
+	@Test
+	void testFrameReader() throws IOException {
+		final String first = "{\"ecs.version\":\"1.2.0\",\"message\":\"a\"}";
+		final String second = "{\"ecs.version\":\"1.2.0\",\"message\":\"b\\nc\"}";
+		final String third = "{\"ecs.version\":\"1.2.0\",\"message\":\"d\"}";
+
+		// null delimiters, blank lines, CRLF and a last line without newline
+		final byte[] data = (first + "\n\0" + second + "\r\n\n \n" + third).getBytes(StandardCharsets.UTF_8);
+		final LogEventSupplier supplier = new JsonTemplateLogEventSupplierFactory().get(new ByteArrayInputStream(data));
+		final FramingLogEventSupplier framing = Assertions.assertInstanceOf(FramingLogEventSupplier.class, supplier);
+		final LogEventFrameReader reader = framing.getFrameReader();
+		Assertions.assertEquals("a", framing.decode(reader.next()).getMessage().getFormattedMessage());
+		Assertions.assertEquals("b\nc", framing.decode(reader.next()).getMessage().getFormattedMessage());
+		Assertions.assertEquals("d", framing.decode(reader.next()).getMessage().getFormattedMessage());
+		Assertions.assertThrows(EOFException.class, reader::next);
+	}
+
+	@Test
+	void testParallelParsing() throws Exception {
+		final int count = 10_000;
+		final byte[] data = ecs(count);
+
+		final List<LogEvent> events = new ArrayList<>();
+		runWithParserThreads(new JsonTemplateLogEventSupplierFactory(), data, 4, events);
+
+		Assertions.assertEquals(count, events.size());
+		for (int i = 0; i < count; i++) {
+			Assertions.assertEquals("Message " + i, events.get(i).getMessage().getFormattedMessage());
+		}
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testThroughput() throws Exception {
+		final int count = 50_000;
+		final byte[] template = ecs(count);
+		final byte[] layout = jsonLayout(count);
+
+		// warm up both decoders before measuring
+		for (int i = 0; i < 3; i++) {
+			decode(new StreamingJsonLogEventSupplierFactory(), layout);
+			decode(new JsonTemplateLogEventSupplierFactory(), template);
+		}
+
+		// the best of several runs
+		long streaming = Long.MAX_VALUE;
+		long ndjson = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			long start = System.nanoTime();
+			Assertions.assertEquals(count, decode(new StreamingJsonLogEventSupplierFactory(), layout).size());
+			streaming = Math.min(streaming, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			Assertions.assertEquals(count, decode(new JsonTemplateLogEventSupplierFactory(), template).size());
+			ndjson = Math.min(ndjson, System.nanoTime() - start);
+		}
+
+		// splitting on newline bytes replaces the brace counting of the
+		// JsonLayout decoder, which makes NDJSON the fastest path to ingest
+		Assertions.assertTrue(ndjson <= streaming,
+				"ECS template " + ndjson / 1_000_000 + " ms, JsonLayout streaming " + streaming / 1_000_000 + " ms");
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testParallelThroughput() throws Exception {
+		final int count = 50_000;
+		final byte[] template = ecs(count);
+		final int threads = Runtime.getRuntime().availableProcessors();
+
+		Assumptions.assumeTrue(threads >= 4, "parallel parsing requires at least four processors");
+
+		// both pipelines receive the events over a connection, the first round
+		// is discarded as warm-up
+		long sequential = Long.MAX_VALUE;
+		long parallel = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			final long s = runWithParserThreads(new JsonTemplateLogEventSupplierFactory(), template, 0, new ArrayList<>());
+			final long p = runWithParserThreads(new JsonTemplateLogEventSupplierFactory(), template, threads, new ArrayList<>());
+			if (i > 0) {
+				sequential = Math.min(sequential, s);
+				parallel = Math.min(parallel, p);
+			}
+		}
+
+		// finding a newline is even cheaper than tracking the brace depth, so
+		// the same speedup as for JsonLayout frames is due
+		Assertions.assertTrue(parallel < sequential * 2 / 3,
+				"ECS template with " + threads + " parser threads " + parallel / 1_000_000 + " ms, sequential " + sequential / 1_000_000 + " ms");
+	}
+
+	private void assertThrown(final ThrowableProxy proxy) {
+		final Throwable expected = THROWN;
+		Assertions.assertNotNull(proxy);
+		Assertions.assertEquals(expected.getClass().getName(), proxy.getName());
+		Assertions.assertEquals(expected.getMessage(), proxy.getMessage());
+		Assertions.assertEquals(expected.getStackTrace().length, proxy.getExtendedStackTrace().length);
+
+		// compare without the class loader name which may be part of the original frame
+		final StackTraceElement top = expected.getStackTrace()[0];
+		final ExtendedStackTraceElement parsed = proxy.getExtendedStackTrace()[0];
+		Assertions.assertEquals(top.getClassName(), parsed.getClassName());
+		Assertions.assertEquals(top.getMethodName(), parsed.getMethodName());
+		Assertions.assertEquals(top.getFileName(), parsed.getFileName());
+		Assertions.assertEquals(top.getLineNumber(), parsed.getLineNumber());
+		Assertions.assertEquals(expected.getCause().getClass().getName(), proxy.getCauseProxy().getName());
+		Assertions.assertEquals(expected.getCause().getMessage(), proxy.getCauseProxy().getMessage());
+		Assertions.assertTrue(proxy.getCauseProxy().getCommonElementCount() > 0);
+	}
+
+	private long runWithParserThreads(final LogEventSupplierFactory factory, final byte[] data, final int parserThreads, final List<LogEvent> events) throws Exception {
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = new ArrayList<>();
+		final LogEventServer server = new LogEventServer(List.of(factory), events::add);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setParserThreads(parserThreads);
+		server.start();
+
+		final long start = System.nanoTime();
+		try {
+			try (final Socket socket = new Socket("localhost", server.getPort())) {
+				socket.getOutputStream().write(data);
+			}
+			sema.acquire();
+		} finally {
+			server.stop();
+		}
+		final long elapsed = System.nanoTime() - start;
+
+		if (!errors.isEmpty()) {
+			Assertions.fail(errors.getFirst());
+		}
+		return elapsed;
+	}
+
+	private List<LogEvent> decode(final LogEventSupplierFactory factory, final byte[] data) throws IOException {
+		final List<LogEvent> events = new ArrayList<>();
+		final LogEventSupplier supplier = factory.get(new ByteArrayInputStream(data));
+		Assertions.assertNotNull(supplier);
+		try {
+			while (true) {
+				events.add(supplier.get());
+			}
+		} catch (final EOFException ex) {
+			// end of data reached
+		}
+		return events;
+	}
+
+	private static Throwable thrown() {
+		final RuntimeException thrown = new RuntimeException("Failure\nspanning two lines", new IllegalStateException("Cause"));
+		thrown.addSuppressed(new IOException("Suppressed"));
+		return thrown;
+	}
+
+	private String stackTrace() {
+		final StringWriter writer = new StringWriter();
+		THROWN.printStackTrace(new PrintWriter(writer));
+		return writer.toString();
+	}
+
+	/**
+	 * @return events in the format of the {@code EcsLayout.json} template
+	 */
+	private byte[] ecs(final int count) throws IOException {
+		final String stackTrace = stackTrace();
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (int i = 0; i < count; i++) {
+			try (final JsonGenerator generator = FACTORY.createGenerator(bytes)) {
+				generator.writeStartObject();
+				generator.writeStringField("@timestamp", Instant.ofEpochMilli(EPOCH_MILLIS + i).toString());
+				generator.writeStringField("ecs.version", "1.2.0");
+				generator.writeStringField("log.level", i % 10 == 0 ? "WARN" : "INFO");
+				generator.writeStringField("message", "Message " + i);
+				generator.writeStringField("process.thread.name", "worker-" + (i % 4));
+				generator.writeStringField("log.logger", TestJsonTemplateLogEventSupplierFactory.class.getName());
+				generator.writeStringField("request", "r" + (i % 7));
+				generator.writeObjectFieldStart("labels");
+				generator.writeStringField("tenant", "t" + (i % 2));
+				generator.writeEndObject();
+				generator.writeArrayFieldStart("tags");
+				generator.writeString("outer");
+				generator.writeEndArray();
+				generator.writeStringField("service.name", "viewer");
+				if (i % 20 == 0) {
+					generator.writeStringField("error.type", RuntimeException.class.getName());
+					generator.writeStringField("error.message", "Failure");
+					generator.writeStringField("error.stack_trace", stackTrace);
+				}
+				generator.writeEndObject();
+			}
+			bytes.write('\n');
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * @return events in the format of the {@code GelfLayout.json} template
+	 */
+	private byte[] gelf(final int count) throws IOException {
+		final String stackTrace = stackTrace();
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (int i = 0; i < count; i++) {
+			try (final JsonGenerator generator = FACTORY.createGenerator(bytes)) {
+				generator.writeStartObject();
+				generator.writeStringField("version", "1.1");
+				generator.writeStringField("host", "localhost");
+				generator.writeStringField("short_message", "Message " + i);
+				if (i % 20 == 0) {
+					generator.writeStringField("full_message", stackTrace);
+				}
+				generator.writeNumberField("timestamp", new BigDecimal(EPOCH_MILLIS + i).movePointLeft(3));
+				generator.writeNumberField("level", i % 10 == 0 ? 4 : 6);
+				generator.writeStringField("_logger", TestJsonTemplateLogEventSupplierFactory.class.getName());
+				generator.writeStringField("_thread", "worker-" + (i % 4));
+				generator.writeStringField("_request", "r" + (i % 7));
+				generator.writeEndObject();
+			}
+			// GELF over TCP requires null delimiters in addition to newlines
+			bytes.write('\n');
+			bytes.write(0);
+		}
+		return bytes.toByteArray();
+	}
+
+	private byte[] jsonLayoutEvent(final boolean compact) {
+		final JsonLayout layout = JsonLayout.newBuilder()
+				.setCompact(compact)
+				.setEventEol(true)
+				.build();
+		final LogEvent event = Log4jLogEvent.newBuilder()
+				.setLoggerName(TestJsonTemplateLogEventSupplierFactory.class.getName())
+				.setLevel(Level.INFO)
+				.setMessage(new SimpleMessage("Message"))
+				.build();
+		return layout.toByteArray(event);
+	}
+
+	private byte[] jsonLayout(final int count) {
+		final JsonLayout layout = JsonLayout.newBuilder()
+				.setCompact(true)
+				.setEventEol(true)
+				.build();
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (int i = 0; i < count; i++) {
+			final LogEvent event = Log4jLogEvent.newBuilder()
+					.setLoggerName(TestJsonTemplateLogEventSupplierFactory.class.getName())
+					.setLevel(i % 10 == 0 ? Level.WARN : Level.INFO)
+					.setMessage(new SimpleMessage("Message " + i))
+					.setThreadName("worker-" + (i % 4))
+					.setTimeMillis(EPOCH_MILLIS + i)
+					.build();
+			bytes.writeBytes(layout.toByteArray(event));
+		}
+		return bytes.toByteArray();
+	}
+}
@@ -26,12 +26,57 @@ import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 /**
  * {@link LogEventSupplierFactory} implementation for JsonLayout based {@link LogEvent}s.
  */
 public class JsonLogEventSupplierFactory implements LogEventSupplierFactory {
 
+	/**
+	 * A synthetic event touching all commonly used properties, it is read once
+	 * in order to have Jackson build its deserializers up-front.
+	 */
+	private static final String WARM_UP_EVENT = """
+			{"instant":{"epochSecond":0,"nanoOfSecond":0},"thread":"main","level":"INFO","loggerName":"warm-up",\
+			"marker":{"name":"warm-up"},"message":"warm-up","thrown":{"commonElementCount":0,"message":"warm-up",\
+			"name":"java.lang.RuntimeException","extendedStackTrace":[{"class":"warm.Up","method":"run","file":"Up.java",\
+			"line":1,"exact":false,"location":"?","version":"?"}]},"contextMap":{"key":"value"},"contextStack":["warm-up"],\
+			"endOfBatch":false,"loggerFqcn":"warm.Up","threadId":1,"threadPriority":5,\
+			"source":{"class":"warm.Up","method":"run","file":"Up.java","line":1}}
+			""";
+
+	/**
+	 * The {@link ObjectReader} shared by all connections.
+	 *
+	 * <p>
+	 * Note: {@link ObjectReader}s are immutable and thread-safe and share the
+	 * deserializers built by their mapper, thus creating the reader once and
+	 * warming it up when the factory is instantiated upon bundle activation
+	 * spares each connection the expensive deserializer introspection.
+	 * </p>
+	 */
+	private static final ObjectReader READER = createReader();
+
+	/**
+	 * @return a new warmed up {@link ObjectReader} for {@link Log4jLogEvent}s
+	 */
+	private static ObjectReader createReader() {
+		final ObjectReader reader = new Log4jJsonObjectMapper()
+				.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+				.readerFor(Log4jLogEvent.class);
+
+		try (final MappingIterator<LogEvent> events = reader.readValues(WARM_UP_EVENT)) {
+			while (events.hasNext()) {
+				events.next();
+			}
+		} catch (final IOException | RuntimeException ex) {
+			// warming up is an optimization only, the reader works nonetheless
+		}
+
+		return reader;
+	}
+
 	@Override
 	public LogEventSupplier get(final InputStream stream) throws IOException {
 		if (!stream.markSupported()) {
@@ -49,10 +94,7 @@ public class JsonLogEventSupplierFactory implements LogEventSupplierFactory {
 				stream.reset();
 
 				// initialize the reader with the reset stream for reading multiple events
-				final MappingIterator<LogEvent> reader = new Log4jJsonObjectMapper()
-						.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-						.readerFor(Log4jLogEvent.class)
-						.readValues(stream);
+				final MappingIterator<LogEvent> reader = READER.readValues(stream);
 
 				// that's the actual LogEventSupplier implementation as lambda
 				return () -> {
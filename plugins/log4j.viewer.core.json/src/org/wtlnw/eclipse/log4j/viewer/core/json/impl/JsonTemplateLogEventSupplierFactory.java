@@ -0,0 +1,705 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.json.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.core.jackson.Log4jJsonObjectMapper;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventFrameReader;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LazyLogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.util.StringPool;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * {@link LogEventSupplierFactory} implementation for newline-delimited JSON
+ * events written by {@code JsonTemplateLayout}.
+ *
+ * <p>
+ * Since templates are free to name their fields, the factory is configured
+ * with {@link JsonTemplateMapping}s. A stream is accepted if its first JSON
+ * object contains the {@link JsonTemplateMapping#getSignature()
+ * signature} field of one of them, which is then used for all events of the
+ * stream. By default the mappings of the {@code EcsLayout.json} and
+ * {@code GelfLayout.json} templates shipped with Log4j are supported.
+ * </p>
+ *
+ * <p>
+ * Events are split at newline bytes directly in the buffer read from the
+ * stream and each line is decoded on its own, which allows the server to
+ * decode the events of a single connection in parallel. Stringified stack
+ * traces and context data are retained as raw bytes and decoded by the
+ * {@link LazyLogEvent}s on demand only.
+ * </p>
+ */
+public class JsonTemplateLogEventSupplierFactory implements LogEventSupplierFactory {
+
+	/**
+	 * The maximum number of bytes to read in order to find the first object of
+	 * a stream.
+	 */
+	private static final int PROBE_LIMIT = 1 << 16;
+
+	/**
+	 * The number of nanoseconds per second.
+	 */
+	private static final BigDecimal NANOS_PER_SECOND = BigDecimal.valueOf(1_000_000_000L);
+
+	/**
+	 * The {@link JsonFactory} shared by all connections.
+	 */
+	private static final JsonFactory FACTORY = new JsonFactory();
+
+	/**
+	 * The {@link ObjectMapper} used for stack traces and structured messages.
+	 */
+	private static final ObjectMapper MAPPER = new Log4jJsonObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	/**
+	 * The {@link ObjectReader} used for {@link ThrowableProxy} de-serialization.
+	 */
+	private static final ObjectReader THROWN_READER = MAPPER.readerFor(ThrowableProxy.class);
+
+	/**
+	 * The {@link ObjectReader} used for reading JSON messages as tree.
+	 */
+	private static final ObjectReader TREE_READER = MAPPER.reader();
+
+	/**
+	 * The {@link LazyLogEvent.Decoder} shared by all events.
+	 */
+	private static final LazyLogEvent.Decoder DECODER = new TemplateDecoder();
+
+	/**
+	 * The {@link JsonTemplateMapping}s to probe streams with.
+	 */
+	private final List<JsonTemplateMapping> _mappings;
+
+	/**
+	 * Create a {@link JsonTemplateLogEventSupplierFactory} supporting the
+	 * {@link JsonTemplateMapping#ECS} and {@link JsonTemplateMapping#GELF}
+	 * templates.
+	 */
+	public JsonTemplateLogEventSupplierFactory() {
+		this(JsonTemplateMapping.ECS, JsonTemplateMapping.GELF);
+	}
+
+	/**
+	 * Create a {@link JsonTemplateLogEventSupplierFactory}.
+	 *
+	 * @param mappings the {@link JsonTemplateMapping}s to probe streams with in
+	 *                 the given order
+	 * @throws NullPointerException if any of the given mappings is {@code null}
+	 */
+	public JsonTemplateLogEventSupplierFactory(final JsonTemplateMapping... mappings) throws NullPointerException {
+		_mappings = List.of(mappings);
+	}
+
+	/**
+	 * @return the {@link JsonTemplateMapping}s streams are probed with
+	 */
+	public List<JsonTemplateMapping> getMappings() {
+		return _mappings;
+	}
+
+	@Override
+	public LogEventSupplier get(final InputStream stream) throws IOException {
+		if (!stream.markSupported()) {
+			throw new IllegalArgumentException();
+		}
+
+		stream.mark(PROBE_LIMIT);
+		try {
+			final JsonTemplateMapping mapping = probe(stream);
+			if (mapping != null) {
+				// make sure to reset the stream prior to supplier initialization
+				stream.reset();
+				return new NdjsonLogEventSupplier(stream, mapping);
+			}
+		} catch (final Exception ex) {
+			// failed to read from the stream
+		}
+
+		// either we do not support the stream or we failed reading from it
+		stream.reset();
+		return null;
+	}
+
+	/**
+	 * Read the first JSON object of the given stream and determine the
+	 * {@link JsonTemplateMapping} whose signature field it contains.
+	 *
+	 * @param stream the {@link InputStream} to probe
+	 * @return the {@link JsonTemplateMapping} of the stream's events or
+	 *         {@code null} if the stream does not start with a JSON object with
+	 *         a known signature
+	 * @throws IOException if an error occurred while reading from the stream
+	 */
+	private JsonTemplateMapping probe(final InputStream stream) throws IOException {
+		int b;
+		int read = 0;
+		do {
+			b = stream.read();
+			read++;
+		} while (isBlank(b));
+
+		// do not wait for a newline in streams of other formats
+		if (b != '{') {
+			return null;
+		}
+
+		// frame the first object by its structure rather than by the newline
+		// which compact JsonLayout streams without eventEol never send
+		final ByteArrayOutputStream object = new ByteArrayOutputStream();
+		object.write(b);
+		int depth = 1;
+		boolean string = false;
+		boolean escape = false;
+		while (depth > 0) {
+			b = stream.read();
+			read++;
+			if (b < 0 || read == PROBE_LIMIT) {
+				return null;
+			}
+			object.write(b);
+			if (string) {
+				if (escape) {
+					escape = false;
+				} else if (b == '\\') {
+					escape = true;
+				} else if (b == '"') {
+					string = false;
+				}
+			} else if (b == '"') {
+				string = true;
+			} else if (b == '{' || b == '[') {
+				depth++;
+			} else if (b == '}' || b == ']') {
+				depth--;
+			}
+		}
+
+		final Set<String> fields = new HashSet<>();
+		try (final JsonParser parser = FACTORY.createParser(object.toByteArray())) {
+			parser.nextToken();
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				fields.add(parser.currentName());
+				parser.nextToken();
+				parser.skipChildren();
+			}
+			if (parser.currentToken() != JsonToken.END_OBJECT) {
+				return null;
+			}
+		}
+
+		for (final JsonTemplateMapping mapping : _mappings) {
+			if (fields.contains(mapping.getSignature())) {
+				return mapping;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param b the byte to check
+	 * @return {@code true} if the given byte may precede or follow an event,
+	 *         i.e. is whitespace or the null byte appended by
+	 *         {@code nullEventDelimiterEnabled}
+	 */
+	private static boolean isBlank(final int b) {
+		return b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == 0;
+	}
+
+	/**
+	 * A {@link FramingLogEventSupplier} implementation reading one
+	 * {@link LogEvent} per line.
+	 */
+	private static class NdjsonLogEventSupplier implements FramingLogEventSupplier {
+
+		/**
+		 * The {@link InputStream} to read the events from.
+		 */
+		private final InputStream _stream;
+
+		/**
+		 * The {@link JsonTemplateMapping} of the stream's events.
+		 */
+		private final JsonTemplateMapping _mapping;
+
+		/**
+		 * The {@link NdjsonFrameReader} reading the events sequentially or
+		 * {@code null} if {@link #get()} was not called yet.
+		 */
+		private NdjsonFrameReader _reader;
+
+		/**
+		 * Create a {@link NdjsonLogEventSupplier}.
+		 *
+		 * @param stream  the {@link InputStream} to read the events from
+		 * @param mapping the {@link JsonTemplateMapping} of the stream's events
+		 */
+		NdjsonLogEventSupplier(final InputStream stream, final JsonTemplateMapping mapping) {
+			_stream = stream;
+			_mapping = mapping;
+		}
+
+		@Override
+		public LogEvent get() throws IOException {
+			if (_reader == null) {
+				_reader = new NdjsonFrameReader(_stream);
+			}
+			return decode(_reader.next());
+		}
+
+		@Override
+		public LogEventFrameReader getFrameReader() {
+			return new NdjsonFrameReader(_stream);
+		}
+
+		@Override
+		public LogEvent decode(final byte[] frame) throws IOException {
+			// skip the null byte terminating the previous event, if any
+			int offset = 0;
+			while (offset < frame.length && frame[offset] == 0) {
+				offset++;
+			}
+
+			try (final JsonParser parser = FACTORY.createParser(frame, offset, frame.length - offset)) {
+				return new TemplateEventReader(parser, _mapping).read();
+			}
+		}
+	}
+
+	/**
+	 * A {@link LogEventFrameReader} returning the non-blank lines of a stream.
+	 */
+	private static class NdjsonFrameReader extends LogEventFrameReader {
+
+		/**
+		 * Create a {@link NdjsonFrameReader}.
+		 *
+		 * @param stream the {@link InputStream} to read the frames from
+		 */
+		NdjsonFrameReader(final InputStream stream) {
+			super(stream);
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			while (true) {
+				// a last line without newline is returned as well, decoding
+				// fails if it is truncated
+				final boolean delimited = appendUntil('\n');
+				final byte[] frame = frame();
+				for (final byte b : frame) {
+					if (!isBlank(b)) {
+						return frame;
+					}
+				}
+				if (!delimited) {
+					throw new EOFException();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a single {@link LogEvent} according to a {@link JsonTemplateMapping}.
+	 */
+	private static class TemplateEventReader {
+
+		/**
+		 * The {@link JsonParser} to read the event from.
+		 */
+		private final JsonParser _parser;
+
+		/**
+		 * The {@link JsonTemplateMapping} of the event.
+		 */
+		private final JsonTemplateMapping _mapping;
+
+		/**
+		 * The buffer to copy the event's context data into or {@code null} if no
+		 * context data was read yet.
+		 */
+		private ByteArrayOutputStream _context;
+
+		/**
+		 * The {@link JsonGenerator} writing to {@link #_context}.
+		 */
+		private JsonGenerator _generator;
+
+		/**
+		 * Create a {@link TemplateEventReader}.
+		 *
+		 * @param parser  the {@link JsonParser} to read the event from
+		 * @param mapping the {@link JsonTemplateMapping} of the event
+		 */
+		TemplateEventReader(final JsonParser parser, final JsonTemplateMapping mapping) {
+			_parser = parser;
+			_mapping = mapping;
+		}
+
+		/**
+		 * @return the read {@link LogEvent}
+		 * @throws IOException if an error occurred while reading
+		 */
+		LogEvent read() throws IOException {
+			if (_parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Unexpected token: " + _parser.currentToken());
+			}
+
+			final LazyLogEvent.Builder builder = LazyLogEvent.newBuilder(DECODER);
+
+			// fall back to the time of reception for events without timestamp
+			final MutableInstant instant = new MutableInstant();
+			instant.initFromEpochMilli(System.currentTimeMillis(), 0);
+
+			while (_parser.nextToken() == JsonToken.FIELD_NAME) {
+				final String name = _parser.currentName();
+				if (_parser.nextToken() == JsonToken.VALUE_NULL) {
+					continue;
+				}
+
+				if (name.equals(_mapping.getTimestamp())) {
+					readTimestamp(instant);
+				} else if (name.equals(_mapping.getLevel())) {
+					builder.setLevel(readLevel());
+				} else if (name.equals(_mapping.getLoggerName())) {
+					builder.setLoggerName(StringPool.getDefault().intern(_parser.getText()));
+				} else if (name.equals(_mapping.getThreadName())) {
+					builder.setThreadName(StringPool.getDefault().intern(_parser.getText()));
+				} else if (name.equals(_mapping.getMessage())) {
+					builder.setMessage(new SimpleMessage(readMessage()));
+				} else if (name.equals(_mapping.getStackTrace())) {
+					builder.setThrownBytes(_parser.getText().getBytes(StandardCharsets.UTF_8));
+				} else if (name.equals(_mapping.getContext()) && _parser.currentToken() == JsonToken.START_OBJECT) {
+					while (_parser.nextToken() == JsonToken.FIELD_NAME) {
+						final String key = _parser.currentName();
+						_parser.nextToken();
+						copyContext(key);
+					}
+				} else if (_mapping.getContextPrefix() != null && name.startsWith(_mapping.getContextPrefix()) && !_mapping.isIgnored(name)) {
+					copyContext(name.substring(_mapping.getContextPrefix().length()));
+				} else {
+					_parser.skipChildren();
+				}
+			}
+
+			if (_generator != null) {
+				_generator.writeEndObject();
+				_generator.close();
+				builder.setContextBytes(_context.toByteArray());
+			}
+
+			return builder.setInstant(instant).build();
+		}
+
+		/**
+		 * Read the current value as timestamp into the given {@link MutableInstant}.
+		 *
+		 * @param instant the {@link MutableInstant} to initialize
+		 * @throws IOException if an error occurred while reading
+		 */
+		private void readTimestamp(final MutableInstant instant) throws IOException {
+			if (_parser.currentToken() == JsonToken.VALUE_STRING) {
+				try {
+					final Instant parsed = Instant.parse(_parser.getText());
+					instant.initFromEpochSecond(parsed.getEpochSecond(), parsed.getNano());
+				} catch (final DateTimeException ex) {
+					// keep the time of reception for custom timestamp patterns
+				}
+			} else if (_parser.currentToken().isNumeric()) {
+				final BigDecimal nanos = _parser.getDecimalValue().multiply(BigDecimal.valueOf(_mapping.getTimestampUnit().toNanos(1)));
+				final BigDecimal[] seconds = nanos.divideAndRemainder(NANOS_PER_SECOND);
+				instant.initFromEpochSecond(seconds[0].longValue(), seconds[1].intValue());
+			} else {
+				_parser.skipChildren();
+			}
+		}
+
+		/**
+		 * @return the {@link Level} described by the current value, which is
+		 *         either a level name or a syslog severity code
+		 * @throws IOException if an error occurred while reading
+		 */
+		private Level readLevel() throws IOException {
+			if (_parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+				return switch (_parser.getIntValue()) {
+				case 0, 1, 2 -> Level.FATAL;
+				case 3 -> Level.ERROR;
+				case 4 -> Level.WARN;
+				case 5, 6 -> Level.INFO;
+				default -> Level.DEBUG;
+				};
+			}
+			return Level.toLevel(_parser.getText());
+		}
+
+		/**
+		 * @return the text of the current value which may also be a JSON object
+		 *         for structured messages
+		 * @throws IOException if an error occurred while reading
+		 */
+		private String readMessage() throws IOException {
+			if (_parser.currentToken().isStructStart()) {
+				return TREE_READER.readTree(_parser).toString();
+			}
+			return _parser.getText();
+		}
+
+		/**
+		 * Copy the current value as context data entry without decoding it.
+		 *
+		 * @param key the key of the context data entry
+		 * @throws IOException if an error occurred while reading
+		 */
+		private void copyContext(final String key) throws IOException {
+			if (_generator == null) {
+				_context = new ByteArrayOutputStream();
+				_generator = FACTORY.createGenerator(_context);
+				_generator.writeStartObject();
+			}
+			_generator.writeFieldName(key);
+			_generator.copyCurrentStructure(_parser);
+		}
+	}
+
+	/**
+	 * Parses stack traces in the format of {@link Throwable#printStackTrace()}
+	 * into the JSON representation of {@link ThrowableProxy}s.
+	 */
+	private static class StackTraceParser {
+
+		/**
+		 * The lines of the stack trace.
+		 */
+		private final String[] _lines;
+
+		/**
+		 * The index of the next line to parse.
+		 */
+		private int _index;
+
+		/**
+		 * Create a {@link StackTraceParser}.
+		 *
+		 * @param stackTrace the stack trace to parse
+		 */
+		StackTraceParser(final String stackTrace) {
+			_lines = stackTrace.split("\r?\n");
+		}
+
+		/**
+		 * @return the JSON representation of the outermost throwable
+		 * @throws IOException if the stack trace is empty
+		 */
+		ObjectNode parse() throws IOException {
+			if (_lines.length == 0 || _lines[0].isBlank()) {
+				throw new IOException("Empty stack trace.");
+			}
+			return parseThrowable(_lines[_index++].strip(), "");
+		}
+
+		/**
+		 * Parse a throwable whose header line has already been consumed.
+		 *
+		 * @param header the header line without any prefix, i.e. the throwable's
+		 *               class name optionally followed by its message
+		 * @param indent the indentation of the header line
+		 * @return the JSON representation of the throwable
+		 */
+		private ObjectNode parseThrowable(final String header, final String indent) {
+			final ObjectNode node = MAPPER.createObjectNode();
+			final int colon = header.indexOf(": ");
+			final StringBuilder message = colon < 0 ? null : new StringBuilder(header.substring(colon + 2));
+			node.put("name", colon < 0 ? header : header.substring(0, colon));
+
+			final ArrayNode frames = node.putArray("extendedStackTrace");
+			final ArrayNode suppressed = MAPPER.createArrayNode();
+			final String frame = indent + "\tat ";
+			final String more = indent + "\t... ";
+			final String suppression = indent + "\tSuppressed: ";
+			final String cause = indent + "Caused by: ";
+			while (_index < _lines.length) {
+				final String line = _lines[_index];
+				if (line.startsWith(frame)) {
+					_index++;
+					frames.add(parseFrame(line.substring(frame.length())));
+				} else if (line.startsWith(more)) {
+					_index++;
+					node.put("commonElementCount", parseCount(line.substring(more.length())));
+				} else if (line.startsWith(suppression)) {
+					_index++;
+					suppressed.add(parseThrowable(line.substring(suppression.length()), indent + "\t"));
+				} else if (line.startsWith(cause)) {
+					_index++;
+					node.set("cause", parseThrowable(line.substring(cause.length()), indent));
+					break;
+				} else if (message != null && frames.isEmpty() && !isStructural(line.strip())) {
+					// continuation of a multi-line message
+					_index++;
+					message.append('\n').append(line);
+				} else {
+					// the line belongs to an enclosing throwable
+					break;
+				}
+			}
+
+			if (message != null) {
+				node.put("message", message.toString());
+				node.put("localizedMessage", message.toString());
+			}
+			if (!suppressed.isEmpty()) {
+				node.set("suppressed", suppressed);
+			}
+			return node;
+		}
+
+		/**
+		 * @param line the stripped line to check
+		 * @return {@code true} if the given line is part of the stack trace's
+		 *         structure rather than of a throwable's message
+		 */
+		private static boolean isStructural(final String line) {
+			return line.startsWith("at ") || line.startsWith("... ") || line.startsWith("Caused by: ") || line.startsWith("Suppressed: ");
+		}
+
+		/**
+		 * @param text the text of a stack frame line following {@code "at "}, e.g.
+		 *             {@code "module/org.example.Type.method(Type.java:42) ~[jar:?]"}
+		 * @return the JSON representation of the stack frame
+		 */
+		private static ObjectNode parseFrame(final String text) {
+			final ObjectNode node = MAPPER.createObjectNode();
+			final int open = text.indexOf('(');
+			final int close = open < 0 ? -1 : text.indexOf(')', open);
+			if (close < 0) {
+				node.put("class", text.strip());
+				node.put("method", "");
+				node.put("line", -1);
+				return node;
+			}
+
+			// strip class loader and module prefixes
+			final String qualified = text.substring(text.lastIndexOf('/', open) + 1, open);
+			final int dot = qualified.lastIndexOf('.');
+			node.put("class", dot < 0 ? "" : qualified.substring(0, dot));
+			node.put("method", qualified.substring(dot + 1));
+
+			final String location = text.substring(open + 1, close);
+			final int colon = location.lastIndexOf(':');
+			if ("Native Method".equals(location)) {
+				node.put("line", -2);
+			} else if (colon > 0 && isNumber(location.substring(colon + 1))) {
+				node.put("file", location.substring(0, colon));
+				node.put("line", Integer.parseInt(location.substring(colon + 1)));
+			} else if (!"Unknown Source".equals(location)) {
+				node.put("file", location);
+				node.put("line", -1);
+			} else {
+				node.put("line", -1);
+			}
+			return node;
+		}
+
+		/**
+		 * @param text the text of a line following {@code "... "}, e.g.
+		 *             {@code "3 more"}
+		 * @return the number of frames in common with the enclosing throwable
+		 */
+		private static int parseCount(final String text) {
+			final int space = text.indexOf(' ');
+			final String count = space < 0 ? text : text.substring(0, space);
+			return isNumber(count) ? Integer.parseInt(count) : 0;
+		}
+
+		/**
+		 * @param text the text to check
+		 * @return {@code true} if the given text is a non-negative int
+		 */
+		private static boolean isNumber(final String text) {
+			if (text.isEmpty() || text.length() > 9) {
+				return false;
+			}
+			for (int i = 0; i < text.length(); i++) {
+				if (!Character.isDigit(text.charAt(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * {@link LazyLogEvent.Decoder} implementation for properties retained by
+	 * {@link TemplateEventReader}.
+	 */
+	private static class TemplateDecoder implements LazyLogEvent.Decoder {
+
+		@Override
+		public ThrowableProxy decodeThrown(final byte[] bytes) throws IOException {
+			return THROWN_READER.readValue(new StackTraceParser(new String(bytes, StandardCharsets.UTF_8)).parse());
+		}
+
+		@Override
+		public ReadOnlyStringMap decodeContextData(final byte[] bytes) throws IOException {
+			final SortedArrayStringMap map = new SortedArrayStringMap();
+			try (final JsonParser parser = FACTORY.createParser(bytes)) {
+				if (parser.nextToken() == JsonToken.START_OBJECT) {
+					while (parser.nextToken() == JsonToken.FIELD_NAME) {
+						final String key = StringPool.getDefault().intern(parser.currentName());
+						parser.nextToken();
+						map.putValue(key, parser.currentToken().isStructStart() ? TREE_READER.readTree(parser).toString() : parser.getValueAsString());
+					}
+				}
+			}
+			map.freeze();
+			return map;
+		}
+
+		@Override
+		public StackTraceElement decodeSource(final byte[] bytes) throws IOException {
+			throw new IOException("Source locations are not retained for template based events.");
+		}
+	}
+}
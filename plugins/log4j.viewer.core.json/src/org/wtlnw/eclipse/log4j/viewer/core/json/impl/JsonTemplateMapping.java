@@ -0,0 +1,419 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.json.impl;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.LogEvent;
+
+/**
+ * Instances of this class describe which fields of the events written by a
+ * {@code JsonTemplateLayout} template map to which {@link LogEvent} properties.
+ *
+ * <p>
+ * Mappings for the templates shipped with Log4j are provided as {@link #ECS}
+ * and {@link #GELF}, mappings for custom templates can be created using
+ * {@link #newBuilder(String, String)}.
+ * </p>
+ */
+public class JsonTemplateMapping {
+
+	/**
+	 * The mapping of the {@code EcsLayout.json} template, which is the default
+	 * template of {@code JsonTemplateLayout}.
+	 */
+	public static final JsonTemplateMapping ECS = newBuilder("ECS", "ecs.version")
+			.setTimestamp("@timestamp", TimeUnit.MILLISECONDS)
+			.setLevel("log.level")
+			.setLoggerName("log.logger")
+			.setThreadName("process.thread.name")
+			.setMessage("message")
+			.setStackTrace("error.stack_trace")
+			.setContext("labels", "")
+			.addIgnored("ecs.version", "error.type", "error.message", "tags")
+			.build();
+
+	/**
+	 * The mapping of the {@code GelfLayout.json} template.
+	 */
+	public static final JsonTemplateMapping GELF = newBuilder("GELF", "short_message")
+			.setTimestamp("timestamp", TimeUnit.SECONDS)
+			.setLevel("level")
+			.setLoggerName("_logger")
+			.setThreadName("_thread")
+			.setMessage("short_message")
+			.setStackTrace("full_message")
+			.setContext(null, "_")
+			.build();
+
+	/**
+	 * @see #getName()
+	 */
+	private final String _name;
+
+	/**
+	 * @see #getSignature()
+	 */
+	private final String _signature;
+
+	/**
+	 * @see #getTimestamp()
+	 */
+	private final String _timestamp;
+
+	/**
+	 * @see #getTimestampUnit()
+	 */
+	private final TimeUnit _timestampUnit;
+
+	/**
+	 * @see #getLevel()
+	 */
+	private final String _level;
+
+	/**
+	 * @see #getLoggerName()
+	 */
+	private final String _loggerName;
+
+	/**
+	 * @see #getThreadName()
+	 */
+	private final String _threadName;
+
+	/**
+	 * @see #getMessage()
+	 */
+	private final String _message;
+
+	/**
+	 * @see #getStackTrace()
+	 */
+	private final String _stackTrace;
+
+	/**
+	 * @see #getContext()
+	 */
+	private final String _context;
+
+	/**
+	 * @see #getContextPrefix()
+	 */
+	private final String _contextPrefix;
+
+	/**
+	 * @see #isIgnored(String)
+	 */
+	private final Set<String> _ignored;
+
+	/**
+	 * Create a {@link JsonTemplateMapping}.
+	 *
+	 * @param builder the {@link Builder} providing the receiver's properties
+	 */
+	private JsonTemplateMapping(final Builder builder) {
+		_name = builder._name;
+		_signature = builder._signature;
+		_timestamp = builder._timestamp;
+		_timestampUnit = builder._timestampUnit;
+		_level = builder._level;
+		_loggerName = builder._loggerName;
+		_threadName = builder._threadName;
+		_message = builder._message;
+		_stackTrace = builder._stackTrace;
+		_context = builder._context;
+		_contextPrefix = builder._contextPrefix;
+		_ignored = Set.copyOf(builder._ignored);
+	}
+
+	/**
+	 * @param name      see {@link #getName()}
+	 * @param signature see {@link #getSignature()}
+	 * @return a new {@link Builder} for {@link JsonTemplateMapping}s
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 */
+	public static Builder newBuilder(final String name, final String signature) throws NullPointerException {
+		return new Builder(Objects.requireNonNull(name), Objects.requireNonNull(signature));
+	}
+
+	/**
+	 * @return the name of the template for display purposes
+	 */
+	public String getName() {
+		return _name;
+	}
+
+	/**
+	 * @return the name of the field whose presence identifies events written by
+	 *         the template
+	 */
+	public String getSignature() {
+		return _signature;
+	}
+
+	/**
+	 * @return the name of the field containing the event's timestamp, either as
+	 *         ISO-8601 string or as number in {@link #getTimestampUnit()} since
+	 *         epoch, or {@code null}
+	 */
+	public String getTimestamp() {
+		return _timestamp;
+	}
+
+	/**
+	 * @return the {@link TimeUnit} of numeric timestamps, fractions are supported
+	 */
+	public TimeUnit getTimestampUnit() {
+		return _timestampUnit;
+	}
+
+	/**
+	 * @return the name of the field containing the event's level, either as
+	 *         level name or as syslog severity code, or {@code null}
+	 */
+	public String getLevel() {
+		return _level;
+	}
+
+	/**
+	 * @return the name of the field containing the event's logger name or
+	 *         {@code null}
+	 */
+	public String getLoggerName() {
+		return _loggerName;
+	}
+
+	/**
+	 * @return the name of the field containing the event's thread name or
+	 *         {@code null}
+	 */
+	public String getThreadName() {
+		return _threadName;
+	}
+
+	/**
+	 * @return the name of the field containing the event's message or
+	 *         {@code null}
+	 */
+	public String getMessage() {
+		return _message;
+	}
+
+	/**
+	 * @return the name of the field containing the event's stringified stack
+	 *         trace or {@code null}
+	 */
+	public String getStackTrace() {
+		return _stackTrace;
+	}
+
+	/**
+	 * @return the name of the object field containing context data entries or
+	 *         {@code null}
+	 */
+	public String getContext() {
+		return _context;
+	}
+
+	/**
+	 * @return the prefix of top-level fields which are not mapped otherwise but
+	 *         represent context data entries, the prefix itself is removed from
+	 *         the entries' keys; {@code null} if no top-level field represents a
+	 *         context data entry
+	 */
+	public String getContextPrefix() {
+		return _contextPrefix;
+	}
+
+	/**
+	 * @param field the name of the field to check
+	 * @return {@code true} if the given field is to be ignored rather than
+	 *         treated as context data entry
+	 */
+	public boolean isIgnored(final String field) {
+		return _ignored.contains(field);
+	}
+
+	@Override
+	public String toString() {
+		return _name;
+	}
+
+	/**
+	 * Builder for {@link JsonTemplateMapping}s, all fields are unmapped by
+	 * default.
+	 */
+	public static class Builder {
+
+		/**
+		 * @see JsonTemplateMapping#getName()
+		 */
+		private final String _name;
+
+		/**
+		 * @see JsonTemplateMapping#getSignature()
+		 */
+		private final String _signature;
+
+		/**
+		 * @see JsonTemplateMapping#getTimestamp()
+		 */
+		private String _timestamp;
+
+		/**
+		 * @see JsonTemplateMapping#getTimestampUnit()
+		 */
+		private TimeUnit _timestampUnit = TimeUnit.MILLISECONDS;
+
+		/**
+		 * @see JsonTemplateMapping#getLevel()
+		 */
+		private String _level;
+
+		/**
+		 * @see JsonTemplateMapping#getLoggerName()
+		 */
+		private String _loggerName;
+
+		/**
+		 * @see JsonTemplateMapping#getThreadName()
+		 */
+		private String _threadName;
+
+		/**
+		 * @see JsonTemplateMapping#getMessage()
+		 */
+		private String _message;
+
+		/**
+		 * @see JsonTemplateMapping#getStackTrace()
+		 */
+		private String _stackTrace;
+
+		/**
+		 * @see JsonTemplateMapping#getContext()
+		 */
+		private String _context;
+
+		/**
+		 * @see JsonTemplateMapping#getContextPrefix()
+		 */
+		private String _contextPrefix;
+
+		/**
+		 * @see JsonTemplateMapping#isIgnored(String)
+		 */
+		private final Set<String> _ignored = new HashSet<>();
+
+		/**
+		 * Create a {@link Builder}.
+		 *
+		 * @param name      see {@link JsonTemplateMapping#getName()}
+		 * @param signature see {@link JsonTemplateMapping#getSignature()}
+		 */
+		private Builder(final String name, final String signature) {
+			_name = name;
+			_signature = signature;
+		}
+
+		/**
+		 * @param field see {@link JsonTemplateMapping#getTimestamp()}
+		 * @param unit  see {@link JsonTemplateMapping#getTimestampUnit()}
+		 * @return the receiver for convenient call chaining
+		 * @throws NullPointerException if the given unit is {@code null}
+		 */
+		public Builder setTimestamp(final String field, final TimeUnit unit) throws NullPointerException {
+			_timestamp = field;
+			_timestampUnit = Objects.requireNonNull(unit);
+			return this;
+		}
+
+		/**
+		 * @param field see {@link JsonTemplateMapping#getLevel()}
+		 * @return the receiver for convenient call chaining
+		 */
+		public Builder setLevel(final String field) {
+			_level = field;
+			return this;
+		}
+
+		/**
+		 * @param field see {@link JsonTemplateMapping#getLoggerName()}
+		 * @return the receiver for convenient call chaining
+		 */
+		public Builder setLoggerName(final String field) {
+			_loggerName = field;
+			return this;
+		}
+
+		/**
+		 * @param field see {@link JsonTemplateMapping#getThreadName()}
+		 * @return the receiver for convenient call chaining
+		 */
+		public Builder setThreadName(final String field) {
+			_threadName = field;
+			return this;
+		}
+
+		/**
+		 * @param field see {@link JsonTemplateMapping#getMessage()}
+		 * @return the receiver for convenient call chaining
+		 */
+		public Builder setMessage(final String field) {
+			_message = field;
+			return this;
+		}
+
+		/**
+		 * @param field see {@link JsonTemplateMapping#getStackTrace()}
+		 * @return the receiver for convenient call chaining
+		 */
+		public Builder setStackTrace(final String field) {
+			_stackTrace = field;
+			return this;
+		}
+
+		/**
+		 * @param field  see {@link JsonTemplateMapping#getContext()}
+		 * @param prefix see {@link JsonTemplateMapping#getContextPrefix()}
+		 * @return the receiver for convenient call chaining
+		 */
+		public Builder setContext(final String field, final String prefix) {
+			_context = field;
+			_contextPrefix = prefix;
+			return this;
+		}
+
+		/**
+		 * @param fields the names of the fields to add to
+		 *               {@link JsonTemplateMapping#isIgnored(String)}
+		 * @return the receiver for convenient call chaining
+		 */
+		public Builder addIgnored(final String... fields) {
+			_ignored.addAll(Set.of(fields));
+			return this;
+		}
+
+		/**
+		 * @return a new {@link JsonTemplateMapping} with the receiver's properties
+		 */
+		public JsonTemplateMapping build() {
+			return new JsonTemplateMapping(this);
+		}
+	}
+}
@@ -0,0 +1,453 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.json.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.core.jackson.Log4jJsonObjectMapper;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventFrameReader;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LazyLogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.util.StringPool;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * {@link LogEventSupplierFactory} implementation for JsonLayout based
+ * {@link LogEvent}s which walks the {@link JsonParser}'s tokens directly rather
+ * than using Jackson's data binding.
+ *
+ * <p>
+ * The {@code contextStack} property, which is not displayed by the viewer, is
+ * skipped without being decoded. The {@code thrown}, {@code contextMap} and
+ * {@code source} properties are retained as raw bytes and decoded by the
+ * {@link LazyLogEvent}s on demand only. Throwables are handed to Jackson's
+ * data binding then, since {@link ThrowableProxy} cannot be created otherwise.
+ * </p>
+ *
+ * <p>
+ * The suppliers are {@link FramingLogEventSupplier}s finding the boundaries of
+ * events by tracking the nesting depth of JSON objects and arrays, which allows
+ * the server to decode the events of a single connection in parallel.
+ * </p>
+ *
+ * <p>
+ * Note: the factory supports the same streams as
+ * {@link JsonLogEventSupplierFactory}.
+ * </p>
+ */
+public class StreamingJsonLogEventSupplierFactory implements LogEventSupplierFactory {
+
+	/**
+	 * The {@link JsonFactory} shared by all connections, which also shares its
+	 * canonicalized (interned) property names among all parsers.
+	 */
+	private static final JsonFactory FACTORY = new JsonFactory();
+
+	/**
+	 * The {@link ObjectMapper} used for properties which are not decoded token
+	 * by token.
+	 */
+	private static final ObjectMapper MAPPER = new Log4jJsonObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	/**
+	 * The {@link ObjectReader} used for {@link ThrowableProxy} de-serialization.
+	 */
+	private static final ObjectReader THROWN_READER = MAPPER.readerFor(ThrowableProxy.class);
+
+	/**
+	 * The {@link ObjectReader} used for reading JSON messages as tree.
+	 */
+	private static final ObjectReader TREE_READER = MAPPER.reader();
+
+	/**
+	 * The {@link LazyLogEvent.Decoder} shared by all events.
+	 */
+	private static final LazyLogEvent.Decoder DECODER = new JsonDecoder();
+
+	@Override
+	public LogEventSupplier get(final InputStream stream) throws IOException {
+		if (!stream.markSupported()) {
+			throw new IllegalArgumentException();
+		}
+
+		stream.mark(4);
+		try {
+			final byte[] bytes = stream.readNBytes(4);
+			final String string = new String(bytes).trim();
+			if (string.startsWith("[") || string.startsWith("{")) {
+				// make sure to reset the stream prior to supplier initialization
+				stream.reset();
+				return new FramingJsonLogEventSupplier(stream);
+			}
+		} catch (final Exception ex) {
+			// failed to read from the stream
+		}
+
+		// either we do not support the stream or we failed reading from it
+		stream.reset();
+		return null;
+	}
+
+	/**
+	 * A {@link FramingLogEventSupplier} implementation reading {@link LogEvent}s
+	 * either sequentially using a {@link StreamingJsonLogEventSupplier} or frame
+	 * by frame using a {@link JsonFrameReader}.
+	 */
+	private static class FramingJsonLogEventSupplier implements FramingLogEventSupplier {
+
+		/**
+		 * The {@link InputStream} to read the events from.
+		 */
+		private final InputStream _stream;
+
+		/**
+		 * The {@link StreamingJsonLogEventSupplier} reading the events
+		 * sequentially or {@code null} if {@link #get()} was not called yet.
+		 */
+		private StreamingJsonLogEventSupplier _supplier;
+
+		/**
+		 * Create a {@link FramingJsonLogEventSupplier}.
+		 *
+		 * @param stream the {@link InputStream} to read the events from
+		 */
+		FramingJsonLogEventSupplier(final InputStream stream) {
+			_stream = stream;
+		}
+
+		@Override
+		public LogEvent get() throws IOException {
+			// create the parser lazily since it reads ahead from the stream
+			if (_supplier == null) {
+				_supplier = new StreamingJsonLogEventSupplier(FACTORY.createParser(_stream));
+			}
+			return _supplier.get();
+		}
+
+		@Override
+		public LogEventFrameReader getFrameReader() {
+			return new JsonFrameReader(_stream);
+		}
+
+		@Override
+		public LogEvent decode(final byte[] frame) throws IOException {
+			try (final JsonParser parser = FACTORY.createParser(frame)) {
+				return new StreamingJsonLogEventSupplier(parser).get();
+			}
+		}
+	}
+
+	/**
+	 * A {@link LogEventFrameReader} returning top-level JSON objects, skipping
+	 * the separators between them and the brackets enclosing complete documents.
+	 */
+	private static class JsonFrameReader extends LogEventFrameReader {
+
+		/**
+		 * Create a {@link JsonFrameReader}.
+		 *
+		 * @param stream the {@link InputStream} to read the frames from
+		 */
+		JsonFrameReader(final InputStream stream) {
+			super(stream);
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			int b;
+			while ((b = read()) != '{') {
+				switch (b) {
+				case -1 -> throw new EOFException();
+				case ' ', '\t', '\r', '\n', ',', '[', ']' -> {
+					// separators between events
+				}
+				default -> throw new IOException("Unexpected character between events: " + (char) b);
+				}
+			}
+			append(b);
+
+			// multi-byte UTF-8 sequences never contain ASCII bytes, thus the
+			// structure can be tracked byte by byte
+			int depth = 1;
+			boolean string = false;
+			boolean escape = false;
+			while ((b = read()) >= 0) {
+				append(b);
+				if (string) {
+					if (escape) {
+						escape = false;
+					} else if (b == '\\') {
+						escape = true;
+					} else if (b == '"') {
+						string = false;
+					}
+				} else if (b == '"') {
+					string = true;
+				} else if (b == '{' || b == '[') {
+					depth++;
+				} else if ((b == '}' || b == ']') && --depth == 0) {
+					return frame();
+				}
+			}
+
+			throw new IOException("Unexpected end of stream within an event.");
+		}
+	}
+
+	/**
+	 * A {@link LogEventSupplier} implementation reading {@link LogEvent}s token
+	 * by token.
+	 */
+	private static class StreamingJsonLogEventSupplier implements LogEventSupplier {
+
+		/**
+		 * The {@link JsonParser} to read the events from.
+		 */
+		private final JsonParser _parser;
+
+		/**
+		 * The buffer to copy lazily decoded properties into, it is reused for all
+		 * events.
+		 */
+		private final ByteArrayOutputStream _buffer = new ByteArrayOutputStream();
+
+		/**
+		 * Create a {@link StreamingJsonLogEventSupplier}.
+		 *
+		 * @param parser the {@link JsonParser} to read the events from
+		 */
+		StreamingJsonLogEventSupplier(final JsonParser parser) {
+			_parser = parser;
+		}
+
+		@Override
+		public LogEvent get() throws IOException {
+			JsonToken token = _parser.nextToken();
+
+			// the events of complete documents are enclosed in an array
+			if (token == JsonToken.START_ARRAY) {
+				token = _parser.nextToken();
+			}
+			if (token == null || token == JsonToken.END_ARRAY) {
+				throw new EOFException();
+			}
+			if (token != JsonToken.START_OBJECT) {
+				throw new IOException("Unexpected token: " + token);
+			}
+
+			return readEvent();
+		}
+
+		/**
+		 * Read the properties of the event whose {@link JsonToken#START_OBJECT} has
+		 * already been consumed.
+		 *
+		 * @return the read {@link LogEvent}
+		 * @throws IOException if an error occurred while reading
+		 */
+		private LogEvent readEvent() throws IOException {
+			final LazyLogEvent.Builder builder = LazyLogEvent.newBuilder(DECODER);
+			final MutableInstant instant = new MutableInstant();
+
+			while (_parser.nextToken() == JsonToken.FIELD_NAME) {
+				final String name = _parser.currentName();
+				final JsonToken value = _parser.nextToken();
+				if (value == JsonToken.VALUE_NULL) {
+					continue;
+				}
+
+				switch (name) {
+				case "instant" -> readInstant(instant);
+				case "timeMillis" -> instant.initFromEpochMilli(_parser.getLongValue(), 0);
+				case "level" -> builder.setLevel(Level.toLevel(_parser.getText()));
+				case "loggerName" -> builder.setLoggerName(StringPool.getDefault().intern(_parser.getText()));
+				case "loggerFqcn" -> builder.setLoggerFqcn(StringPool.getDefault().intern(_parser.getText()));
+				case "thread" -> builder.setThreadName(StringPool.getDefault().intern(_parser.getText()));
+				case "threadId" -> builder.setThreadId(_parser.getLongValue());
+				case "threadPriority" -> builder.setThreadPriority(_parser.getIntValue());
+				case "endOfBatch" -> builder.setEndOfBatch(_parser.getBooleanValue());
+				case "message" -> builder.setMessage(new SimpleMessage(readMessage()));
+				case "marker" -> builder.setMarker(readMarker());
+				case "contextMap" -> builder.setContextBytes(copy());
+				case "thrown" -> builder.setThrownBytes(copy());
+				case "source" -> builder.setSourceBytes(copy());
+				default -> _parser.skipChildren();
+				}
+			}
+
+			return builder.setInstant(instant).build();
+		}
+
+		/**
+		 * Read the {@code instant} object into the given {@link MutableInstant}.
+		 *
+		 * @param instant the {@link MutableInstant} to initialize
+		 * @throws IOException if an error occurred while reading
+		 */
+		private void readInstant(final MutableInstant instant) throws IOException {
+			long seconds = 0;
+			int nanos = 0;
+			while (_parser.nextToken() == JsonToken.FIELD_NAME) {
+				final String name = _parser.currentName();
+				_parser.nextToken();
+				switch (name) {
+				case "epochSecond" -> seconds = _parser.getLongValue();
+				case "nanoOfSecond" -> nanos = _parser.getIntValue();
+				default -> _parser.skipChildren();
+				}
+			}
+			instant.initFromEpochSecond(seconds, nanos);
+		}
+
+		/**
+		 * @return the text of the {@code message} property which may also be a
+		 *         JSON object for layouts with {@code objectMessageAsJsonObject}
+		 * @throws IOException if an error occurred while reading
+		 */
+		private String readMessage() throws IOException {
+			if (_parser.currentToken().isStructStart()) {
+				return TREE_READER.readTree(_parser).toString();
+			}
+			return _parser.getText();
+		}
+
+		/**
+		 * @return the {@link Marker} described by the
+		 *         {@code marker} object, its parents are ignored
+		 * @throws IOException if an error occurred while reading
+		 */
+		private Marker readMarker() throws IOException {
+			String marker = null;
+			while (_parser.nextToken() == JsonToken.FIELD_NAME) {
+				final String name = _parser.currentName();
+				_parser.nextToken();
+				if ("name".equals(name)) {
+					marker = _parser.getText();
+				} else {
+					_parser.skipChildren();
+				}
+			}
+			return marker != null ? MarkerManager.getMarker(marker) : null;
+		}
+
+		/**
+		 * Copy the current value including its children without decoding it.
+		 *
+		 * @return the raw bytes of the current value
+		 * @throws IOException if an error occurred while reading
+		 */
+		private byte[] copy() throws IOException {
+			_buffer.reset();
+			try (final JsonGenerator generator = FACTORY.createGenerator(_buffer)) {
+				generator.copyCurrentStructure(_parser);
+			}
+			return _buffer.toByteArray();
+		}
+	}
+
+	/**
+	 * {@link LazyLogEvent.Decoder} implementation for properties retained by
+	 * {@link StreamingJsonLogEventSupplier#copy()}.
+	 */
+	private static class JsonDecoder implements LazyLogEvent.Decoder {
+
+		@Override
+		public ThrowableProxy decodeThrown(final byte[] bytes) throws IOException {
+			return THROWN_READER.readValue(bytes);
+		}
+
+		@Override
+		public ReadOnlyStringMap decodeContextData(final byte[] bytes) throws IOException {
+			final SortedArrayStringMap map = new SortedArrayStringMap();
+			try (final JsonParser parser = FACTORY.createParser(bytes)) {
+				// the context map is either an object or an array of key/value objects
+				if (parser.nextToken() == JsonToken.START_OBJECT) {
+					while (parser.nextToken() == JsonToken.FIELD_NAME) {
+						final String key = StringPool.getDefault().intern(parser.currentName());
+						parser.nextToken();
+						map.putValue(key, parser.getValueAsString());
+					}
+				} else if (parser.currentToken() == JsonToken.START_ARRAY) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						String key = null;
+						String value = null;
+						while (parser.nextToken() == JsonToken.FIELD_NAME) {
+							final String name = parser.currentName();
+							parser.nextToken();
+							switch (name) {
+							case "key" -> key = parser.getText();
+							case "value" -> value = parser.getValueAsString();
+							default -> parser.skipChildren();
+							}
+						}
+						if (key != null) {
+							map.putValue(StringPool.getDefault().intern(key), value);
+						}
+					}
+				}
+			}
+			map.freeze();
+			return map;
+		}
+
+		@Override
+		public StackTraceElement decodeSource(final byte[] bytes) throws IOException {
+			String declaringClass = null;
+			String method = null;
+			String file = null;
+			int line = -1;
+			try (final JsonParser parser = FACTORY.createParser(bytes)) {
+				if (parser.nextToken() != JsonToken.START_OBJECT) {
+					throw new IOException("Unexpected token: " + parser.currentToken());
+				}
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					final String name = parser.currentName();
+					parser.nextToken();
+					switch (name) {
+					case "class" -> declaringClass = parser.getValueAsString();
+					case "method" -> method = parser.getValueAsString();
+					case "file" -> file = parser.getValueAsString();
+					case "line" -> line = parser.getValueAsInt(-1);
+					default -> parser.skipChildren();
+					}
+				}
+			}
+			if (declaringClass == null || method == null) {
+				throw new IOException("Incomplete source location.");
+			}
+			return new StackTraceElement(declaringClass, method, file, line);
+		}
+	}
+}
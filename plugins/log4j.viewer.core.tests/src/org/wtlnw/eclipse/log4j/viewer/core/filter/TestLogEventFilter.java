@@ -33,11 +33,13 @@ class TestLogEventFilter {
 		filter.get(LogEventProperty.LEVEL).setPattern("info");
 
 		// no filters are active by default, the event must be accepted
+		Assertions.assertFalse(filter.isEnabled());
 		Assertions.assertTrue(filter.test(event));
 
 		// activate the CATEGORY and LEVEl filters
 		filter.get(LogEventProperty.CATEGORY).setEnabled(true);
 		filter.get(LogEventProperty.LEVEL).setEnabled(true);
+		Assertions.assertTrue(filter.isEnabled());
 		Assertions.assertFalse(filter.test(event));
 		
 		event.setLoggerName("logger");
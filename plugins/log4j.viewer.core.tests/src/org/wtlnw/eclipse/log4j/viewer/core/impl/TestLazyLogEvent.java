@@ -0,0 +1,148 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.wtlnw.eclipse.log4j.viewer.core.filter.LogEventProperty;
+
+/**
+ * Unit tests for {@link LazyLogEvent}.
+ */
+public class TestLazyLogEvent {
+
+	/**
+	 * A {@link LazyLogEvent.Decoder} interpreting the raw bytes as strings and
+	 * counting its invocations.
+	 */
+	private static class CountingDecoder implements LazyLogEvent.Decoder {
+
+		private final AtomicInteger _count = new AtomicInteger();
+
+		@Override
+		public ThrowableProxy decodeThrown(final byte[] bytes) throws IOException {
+			_count.incrementAndGet();
+			return new ThrowableProxy(new RuntimeException(new String(bytes)));
+		}
+
+		@Override
+		public ReadOnlyStringMap decodeContextData(final byte[] bytes) throws IOException {
+			_count.incrementAndGet();
+			final SortedArrayStringMap map = new SortedArrayStringMap();
+			map.putValue("key", new String(bytes));
+			return map;
+		}
+
+		@Override
+		public StackTraceElement decodeSource(final byte[] bytes) throws IOException {
+			_count.incrementAndGet();
+			if (bytes.length == 0) {
+				throw new IOException();
+			}
+			return new StackTraceElement(new String(bytes), "run", null, 1);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void testLazyDecoding() {
+		final CountingDecoder decoder = new CountingDecoder();
+		final MutableInstant instant = new MutableInstant();
+		instant.initFromEpochSecond(1_000, 123_456_789);
+
+		final LazyLogEvent event = LazyLogEvent.newBuilder(decoder)
+				.setInstant(instant)
+				.setLevel(Level.ERROR)
+				.setLoggerName("logger")
+				.setMessage(new SimpleMessage("message"))
+				.setThrownBytes("failure".getBytes())
+				.setContextBytes("value".getBytes())
+				.setSourceBytes(new byte[0])
+				.build();
+
+		// eager properties and the throwable column do not decode anything
+		Assertions.assertEquals(instant, event.getInstant());
+		Assertions.assertEquals(1_000_123, event.getTimeMillis());
+		Assertions.assertEquals(Level.ERROR, event.getLevel());
+		Assertions.assertEquals("logger", event.getLoggerName());
+		Assertions.assertEquals("message", event.getMessage().getFormattedMessage());
+		Assertions.assertEquals("x", LogEventProperty.THROWABLE.getValueProvider().apply(event));
+		Assertions.assertTrue(event.hasThrown());
+		Assertions.assertEquals(0, decoder._count.get());
+
+		// lazy properties are decoded once
+		Assertions.assertEquals("failure", event.getThrownProxy().getMessage());
+		Assertions.assertEquals("failure", event.getThrownProxy().getMessage());
+		Assertions.assertEquals("value", event.getContextData().getValue("key"));
+		Assertions.assertEquals("value", event.getContextMap().get("key"));
+		Assertions.assertEquals(2, decoder._count.get());
+
+		// corrupted properties are treated as missing
+		Assertions.assertNull(event.getSource());
+		Assertions.assertNull(event.getSource());
+		Assertions.assertEquals(3, decoder._count.get());
+	}
+
+	@Test
+	void testEmpty() {
+		final LazyLogEvent event = LazyLogEvent.newBuilder(new CountingDecoder()).build();
+		Assertions.assertFalse(event.hasThrown());
+		Assertions.assertEquals("", LogEventProperty.THROWABLE.getValueProvider().apply(event));
+		Assertions.assertTrue(event.getContextData().isEmpty());
+		Assertions.assertNull(event.getSource());
+		Assertions.assertThrows(NullPointerException.class, () -> LazyLogEvent.newBuilder(null));
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void testSerialization() throws Exception {
+		final LazyLogEvent event = LazyLogEvent.newBuilder(new CountingDecoder())
+				.setLevel(Level.WARN)
+				.setLoggerName("logger")
+				.setMessage(new SimpleMessage("message"))
+				.setThrownBytes("failure".getBytes())
+				.setContextBytes("value".getBytes())
+				.build();
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(event);
+		}
+
+		final LogEvent copy;
+		try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			copy = (LogEvent) input.readObject();
+		}
+
+		Assertions.assertEquals(Level.WARN, copy.getLevel());
+		Assertions.assertEquals("message", copy.getMessage().getFormattedMessage());
+		Assertions.assertEquals("failure", copy.getThrownProxy().getMessage());
+		Assertions.assertEquals("value", copy.getContextData().getValue("key"));
+	}
+}
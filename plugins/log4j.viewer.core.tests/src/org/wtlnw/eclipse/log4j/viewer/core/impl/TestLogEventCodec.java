@@ -0,0 +1,100 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LogEventCodec}.
+ */
+public class TestLogEventCodec {
+
+	@Test
+	void testRoundTrip() throws IOException {
+		final MutableInstant instant = new MutableInstant();
+		instant.initFromEpochMilli(1_700_000_000_123L, 456_789);
+		final SortedArrayStringMap context = new SortedArrayStringMap();
+		context.putValue("user", "jdoe");
+		context.putValue("request", "42");
+
+		final LogEvent event = Log4jLogEvent.newBuilder()
+				.setInstant(instant)
+				.setLevel(Level.ERROR)
+				.setLoggerName("org.example.Service")
+				.setLoggerFqcn("org.apache.logging.log4j.spi.AbstractLogger")
+				.setThreadName("worker-1")
+				.setThreadId(17)
+				.setThreadPriority(7)
+				.setMessage(new SimpleMessage("request failed \u2013 retrying"))
+				.setMarker(MarkerManager.getMarker("AUDIT").addParents(MarkerManager.getMarker("SECURITY")))
+				.setContextData(context)
+				.setSource(new StackTraceElement("org.example.Service", "handle", "Service.java", 42))
+				.setThrown(new IllegalStateException("failed", new IOException("socket closed")))
+				.build();
+
+		final LogEventCodec codec = LogEventCodec.getDefault();
+		final LazyLogEvent decoded = codec.decode(codec.encode(event));
+		Assertions.assertEquals(instant, decoded.getInstant());
+		Assertions.assertEquals(Level.ERROR, decoded.getLevel());
+		Assertions.assertEquals("org.example.Service", decoded.getLoggerName());
+		Assertions.assertEquals("org.apache.logging.log4j.spi.AbstractLogger", decoded.getLoggerFqcn());
+		Assertions.assertEquals("worker-1", decoded.getThreadName());
+		Assertions.assertEquals(17, decoded.getThreadId());
+		Assertions.assertEquals(7, decoded.getThreadPriority());
+		Assertions.assertEquals("request failed \u2013 retrying", decoded.getMessage().getFormattedMessage());
+		Assertions.assertEquals("AUDIT", decoded.getMarker().getName());
+		Assertions.assertTrue(decoded.getMarker().isInstanceOf("SECURITY"));
+
+		// the trailing properties are decoded lazily
+		Assertions.assertTrue(decoded.hasThrown());
+		Assertions.assertTrue(decoded.getEncodedSize() > 0);
+		Assertions.assertEquals(context, decoded.getContextData());
+		Assertions.assertEquals(event.getSource(), decoded.getSource());
+		Assertions.assertEquals("failed", decoded.getThrownProxy().getMessage());
+		Assertions.assertEquals("socket closed", decoded.getThrownProxy().getCauseProxy().getMessage());
+		Assertions.assertArrayEquals(event.getThrownProxy().getExtendedStackTrace(), decoded.getThrownProxy().getExtendedStackTrace());
+		Assertions.assertEquals(0, decoded.getEncodedSize());
+	}
+
+	@Test
+	void testMinimal() throws IOException {
+		final LogEventCodec codec = LogEventCodec.getDefault();
+		final LazyLogEvent decoded = codec.decode(codec.encode(Log4jLogEvent.newBuilder().build()));
+		Assertions.assertNull(decoded.getLoggerName());
+		Assertions.assertNull(decoded.getMarker());
+		Assertions.assertFalse(decoded.hasThrown());
+		Assertions.assertFalse(decoded.hasContextData());
+		Assertions.assertFalse(decoded.hasSource());
+	}
+
+	@Test
+	void testCorrupted() throws IOException {
+		final LogEventCodec codec = LogEventCodec.getDefault();
+		final byte[] record = codec.encode(Log4jLogEvent.newBuilder().setMessage(new SimpleMessage("message")).build());
+		Assertions.assertThrows(IOException.class, () -> codec.decode(Arrays.copyOf(record, record.length - 1)));
+		Assertions.assertThrows(IOException.class, () -> codec.decode(new byte[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 127, 0, 0, 0 }));
+	}
+}
@@ -14,15 +14,55 @@
 
 package org.wtlnw.eclipse.log4j.viewer.core.impl;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
@@ -30,9 +70,19 @@ import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventBatchConsumer;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventFrameReader;
 import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.filter.LogEventFilter;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventRingBuffer;
+import org.wtlnw.eclipse.log4j.viewer.core.util.Util;
 
 /**
  * Unit tests for {@link LogEventServer}.
@@ -70,17 +120,46 @@ public class TestLogEventServer {
 	
 	@Test
 	void test() throws IOException, InterruptedException {
-		runWithConfiguration(config(CONFIG), NOOP, NOOP);
+		runWithConfiguration(config(CONFIG), NOOP, NOOP, NOOP);
+	}
+
+	@Test
+	void testSelector() throws IOException, InterruptedException {
+		runWithConfiguration(config(CONFIG), server -> server.setMode(LogEventServer.Mode.SELECTOR), NOOP, NOOP);
+	}
+
+	@Test
+	void testSelectorReadTimeout() throws IOException, InterruptedException {
+		runWithConfiguration(config(CONFIG), server -> server.setMode(LogEventServer.Mode.SELECTOR), NOOP, WAIT);
+	}
+
+	@Test
+	void testModeChange() {
+		final LogEventServer server = new LogEventServer(List.of(), e -> {});
+		Assertions.assertEquals(LogEventServer.Mode.BLOCKING, server.getMode());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setEventLoops(0));
+
+		server.setMode(LogEventServer.Mode.SELECTOR);
+		server.setEventLoops(2);
+		server.start();
+		try {
+			Assertions.assertTrue(server.isRunning());
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setMode(LogEventServer.Mode.BLOCKING));
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setEventLoops(1));
+		} finally {
+			server.stop();
+		}
+		Assertions.assertFalse(server.isRunning());
 	}
 
 	@Test
 	void testAcceptTimeout() throws IOException, InterruptedException {
-		runWithConfiguration(config(CONFIG), WAIT, NOOP);
+		runWithConfiguration(config(CONFIG), NOOP, WAIT, NOOP);
 	}
 	
 	@Test
 	void testReadTimeout() throws IOException, InterruptedException {
-		runWithConfiguration(config(CONFIG), NOOP, WAIT);
+		runWithConfiguration(config(CONFIG), NOOP, NOOP, WAIT);
 	}
 	
 	@Test
@@ -116,8 +195,1319 @@ public class TestLogEventServer {
 		Assertions.assertEquals(0, events.size());
 	}
 	
+	@Test
+	void testBatchSettings() {
+		final LogEventServer server = new LogEventServer(List.of(), e -> {});
+		Assertions.assertEquals(512, server.getBatchSize());
+		Assertions.assertEquals(10, server.getBatchDelay());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setBatchSize(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setBatchDelay(-1));
+
+		server.setBatchSize(64);
+		server.setBatchDelay(0);
+		server.start();
+		try {
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setBatchSize(32));
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setBatchDelay(1));
+		} finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	void testBatchConsumer() throws Exception {
+		testBatchConsumer(LogEventServer.Mode.BLOCKING);
+	}
+
+	@Test
+	void testSelectorBatchConsumer() throws Exception {
+		testBatchConsumer(LogEventServer.Mode.SELECTOR);
+	}
+
+	private void testBatchConsumer(final LogEventServer.Mode mode) throws Exception {
+		final int count = 10_000;
+		final int batchSize = 64;
+		final List<List<LogEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+		final LogEventBatchConsumer consumer = batches::add;
+
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), consumer);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setMode(mode);
+		server.setBatchSize(batchSize);
+		server.start();
+
+		try {
+			send(server.getPort(), serialize(count));
+			sema.acquire();
+		} finally {
+			server.stop();
+		}
+
+		Assertions.assertEquals(List.of(), errors);
+
+		// all events must be delivered in order and in batches of limited size
+		int index = 0;
+		for (final List<LogEvent> batch : batches) {
+			Assertions.assertFalse(batch.isEmpty());
+			Assertions.assertTrue(batch.size() <= batchSize, "Batch too large: " + batch.size());
+
+			for (final LogEvent event : batch) {
+				Assertions.assertEquals("Message " + index++, event.getMessage().getFormattedMessage());
+			}
+		}
+		Assertions.assertEquals(count, index);
+		Assertions.assertTrue(batches.size() < count, "Events were not batched.");
+	}
+
+	@Test
+	void testParserSettings() {
+		final LogEventServer server = new LogEventServer(List.of(), e -> {});
+		Assertions.assertEquals(0, server.getParserThreads());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setParserThreads(-1));
+
+		server.setParserThreads(2);
+		server.start();
+		try {
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setParserThreads(4));
+		} finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	void testSignatureSettings() {
+		final LogEventSupplierFactory factory = new SerializedLogEventSupplierFactory();
+		final LogEventServer server = new LogEventServer(List.of(factory), e -> {});
+		Assertions.assertEquals(Map.of(), server.getSupplierSignatures());
+		Assertions.assertThrows(NullPointerException.class, () -> server.setSupplierSignatures(null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setSupplierSignatures(Map.of(factory, List.of(new byte[0]))));
+
+		server.setSupplierSignatures(Map.of(factory, List.of(new byte[] { (byte) 0xAC, (byte) 0xED })));
+		Assertions.assertEquals(1, server.getSupplierSignatures().size());
+		server.start();
+		try {
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setSupplierSignatures(Map.of()));
+		} finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	void testParallelParsing() throws Exception {
+		testParallelParsing(LogEventServer.Mode.BLOCKING);
+	}
+
+	@Test
+	void testSelectorParallelParsing() throws Exception {
+		testParallelParsing(LogEventServer.Mode.SELECTOR);
+	}
+
+	private void testParallelParsing(final LogEventServer.Mode mode) throws Exception {
+		final int count = 10_000;
+		final StringBuilder data = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			data.append("Message ").append(i).append('\n');
+		}
+
+		final LineLogEventSupplierFactory factory = new LineLogEventSupplierFactory();
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final List<LogEvent> events = runWithParserThreads(mode, factory, data.toString(), errors);
+
+		Assertions.assertEquals(List.of(), errors);
+		Assertions.assertEquals(count, events.size());
+		for (int i = 0; i < count; i++) {
+			Assertions.assertEquals("Message " + i, events.get(i).getMessage().getFormattedMessage());
+		}
+		Assertions.assertTrue(factory._threads.size() > 1, "Frames were not decoded in parallel.");
+	}
+
+	@Test
+	void testParallelParsingError() throws Exception {
+		final StringBuilder data = new StringBuilder();
+		for (int i = 0; i < 1_000; i++) {
+			data.append(i == 100 ? "!corrupted" : "Message " + i).append('\n');
+		}
+
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final List<LogEvent> events = runWithParserThreads(LogEventServer.Mode.BLOCKING, new LineLogEventSupplierFactory(), data.toString(), errors);
+
+		// the events preceding the corrupted one are delivered, the connection is closed
+		Assertions.assertEquals(1, errors.size());
+		Assertions.assertInstanceOf(IOException.class, errors.getFirst());
+		Assertions.assertEquals(100, events.size());
+		for (int i = 0; i < events.size(); i++) {
+			Assertions.assertEquals("Message " + i, events.get(i).getMessage().getFormattedMessage());
+		}
+	}
+
+	private List<LogEvent> runWithParserThreads(final LogEventServer.Mode mode, final LogEventSupplierFactory factory, final String data, final List<Throwable> errors) throws Exception {
+		final List<LogEvent> events = Collections.synchronizedList(new ArrayList<>());
+		final Semaphore sema = new Semaphore(0);
+		final LogEventServer server = new LogEventServer(List.of(factory), events::add);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setMode(mode);
+		server.setParserThreads(4);
+		server.start();
+
+		try {
+			send(server.getPort(), data.getBytes(StandardCharsets.US_ASCII));
+			sema.acquire();
+		} finally {
+			server.stop();
+		}
+		return events;
+	}
+
+	/**
+	 * A {@link LogEventSupplierFactory} for streams of lines each representing
+	 * the message of an event, lines starting with {@code '!'} are corrupted.
+	 */
+	private static class LineLogEventSupplierFactory implements LogEventSupplierFactory {
+
+		private final Set<Thread> _threads = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public LogEventSupplier get(final InputStream stream) {
+			return new FramingLogEventSupplier() {
+
+				private LogEventFrameReader _reader;
+
+				@Override
+				public LogEvent get() throws IOException {
+					if (_reader == null) {
+						_reader = getFrameReader();
+					}
+					return decode(_reader.next());
+				}
+
+				@Override
+				public LogEventFrameReader getFrameReader() {
+					return new LogEventFrameReader(stream) {
+
+						@Override
+						public byte[] next() throws IOException {
+							int b;
+							while ((b = read()) != '\n') {
+								if (b < 0) {
+									throw new EOFException();
+								}
+								append(b);
+							}
+							return frame();
+						}
+					};
+				}
+
+				@Override
+				public LogEvent decode(final byte[] frame) throws IOException {
+					_threads.add(Thread.currentThread());
+
+					// simulate a decoding effort exceeding the framing effort
+					final long end = System.nanoTime() + 10_000;
+					while (System.nanoTime() < end) {
+						Thread.onSpinWait();
+					}
+
+					final String message = new String(frame, StandardCharsets.US_ASCII);
+					if (message.startsWith("!")) {
+						throw new IOException("Corrupted event: " + message);
+					}
+					return Log4jLogEvent.newBuilder().setMessage(new SimpleMessage(message)).build();
+				}
+			};
+		}
+	}
+
+	@Test
+	void testOverflowSettings() {
+		final LogEventServer server = new LogEventServer(List.of(), e -> {});
+		Assertions.assertEquals(1 << 13, server.getQueueCapacity());
+		Assertions.assertEquals(LogEventServer.OverflowPolicy.BLOCK, server.getOverflowPolicy());
+		Assertions.assertEquals(Level.WARN, server.getDropLevel());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setQueueCapacity(0));
+		Assertions.assertThrows(NullPointerException.class, () -> server.setOverflowPolicy(null));
+		Assertions.assertThrows(NullPointerException.class, () -> server.setDropLevel(null));
+
+		server.start();
+		try {
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setQueueCapacity(1));
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setOverflowPolicy(LogEventServer.OverflowPolicy.DROP_NEWEST));
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setDropLevel(Level.ERROR));
+		} finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	void testFailingConsumer() throws Exception {
+		final RuntimeException failure = new IllegalStateException("Consumer failure");
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final Semaphore sema = new Semaphore(0);
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), event -> {
+			throw failure;
+		});
+		server.addErrorListener((msg, ex) -> {
+			errors.add(ex);
+			sema.release();
+		});
+		server.setQueueCapacity(10);
+		server.setOverflowPolicy(LogEventServer.OverflowPolicy.BLOCK);
+		server.start();
+
+		try {
+			try {
+				send(server.getPort(), serialize(5_000));
+			} catch (final IOException ex) {
+				// the server may close the connection while sending
+			}
+
+			// the failure is reported and the handler waiting for the full
+			// queue to drain closes the connection rather than hanging
+			Assertions.assertTrue(sema.tryAcquire(2, 30, TimeUnit.SECONDS), "The failure was not reported in time.");
+		} finally {
+			server.stop();
+		}
+
+		Assertions.assertSame(failure, errors.get(0));
+		final IOException error = Assertions.assertInstanceOf(IOException.class, errors.get(1));
+		Assertions.assertSame(failure, error.getCause());
+	}
+
+	@Test
+	void testDropNewest() throws Exception {
+		final int count = 5_000;
+		final List<LogEvent> events = runWithOverflowPolicy(LogEventServer.OverflowPolicy.DROP_NEWEST, count);
+
+		// the oldest events are kept
+		Assertions.assertEquals("Message 0", events.getFirst().getMessage().getFormattedMessage());
+		Assertions.assertNotEquals("Message " + (count - 1), events.getLast().getMessage().getFormattedMessage());
+	}
+
+	@Test
+	void testDropOldest() throws Exception {
+		final int count = 5_000;
+		final List<LogEvent> events = runWithOverflowPolicy(LogEventServer.OverflowPolicy.DROP_OLDEST, count);
+
+		// the newest events are kept
+		Assertions.assertEquals("Message " + (count - 1), events.getLast().getMessage().getFormattedMessage());
+	}
+
+	@Test
+	void testDropBelowLevel() throws Exception {
+		final int count = 5_000;
+		final List<LogEvent> events = runWithOverflowPolicy(LogEventServer.OverflowPolicy.DROP_BELOW_LEVEL, count);
+
+		// all warnings are kept
+		Assertions.assertEquals(count / 10, events.stream().filter(e -> e.getLevel() == Level.WARN).count());
+	}
+
+	private List<LogEvent> runWithOverflowPolicy(final LogEventServer.OverflowPolicy policy, final int count) throws Exception {
+		final int capacity = 1_000;
+		final byte[] data = serialize(count);
+
+		// block the consumer until the client is done sending in order to simulate a slow viewer
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<LogEvent> events = Collections.synchronizedList(new ArrayList<>());
+		final AtomicInteger taken = new AtomicInteger();
+		final LogEventBatchConsumer consumer = batch -> {
+			taken.addAndGet(batch.size());
+			try {
+				release.await();
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			events.addAll(batch);
+		};
+
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), consumer);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setOverflowPolicy(policy);
+		server.setQueueCapacity(capacity);
+		server.setBatchSize(100);
+		server.start();
+
+		try {
+			// sending must not block although the consumer does not make any progress
+			send(server.getPort(), data);
+
+			// wait for the handler to read all events
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (server.getDroppedCount() + server.getQueueDepth() + taken.get() < count) {
+				Assertions.assertTrue(System.nanoTime() < deadline, "Events were not read in time.");
+				Thread.sleep(10);
+			}
+			Assertions.assertTrue(server.getQueueDepth() <= capacity, "Queue exceeds capacity: " + server.getQueueDepth());
+
+			release.countDown();
+			sema.acquire();
+		} finally {
+			release.countDown();
+			server.stop();
+		}
+
+		Assertions.assertEquals(List.of(), errors);
+		Assertions.assertEquals(count, events.size() + server.getDroppedCount());
+		Assertions.assertTrue(server.getDroppedCount() > 0);
+
+		// events which have not been dropped must be delivered in order
+		int previous = -1;
+		for (final LogEvent event : events) {
+			final int index = Integer.parseInt(event.getMessage().getFormattedMessage().substring("Message ".length()));
+			Assertions.assertTrue(index > previous, "Events out of order.");
+			previous = index;
+		}
+		return events;
+	}
+
+	@Test
+	void testAdmissionSettings() {
+		final LogEventServer server = new LogEventServer(List.of(), e -> {});
+		Assertions.assertEquals(1 << 10, server.getMaxConnections());
+		Assertions.assertEquals(1 << 10, server.getMaxConnectionsPerHost());
+		Assertions.assertEquals(50, server.getBacklog());
+		Assertions.assertEquals(1 << 20, server.getConnectionBufferSize());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setMaxConnections(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setMaxConnectionsPerHost(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setBacklog(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setConnectionBufferSize(LogEventServer.MIN_CONNECTION_BUFFER_SIZE - 1));
+
+		server.setConnectionBufferSize(LogEventServer.MIN_CONNECTION_BUFFER_SIZE);
+		server.start();
+		try {
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setMaxConnections(1));
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setMaxConnectionsPerHost(1));
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setBacklog(1));
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setConnectionBufferSize(1 << 16));
+		} finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	void testConnectionLimit() throws Exception {
+		runWithConnectionLimit(LogEventServer.Mode.BLOCKING, server -> server.setMaxConnections(2));
+	}
+
+	@Test
+	void testSelectorConnectionLimit() throws Exception {
+		runWithConnectionLimit(LogEventServer.Mode.SELECTOR, server -> server.setMaxConnections(2));
+	}
+
+	@Test
+	void testPerHostConnectionLimit() throws Exception {
+		runWithConnectionLimit(LogEventServer.Mode.BLOCKING, server -> server.setMaxConnectionsPerHost(2));
+	}
+
+	@Test
+	void testSelectorPerHostConnectionLimit() throws Exception {
+		runWithConnectionLimit(LogEventServer.Mode.SELECTOR, server -> server.setMaxConnectionsPerHost(2));
+	}
+
+	@Test
+	void testUnixSocketPerHostConnectionLimit(@TempDir final Path dir) throws Exception {
+		runWithUnixSocketClients(LogEventServer.Mode.BLOCKING, dir);
+	}
+
+	@Test
+	void testSelectorUnixSocketPerHostConnectionLimit(@TempDir final Path dir) throws Exception {
+		runWithUnixSocketClients(LogEventServer.Mode.SELECTOR, dir);
+	}
+
+	private void runWithUnixSocketClients(final LogEventServer.Mode mode, final Path dir) throws Exception {
+		final int clients = 3;
+		final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), e -> {});
+		server.addErrorListener((msg, ex) -> messages.add(msg));
+		server.setMode(mode);
+		server.setTcpEnabled(false);
+		server.setSocketPath(dir.resolve("log4j.sock"));
+		server.setMaxConnectionsPerHost(1);
+		server.start();
+
+		final List<SocketChannel> channels = new ArrayList<>();
+		try {
+			for (int i = 0; i < clients; i++) {
+				final SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(server.getSocketPath()));
+				channels.add(channel);
+				new ObjectOutputStream(Channels.newOutputStream(channel)).flush();
+			}
+
+			// local clients share the socket's path but not a per-host quota
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (server.getConnectionCount() < clients) {
+				Assertions.assertTrue(System.nanoTime() < deadline, "Connections were not admitted in time: " + messages);
+				Thread.sleep(10);
+			}
+			Assertions.assertEquals(List.of(), messages);
+		} finally {
+			for (final SocketChannel channel : channels) {
+				channel.close();
+			}
+			server.stop();
+		}
+	}
+
+	private void runWithConnectionLimit(final LogEventServer.Mode mode, final Consumer<LogEventServer> limit) throws Exception {
+		final int clients = 5;
+		final Semaphore rejected = new Semaphore(0);
+		final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), e -> {});
+		server.addErrorListener((msg, ex) -> {
+			messages.add(msg);
+			rejected.release();
+		});
+		server.setMode(mode);
+		limit.accept(server);
+		server.start();
+
+		final List<Socket> sockets = new ArrayList<>();
+		try {
+			for (int i = 0; i < clients; i++) {
+				final Socket socket = new Socket("localhost", server.getPort());
+				sockets.add(socket);
+				new ObjectOutputStream(socket.getOutputStream()).flush();
+			}
+
+			// all connections exceeding the limit must be reported
+			Assertions.assertTrue(rejected.tryAcquire(clients - 2, 30, TimeUnit.SECONDS), "Connections were not rejected: " + messages);
+			Assertions.assertEquals(2, server.getConnectionCount());
+
+			// closing an admitted connection allows a new one to be admitted
+			sockets.getFirst().close();
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (server.getConnectionCount() > 1) {
+				Assertions.assertTrue(System.nanoTime() < deadline, "Connection was not released in time.");
+				Thread.sleep(10);
+			}
+			rejected.drainPermits();
+
+			final Socket socket = new Socket("localhost", server.getPort());
+			sockets.add(socket);
+			new ObjectOutputStream(socket.getOutputStream()).flush();
+			while (server.getConnectionCount() < 2) {
+				Assertions.assertTrue(System.nanoTime() < deadline, "Connection was not admitted in time.");
+				Thread.sleep(10);
+			}
+			Assertions.assertEquals(0, rejected.availablePermits());
+		} finally {
+			for (final Socket socket : sockets) {
+				socket.close();
+			}
+			server.stop();
+		}
+	}
+
+	@Test
+	void testDatagram() throws Exception {
+		testDatagram(LogEventServer.Mode.BLOCKING);
+	}
+
+	@Test
+	void testSelectorDatagram() throws Exception {
+		testDatagram(LogEventServer.Mode.SELECTOR);
+	}
+
+	private void testDatagram(final LogEventServer.Mode mode) throws Exception {
+		final List<LogEvent> events = Collections.synchronizedList(new ArrayList<>());
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), events::add);
+		server.addErrorListener((msg, ex) -> errors.add(ex));
+		Assertions.assertFalse(server.isDatagramEnabled());
+		server.setMode(mode);
+		server.setDatagramEnabled(true);
+		server.start();
+
+		try {
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setDatagramEnabled(false));
+
+			try (final LoggerContext context = Configurator.initialize(config(CONFIG.replace("port=\"4445\"", "port=\"4445\" protocol=\"UDP\"")))) {
+				final Logger logger = context.getLogger(TestLogEventServer.class.getSimpleName());
+
+				logger.info("Information message");
+				logger.warn("Warning message");
+				logger.error("Error message", new RuntimeException());
+			}
+
+			// datagrams which cannot be decoded are counted but do not affect others
+			try (final DatagramSocket socket = new DatagramSocket()) {
+				final byte[] garbage = "garbage".getBytes();
+				socket.send(new DatagramPacket(garbage, garbage.length, InetAddress.getLoopbackAddress(), server.getPort()));
+			}
+
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (events.size() < 3 || server.getDroppedDatagramCount() < 1) {
+				Assertions.assertTrue(System.nanoTime() < deadline, "Datagrams were not received in time.");
+				Thread.sleep(10);
+			}
+		} finally {
+			server.stop();
+		}
+
+		Assertions.assertEquals(List.of(), errors);
+		Assertions.assertEquals(3, events.size());
+		Assertions.assertEquals("Information message", events.get(0).getMessage().getFormattedMessage());
+		Assertions.assertEquals("Warning message", events.get(1).getMessage().getFormattedMessage());
+		Assertions.assertEquals("Error message", events.get(2).getMessage().getFormattedMessage());
+		Assertions.assertEquals(1, server.getDroppedDatagramCount());
+		Assertions.assertEquals(0, server.getTruncatedDatagramCount());
+	}
+
+	@Test
+	void testDatagramSize() throws Exception {
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), event -> {});
+		Assertions.assertEquals(LogEventServer.MAX_DATAGRAM_SIZE, server.getMaxDatagramSize());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setMaxDatagramSize(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> server.setMaxDatagramSize(1 << 16));
+		server.setMaxDatagramSize(1 << 10);
+		server.setDatagramEnabled(true);
+		server.start();
+
+		try {
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setMaxDatagramSize(1 << 11));
+
+			// datagrams exceeding the maximum size are counted as truncated,
+			// those of the maximum size are passed on to be decoded
+			try (final DatagramSocket socket = new DatagramSocket()) {
+				socket.send(new DatagramPacket(new byte[1 << 10], 1 << 10, InetAddress.getLoopbackAddress(), server.getPort()));
+				socket.send(new DatagramPacket(new byte[2_000], 2_000, InetAddress.getLoopbackAddress(), server.getPort()));
+			}
+
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (server.getTruncatedDatagramCount() < 1 || server.getDroppedDatagramCount() < 1) {
+				Assertions.assertTrue(System.nanoTime() < deadline, "Datagrams were not received in time.");
+				Thread.sleep(10);
+			}
+		} finally {
+			server.stop();
+		}
+
+		Assertions.assertEquals(1, server.getTruncatedDatagramCount());
+		Assertions.assertEquals(1, server.getDroppedDatagramCount());
+	}
+
+	@Test
+	void testBatchThroughput() throws Exception {
+		final int count = 20_000;
+		final byte[] data = serialize(count);
+
+		// the first round warms up both paths, the best of the remaining rounds counts
+		double single = 0;
+		double batched = 0;
+		for (int i = 0; i < 4; i++) {
+			final double s = measureThroughput(data, count, false);
+			final double b = measureThroughput(data, count, true);
+			if (i > 0) {
+				single = Math.max(single, s);
+				batched = Math.max(batched, b);
+			}
+		}
+
+		// every call costs a table refresh on the display thread which caps single
+		// event delivery at 1s / REFRESH_NANOS = 50k events/s, half the rate a
+		// batch consumer has to sustain
+		Assertions.assertTrue(batched > single, "batch consumer " + (long) batched + " events/s, per-event consumer " + (long) single + " events/s");
+	}
+
+	private double measureThroughput(final byte[] data, final int count, final boolean batched) throws Exception {
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+		try (final TableSink sink = new TableSink(count)) {
+			// hide the batch interface from the server to force single event delivery
+			final Consumer<LogEvent> consumer = batched ? sink : e -> sink.accept(e);
+			final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), consumer);
+			server.addErrorListener((msg, ex) -> {
+				if (!(ex instanceof EOFException)) {
+					errors.add(ex);
+				}
+				sema.release();
+			});
+			server.start();
+
+			final long start = System.nanoTime();
+			try {
+				send(server.getPort(), data);
+				sema.acquire();
+			} finally {
+				server.stop();
+			}
+
+			// the events are only visible once all scheduled refreshes ran
+			sink.close();
+			final long elapsed = System.nanoTime() - start;
+
+			Assertions.assertEquals(List.of(), errors);
+			Assertions.assertEquals(count, sink.getCount());
+
+			// a stream written at once is delivered in batches of several
+			// events, single events in calls of their own
+			if (batched) {
+				Assertions.assertTrue(sink.getCalls() < count, "batch consumer was called " + sink.getCalls() + " times");
+			} else {
+				Assertions.assertEquals(count, sink.getCalls());
+			}
+
+			return count * 1e9 / elapsed;
+		}
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testSslThroughput(@TempDir final Path dir) throws Exception {
+		final char[] password = "changeit".toCharArray();
+		final Path keyStore = generateKeyStore(dir, password);
+
+		// the client trusts the server's self-signed certificate
+		final SSLContext server = Util.createSslContext(keyStore, password, null, null);
+		final SSLContext client = Util.createSslContext(keyStore, password, keyStore, password);
+
+		final int count = 20_000;
+		final byte[] data = serialize(count);
+
+		// the first connection of each kind pays for class loading and compilation,
+		// only the fastest of the later ones counts
+		double plain = 0;
+		double tls = 0;
+		for (int i = 0; i < 4; i++) {
+			final double p = measureTransportThroughput(data, count, null, null);
+			final double t = measureTransportThroughput(data, count, server, client);
+			if (i > 0) {
+				plain = Math.max(plain, p);
+				tls = Math.max(tls, t);
+			}
+		}
+
+		// a single handshake per connection and AES-GCM decrypting at several
+		// hundred MB/s leave deserialization as the bottleneck of both paths
+		Assertions.assertTrue(tls * 5 >= plain * 4, "TLS " + (long) tls + " events/s, plain TCP " + (long) plain + " events/s");
+	}
+
+	@Test
+	void testSslSessionResumption(@TempDir final Path dir) throws Exception {
+		final char[] password = "changeit".toCharArray();
+		final Path keyStore = generateKeyStore(dir, password);
+		final SSLContext serverContext = Util.createSslContext(keyStore, password, null, null);
+		final SSLContext clientContext = Util.createSslContext(keyStore, password, keyStore, password);
+
+		final int connections = 5;
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final AtomicInteger received = new AtomicInteger();
+		final LogEventBatchConsumer consumer = events -> received.addAndGet(events.size());
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), consumer);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setSslContext(serverContext);
+		server.start();
+
+		final byte[] data = serialize(1);
+		final List<byte[]> ids = new ArrayList<>();
+		try {
+			for (int i = 0; i < connections; i++) {
+				try (final SSLSocket socket = (SSLSocket) clientContext.getSocketFactory().createSocket("localhost", server.getPort())) {
+					// TLS 1.3 issues a fresh session ID on resumption, TLS 1.2 keeps
+					// the cached one which makes an abbreviated handshake observable
+					socket.setEnabledProtocols(new String[] { "TLSv1.2" });
+					socket.startHandshake();
+					ids.add(socket.getSession().getId());
+
+					final OutputStream output = socket.getOutputStream();
+					output.write(data);
+					output.flush();
+				}
+			}
+			Assertions.assertTrue(sema.tryAcquire(connections, 30, TimeUnit.SECONDS), "Connections were not closed in time.");
+		} finally {
+			server.stop();
+		}
+
+		Assertions.assertEquals(List.of(), errors);
+		Assertions.assertEquals(connections, received.get());
+
+		// all reconnects resumed the session of the first connection
+		Assertions.assertNotEquals(0, ids.get(0).length);
+		for (final byte[] id : ids) {
+			Assertions.assertArrayEquals(ids.get(0), id);
+		}
+	}
+
+	private Path generateKeyStore(final Path dir, final char[] password) throws Exception {
+		final Path keytool = Path.of(System.getProperty("java.home"), "bin", "keytool");
+		Assumptions.assumeTrue(Files.isExecutable(keytool) || Files.isExecutable(Path.of(keytool + ".exe")));
+
+		final Path keyStore = dir.resolve("keystore.p12");
+		final Process process = new ProcessBuilder(keytool.toString(), "-genkeypair",
+				"-alias", "server", "-keyalg", "EC", "-dname", "CN=localhost", "-validity", "1",
+				"-storetype", "PKCS12", "-keystore", keyStore.toString(),
+				"-storepass", new String(password), "-keypass", new String(password))
+				.redirectErrorStream(true)
+				.start();
+		process.getInputStream().transferTo(OutputStream.nullOutputStream());
+		Assertions.assertEquals(0, process.waitFor(), "Failed to generate key store.");
+
+		return keyStore;
+	}
+
+	private double measureTransportThroughput(final byte[] data, final int count, final SSLContext serverContext, final SSLContext clientContext) throws Exception {
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final AtomicInteger received = new AtomicInteger();
+		final LogEventBatchConsumer consumer = events -> received.addAndGet(events.size());
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), consumer);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setSslContext(serverContext);
+		server.start();
+
+		final long start = System.nanoTime();
+		try {
+			try (final Socket socket = clientContext != null
+					? clientContext.getSocketFactory().createSocket("localhost", server.getPort())
+					: new Socket("localhost", server.getPort());
+				 final OutputStream output = new BufferedOutputStream(socket.getOutputStream())) {
+				output.write(data);
+			}
+			sema.acquire();
+		} finally {
+			server.stop();
+		}
+		final long elapsed = System.nanoTime() - start;
+
+		Assertions.assertEquals(List.of(), errors);
+		Assertions.assertEquals(count, received.get());
+
+		return count * 1e9 / elapsed;
+	}
+
+	@Test
+	void testUnixSocket(@TempDir final Path dir) throws Exception {
+		testUnixSocket(LogEventServer.Mode.BLOCKING, dir);
+	}
+
+	@Test
+	void testSelectorUnixSocket(@TempDir final Path dir) throws Exception {
+		testUnixSocket(LogEventServer.Mode.SELECTOR, dir);
+	}
+
+	@Test
+	void testUnixSocketPathInUse(@TempDir final Path dir) throws Exception {
+		final Path path = dir.resolve("log4j.sock");
+		final List<Throwable> errors = new CopyOnWriteArrayList<>();
+		final LogEventServer first = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), event -> {});
+		first.setTcpEnabled(false);
+		first.setSocketPath(path);
+		first.start();
+
+		try {
+			// the socket of a running server is not taken over
+			final LogEventServer second = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), event -> {});
+			second.addErrorListener((msg, ex) -> errors.add(ex));
+			second.setTcpEnabled(false);
+			second.setSocketPath(path);
+			second.start();
+			Assertions.assertFalse(second.isRunning());
+			Assertions.assertEquals(1, errors.size());
+			SocketChannel.open(UnixDomainSocketAddress.of(path)).close();
+		} finally {
+			first.stop();
+		}
+		Assertions.assertFalse(Files.exists(path), "Socket file was not removed.");
+
+		// files other than sockets are neither replaced nor deleted
+		Files.writeString(path, "no socket");
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), event -> {});
+		server.addErrorListener((msg, ex) -> errors.add(ex));
+		server.setTcpEnabled(false);
+		server.setSocketPath(path);
+		server.start();
+		Assertions.assertFalse(server.isRunning());
+		Assertions.assertEquals(2, errors.size());
+		Assertions.assertInstanceOf(FileAlreadyExistsException.class, errors.getLast());
+		Assertions.assertEquals("no socket", Files.readString(path));
+	}
+
+	private void testUnixSocket(final LogEventServer.Mode mode, final Path dir) throws Exception {
+		final Path path = dir.resolve("log4j.sock");
+		final int count = 1_000;
+		final List<LogEvent> events = Collections.synchronizedList(new ArrayList<>());
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), events::add);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setMode(mode);
+		server.setTcpEnabled(false);
+		server.setSocketPath(path);
+		server.start();
+
+		try {
+			Assertions.assertTrue(server.isRunning());
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setSocketPath(null));
+			Assertions.assertThrows(IllegalStateException.class, () -> server.setTcpEnabled(true));
+
+			// TCP is disabled, only the socket file is available
+			Assertions.assertThrows(IOException.class, () -> new Socket("localhost", server.getPort()).close());
+
+			try (final SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(path));
+				 final OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+				output.write(serialize(count));
+			}
+			sema.acquire();
+		} finally {
+			server.stop();
+		}
+
+		Assertions.assertEquals(List.of(), errors);
+		Assertions.assertEquals(count, events.size());
+		Assertions.assertEquals("Message " + (count - 1), events.getLast().getMessage().getFormattedMessage());
+		Assertions.assertFalse(Files.exists(path), "Socket file was not removed.");
+	}
+
+	@Test
+	void testEndpoints(@TempDir final Path dir) throws Exception {
+		testEndpoints(LogEventServer.Mode.BLOCKING, dir);
+	}
+
+	@Test
+	void testSelectorEndpoints(@TempDir final Path dir) throws Exception {
+		testEndpoints(LogEventServer.Mode.SELECTOR, dir);
+	}
+
+	private void testEndpoints(final LogEventServer.Mode mode, final Path dir) throws Exception {
+		final Path path = dir.resolve("log4j.sock");
+		final int port;
+		try (final ServerSocket probe = new ServerSocket(0)) {
+			port = probe.getLocalPort();
+		}
+
+		final int count = 1_000;
+		final List<LogEvent> events = Collections.synchronizedList(new ArrayList<>());
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+		// no factories to probe, events are decoded by the endpoints' factories only
+		final LogEventServer server = new LogEventServer(List.of(), events::add);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setMode(mode);
+		server.setTcpEnabled(false);
+
+		final LogEventEndpoint tcp = new LogEventEndpoint(port, new SerializedLogEventSupplierFactory());
+		final LogEventEndpoint unix = new LogEventEndpoint(path, new SerializedLogEventSupplierFactory());
+		server.addEndpoint(tcp);
+		server.addEndpoint(unix);
+		server.addEndpoint(tcp);
+		Assertions.assertEquals(List.of(tcp, unix), server.getEndpoints());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventEndpoint(-1, null));
+
+		server.start();
+
+		try {
+			Assertions.assertThrows(IllegalStateException.class, () -> server.addEndpoint(new LogEventEndpoint(0, null)));
+			Assertions.assertThrows(IllegalStateException.class, () -> server.removeEndpoint(tcp));
+
+			send(port, serialize(count));
+			try (final SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(path));
+				 final OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+				output.write(serialize(count));
+			}
+			sema.acquire(2);
+		} finally {
+			server.stop();
+		}
+
+		Assertions.assertEquals(List.of(), errors);
+		Assertions.assertEquals(2 * count, events.size());
+		Assertions.assertFalse(Files.exists(path), "Socket file was not removed.");
+
+		server.removeEndpoint(unix);
+		Assertions.assertEquals(List.of(tcp), server.getEndpoints());
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testUnixSocketPerformance(@TempDir final Path dir) throws Exception {
+		final Path path = dir.resolve("log4j.sock");
+		final int count = 20_000;
+		final int samples = 200;
+		final byte[] data = serialize(count);
+
+		// latency samples of the first round include compiling the handler path,
+		// so throughput and latency take the best of the later rounds
+		double tcpThroughput = 0;
+		double unixThroughput = 0;
+		long tcpLatency = Long.MAX_VALUE;
+		long unixLatency = Long.MAX_VALUE;
+		for (int i = 0; i < 6; i++) {
+			final double tt = measureChannelThroughput(null, data, count);
+			final double ut = measureChannelThroughput(path, data, count);
+			final long tl = measureChannelLatency(null, samples);
+			final long ul = measureChannelLatency(path, samples);
+			if (i > 0) {
+				tcpThroughput = Math.max(tcpThroughput, tt);
+				unixThroughput = Math.max(unixThroughput, ut);
+				tcpLatency = Math.min(tcpLatency, tl);
+				unixLatency = Math.min(unixLatency, ul);
+			}
+		}
+
+		// both paths share the factory probing and the consumer, a Unix domain
+		// socket only saves the TCP/IP processing of loopback segments
+		Assertions.assertTrue(unixThroughput >= tcpThroughput,
+				"Unix socket " + (long) unixThroughput + " events/s, loopback TCP " + (long) tcpThroughput + " events/s");
+		Assertions.assertTrue(unixLatency <= tcpLatency,
+				"Unix socket median latency " + TimeUnit.NANOSECONDS.toMicros(unixLatency) + "us, loopback TCP " + TimeUnit.NANOSECONDS.toMicros(tcpLatency) + "us");
+	}
+
+	private LogEventServer channelServer(final Path path, final LogEventBatchConsumer consumer, final Semaphore sema, final List<Throwable> errors) {
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), consumer);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setTcpEnabled(path == null);
+		server.setSocketPath(path);
+		return server;
+	}
+
+	private SocketAddress channelAddress(final LogEventServer server) {
+		final Path path = server.getSocketPath();
+		return path != null ? UnixDomainSocketAddress.of(path) : new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+	}
+
+	private double measureChannelThroughput(final Path path, final byte[] data, final int count) throws Exception {
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final AtomicInteger received = new AtomicInteger();
+		final LogEventServer server = channelServer(path, events -> received.addAndGet(events.size()), sema, errors);
+		server.start();
+
+		final long start = System.nanoTime();
+		try {
+			try (final SocketChannel channel = SocketChannel.open(channelAddress(server));
+				 final OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+				output.write(data);
+			}
+			sema.acquire();
+		} finally {
+			server.stop();
+		}
+		final long elapsed = System.nanoTime() - start;
+
+		Assertions.assertEquals(List.of(), errors);
+		Assertions.assertEquals(count, received.get());
+
+		return count * 1e9 / elapsed;
+	}
+
+	private long measureChannelLatency(final Path path, final int samples) throws Exception {
+		final Semaphore sema = new Semaphore(0);
+		final Semaphore delivered = new Semaphore(0);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final LogEventServer server = channelServer(path, events -> delivered.release(events.size()), sema, errors);
+
+		// deliver each event right away
+		server.setBatchDelay(0);
+		server.start();
+
+		final long[] latencies = new long[samples];
+		try {
+			try (final SocketChannel channel = SocketChannel.open(channelAddress(server));
+				 final ObjectOutputStream output = new ObjectOutputStream(Channels.newOutputStream(channel))) {
+				for (int i = 0; i < samples; i++) {
+					final LogEvent event = Log4jLogEvent.newBuilder()
+							.setLoggerName(TestLogEventServer.class.getName())
+							.setLevel(Level.INFO)
+							.setMessage(new SimpleMessage("Message " + i))
+							.build();
+
+					final long start = System.nanoTime();
+					output.reset();
+					output.writeObject(Log4jLogEvent.serialize(event, false));
+					output.flush();
+					Assertions.assertTrue(delivered.tryAcquire(30, TimeUnit.SECONDS), "Event was not delivered in time.");
+					latencies[i] = System.nanoTime() - start;
+				}
+			}
+			sema.acquire();
+		} finally {
+			server.stop();
+		}
+
+		Assertions.assertEquals(List.of(), errors);
+
+		Arrays.sort(latencies);
+		return latencies[samples / 2];
+	}
+
+	private byte[] serialize(final int count) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			for (int i = 0; i < count; i++) {
+				final LogEvent event = Log4jLogEvent.newBuilder()
+						.setLoggerName(TestLogEventServer.class.getName())
+						.setLevel(i % 10 == 0 ? Level.WARN : Level.INFO)
+						.setMessage(new SimpleMessage("Message " + i))
+						.setTimeMillis(System.currentTimeMillis())
+						.build();
+				output.writeObject(Log4jLogEvent.serialize(event, false));
+
+				// do not keep references to already written events like SerializedLayout
+				output.reset();
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private void send(final int port, final byte[] data) throws IOException {
+		try (final Socket socket = new Socket("localhost", port);
+			 final OutputStream output = new BufferedOutputStream(socket.getOutputStream())) {
+			output.write(data);
+		}
+	}
+
+	/**
+	 * A {@link LogEventBatchConsumer} mimicking the locking and update scheduling
+	 * behavior of the log viewer's table model.
+	 */
+	private static class TableSink implements LogEventBatchConsumer, AutoCloseable {
+
+		/**
+		 * The display thread time spent by a single table refresh.
+		 */
+		private static final long REFRESH_NANOS = 20_000;
+
+		private final ReadWriteLock _lock = new ReentrantReadWriteLock();
+		private final LogEventFilter _filter = new LogEventFilter();
+		private final LogEventRingBuffer _buffer;
+		private final ExecutorService _display = Executors.newSingleThreadExecutor();
+		private int _count = 0;
+		private int _calls = 0;
+
+		TableSink(final int capacity) {
+			_buffer = new LogEventRingBuffer(capacity);
+		}
+
+		@Override
+		public void acceptAll(final List<LogEvent> events) {
+			_lock.writeLock().lock();
+			try {
+				_calls++;
+				for (final LogEvent event : events) {
+					if (_filter.test(event)) {
+						_buffer.put(event);
+						_count++;
+					}
+				}
+			} finally {
+				_lock.writeLock().unlock();
+			}
+
+			// schedule a single table refresh per call just like asyncExec(),
+			// which reads the visible rows while blocking further writes
+			_display.execute(() -> {
+				_lock.readLock().lock();
+				try {
+					final long end = System.nanoTime() + REFRESH_NANOS;
+					while (_buffer.getSize() > 0 && System.nanoTime() < end) {
+						Thread.onSpinWait();
+					}
+				} finally {
+					_lock.readLock().unlock();
+				}
+			});
+		}
+
+		int getCount() {
+			_lock.readLock().lock();
+			try {
+				return _count;
+			} finally {
+				_lock.readLock().unlock();
+			}
+		}
+
+		int getCalls() {
+			_lock.readLock().lock();
+			try {
+				return _calls;
+			} finally {
+				_lock.readLock().unlock();
+			}
+		}
+
+		@Override
+		public void close() {
+			_display.close();
+		}
+	}
+
+	@Test
+	void testIdleConnections() throws Exception {
+		runWithIdleConnections(LogEventServer.Mode.BLOCKING);
+	}
+
+	@Test
+	void testSelectorIdleConnections() throws Exception {
+		runWithIdleConnections(LogEventServer.Mode.SELECTOR);
+	}
+
+	private void runWithIdleConnections(final LogEventServer.Mode mode) throws Exception {
+		final int clients = 1000;
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+		// count the reads of all handlers and those currently blocked
+		final AtomicInteger reads = new AtomicInteger();
+		final AtomicInteger blocked = new AtomicInteger();
+		final SerializedLogEventSupplierFactory serialized = new SerializedLogEventSupplierFactory();
+		final LogEventSupplierFactory factory = stream -> serialized.get(new FilterInputStream(stream) {
+			@Override
+			public int read() throws IOException {
+				reads.incrementAndGet();
+				blocked.incrementAndGet();
+				try {
+					return super.read();
+				} finally {
+					blocked.decrementAndGet();
+				}
+			}
+
+			@Override
+			public int read(final byte[] b, final int off, final int len) throws IOException {
+				reads.incrementAndGet();
+				blocked.incrementAndGet();
+				try {
+					return super.read(b, off, len);
+				} finally {
+					blocked.decrementAndGet();
+				}
+			}
+		});
+		final LogEventServer server = new LogEventServer(List.of(factory), e -> {});
+		server.addErrorListener((msg, ex) -> errors.add(ex));
+		server.setMode(mode);
+
+		// remember the threads running before the server starts its own
+		final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		Assumptions.assumeTrue(threads.isThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled());
+		final long[] existing = threads.getAllThreadIds();
+		server.start();
+
+		final List<Socket> sockets = new ArrayList<>();
+		try {
+			for (int i = 0; i < clients; i++) {
+				final Socket socket = new Socket("localhost", server.getPort());
+				sockets.add(socket);
+
+				// send the stream header only, making the handler block while waiting for events
+				new ObjectOutputStream(socket.getOutputStream()).flush();
+			}
+
+			// wait for all connections to be accepted and their handlers to be blocked
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (server.getConnectionCount() < clients || blocked.get() < clients) {
+				Assertions.assertTrue(System.nanoTime() < deadline, "Connections were not accepted in time.");
+				Thread.sleep(10);
+			}
+
+			// the platform threads started since, i.e. the selector's event loops
+			// or the acceptor and handler threads, virtual threads are not listed
+			final long[] serverThreads = Arrays.stream(threads.getAllThreadIds())
+					.filter(id -> Arrays.stream(existing).noneMatch(e -> e == id))
+					.toArray();
+			Assertions.assertNotEquals(0, serverThreads.length);
+
+			// idle handlers stay blocked in a single read rather than waking up
+			// to poll, and allocate nothing meanwhile
+			final int before = reads.get();
+			final long allocated = allocatedBytes();
+			final long cpu = cpuTime(threads, serverThreads);
+			final long window = 4 * server.getTimeout();
+			Thread.sleep(window);
+			final long idleCpu = TimeUnit.NANOSECONDS.toMillis(cpuTime(threads, serverThreads) - cpu);
+			final long idleAllocated = allocatedBytes() - allocated;
+
+			Assertions.assertEquals(before, reads.get(), "Idle handlers read again.");
+			Assertions.assertEquals(clients, blocked.get());
+			Assertions.assertTrue(idleAllocated < 1 << 20, "Idle allocations too high [bytes]: " + idleAllocated);
+
+			// neither select() nor accept() or read() time out, so the server's
+			// threads must not wake up at all while the connections are idle and
+			// the bound only leaves room for measuring noise
+			Assertions.assertTrue(idleCpu < window / 20, "Idle CPU time of " + serverThreads.length + " server threads too high [ms]: " + idleCpu);
+
+			// stop must not depend on the number of open connections
+			final long start = System.nanoTime();
+			server.stop();
+			final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+			Assertions.assertTrue(elapsed < 2 * server.getTimeout(), "Server stop took too long [ms]: " + elapsed);
+			Assertions.assertEquals(List.of(), errors);
+		} finally {
+			for (final Socket socket : sockets) {
+				socket.close();
+			}
+			if (server.isRunning()) {
+				server.stop();
+			}
+		}
+	}
+
+	private long cpuTime(final ThreadMXBean threads, final long[] ids) {
+		long total = 0;
+		for (final long id : ids) {
+			// terminated threads report -1
+			total += Math.max(0, threads.getThreadCpuTime(id));
+		}
+		return total;
+	}
+
+	private long allocatedBytes() throws JMException {
+		// use the platform MBean server in order not to depend on com.sun.management
+		final Object allocated = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME), "TotalThreadAllocatedBytes");
+		Assumptions.assumeTrue(allocated instanceof Long value && value.longValue() >= 0);
+		return ((Long) allocated).longValue();
+	}
+
 	@SuppressWarnings("deprecation")
-	private void runWithConfiguration(final Configuration config, final Consumer<LogEventServer> postStartAction, final Consumer<LogEventServer> preLogAction) throws InterruptedException {
+	private void runWithConfiguration(final Configuration config, final Consumer<LogEventServer> preStartAction, final Consumer<LogEventServer> postStartAction, final Consumer<LogEventServer> preLogAction) throws InterruptedException {
 		// use a semaphore to block until the handler thread fails
 		// which is a signal for us that either an error occurred or
 		// end of stream was reached.
@@ -125,7 +1515,7 @@ public class TestLogEventServer {
 		
 		final List<LogEvent> events = new ArrayList<>();
 		final List<LogEventSupplierFactory> factories = List.of(new SerializedLogEventSupplierFactory());
-		final List<Throwable> errors = new ArrayList<>();
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
 		final LogEventServer server = new LogEventServer(factories, events::add);
 		server.addErrorListener((msg, ex) -> {
 			if (ex instanceof EOFException) {
@@ -136,6 +1526,7 @@ public class TestLogEventServer {
 			sema.release();
 		});
 
+		preStartAction.accept(server);
 		server.start();
 		postStartAction.accept(server);
 
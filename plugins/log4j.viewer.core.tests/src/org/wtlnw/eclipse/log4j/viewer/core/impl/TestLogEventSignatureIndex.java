@@ -0,0 +1,150 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+
+/**
+ * Unit tests for {@link LogEventSignatureIndex}.
+ */
+public class TestLogEventSignatureIndex {
+
+	private static final LogEventSupplierFactory SERIALIZED = new SerializedLogEventSupplierFactory();
+
+	private static final LogEventSupplierFactory TEMPLATE = stream -> null;
+
+	private static final LogEventSupplierFactory JSON = stream -> null;
+
+	private static final LogEventSupplierFactory XML = stream -> null;
+
+	private static final LogEventSupplierFactory UNSIGNED = stream -> null;
+
+	private static final Map<LogEventSupplierFactory, List<byte[]>> SIGNATURES = Map.of(
+			SERIALIZED, List.of(new byte[] { (byte) 0xAC, (byte) 0xED }),
+			TEMPLATE, List.of(bytes("{")),
+			JSON, List.of(bytes("["), bytes("{")),
+			XML, List.of(bytes("<?xml"), bytes("<Event")));
+
+	@Test
+	void testCandidates() throws IOException {
+		final LogEventSignatureIndex index = new LogEventSignatureIndex(List.of(SERIALIZED, TEMPLATE, UNSIGNED, JSON, XML), SIGNATURES);
+
+		// factories sharing a signature are probed in registration order
+		Assertions.assertEquals(List.of(TEMPLATE, UNSIGNED, JSON), candidates(index, "{\"@timestamp\":0}\n"));
+		Assertions.assertEquals(List.of(UNSIGNED, JSON), candidates(index, "[{}]"));
+
+		// leading whitespace and null bytes are skipped
+		Assertions.assertEquals(List.of(UNSIGNED, XML), candidates(index, "\0\r\n  <?xml version=\"1.0\"?>"));
+		Assertions.assertEquals(List.of(UNSIGNED, XML), candidates(index, "<Event level=\"INFO\"/>"));
+
+		// signatures must match completely
+		Assertions.assertEquals(List.of(UNSIGNED), candidates(index, "<Even"));
+		Assertions.assertEquals(List.of(UNSIGNED), candidates(index, "<Log4jEvent/>"));
+		Assertions.assertEquals(List.of(UNSIGNED), candidates(index, "plain text"));
+		Assertions.assertEquals(List.of(UNSIGNED), candidates(index, "   "));
+
+		// serialized events
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(Log4jLogEvent.newBuilder().setMessage(new SimpleMessage("message")).build());
+		}
+		final InputStream stream = new BufferedInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		final List<LogEventSupplierFactory> candidates = index.getCandidates(stream);
+		Assertions.assertEquals(List.of(SERIALIZED, UNSIGNED), candidates);
+
+		// the stream is reset and can be read by the candidate
+		Assertions.assertEquals("message", candidates.getFirst().get(stream).get().getMessage().getFormattedMessage());
+	}
+
+	@Test
+	void testUnsigned() throws IOException {
+		// without any signatures, all factories are probed without peeking
+		final LogEventSignatureIndex index = new LogEventSignatureIndex(List.of(SERIALIZED, JSON), Map.of());
+		final InputStream stream = new ByteArrayInputStream(new byte[0]);
+		Assertions.assertEquals(List.of(SERIALIZED, JSON), index.getCandidates(stream));
+	}
+
+	@Test
+	void testInvalid() {
+		Assertions.assertThrows(NullPointerException.class, () -> new LogEventSignatureIndex(null, Map.of()));
+		Assertions.assertThrows(NullPointerException.class, () -> new LogEventSignatureIndex(List.of(), null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventSignatureIndex(List.of(JSON), Map.of(JSON, List.of(new byte[0]))));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventSignatureIndex(List.of(JSON), Map.of(JSON, List.of(bytes(" {")))));
+	}
+
+	@Test
+	void testThroughput() throws IOException {
+		final List<LogEventSupplierFactory> factories = new ArrayList<>();
+		final Map<LogEventSupplierFactory, List<byte[]>> signatures = new HashMap<>(SIGNATURES);
+		for (int i = 0; i < 16; i++) {
+			final LogEventSupplierFactory factory = stream -> null;
+			factories.add(factory);
+			signatures.put(factory, List.of(bytes("<Format" + i + ">")));
+		}
+		factories.addAll(List.of(SERIALIZED, TEMPLATE, JSON, XML));
+
+		final LogEventSignatureIndex index = new LogEventSignatureIndex(factories, signatures);
+		final byte[] data = bytes("<Event level=\"INFO\"><Message>message</Message></Event>");
+		final int count = 1_000_000;
+
+		final long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			Assertions.assertEquals(XML, index.getCandidates(new ByteArrayInputStream(data)).getFirst());
+		}
+		final long elapsed = System.nanoTime() - start;
+
+		// a lookup inspects the leading bytes once no matter how many
+		// factories are registered, a generous bound covers the warm up
+		Assertions.assertTrue(elapsed / count < 10_000,
+				count + " lookups among " + factories.size() + " factories took " + elapsed / count + " ns/lookup");
+	}
+
+	/**
+	 * @param index the {@link LogEventSignatureIndex} to query
+	 * @param data  the stream's content
+	 * @return the candidates of the given index for a stream of the given data
+	 * @throws IOException if the stream could not be read
+	 */
+	private static List<LogEventSupplierFactory> candidates(final LogEventSignatureIndex index, final String data) throws IOException {
+		final InputStream stream = new BufferedInputStream(new ByteArrayInputStream(bytes(data)));
+		final List<LogEventSupplierFactory> candidates = index.getCandidates(stream);
+		Assertions.assertArrayEquals(bytes(data), stream.readAllBytes());
+		return candidates;
+	}
+
+	/**
+	 * @param text the text to encode
+	 * @return the UTF-8 bytes of the given text
+	 */
+	private static byte[] bytes(final String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+}
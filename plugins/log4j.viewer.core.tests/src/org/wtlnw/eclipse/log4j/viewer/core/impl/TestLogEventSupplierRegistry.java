@@ -15,6 +15,7 @@
 package org.wtlnw.eclipse.log4j.viewer.core.impl;
 
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -32,5 +33,9 @@ public class TestLogEventSupplierRegistry {
 		
 		Assertions.assertTrue(!factories.isEmpty());
 		Assertions.assertInstanceOf(SerializedLogEventSupplierFactory.class, factories.getFirst());
+
+		// serialized events are declared to start with the stream magic
+		final Map<LogEventSupplierFactory, List<byte[]>> signatures = registry.getSignatures(factories);
+		Assertions.assertArrayEquals(new byte[] { (byte) 0xAC, (byte) 0xED }, signatures.get(factories.getFirst()).getFirst());
 	}
 }
@@ -0,0 +1,183 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.LogEventSupplier;
+
+/**
+ * Unit tests for {@link SerializedLogEventSupplierFactory}.
+ */
+public class TestSerializedLogEventSupplierFactory {
+
+	@Test
+	void testEvents() throws IOException {
+		final List<LogEvent> events = decode(serialize(10));
+		Assertions.assertEquals(10, events.size());
+
+		for (int i = 0; i < events.size(); i++) {
+			final LogEvent event = events.get(i);
+			Assertions.assertEquals(i % 10 == 0 ? Level.WARN : Level.ERROR, event.getLevel());
+			Assertions.assertEquals("Message " + i, event.getMessage().getFormattedMessage());
+			Assertions.assertEquals("MARKER", event.getMarker().getName());
+			Assertions.assertEquals(String.valueOf(i), event.getContextData().getValue("index"));
+			Assertions.assertEquals("failure " + i, event.getThrownProxy().getMessage());
+			Assertions.assertEquals("cause", event.getThrownProxy().getCauseProxy().getMessage());
+			Assertions.assertTrue(event.getThrownProxy().getExtendedStackTrace().length > 0);
+		}
+
+		// classes are served from the cache by subsequent streams
+		Assertions.assertEquals(10, decode(serialize(10)).size());
+	}
+
+	@Test
+	void testRejected() throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(new HashSet<>(List.of("gadget")));
+		}
+
+		final LogEventSupplier supplier = new SerializedLogEventSupplierFactory().get(new BufferedInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		Assertions.assertThrows(InvalidClassException.class, supplier::get);
+	}
+
+	@Test
+	void testClassCache() throws Exception {
+		final byte[] data = serialize(10);
+
+		// the first stream populates the cache shared by all streams
+		Assertions.assertEquals(10, decode(data).size());
+
+		// descriptors are sent again after each reset() of the writer, yet
+		// none of them reaches the class loader of a subsequent stream
+		final AtomicInteger loaded = new AtomicInteger();
+		try (final ObjectInputStream input = new SerializedLogEventSupplierFactory.LogEventInputStream(new ByteArrayInputStream(data)) {
+			@Override
+			Class<?> load(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+				loaded.incrementAndGet();
+				return super.load(desc);
+			}
+		}) {
+			for (int i = 0; i < 10; i++) {
+				Assertions.assertInstanceOf(LogEvent.class, input.readObject());
+			}
+		}
+		Assertions.assertEquals(0, loaded.get());
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testThroughput() throws Exception {
+		final int count = 20_000;
+		final byte[] data = serialize(count);
+
+		// warm up both variants before measuring
+		for (int i = 0; i < 5; i++) {
+			decodePlain(data);
+			decode(data);
+		}
+
+		// the best of several runs
+		long plain = Long.MAX_VALUE;
+		long filtered = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			long start = System.nanoTime();
+			Assertions.assertEquals(count, decodePlain(data).size());
+			plain = Math.min(plain, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			Assertions.assertEquals(count, decode(data).size());
+			filtered = Math.min(filtered, System.nanoTime() - start);
+		}
+
+		// every event re-sends the descriptors of its throwable proxies, so the
+		// map lookups replacing their class loader lookups have to make up for
+		// the filter checks
+		Assertions.assertTrue(filtered <= plain,
+				"filtered and cached " + filtered / 1_000_000 + " ms, plain " + plain / 1_000_000 + " ms");
+	}
+
+	private List<LogEvent> decode(final byte[] data) throws IOException {
+		final List<LogEvent> events = new ArrayList<>();
+		final LogEventSupplier supplier = new SerializedLogEventSupplierFactory().get(new BufferedInputStream(new ByteArrayInputStream(data)));
+		try {
+			while (true) {
+				events.add(supplier.get());
+			}
+		} catch (final EOFException ex) {
+			// end of stream
+		}
+		return events;
+	}
+
+	private List<LogEvent> decodePlain(final byte[] data) throws Exception {
+		final List<LogEvent> events = new ArrayList<>();
+		try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(data))) {
+			while (true) {
+				events.add((LogEvent) input.readObject());
+			}
+		} catch (final EOFException ex) {
+			// end of stream
+		}
+		return events;
+	}
+
+	private byte[] serialize(final int count) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			for (int i = 0; i < count; i++) {
+				final SortedArrayStringMap context = new SortedArrayStringMap();
+				context.putValue("index", String.valueOf(i));
+
+				final LogEvent event = Log4jLogEvent.newBuilder()
+						.setLoggerName(TestSerializedLogEventSupplierFactory.class.getName())
+						.setLevel(i % 10 == 0 ? Level.WARN : Level.ERROR)
+						.setMarker(MarkerManager.getMarker("MARKER"))
+						.setMessage(new ParameterizedMessage("Message {}", i))
+						.setContextData(context)
+						.setThrown(new IllegalStateException("failure " + i, new IOException("cause")))
+						.setTimeMillis(System.currentTimeMillis())
+						.build();
+				output.writeObject(Log4jLogEvent.serialize(event, false));
+
+				// do not keep references to already written events like SerializedLayout
+				output.reset();
+			}
+		}
+		return bytes.toByteArray();
+	}
+}
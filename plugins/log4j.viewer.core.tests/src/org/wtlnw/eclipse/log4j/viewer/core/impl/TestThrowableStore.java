@@ -0,0 +1,164 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventRingBuffer;
+
+/**
+ * Unit tests for {@link ThrowableStore}.
+ */
+public class TestThrowableStore {
+
+	/**
+	 * A {@link LazyLogEvent.Decoder} interpreting the raw bytes of throwables
+	 * as messages and counting its invocations.
+	 */
+	private static class CountingDecoder implements LazyLogEvent.Decoder {
+
+		private final AtomicInteger _count = new AtomicInteger();
+
+		@Override
+		public ThrowableProxy decodeThrown(final byte[] bytes) throws IOException {
+			_count.incrementAndGet();
+			return new ThrowableProxy(new RuntimeException(new String(bytes)));
+		}
+
+		@Override
+		public ReadOnlyStringMap decodeContextData(final byte[] bytes) throws IOException {
+			throw new IOException();
+		}
+
+		@Override
+		public StackTraceElement decodeSource(final byte[] bytes) throws IOException {
+			throw new IOException();
+		}
+	}
+
+	@Test
+	void testLazyEvents() {
+		final CountingDecoder decoder = new CountingDecoder();
+		final ThrowableStore store = new ThrowableStore();
+		final LogEventRingBuffer buffer = new LogEventRingBuffer(10, store::release);
+
+		for (int i = 0; i < 1_000; i++) {
+			final LazyLogEvent event = LazyLogEvent.newBuilder(decoder)
+					.setLevel(Level.ERROR)
+					.setMessage(new SimpleMessage("retry " + i))
+					.setThrownBytes(("connection refused " + (i % 2)).getBytes())
+					.build();
+			Assertions.assertSame(event, store.acquire(event));
+			buffer.put(event);
+		}
+
+		// events without throwable are not stored
+		final LazyLogEvent plain = LazyLogEvent.newBuilder(decoder).build();
+		Assertions.assertSame(plain, store.acquire(plain));
+		store.release(plain);
+
+		// evicted events have been released
+		Assertions.assertEquals(2, store.getSize());
+		Assertions.assertEquals(2, store.getMisses());
+		Assertions.assertEquals(998, store.getHits());
+		Assertions.assertTrue(store.getSavedBytes() > 998 * "connection refused 0".length());
+
+		final List<ThrowableStore.Entry> entries = store.getEntries();
+		Assertions.assertEquals(2, entries.size());
+		for (final ThrowableStore.Entry entry : entries) {
+			Assertions.assertEquals(5, entry.getReferences());
+			Assertions.assertEquals(500, entry.getOccurrences());
+		}
+
+		// retained events with equal throwables decode them only once
+		Assertions.assertEquals(0, decoder._count.get());
+		Assertions.assertSame(buffer.get(0).getThrownProxy(), buffer.get(2).getThrownProxy());
+		Assertions.assertSame(buffer.get(1).getThrownProxy(), buffer.get(3).getThrownProxy());
+		Assertions.assertNotSame(buffer.get(0).getThrownProxy(), buffer.get(1).getThrownProxy());
+		Assertions.assertEquals(2, decoder._count.get());
+
+		// decoded events can still be released
+		buffer.clear();
+		Assertions.assertEquals(0, store.getSize());
+		Assertions.assertTrue(store.getEntries().isEmpty());
+	}
+
+	@Test
+	void testDecodedEvents() {
+		final ThrowableStore store = new ThrowableStore();
+		final LogEventRingBuffer buffer = new LogEventRingBuffer(100, store::release);
+
+		LogEvent first = null;
+		for (int i = 0; i < 100; i++) {
+			final LogEvent event = Log4jLogEvent.newBuilder()
+					.setLevel(Level.ERROR)
+					.setMessage(new SimpleMessage("retry " + i))
+					.setThrown(fail(i % 10 == 0 ? "timeout" : "connection refused"))
+					.build();
+			final LogEvent acquired = store.acquire(event);
+			Assertions.assertEquals("retry " + i, acquired.getMessage().getFormattedMessage());
+			Assertions.assertEquals(Level.ERROR, acquired.getLevel());
+			buffer.put(acquired);
+
+			if (first == null) {
+				first = acquired;
+				Assertions.assertSame(event, acquired);
+			}
+		}
+
+		Assertions.assertEquals(2, store.getSize());
+		Assertions.assertEquals(98, store.getHits());
+		Assertions.assertTrue(store.getSavedBytes() > 0);
+		Assertions.assertSame(first.getThrownProxy(), buffer.get(10).getThrownProxy());
+		Assertions.assertSame(buffer.get(1).getThrownProxy(), buffer.get(99).getThrownProxy());
+
+		// the most frequent throwable is reported first
+		final List<ThrowableStore.Entry> entries = store.getEntries();
+		Assertions.assertEquals("connection refused", entries.get(0).getThrownProxy().getMessage());
+		Assertions.assertEquals(90, entries.get(0).getOccurrences());
+		Assertions.assertEquals("timeout", entries.get(1).getThrownProxy().getMessage());
+		Assertions.assertEquals(10, entries.get(1).getReferences());
+
+		// throwables with different frames are not shared
+		final LogEvent other = Log4jLogEvent.newBuilder().setThrown(new IllegalStateException("timeout")).build();
+		Assertions.assertSame(other, store.acquire(other));
+		Assertions.assertEquals(3, store.getSize());
+		store.release(other);
+
+		// the statistics outlive the released entries
+		buffer.clear();
+		Assertions.assertEquals(0, store.getSize());
+		Assertions.assertEquals(98, store.getHits());
+	}
+
+	/**
+	 * @param message the message of the {@link Exception} to create
+	 * @return an {@link Exception} with a cause, created at the same location for
+	 *         all invocations
+	 */
+	private static Exception fail(final String message) {
+		return new IllegalStateException(message, new IOException("socket closed"));
+	}
+}
@@ -0,0 +1,824 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.load;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.time.Instant;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventBatchConsumer;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventServer;
+
+/**
+ * Instances of this class generate load for a running {@link LogEventServer}
+ * and measure how fast it ingests the generated events.
+ *
+ * <p>
+ * The generator acts as the server's consumer and
+ * sends events over a configurable number of concurrent connections using the
+ * selected {@link Layout}. Each event carries its send time as its
+ * {@link LogEvent#getInstant() instant}, which allows the latency between
+ * sending and consuming an event to be measured without any additional
+ * protocol.
+ * </p>
+ *
+ * <p>
+ * The generator can be run headless using {@link #main(String[])}, e.g. in
+ * order to catch throughput regressions before upgrading the viewer.
+ * </p>
+ */
+public class LoadGenerator implements LogEventBatchConsumer {
+
+	/**
+	 * The layouts events can be sent with.
+	 */
+	public enum Layout {
+
+		/**
+		 * Events are sent like by the {@code SerializedLayout}.
+		 */
+		SERIALIZED("org.wtlnw.eclipse.log4j.viewer.core.impl.SerializedLogEventSupplierFactory"),
+
+		/**
+		 * Events are sent like by the {@code JsonLayout} with {@code compact} and
+		 * {@code eventEol} enabled.
+		 */
+		JSON("org.wtlnw.eclipse.log4j.viewer.core.json.impl.JsonLogEventSupplierFactory"),
+
+		/**
+		 * Events are sent like by the {@code XmlLayout} with {@code complete}
+		 * disabled.
+		 */
+		XML("org.wtlnw.eclipse.log4j.viewer.core.xml.impl.XmlLogEventSupplierFactory");
+
+		/**
+		 * @see #createFactory()
+		 */
+		private final String _factory;
+
+		/**
+		 * Create a {@link Layout}.
+		 *
+		 * @param factory the name of the {@link LogEventSupplierFactory} class
+		 *                decoding the layout
+		 */
+		Layout(final String factory) {
+			_factory = factory;
+		}
+
+		/**
+		 * @return a new instance of the {@link LogEventSupplierFactory} decoding the
+		 *         receiver
+		 * @throws ReflectiveOperationException if the factory is not available, e.g.
+		 *                                      because its plugin is not on the class
+		 *                                      path
+		 */
+		public LogEventSupplierFactory createFactory() throws ReflectiveOperationException {
+			return (LogEventSupplierFactory) Class.forName(_factory).getConstructor().newInstance();
+		}
+	}
+
+	/**
+	 * The result of a {@link LoadGenerator#run(String, int)}.
+	 *
+	 * @param sent         the number of events sent
+	 * @param received     the number of events consumed
+	 * @param thrown       the number of consumed events carrying a throwable
+	 * @param elapsedNanos the time in nanoseconds between sending the first and
+	 *                     consuming the last event
+	 * @param firstNanos   the time in nanoseconds between connecting and
+	 *                     consuming the first event
+	 * @param p50          the median consume latency in nanoseconds
+	 * @param p99          the 99th percentile consume latency in nanoseconds
+	 * @param p999         the 99.9th percentile consume latency in nanoseconds
+	 * @param heapGrowth   the difference in bytes of the used heap after and
+	 *                     before the run
+	 */
+	public record Report(long sent, long received, long thrown, long elapsedNanos, long firstNanos, long p50, long p99, long p999, long heapGrowth) {
+
+		/**
+		 * @return the number of events consumed per second
+		 */
+		public double eventsPerSecond() {
+			return elapsedNanos > 0 ? received * 1e9 / elapsedNanos : 0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d/%d events in %.2f s: %.0f events/s, first event after %.2f ms, latency p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, heap growth %d KiB",
+					received, sent, elapsedNanos / 1e9, eventsPerSecond(), firstNanos / 1e6, p50 / 1e6, p99 / 1e6, p999 / 1e6, heapGrowth >> 10);
+		}
+	}
+
+	/**
+	 * The characters message texts are made of.
+	 */
+	private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz ";
+
+	/**
+	 * The name of the logger sending events.
+	 */
+	private static final String LOGGER = LoadGenerator.class.getName();
+
+	/**
+	 * @see #getConnections()
+	 */
+	private int _connections = 1;
+
+	/**
+	 * @see #getLayout()
+	 */
+	private Layout _layout = Layout.SERIALIZED;
+
+	/**
+	 * @see #getMessageSize()
+	 */
+	private int _messageSize = 100;
+
+	/**
+	 * @see #getThrowableRatio()
+	 */
+	private double _throwableRatio = 0;
+
+	/**
+	 * @see #getRate()
+	 */
+	private int _rate = 0;
+
+	/**
+	 * @see #getEvents()
+	 */
+	private int _events = 100_000;
+
+	/**
+	 * @see #getTimeout()
+	 */
+	private int _timeout = 60_000;
+
+	/**
+	 * The time in nanoseconds since the epoch at which {@link #_origin} was taken.
+	 */
+	private final long _epoch = System.currentTimeMillis() * 1_000_000L;
+
+	/**
+	 * The value of {@link System#nanoTime()} corresponding to {@link #_epoch}.
+	 */
+	private final long _origin = System.nanoTime();
+
+	/**
+	 * The {@link Measurement} of the current run or {@code null} if no run is in
+	 * progress.
+	 */
+	private volatile Measurement _measurement;
+
+	/**
+	 * @return the number of concurrent connections to send events over, defaults
+	 *         to {@code 1}
+	 */
+	public int getConnections() {
+		return _connections;
+	}
+
+	/**
+	 * Setter for {@link #getConnections()}.
+	 *
+	 * @param connections see {@link #getConnections()}
+	 * @throws IllegalArgumentException if the given number is not positive
+	 */
+	public void setConnections(final int connections) throws IllegalArgumentException {
+		if (connections < 1) {
+			throw new IllegalArgumentException("Invalid number of connections: " + connections);
+		}
+		_connections = connections;
+	}
+
+	/**
+	 * @return the {@link Layout} to send events with, defaults to
+	 *         {@link Layout#SERIALIZED}
+	 */
+	public Layout getLayout() {
+		return _layout;
+	}
+
+	/**
+	 * Setter for {@link #getLayout()}.
+	 *
+	 * @param layout see {@link #getLayout()}
+	 * @throws NullPointerException if the given layout is {@code null}
+	 */
+	public void setLayout(final Layout layout) throws NullPointerException {
+		_layout = Objects.requireNonNull(layout);
+	}
+
+	/**
+	 * @return the number of characters of each event's message, defaults to
+	 *         {@code 100}
+	 */
+	public int getMessageSize() {
+		return _messageSize;
+	}
+
+	/**
+	 * Setter for {@link #getMessageSize()}.
+	 *
+	 * @param messageSize see {@link #getMessageSize()}
+	 * @throws IllegalArgumentException if the given size is negative
+	 */
+	public void setMessageSize(final int messageSize) throws IllegalArgumentException {
+		if (messageSize < 0) {
+			throw new IllegalArgumentException("Invalid message size: " + messageSize);
+		}
+		_messageSize = messageSize;
+	}
+
+	/**
+	 * @return the fraction of events carrying a throwable, defaults to {@code 0}
+	 */
+	public double getThrowableRatio() {
+		return _throwableRatio;
+	}
+
+	/**
+	 * Setter for {@link #getThrowableRatio()}.
+	 *
+	 * @param throwableRatio see {@link #getThrowableRatio()}
+	 * @throws IllegalArgumentException if the given ratio is not within
+	 *                                  {@code [0, 1]}
+	 */
+	public void setThrowableRatio(final double throwableRatio) throws IllegalArgumentException {
+		if (!(throwableRatio >= 0 && throwableRatio <= 1)) {
+			throw new IllegalArgumentException("Invalid throwable ratio: " + throwableRatio);
+		}
+		_throwableRatio = throwableRatio;
+	}
+
+	/**
+	 * @return the number of events per second to send over all connections or
+	 *         {@code 0} to send as fast as possible, defaults to {@code 0}
+	 */
+	public int getRate() {
+		return _rate;
+	}
+
+	/**
+	 * Setter for {@link #getRate()}.
+	 *
+	 * @param rate see {@link #getRate()}
+	 * @throws IllegalArgumentException if the given rate is negative
+	 */
+	public void setRate(final int rate) throws IllegalArgumentException {
+		if (rate < 0) {
+			throw new IllegalArgumentException("Invalid rate [events/s]: " + rate);
+		}
+		_rate = rate;
+	}
+
+	/**
+	 * @return the total number of events to send over all connections, defaults
+	 *         to {@code 100000}
+	 */
+	public int getEvents() {
+		return _events;
+	}
+
+	/**
+	 * Setter for {@link #getEvents()}.
+	 *
+	 * @param events see {@link #getEvents()}
+	 * @throws IllegalArgumentException if the given number is not positive
+	 */
+	public void setEvents(final int events) throws IllegalArgumentException {
+		if (events < 1) {
+			throw new IllegalArgumentException("Invalid number of events: " + events);
+		}
+		_events = events;
+	}
+
+	/**
+	 * @return the time in milliseconds to wait for all sent events to be
+	 *         consumed, defaults to {@code 60000}
+	 */
+	public int getTimeout() {
+		return _timeout;
+	}
+
+	/**
+	 * Setter for {@link #getTimeout()}.
+	 *
+	 * @param timeout see {@link #getTimeout()}
+	 * @throws IllegalArgumentException if the given timeout is negative
+	 */
+	public void setTimeout(final int timeout) throws IllegalArgumentException {
+		if (timeout < 0) {
+			throw new IllegalArgumentException("Invalid timeout [ms]: " + timeout);
+		}
+		_timeout = timeout;
+	}
+
+	/**
+	 * Send {@link #getEvents()} events to the server listening on the given host
+	 * and port and wait until all of them have been consumed or
+	 * {@link #getTimeout()} elapsed.
+	 *
+	 * <p>
+	 * Note: the server must have been created with the receiver as its consumer
+	 * and must not receive any other events during the run.
+	 * </p>
+	 *
+	 * @param host the host the server is running on
+	 * @param port the port the server is listening on
+	 * @return the {@link Report} of the run
+	 * @throws IOException          if an error occurred while sending events
+	 * @throws InterruptedException if the calling thread was interrupted while
+	 *                              waiting
+	 */
+	public Report run(final String host, final int port) throws IOException, InterruptedException {
+		final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		memory.gc();
+		final long heap = memory.getHeapMemoryUsage().getUsed();
+
+		final Measurement measurement = new Measurement(_events);
+		_measurement = measurement;
+
+		final ExecutorService executor = Executors.newFixedThreadPool(_connections);
+		try {
+			final List<Future<Void>> senders = new ArrayList<>();
+			final long start = System.nanoTime();
+			for (int i = 0; i < _connections; i++) {
+				// distribute the remainder among the first connections
+				final int count = _events / _connections + (i < _events % _connections ? 1 : 0);
+				senders.add(executor.submit(() -> send(host, port, count, start)));
+			}
+
+			for (final Future<Void> sender : senders) {
+				try {
+					sender.get();
+				} catch (final ExecutionException ex) {
+					if (ex.getCause() instanceof IOException io) {
+						throw io;
+					}
+					throw new IOException(ex.getCause());
+				}
+			}
+
+			measurement._done.await(_timeout, TimeUnit.MILLISECONDS);
+			_measurement = null;
+
+			memory.gc();
+			return measurement.report(start, memory.getHeapMemoryUsage().getUsed() - heap);
+		} finally {
+			_measurement = null;
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Send the given number of events over a new connection.
+	 *
+	 * @param host  the host to connect to
+	 * @param port  the port to connect to
+	 * @param count the number of events to send
+	 * @param start the value of {@link System#nanoTime()} the run was started at
+	 * @return {@code null}
+	 * @throws IOException if an error occurred while sending
+	 */
+	private Void send(final String host, final int port, final int count, final long start) throws IOException {
+		// the interval between two events of this connection honoring the total rate
+		final long interval = _rate > 0 ? TimeUnit.SECONDS.toNanos(_connections) / _rate : 0;
+		final String message = message(_messageSize);
+		final RuntimeException thrown = new RuntimeException("Generated failure");
+
+		try (final Socket socket = new Socket(host, port);
+			 final OutputStream output = new BufferedOutputStream(socket.getOutputStream());
+			 final Encoder encoder = encoder(output)) {
+			for (int i = 0; i < count; i++) {
+				if (interval > 0) {
+					final long delay = start + i * interval - System.nanoTime();
+					if (delay > 0) {
+						// do not let buffered events wait for the next one
+						output.flush();
+						LockSupport.parkNanos(delay);
+					}
+				}
+
+				// spread events carrying throwables evenly
+				final boolean fail = Math.floor((i + 1) * _throwableRatio) > Math.floor(i * _throwableRatio);
+				encoder.write(now(), i % 10 == 0 ? Level.WARN : Level.INFO, message, fail ? thrown : null);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the current time in nanoseconds since the epoch
+	 */
+	private long now() {
+		return _epoch + System.nanoTime() - _origin;
+	}
+
+	@Override
+	public void acceptAll(final List<LogEvent> events) {
+		final Measurement measurement = _measurement;
+		if (measurement == null) {
+			return;
+		}
+
+		final long now = now();
+		for (final LogEvent event : events) {
+			final Instant instant = event.getInstant();
+			measurement.add(now - (instant.getEpochSecond() * 1_000_000_000L + instant.getNanoOfSecond()), event.getThrownProxy() != null);
+		}
+	}
+
+	/**
+	 * @param size the number of characters
+	 * @return a message text of the given size
+	 */
+	private static String message(final int size) {
+		final StringBuilder builder = new StringBuilder(size);
+		for (int i = 0; i < size; i++) {
+			builder.append(ALPHABET.charAt(i % ALPHABET.length()));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * @param output the {@link OutputStream} to write events to
+	 * @return a new {@link Encoder} writing events using {@link #getLayout()}
+	 * @throws IOException if the encoder could not be initialized
+	 */
+	private Encoder encoder(final OutputStream output) throws IOException {
+		return switch (_layout) {
+		case SERIALIZED -> new SerializedEncoder(output);
+		case JSON -> new JsonEncoder(output);
+		case XML -> new XmlEncoder(output);
+		};
+	}
+
+	/**
+	 * Encoders write events in a particular {@link Layout}.
+	 */
+	private interface Encoder extends AutoCloseable {
+
+		/**
+		 * Write an event.
+		 *
+		 * @param nanos   the time in nanoseconds since the epoch of the event
+		 * @param level   the {@link Level} of the event
+		 * @param message the message of the event
+		 * @param thrown  the {@link Throwable} of the event or {@code null}
+		 * @throws IOException if an error occurred while writing
+		 */
+		void write(long nanos, Level level, String message, Throwable thrown) throws IOException;
+
+		@Override
+		default void close() throws IOException {
+			// the underlying stream is closed by the caller
+		}
+	}
+
+	/**
+	 * {@link Encoder} for {@link Layout#SERIALIZED}.
+	 */
+	private static class SerializedEncoder implements Encoder {
+
+		/**
+		 * The {@link ObjectOutputStream} to write events to.
+		 */
+		private final ObjectOutputStream _output;
+
+		/**
+		 * The {@link MutableInstant} holding the time of the event being written.
+		 */
+		private final MutableInstant _instant = new MutableInstant();
+
+		/**
+		 * Create a {@link SerializedEncoder}.
+		 *
+		 * @param output the {@link OutputStream} to write events to
+		 * @throws IOException if the stream header could not be written
+		 */
+		SerializedEncoder(final OutputStream output) throws IOException {
+			_output = new ObjectOutputStream(output);
+		}
+
+		@Override
+		public void write(final long nanos, final Level level, final String message, final Throwable thrown) throws IOException {
+			_instant.initFromEpochSecond(nanos / 1_000_000_000L, (int) (nanos % 1_000_000_000L));
+
+			final LogEvent event = Log4jLogEvent.newBuilder()
+					.setLoggerName(LOGGER)
+					.setLevel(level)
+					.setMessage(new SimpleMessage(message))
+					.setThrown(thrown)
+					.setInstant(_instant)
+					.build();
+			_output.writeObject(Log4jLogEvent.serialize(event, false));
+
+			// do not keep references to already written events like SerializedLayout
+			_output.reset();
+		}
+
+		@Override
+		public void close() throws IOException {
+			_output.flush();
+		}
+	}
+
+	/**
+	 * {@link Encoder} for {@link Layout#JSON}.
+	 */
+	private static class JsonEncoder implements Encoder {
+
+		/**
+		 * The {@link OutputStream} to write events to.
+		 */
+		private final OutputStream _output;
+
+		/**
+		 * The {@link StringBuilder} to format events with, it is reused for all events.
+		 */
+		private final StringBuilder _builder = new StringBuilder();
+
+		/**
+		 * Create a {@link JsonEncoder}.
+		 *
+		 * @param output the {@link OutputStream} to write events to
+		 */
+		JsonEncoder(final OutputStream output) {
+			_output = output;
+		}
+
+		@Override
+		public void write(final long nanos, final Level level, final String message, final Throwable thrown) throws IOException {
+			_builder.setLength(0);
+			_builder.append("{\"instant\":{\"epochSecond\":").append(nanos / 1_000_000_000L)
+					.append(",\"nanoOfSecond\":").append(nanos % 1_000_000_000L)
+					.append("},\"thread\":\"").append(Thread.currentThread().getName())
+					.append("\",\"level\":\"").append(level.name())
+					.append("\",\"loggerName\":\"").append(LOGGER)
+					.append("\",\"message\":\"").append(message).append('"');
+			if (thrown != null) {
+				_builder.append(",\"thrown\":{\"commonElementCount\":0,\"message\":\"").append(thrown.getMessage())
+						.append("\",\"name\":\"").append(thrown.getClass().getName())
+						.append("\",\"extendedStackTrace\":[");
+				final StackTraceElement[] trace = thrown.getStackTrace();
+				for (int i = 0; i < trace.length; i++) {
+					_builder.append(i > 0 ? ",{" : "{")
+							.append("\"class\":\"").append(trace[i].getClassName())
+							.append("\",\"method\":\"").append(trace[i].getMethodName())
+							.append("\",\"file\":\"").append(trace[i].getFileName())
+							.append("\",\"line\":").append(trace[i].getLineNumber())
+							.append(",\"exact\":false}");
+				}
+				_builder.append("]}");
+			}
+			_builder.append(",\"endOfBatch\":false,\"threadPriority\":5}\r\n");
+			_output.write(_builder.toString().getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * {@link Encoder} for {@link Layout#XML}.
+	 */
+	private static class XmlEncoder implements Encoder {
+
+		/**
+		 * The {@link OutputStream} to write events to.
+		 */
+		private final OutputStream _output;
+
+		/**
+		 * The {@link StringBuilder} to format events with, it is reused for all events.
+		 */
+		private final StringBuilder _builder = new StringBuilder();
+
+		/**
+		 * Create an {@link XmlEncoder}.
+		 *
+		 * @param output the {@link OutputStream} to write events to
+		 */
+		XmlEncoder(final OutputStream output) {
+			_output = output;
+		}
+
+		@Override
+		public void write(final long nanos, final Level level, final String message, final Throwable thrown) throws IOException {
+			_builder.setLength(0);
+			_builder.append("<Event thread=\"").append(Thread.currentThread().getName())
+					.append("\" level=\"").append(level.name())
+					.append("\" loggerName=\"").append(LOGGER)
+					.append("\" endOfBatch=\"false\" threadPriority=\"5\">\r\n")
+					.append("<Instant epochSecond=\"").append(nanos / 1_000_000_000L)
+					.append("\" nanoOfSecond=\"").append(nanos % 1_000_000_000L).append("\"/>\r\n")
+					.append("<Message>").append(message).append("</Message>\r\n");
+			if (thrown != null) {
+				_builder.append("<Thrown commonElementCount=\"0\" message=\"").append(thrown.getMessage())
+						.append("\" name=\"").append(thrown.getClass().getName()).append("\">\r\n")
+						.append("<ExtendedStackTrace>\r\n");
+				for (final StackTraceElement element : thrown.getStackTrace()) {
+					_builder.append("<ExtendedStackTraceItem class=\"").append(element.getClassName())
+							.append("\" method=\"").append(element.getMethodName())
+							.append("\" file=\"").append(element.getFileName())
+							.append("\" line=\"").append(element.getLineNumber())
+							.append("\" exact=\"false\"/>\r\n");
+				}
+				_builder.append("</ExtendedStackTrace>\r\n</Thrown>\r\n");
+			}
+			_builder.append("</Event>\r\n");
+			_output.write(_builder.toString().getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * The measured values of a single run.
+	 */
+	private static class Measurement {
+
+		/**
+		 * The consume latencies in nanoseconds in the order events were consumed.
+		 */
+		private final long[] _latencies;
+
+		/**
+		 * The number of consumed events.
+		 */
+		private final AtomicInteger _received = new AtomicInteger();
+
+		/**
+		 * The number of consumed events carrying a throwable.
+		 */
+		private final LongAdder _thrown = new LongAdder();
+
+		/**
+		 * The {@link CountDownLatch} released once all events have been consumed.
+		 */
+		private final CountDownLatch _done;
+
+		/**
+		 * The value of {@link System#nanoTime()} the first event was consumed at.
+		 */
+		private volatile long _first;
+
+		/**
+		 * The value of {@link System#nanoTime()} the last event was consumed at.
+		 */
+		private volatile long _last;
+
+		/**
+		 * Create a {@link Measurement}.
+		 *
+		 * @param events the number of events to be sent
+		 */
+		Measurement(final int events) {
+			_latencies = new long[events];
+			_done = new CountDownLatch(events);
+		}
+
+		/**
+		 * Record a consumed event.
+		 *
+		 * @param latency the event's consume latency in nanoseconds
+		 * @param thrown  {@code true} if the event carries a throwable
+		 */
+		void add(final long latency, final boolean thrown) {
+			final int index = _received.getAndIncrement();
+			if (index < _latencies.length) {
+				_latencies[index] = latency;
+				_last = System.nanoTime();
+				if (index == 0) {
+					_first = _last;
+				}
+				_done.countDown();
+			}
+			if (thrown) {
+				_thrown.increment();
+			}
+		}
+
+		/**
+		 * @param start      the value of {@link System#nanoTime()} the run was
+		 *                   started at
+		 * @param heapGrowth see {@link Report#heapGrowth()}
+		 * @return the {@link Report} for the measured values
+		 */
+		Report report(final long start, final long heapGrowth) {
+			final int received = Math.min(_received.get(), _latencies.length);
+			final long[] latencies = Arrays.copyOf(_latencies, received);
+			Arrays.sort(latencies);
+
+			final long elapsed = received > 0 ? _last - start : 0;
+			final long first = received > 0 ? _first - start : 0;
+			return new Report(_latencies.length, received, _thrown.sum(), elapsed, first,
+					percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(latencies, 0.999), heapGrowth);
+		}
+
+		/**
+		 * @param sorted   the sorted values
+		 * @param fraction the percentile as fraction
+		 * @return the given percentile of the given values or {@code 0} if there
+		 *         are none
+		 */
+		private static long percentile(final long[] sorted, final double fraction) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * fraction) - 1)];
+		}
+	}
+
+	/**
+	 * Start a {@link LogEventServer} and run a {@link LoadGenerator} against it.
+	 *
+	 * <p>
+	 * Settings are given as {@code name=value} arguments, e.g.
+	 * {@code connections=4 layout=JSON messageSize=200 throwableRatio=0.01 rate=0 events=1000000 mode=SELECTOR}.
+	 * The {@link LogEventSupplierFactory} for the selected layout must be on the
+	 * class path.
+	 * </p>
+	 *
+	 * @param args the settings
+	 * @throws Exception if the run failed
+	 */
+	public static void main(final String[] args) throws Exception {
+		final LoadGenerator generator = new LoadGenerator();
+		LogEventServer.Mode mode = LogEventServer.Mode.BLOCKING;
+		int port = 4445;
+
+		for (final String arg : args) {
+			final int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+
+			final String value = arg.substring(separator + 1);
+			switch (arg.substring(0, separator)) {
+			case "connections" -> generator.setConnections(Integer.parseInt(value));
+			case "layout" -> generator.setLayout(Layout.valueOf(value.toUpperCase()));
+			case "messageSize" -> generator.setMessageSize(Integer.parseInt(value));
+			case "throwableRatio" -> generator.setThrowableRatio(Double.parseDouble(value));
+			case "rate" -> generator.setRate(Integer.parseInt(value));
+			case "events" -> generator.setEvents(Integer.parseInt(value));
+			case "timeout" -> generator.setTimeout(Integer.parseInt(value));
+			case "mode" -> mode = LogEventServer.Mode.valueOf(value.toUpperCase());
+			case "port" -> port = Integer.parseInt(value);
+			default -> throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+		}
+
+		final LogEventServer server = new LogEventServer(port, 0, List.of(generator.getLayout().createFactory()), generator);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				System.err.println(msg + " " + ex);
+			}
+		});
+		server.setMode(mode);
+		server.setMaxConnections(Math.max(server.getMaxConnections(), generator.getConnections()));
+		server.setMaxConnectionsPerHost(Math.max(server.getMaxConnectionsPerHost(), generator.getConnections()));
+		server.start();
+
+		try {
+			System.out.println(generator.run("localhost", port));
+		} finally {
+			server.stop();
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.load;
+
+import java.io.EOFException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventServer;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.SerializedLogEventSupplierFactory;
+
+/**
+ * Unit tests for {@link LoadGenerator}.
+ */
+public class TestLoadGenerator {
+
+	@Test
+	void testSettings() {
+		final LoadGenerator generator = new LoadGenerator();
+		Assertions.assertEquals(1, generator.getConnections());
+		Assertions.assertEquals(LoadGenerator.Layout.SERIALIZED, generator.getLayout());
+		Assertions.assertEquals(0, generator.getRate());
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> generator.setConnections(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> generator.setMessageSize(-1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> generator.setThrowableRatio(1.5));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> generator.setThrowableRatio(Double.NaN));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> generator.setRate(-1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> generator.setEvents(0));
+		Assertions.assertThrows(NullPointerException.class, () -> generator.setLayout(null));
+	}
+
+	@Test
+	void testRun() throws Exception {
+		final LoadGenerator.Report report = run(LogEventServer.Mode.BLOCKING, 0);
+		Assertions.assertTrue(report.p50() <= report.p99());
+		Assertions.assertTrue(report.p99() <= report.p999());
+		Assertions.assertTrue(report.eventsPerSecond() > 0);
+	}
+
+	@Test
+	void testSelectorRun() throws Exception {
+		run(LogEventServer.Mode.SELECTOR, 0);
+	}
+
+	@Test
+	void testRate() throws Exception {
+		// 20000 events at 40000 events/s take at least half a second
+		final LoadGenerator.Report report = run(LogEventServer.Mode.BLOCKING, 40_000);
+		Assertions.assertTrue(report.elapsedNanos() >= 450_000_000L, report.toString());
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testBenchmark() throws Exception {
+		// the first round warms up both modes, the best of the remaining rounds counts
+		double blocking = 0;
+		double selector = 0;
+		for (int i = 0; i < 6; i++) {
+			final double b = run(LogEventServer.Mode.BLOCKING, 0).eventsPerSecond();
+			final double s = run(LogEventServer.Mode.SELECTOR, 0).eventsPerSecond();
+			if (i > 0) {
+				blocking = Math.max(blocking, b);
+				selector = Math.max(selector, s);
+			}
+		}
+
+		// both modes parse on one thread per connection, the selector only replaces
+		// the blocking reads by readiness notifications and must not cost any events/s
+		Assertions.assertTrue(selector >= blocking, "SELECTOR " + (long) selector + " events/s, BLOCKING " + (long) blocking + " events/s");
+	}
+
+	private LoadGenerator.Report run(final LogEventServer.Mode mode, final int rate) throws Exception {
+		final LoadGenerator generator = new LoadGenerator();
+		generator.setConnections(4);
+		generator.setEvents(20_000);
+		generator.setThrowableRatio(0.01);
+		generator.setRate(rate);
+
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final LogEventServer server = new LogEventServer(List.of(new SerializedLogEventSupplierFactory()), generator);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+		});
+		server.setMode(mode);
+		server.start();
+
+		final LoadGenerator.Report report;
+		try {
+			report = generator.run("localhost", server.getPort());
+		} finally {
+			server.stop();
+		}
+
+		Assertions.assertEquals(List.of(), errors);
+		Assertions.assertEquals(20_000, report.sent());
+		Assertions.assertEquals(20_000, report.received());
+		Assertions.assertEquals(200, report.thrown());
+		return report;
+	}
+}
@@ -0,0 +1,276 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.spi.MutableThreadContextStack;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.wtlnw.eclipse.log4j.viewer.core.filter.LogEventFilter;
+import org.wtlnw.eclipse.log4j.viewer.core.filter.LogEventProperty;
+
+/**
+ * JUnit tests for {@link LogEventColumnStore}.
+ */
+class TestLogEventColumnStore {
+
+	@Test
+	void test() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventColumnStore(0));
+		Assertions.assertThrows(NullPointerException.class, () -> new LogEventColumnStore(1, null));
+
+		final LogEventColumnStore store = new LogEventColumnStore(3);
+		Assertions.assertEquals(3, store.getCapacity());
+		Assertions.assertEquals(0, store.getSize());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.get(0));
+
+		for (int i = 1; i <= 5; i++) {
+			store.put(event(i));
+		}
+
+		// the head and tail have wrapped around
+		Assertions.assertEquals(3, store.getSize());
+		for (int i = 0; i < 3; i++) {
+			final LogEvent event = store.get(i);
+			Assertions.assertEquals(i + 3, event.getTimeMillis());
+			Assertions.assertEquals(123_456, event.getInstant().getNanoOfMillisecond());
+			Assertions.assertEquals(Level.INFO, event.getLevel());
+			Assertions.assertEquals("logger" + (i + 3) % 2, event.getLoggerName());
+			Assertions.assertEquals("main", event.getThreadName());
+			Assertions.assertEquals(1, event.getThreadId());
+			Assertions.assertEquals("message " + (i + 3), event.getMessage().getFormattedMessage());
+			Assertions.assertEquals(event.getMessage().getFormattedMessage(), store.getFormattedMessage(i));
+			Assertions.assertTrue(event.getContextData().isEmpty());
+		}
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.get(3));
+
+		// sequence numbers identify events across wrap arounds
+		Assertions.assertEquals(2, store.getSequence(0));
+		Assertions.assertEquals(4, store.getSequence(2));
+		Assertions.assertEquals(2, store.indexOf(4));
+		Assertions.assertEquals(-1, store.indexOf(1));
+		Assertions.assertEquals(-1, store.indexOf(5));
+		Assertions.assertEquals(5, store.getNextSequence());
+	}
+
+	@Test
+	void testSideTable() {
+		final LogEventColumnStore store = new LogEventColumnStore(4);
+		final LogEvent thrown = new Log4jLogEvent.Builder(event(2)).setLevel(Level.ERROR).setThrown(new IllegalStateException()).build();
+		final LogEvent marked = new Log4jLogEvent.Builder(event(30)).setLevel(Level.WARN).setMarker(MarkerManager.getMarker("marker")).build();
+		store.put(event(1));
+		store.put(thrown);
+		store.put(marked);
+
+		// events with properties lacking a column are retained as they are
+		Assertions.assertNotSame(store.get(0), store.get(0));
+		Assertions.assertSame(thrown, store.get(1));
+		Assertions.assertSame(marked, store.get(2));
+		Assertions.assertFalse(store.hasThrown(0));
+		Assertions.assertTrue(store.hasThrown(1));
+		Assertions.assertFalse(store.hasThrown(2));
+		Assertions.assertEquals(Level.ERROR, store.getLevel(1));
+
+		// filters read the columns and the side table alike
+		final LogEventFilter filter = new LogEventFilter();
+		filter.get(LogEventProperty.THROWABLE).setPattern("x");
+		filter.get(LogEventProperty.THROWABLE).setEnabled(true);
+		Assertions.assertFalse(filter.test(store, 0));
+		Assertions.assertTrue(filter.test(store, 1));
+		Assertions.assertFalse(filter.test(store, 2));
+
+		filter.get(LogEventProperty.THROWABLE).setEnabled(false);
+		filter.get(LogEventProperty.MESSAGE).setPattern("message \\d");
+		filter.get(LogEventProperty.MESSAGE).setEnabled(true);
+		for (int i = 0; i < store.getSize(); i++) {
+			Assertions.assertEquals(filter.test(store.get(i)), filter.test(store, i));
+		}
+	}
+
+	@Test
+	void testContextStack() {
+		final LogEventColumnStore store = new LogEventColumnStore(4);
+		final LogEvent nested = new Log4jLogEvent.Builder(event(2)).setContextStack(new MutableThreadContextStack(List.of("outer", "inner"))).build();
+		store.put(event(1));
+		store.put(nested);
+
+		// the context stack lacks a column, thus it survives in the side table
+		Assertions.assertSame(nested, store.get(1));
+		Assertions.assertEquals(List.of("outer", "inner"), store.get(1).getContextStack().asList());
+		Assertions.assertEquals(0, store.get(0).getContextStack().getDepth());
+		Assertions.assertEquals("message 2", store.getFormattedMessage(1));
+	}
+
+	@Test
+	void testEviction() {
+		final List<LogEvent> evicted = new ArrayList<>();
+		final LogEventColumnStore store = new LogEventColumnStore(2, evicted::add);
+		final LogEvent thrown = Log4jLogEvent.newBuilder().setThrown(new IllegalStateException()).build();
+		store.put(thrown);
+		store.put(event(2));
+		Assertions.assertTrue(evicted.isEmpty());
+
+		// overwriting the tail evicts it
+		store.put(event(3));
+		Assertions.assertEquals(List.of(thrown), evicted);
+
+		// clearing evicts all remaining events as views
+		store.clear();
+		Assertions.assertEquals(3, evicted.size());
+		Assertions.assertEquals("message 2", evicted.get(1).getMessage().getFormattedMessage());
+		Assertions.assertEquals("message 3", evicted.get(2).getMessage().getFormattedMessage());
+		Assertions.assertEquals(0, store.getSize());
+
+		// cleared entries are not evicted again, sequence numbers keep counting
+		store.put(event(4));
+		Assertions.assertEquals(3, evicted.size());
+		Assertions.assertEquals(3, store.getSequence(0));
+	}
+
+	@Test
+	void testByteBudget() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventColumnStore(1, 0, LogEventSizeEstimator.getDefault(), event -> {}));
+
+		final LogEventSizeEstimator estimator = new LogEventSizeEstimator() {
+			@Override
+			public long estimate(final LogEvent event) {
+				return 10_000;
+			}
+		};
+		final List<LogEvent> evicted = new ArrayList<>();
+		final LogEvent thrown = new Log4jLogEvent.Builder(event(0)).setThrown(new IllegalStateException()).build();
+		final LogEventColumnStore store = new LogEventColumnStore(1_000, 25_000, estimator, evicted::add);
+		Assertions.assertEquals(25_000, store.getByteBudget());
+
+		// events stored in columns are charged with their compact size
+		for (int i = 0; i < 100; i++) {
+			store.put(event(i));
+		}
+		store.put(thrown);
+		Assertions.assertEquals(101, store.getSize());
+		Assertions.assertTrue(evicted.isEmpty());
+
+		// events of the side table are charged with their estimated size and
+		// evict just as many of the oldest events as necessary
+		store.put(thrown);
+		Assertions.assertFalse(evicted.isEmpty());
+		Assertions.assertTrue(evicted.size() < 100);
+		Assertions.assertEquals(102 - evicted.size(), store.getSize());
+		Assertions.assertEquals("message 0", evicted.get(0).getMessage().getFormattedMessage());
+		Assertions.assertSame(thrown, store.get(store.getSize() - 1));
+		Assertions.assertSame(thrown, store.get(store.getSize() - 2));
+	}
+
+	@Test
+	void testSymbols() {
+		// symbols of evicted events are released
+		final LogEventColumnStore store = new LogEventColumnStore(100);
+		for (int i = 0; i < 100; i++) {
+			store.put(new Log4jLogEvent.Builder(event(i)).setThreadName("thread-" + i).build());
+		}
+		final long retained = store.getRetainedBytes();
+		for (int i = 100; i < 100_000; i++) {
+			store.put(new Log4jLogEvent.Builder(event(i)).setThreadName("thread-" + i).build());
+		}
+		Assertions.assertTrue(store.getRetainedBytes() < 2 * retained);
+		for (int i = 0; i < store.getSize(); i++) {
+			Assertions.assertEquals("thread-" + (i + 99_900), store.getThreadName(i));
+			Assertions.assertEquals("logger" + i % 2, store.getLoggerName(i));
+		}
+
+		// the bytes of symbols are charged against the budget
+		final LogEventColumnStore budgeted = new LogEventColumnStore(1 << 16, 1 << 16, LogEventSizeEstimator.getDefault(), event -> {});
+		final String prefix = "thread-".repeat(16);
+		for (int i = 0; i < 100_000; i++) {
+			budgeted.put(new Log4jLogEvent.Builder(event(i)).setThreadName(prefix + i).build());
+		}
+		Assertions.assertTrue(budgeted.getSize() * (long) prefix.length() < 1 << 16);
+	}
+
+	@Test
+	void testArena() throws IOException, ClassNotFoundException {
+		final LogEventColumnStore store = new LogEventColumnStore(100);
+		for (int i = 0; i < 10_000; i++) {
+			store.put(event(i));
+		}
+
+		// the arena is compacted rather than growing with the evicted messages
+		Assertions.assertTrue(store.getRetainedBytes() < 100 * 64 + (1 << 12) * 2);
+		for (int i = 0; i < store.getSize(); i++) {
+			Assertions.assertEquals("message " + (i + 9_900), store.getFormattedMessage(i));
+		}
+
+		// views are serialized as regular events
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(store.get(0));
+		}
+		try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			final LogEvent event = (LogEvent) input.readObject();
+			Assertions.assertEquals("message 9900", event.getMessage().getFormattedMessage());
+			Assertions.assertEquals(9_900, event.getTimeMillis());
+		}
+	}
+
+	@Test
+	void testFootprint() {
+		final int capacity = 100_000;
+		final LogEventColumnStore store = new LogEventColumnStore(capacity);
+
+		long estimated = 0;
+		for (int i = 0; i < capacity; i++) {
+			final LogEvent event = event(i);
+			estimated += LogEventSizeEstimator.getDefault().estimate(event);
+			store.put(event);
+		}
+
+		// the columns retain a fraction of the heap of the events as objects
+		Assertions.assertEquals(capacity, store.getSize());
+		Assertions.assertTrue(store.getRetainedBytes() < estimated / 2,
+				capacity + " events retain " + store.getRetainedBytes() / 1024 + " KB in columns, " + estimated / 1024 + " KB as objects");
+	}
+
+	/**
+	 * @param i the event's number
+	 * @return a {@link LogEvent} whose properties all fit into columns
+	 */
+	private static LogEvent event(final int i) {
+		final MutableInstant instant = new MutableInstant();
+		instant.initFromEpochMilli(i, 123_456);
+		return Log4jLogEvent.newBuilder()
+				.setInstant(instant)
+				.setLevel(Level.INFO)
+				.setLoggerName("logger" + i % 2)
+				.setLoggerFqcn("fqcn")
+				.setThreadName("main")
+				.setThreadId(1)
+				.setThreadPriority(5)
+				.setMessage(new SimpleMessage("message " + i))
+				.build();
+	}
+}
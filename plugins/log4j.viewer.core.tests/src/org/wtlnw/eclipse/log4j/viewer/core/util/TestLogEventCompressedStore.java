@@ -0,0 +1,141 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link LogEventCompressedStore}.
+ */
+class TestLogEventCompressedStore {
+
+	@Test
+	void test() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventCompressedStore(1 << 20, 1 << 9, 1, event -> {}));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventCompressedStore(1 << 9, 1 << 10, 1, event -> {}));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventCompressedStore(1 << 20, 1 << 10, 0, event -> {}));
+		Assertions.assertThrows(NullPointerException.class, () -> new LogEventCompressedStore(1 << 20, 1 << 10, 1, null));
+
+		final LogEventCompressedStore store = new LogEventCompressedStore(1 << 20, 1 << 10, 2, event -> {});
+		Assertions.assertEquals(0, store.getSize());
+		Assertions.assertNull(store.get(0));
+
+		// an empty store accepts any sequence number
+		store.append(42, event(42));
+		Assertions.assertEquals(42, store.getFirstSequence());
+		Assertions.assertEquals(43, store.getNextSequence());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> store.append(44, event(44)));
+
+		for (int i = 43; i < 1042; i++) {
+			store.append(i, event(i));
+		}
+
+		// the events span many compressed blocks and the current one
+		Assertions.assertEquals(1000, store.getSize());
+		Assertions.assertNull(store.get(41));
+		Assertions.assertNull(store.get(1042));
+		for (int i = 42; i < 1042; i++) {
+			final LogEvent event = store.get(i);
+			Assertions.assertEquals("message " + i, event.getMessage().getFormattedMessage());
+			Assertions.assertEquals(i, event.getTimeMillis());
+			Assertions.assertEquals(Level.INFO, event.getLevel());
+		}
+
+		// random access inflates blocks which are no longer cached
+		for (int i = 1041; i >= 42; i -= 97) {
+			Assertions.assertEquals("message " + i, store.get(i).getMessage().getFormattedMessage());
+		}
+
+		// clearing accepts any subsequent sequence number
+		store.clear();
+		Assertions.assertEquals(0, store.getSize());
+		Assertions.assertNull(store.get(42));
+
+		store.append(7, event(7));
+		Assertions.assertEquals(7, store.getFirstSequence());
+		Assertions.assertEquals("message 7", store.get(7).getMessage().getFormattedMessage());
+	}
+
+	@Test
+	void testCompression() {
+		final LogEventCompressedStore store = new LogEventCompressedStore(1 << 20);
+		long estimated = 0;
+		for (int i = 0; i < 10_000; i++) {
+			final LogEvent event = event(i);
+			estimated += LogEventSizeEstimator.getDefault().estimate(event);
+			store.append(i, event);
+		}
+
+		// repetitive log text retains a fraction of the heap of the events
+		Assertions.assertEquals(10_000, store.getSize());
+		Assertions.assertTrue(store.getRetainedBytes() < estimated / 2);
+	}
+
+	@Test
+	void testEviction() {
+		final List<Long> evicted = new ArrayList<>();
+		final LogEventCompressedStore[] store = { null };
+		store[0] = new LogEventCompressedStore(1 << 12, 1 << 10, 1, event -> {
+			// the listener is notified before the event is removed
+			Assertions.assertEquals(store[0].getFirstSequence(), event.getTimeMillis());
+			Assertions.assertNotNull(store[0].get(event.getTimeMillis()));
+			evicted.add(event.getTimeMillis());
+		});
+
+		for (int i = 0; i < 1_000; i++) {
+			store[0].append(i, event(i));
+			Assertions.assertTrue(store[0].getRetainedBytes() <= store[0].getMaxBytes());
+		}
+
+		// the evicted events are contiguous and precede the retained ones
+		Assertions.assertFalse(evicted.isEmpty());
+		for (int i = 0; i < evicted.size(); i++) {
+			Assertions.assertEquals(i, evicted.get(i).longValue());
+		}
+		Assertions.assertEquals(evicted.size(), store[0].getFirstSequence());
+		Assertions.assertEquals(1_000, store[0].getNextSequence());
+		for (long i = store[0].getFirstSequence(); i < store[0].getNextSequence(); i++) {
+			Assertions.assertEquals("message " + i, store[0].get(i).getMessage().getFormattedMessage());
+		}
+
+		// clearing does not notify the listener
+		final int count = evicted.size();
+		store[0].clear();
+		Assertions.assertEquals(count, evicted.size());
+	}
+
+	/**
+	 * @param i the number of the event to create
+	 * @return a new {@link LogEvent} with the given number as its timestamp and
+	 *         message
+	 */
+	private static LogEvent event(final long i) {
+		return Log4jLogEvent.newBuilder()
+				.setTimeMillis(i)
+				.setLevel(Level.INFO)
+				.setLoggerName("org.wtlnw.eclipse.log4j.viewer.core.util.TestLogEventCompressedStore")
+				.setThreadName("main")
+				.setMessage(new SimpleMessage("message " + i))
+				.build();
+	}
+}
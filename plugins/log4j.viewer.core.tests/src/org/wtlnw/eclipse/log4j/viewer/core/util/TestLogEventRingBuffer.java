@@ -14,8 +14,13 @@
 
 package org.wtlnw.eclipse.log4j.viewer.core.util;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -68,4 +73,77 @@ class TestLogEventRingBuffer {
 		Assertions.assertEquals(event6, buffer.get(2));
 		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(3));
 	}
+
+	@Test
+	void testEviction() {
+		Assertions.assertThrows(NullPointerException.class, () -> new LogEventRingBuffer(1, null));
+
+		final LogEvent event1 = new MutableLogEvent();
+		final LogEvent event2 = new MutableLogEvent();
+		final LogEvent event3 = new MutableLogEvent();
+		final List<LogEvent> evicted = new ArrayList<>();
+
+		final LogEventRingBuffer buffer = new LogEventRingBuffer(2, evicted::add);
+		buffer.put(event1);
+		buffer.put(event2);
+		Assertions.assertTrue(evicted.isEmpty());
+
+		// overwriting the tail evicts it
+		buffer.put(event3);
+		Assertions.assertEquals(List.of(event1), evicted);
+
+		// clearing evicts all remaining events
+		buffer.clear();
+		Assertions.assertEquals(3, evicted.size());
+		Assertions.assertTrue(evicted.containsAll(List.of(event2, event3)));
+		Assertions.assertEquals(0, buffer.getSize());
+
+		// cleared slots are not evicted again
+		buffer.put(event1);
+		Assertions.assertEquals(3, evicted.size());
+	}
+
+	@Test
+	void testByteBudget() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventRingBuffer(1, 0, LogEventSizeEstimator.getDefault(), event -> {}));
+		Assertions.assertThrows(NullPointerException.class, () -> new LogEventRingBuffer(1, 1, null, event -> {}));
+
+		final LogEvent small = Log4jLogEvent.newBuilder().setMessage(new SimpleMessage("small")).build();
+		final LogEvent large = Log4jLogEvent.newBuilder().setMessage(new SimpleMessage("large")).setThrown(new IllegalStateException()).build();
+		final long smallSize = LogEventSizeEstimator.getDefault().estimate(small);
+		final long largeSize = LogEventSizeEstimator.getDefault().estimate(large);
+		Assertions.assertTrue(largeSize > 10 * smallSize);
+
+		// without a budget, sizes are not estimated at all
+		final LogEventRingBuffer unbounded = new LogEventRingBuffer(10);
+		unbounded.put(large);
+		Assertions.assertEquals(Long.MAX_VALUE, unbounded.getByteBudget());
+		Assertions.assertEquals(0, unbounded.getRetainedBytes());
+
+		final List<LogEvent> evicted = new ArrayList<>();
+		final LogEventRingBuffer buffer = new LogEventRingBuffer(100, largeSize + 2 * smallSize, LogEventSizeEstimator.getDefault(), evicted::add);
+		for (int i = 0; i < 10; i++) {
+			buffer.put(small);
+		}
+		Assertions.assertEquals(10, buffer.getSize());
+		Assertions.assertEquals(10 * smallSize, buffer.getRetainedBytes());
+
+		// a large event evicts as many small events as necessary
+		buffer.put(large);
+		Assertions.assertEquals(3, buffer.getSize());
+		Assertions.assertEquals(8, evicted.size());
+		Assertions.assertEquals(largeSize + 2 * smallSize, buffer.getRetainedBytes());
+		Assertions.assertSame(large, buffer.get(2));
+
+		// an event exceeding the budget on its own is retained nonetheless
+		final LogEventRingBuffer tiny = new LogEventRingBuffer(100, 1, LogEventSizeEstimator.getDefault(), event -> {});
+		tiny.put(small);
+		tiny.put(large);
+		Assertions.assertEquals(1, tiny.getSize());
+		Assertions.assertSame(large, tiny.get(0));
+
+		buffer.clear();
+		Assertions.assertEquals(0, buffer.getRetainedBytes());
+		Assertions.assertEquals(11, evicted.size());
+	}
 }
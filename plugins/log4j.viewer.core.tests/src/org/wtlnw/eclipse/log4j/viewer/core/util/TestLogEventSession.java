@@ -0,0 +1,248 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JUnit tests for {@link LogEventSession}.
+ */
+class TestLogEventSession {
+
+	/**
+	 * The error listener failing the test.
+	 */
+	private static final BiConsumer<String, Throwable> FAIL = (message, ex) -> Assertions.fail(message, ex);
+
+	@TempDir
+	Path _directory;
+
+	@Test
+	void test() throws IOException, InterruptedException {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventSession(_directory, 1 << 9, FAIL));
+		Assertions.assertThrows(NullPointerException.class, () -> new LogEventSession(_directory, 1 << 20, null));
+
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			Assertions.assertEquals(0, session.getRestoredSize());
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> session.getRestored(0));
+
+			session.append(events(0, 100));
+			session.append(events(100, 200));
+		}
+
+		// the events are restored in the order they were appended
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			Assertions.assertEquals(200, session.getRestoredSize());
+			for (int i = 0; i < 200; i++) {
+				final LogEvent event = session.getRestored(i);
+				Assertions.assertEquals("message " + i, event.getMessage().getFormattedMessage());
+				Assertions.assertEquals(i, event.getTimeMillis());
+				Assertions.assertEquals(Level.INFO, event.getLevel());
+			}
+
+			// subsequent events are appended to the restored ones
+			session.append(events(200, 300));
+			session.flush();
+
+		}
+
+		// restored events which were not released are retained
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			Assertions.assertEquals(300, session.getRestoredSize());
+			Assertions.assertEquals("message 299", session.getRestored(299).getMessage().getFormattedMessage());
+
+			// released events are no longer available and their files are deleted
+			session.releaseRestored();
+			Assertions.assertEquals(0, session.getRestoredSize());
+			session.append(events(300, 310));
+		}
+
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			Assertions.assertEquals(10, session.getRestoredSize());
+			Assertions.assertEquals("message 300", session.getRestored(0).getMessage().getFormattedMessage());
+
+			// clearing deletes the session
+			session.clear();
+			session.append(events(310, 320));
+		}
+
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			Assertions.assertEquals(10, session.getRestoredSize());
+			Assertions.assertEquals("message 310", session.getRestored(0).getMessage().getFormattedMessage());
+		}
+	}
+
+	@Test
+	void testTruncated() throws IOException {
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			session.append(events(0, 10));
+		}
+
+		// cut off the last record as if the workbench crashed while writing it
+		final Path file;
+		try (final Stream<Path> files = Files.list(_directory)) {
+			file = files.findFirst().orElseThrow();
+		}
+		final long size;
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			size = channel.size() - 3;
+			channel.truncate(size);
+		}
+
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			Assertions.assertEquals(9, session.getRestoredSize());
+			session.append(events(10, 11));
+		}
+
+		// the truncated file was not written to, subsequent events follow in a
+		// new one
+		Assertions.assertEquals(size, Files.size(file));
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			Assertions.assertEquals(10, session.getRestoredSize());
+			Assertions.assertEquals("message 8", session.getRestored(8).getMessage().getFormattedMessage());
+			Assertions.assertEquals("message 10", session.getRestored(9).getMessage().getFormattedMessage());
+		}
+
+		// files which are no session files are discarded
+		try (final Stream<Path> files = Files.list(_directory)) {
+			for (final Path path : files.toList()) {
+				Files.write(path, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+			}
+		}
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			Assertions.assertEquals(0, session.getRestoredSize());
+		}
+	}
+
+	@Test
+	void testCorrupted() throws IOException {
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			session.append(events(0, 10));
+		}
+
+		// flip a byte within the payload of the sixth record
+		final Path file;
+		try (final Stream<Path> files = Files.list(_directory)) {
+			file = files.findFirst().orElseThrow();
+		}
+		final byte[] bytes = Files.readAllBytes(file);
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		int offset = 8;
+		for (int i = 0; i < 5; i++) {
+			offset += 8 + buffer.getInt(offset);
+		}
+		bytes[offset + 8 + buffer.getInt(offset) / 2] ^= 0x55;
+		Files.write(file, bytes);
+
+		// the corrupted record is the truncation point
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 20, FAIL)) {
+			Assertions.assertEquals(5, session.getRestoredSize());
+			for (int i = 0; i < 5; i++) {
+				Assertions.assertEquals("message " + i, session.getRestored(i).getMessage().getFormattedMessage());
+			}
+		}
+	}
+
+	@Test
+	void testMaxBytes() throws IOException {
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 14, FAIL)) {
+			for (int i = 0; i < 1_000; i += 10) {
+				session.append(events(i, i + 10));
+			}
+		}
+
+		// at most two generations are retained, the most recent events being
+		// restored without gaps
+		try (final Stream<Path> files = Files.list(_directory)) {
+			Assertions.assertTrue(files.count() <= 2);
+		}
+		try (final LogEventSession session = new LogEventSession(_directory, 1 << 14, FAIL)) {
+			final int size = session.getRestoredSize();
+			Assertions.assertTrue(size > 0 && size < 1_000);
+			for (int i = 0; i < size; i++) {
+				Assertions.assertEquals("message " + (1_000 - size + i), session.getRestored(i).getMessage().getFormattedMessage());
+			}
+		}
+	}
+
+	@Test
+	void testRestorePerformance() throws IOException, InterruptedException {
+		final int count = 1_000_000;
+		try (final LogEventSession session = new LogEventSession(_directory, 1L << 30, FAIL)) {
+			for (int i = 0; i < count; i += 1_000) {
+				session.append(events(i, i + 1_000));
+
+				// do not exceed the maximum number of pending events
+				if (i % 100_000 == 0) {
+					session.flush();
+				}
+			}
+		}
+
+		// compact records keep the session files small
+		long bytes = 0;
+		try (final Stream<Path> files = Files.list(_directory)) {
+			for (final Path path : files.toList()) {
+				bytes += Files.size(path);
+			}
+		}
+		Assertions.assertTrue(bytes < 128L * count, "session of " + count + " events takes " + bytes + " bytes");
+
+		// restoring only indexes and verifies the records, events are decoded
+		// on demand
+		final long start = System.nanoTime();
+		try (final LogEventSession session = new LogEventSession(_directory, 1L << 30, FAIL)) {
+			Assertions.assertEquals(count, session.getRestoredSize());
+			Assertions.assertEquals("message " + (count - 1), session.getRestored(count - 1).getMessage().getFormattedMessage());
+		}
+		final long elapsed = System.nanoTime() - start;
+		Assertions.assertTrue(elapsed < 1_000_000_000L, "restoring " + count + " events took " + elapsed / 1_000_000 + " ms");
+	}
+
+	/**
+	 * @param from the number of the first event to create (inclusive)
+	 * @param to   the number of the last event to create (exclusive)
+	 * @return the new {@link LogEvent}s with their numbers as timestamps and
+	 *         messages
+	 */
+	private static List<LogEvent> events(final int from, final int to) {
+		final List<LogEvent> events = new ArrayList<>();
+		IntStream.range(from, to).forEach(i -> events.add(Log4jLogEvent.newBuilder()
+				.setTimeMillis(i)
+				.setLevel(Level.INFO)
+				.setLoggerName("session")
+				.setMessage(new SimpleMessage("message " + i))
+				.build()));
+		return events;
+	}
+}
@@ -0,0 +1,158 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JUnit tests for {@link LogEventSpillStore}.
+ */
+class TestLogEventSpillStore {
+
+	@TempDir
+	Path _directory;
+
+	@Test
+	void test() throws IOException {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventSpillStore(_directory, 1 << 20, 1 << 9));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LogEventSpillStore(_directory, 1 << 9, 1 << 10));
+
+		try (final LogEventSpillStore store = new LogEventSpillStore(_directory.resolve("spill"), 1 << 20, 1 << 10)) {
+			Assertions.assertEquals(0, store.getSize());
+			Assertions.assertNull(store.get(0));
+
+			// an empty store accepts any sequence number
+			store.append(42, event(42));
+			Assertions.assertEquals(42, store.getFirstSequence());
+			Assertions.assertEquals(43, store.getNextSequence());
+			Assertions.assertThrows(IllegalArgumentException.class, () -> store.append(44, event(44)));
+
+			for (int i = 43; i < 142; i++) {
+				store.append(i, event(i));
+			}
+
+			// the events do not fit into a single segment
+			Assertions.assertEquals(100, store.getSize());
+			Assertions.assertTrue(store.getRetainedBytes() > 1 << 10);
+			Assertions.assertNull(store.get(41));
+			Assertions.assertNull(store.get(142));
+			for (int i = 42; i < 142; i++) {
+				final LogEvent event = store.get(i);
+				Assertions.assertEquals("message " + i, event.getMessage().getFormattedMessage());
+				Assertions.assertEquals(i, event.getTimeMillis());
+				Assertions.assertEquals(Level.INFO, event.getLevel());
+			}
+
+			// clearing deletes all segments and accepts any subsequent sequence number
+			store.clear();
+			Assertions.assertEquals(0, store.getSize());
+			Assertions.assertEquals(0, store.getRetainedBytes());
+			Assertions.assertNull(store.get(42));
+			try (final var files = Files.list(store.getDirectory())) {
+				Assertions.assertEquals(0, files.count());
+			}
+
+			store.append(7, event(7));
+			Assertions.assertEquals(7, store.getFirstSequence());
+			Assertions.assertEquals("message 7", store.get(7).getMessage().getFormattedMessage());
+		}
+
+		// closing deletes the directory
+		Assertions.assertFalse(Files.exists(_directory.resolve("spill")));
+	}
+
+	@Test
+	void testMaxBytes() throws IOException {
+		try (final LogEventSpillStore store = new LogEventSpillStore(_directory, 1 << 12, 1 << 10)) {
+			final List<Long> firsts = new ArrayList<>();
+			for (int i = 0; i < 1_000; i++) {
+				store.append(i, event(i));
+				firsts.add(store.getFirstSequence());
+
+				// the oldest segments are deleted in order not to exceed the maximum
+				Assertions.assertTrue(store.getRetainedBytes() <= store.getMaxBytes());
+			}
+
+			// the first sequence number advances in whole segments
+			Assertions.assertEquals(999, store.getNextSequence() - 1);
+			Assertions.assertTrue(store.getFirstSequence() > 0);
+			Assertions.assertTrue(store.getSize() > 1);
+			Assertions.assertNull(store.get(store.getFirstSequence() - 1));
+			for (long i = store.getFirstSequence(); i < store.getNextSequence(); i++) {
+				Assertions.assertEquals("message " + i, store.get(i).getMessage().getFormattedMessage());
+			}
+			Assertions.assertTrue(firsts.stream().distinct().count() > 2);
+		}
+	}
+
+	@Test
+	void testLargeRecord() throws IOException {
+		try (final LogEventSpillStore store = new LogEventSpillStore(_directory, 1 << 16, 1 << 10)) {
+			// a record exceeding the segment size gets a segment of its own
+			final String message = "x".repeat(1 << 12);
+			store.append(0, event(0));
+			store.append(1, Log4jLogEvent.newBuilder().setMessage(new SimpleMessage(message)).build());
+			store.append(2, event(2));
+
+			Assertions.assertEquals("message 0", store.get(0).getMessage().getFormattedMessage());
+			Assertions.assertEquals(message, store.get(1).getMessage().getFormattedMessage());
+			Assertions.assertEquals("message 2", store.get(2).getMessage().getFormattedMessage());
+		}
+	}
+
+	@Test
+	void testStaleSegments() throws IOException {
+		// segment files of a crashed workbench
+		Files.write(_directory.resolve("3.seg"), new byte[] { 1, 2, 3 });
+		Files.write(_directory.resolve("3.idx"), new byte[] { 4, 5, 6 });
+		final Path other = Files.writeString(_directory.resolve("other.txt"), "other");
+
+		try (final LogEventSpillStore store = new LogEventSpillStore(_directory, 1 << 20, 1 << 10)) {
+			Assertions.assertFalse(Files.exists(_directory.resolve("3.seg")));
+			Assertions.assertFalse(Files.exists(_directory.resolve("3.idx")));
+			Assertions.assertTrue(Files.exists(other));
+
+			// the directory is reused for new segments
+			store.append(0, event(0));
+			Assertions.assertEquals("message 0", store.get(0).getMessage().getFormattedMessage());
+		}
+	}
+
+	/**
+	 * @param i the number of the event to create
+	 * @return a new {@link LogEvent} with the given number as its timestamp and
+	 *         message
+	 */
+	private static LogEvent event(final long i) {
+		return Log4jLogEvent.newBuilder()
+				.setTimeMillis(i)
+				.setLevel(Level.INFO)
+				.setLoggerName("spill")
+				.setMessage(new SimpleMessage("message " + i))
+				.build();
+	}
+}
@@ -0,0 +1,127 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link StringPool}.
+ */
+class TestStringPool {
+
+	@Test
+	void test() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new StringPool(-1));
+
+		final StringPool pool = new StringPool(2);
+		Assertions.assertNull(pool.intern(null));
+		Assertions.assertEquals(0, pool.getHitRate());
+
+		// equal strings are deduplicated
+		final String first = new String("org.example.Service");
+		final String second = new String("org.example.Service");
+		Assertions.assertSame(first, pool.intern(first));
+		Assertions.assertSame(first, pool.intern(second));
+		Assertions.assertEquals(1, pool.getSize());
+		Assertions.assertEquals(1, pool.getHits());
+		Assertions.assertEquals(1, pool.getMisses());
+		Assertions.assertEquals(0.5, pool.getHitRate());
+		Assertions.assertTrue(pool.getSavedBytes() > second.length());
+
+		// strings exceeding the capacity are not pooled
+		Assertions.assertSame("main", pool.intern("main"));
+		final String third = new String("worker");
+		final String fourth = new String("worker");
+		Assertions.assertSame(third, pool.intern(third));
+		Assertions.assertSame(fourth, pool.intern(fourth));
+		Assertions.assertEquals(2, pool.getSize());
+		Assertions.assertEquals(4, pool.getMisses());
+
+		pool.clear();
+		Assertions.assertEquals(0, pool.getSize());
+		Assertions.assertEquals(0, pool.getHits());
+		Assertions.assertEquals(0, pool.getMisses());
+		Assertions.assertEquals(0, pool.getSavedBytes());
+	}
+
+	@Test
+	void testConcurrency() throws Exception {
+		final StringPool pool = new StringPool(StringPool.DEFAULT_CAPACITY);
+		final int threads = 8;
+		final int names = 100;
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<String[]>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					final String[] interned = new String[names];
+					for (int i = 0; i < 10_000; i++) {
+						interned[i % names] = pool.intern(new String("logger-" + (i % names)));
+					}
+					return interned;
+				}));
+			}
+
+			// all threads must observe the same instances
+			final String[] expected = futures.getFirst().get();
+			for (final Future<String[]> future : futures) {
+				final String[] actual = future.get();
+				for (int i = 0; i < names; i++) {
+					Assertions.assertSame(expected[i], actual[i]);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// threads losing the race to pool a string count hits
+		Assertions.assertEquals(names, pool.getSize());
+		Assertions.assertEquals(names, pool.getMisses());
+		Assertions.assertEquals(threads * 10_000L - names, pool.getHits());
+	}
+
+	@Test
+	void testEviction() {
+		final StringPool pool = new StringPool(2);
+		final String first = pool.intern(new String("org.example.Service"));
+		for (int i = 0; i < 10; i++) {
+			Assertions.assertSame(first, pool.intern(new String("org.example.Service")));
+		}
+		pool.intern(new String("org.example.Repository"));
+
+		// a full pool is emptied once most calls miss it
+		int requests = 0;
+		while (pool.getSize() == 2) {
+			Assertions.assertTrue(requests < 1 << 11, "The pool was not emptied.");
+			pool.intern("request-" + requests++);
+		}
+		Assertions.assertEquals(0, pool.getSize());
+		Assertions.assertNotSame(first, pool.intern(new String("org.example.Service")));
+
+		// the current strings are pooled again
+		final String second = new String("org.example.Controller");
+		Assertions.assertSame(second, pool.intern(second));
+		Assertions.assertSame(second, pool.intern(new String("org.example.Controller")));
+		Assertions.assertEquals(11, pool.getHits());
+	}
+}
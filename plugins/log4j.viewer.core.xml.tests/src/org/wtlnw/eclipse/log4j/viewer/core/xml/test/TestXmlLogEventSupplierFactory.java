@@ -15,13 +15,24 @@
 package org.wtlnw.eclipse.log4j.viewer.core.xml.test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Semaphore;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
@@ -29,11 +40,23 @@ import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.XmlLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.spi.MutableThreadContextStack;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventFrameReader;
 import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.FramingLogEventSupplier;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.LogEventSupplier;
 import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventServer;
 import org.wtlnw.eclipse.log4j.viewer.core.impl.SerializedLogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.load.LoadGenerator;
+import org.wtlnw.eclipse.log4j.viewer.core.xml.impl.StreamingXmlLogEventSupplierFactory;
 import org.wtlnw.eclipse.log4j.viewer.core.xml.impl.XmlLogEventSupplierFactory;
 
 /**
@@ -118,6 +141,322 @@ public class TestXmlLogEventSupplierFactory {
 		runWithConfiguration(config(CONFIG_SERIALIZED), new XmlLogEventSupplierFactory(), new SerializedLogEventSupplierFactory());
 	}
 
+	@Test
+	void testStreamingComplete() throws IOException, InterruptedException {
+		runWithConfiguration(config(CONFIG_COMPLETE), new StreamingXmlLogEventSupplierFactory());
+	}
+
+	@Test
+	void testStreamingFragments() throws IOException, InterruptedException {
+		runWithConfiguration(config(CONFIG_FRAGMENTS), new StreamingXmlLogEventSupplierFactory());
+	}
+
+	@Test
+	void testStreamingMultiSuppliers1() throws IOException, InterruptedException {
+		runWithConfiguration(config(CONFIG_FRAGMENTS), new SerializedLogEventSupplierFactory(), new StreamingXmlLogEventSupplierFactory());
+	}
+
+	@Test
+	void testStreamingMultiSuppliers2() throws IOException, InterruptedException {
+		runWithConfiguration(config(CONFIG_SERIALIZED), new StreamingXmlLogEventSupplierFactory(), new SerializedLogEventSupplierFactory());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void testStreamingEquivalence() throws IOException {
+		final byte[] data = layout(100);
+		final List<LogEvent> expected = decode(new XmlLogEventSupplierFactory(), data);
+		final List<LogEvent> actual = decode(new StreamingXmlLogEventSupplierFactory(), data);
+
+		Assertions.assertEquals(100, expected.size());
+		Assertions.assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			final LogEvent e = expected.get(i);
+			final LogEvent a = actual.get(i);
+			Assertions.assertEquals(e.getInstant(), a.getInstant());
+			Assertions.assertEquals(e.getLevel(), a.getLevel());
+			Assertions.assertEquals(e.getLoggerName(), a.getLoggerName());
+			Assertions.assertEquals(e.getLoggerFqcn(), a.getLoggerFqcn());
+			Assertions.assertEquals(e.getThreadName(), a.getThreadName());
+			Assertions.assertEquals(e.getThreadId(), a.getThreadId());
+			Assertions.assertEquals(e.getThreadPriority(), a.getThreadPriority());
+			Assertions.assertEquals(e.getMarker(), a.getMarker());
+			Assertions.assertEquals(e.getMessage().getFormattedMessage(), a.getMessage().getFormattedMessage());
+			Assertions.assertEquals(e.getContextData().toMap(), a.getContextData().toMap());
+			Assertions.assertEquals(e.getSource(), a.getSource());
+			if (e.getThrownProxy() == null) {
+				Assertions.assertNull(a.getThrownProxy());
+			} else {
+				Assertions.assertEquals(e.getThrownProxy().getExtendedStackTraceAsString(), a.getThrownProxy().getExtendedStackTraceAsString());
+			}
+		}
+	}
+
+	@Test
+	void testStreamingAllocation() throws Exception {
+		// measure on a corpus of 1 MB
+		final byte[] data = layout(Integer.MAX_VALUE, 1 << 20);
+		final int count = decode(new XmlLogEventSupplierFactory(), data).size();
+
+		// warm up the other supplier as well in order not to count class loading
+		decode(new StreamingXmlLogEventSupplierFactory(), data);
+
+		final long[] binding = measure(new XmlLogEventSupplierFactory(), data, count);
+		final long[] streaming = measure(new StreamingXmlLogEventSupplierFactory(), data, count);
+
+		// the stream reader neither buffers the document nor binds to beans
+		Assertions.assertTrue(streaming[1] < binding[1],
+				"streaming " + streaming[1] / count + " bytes/event, data binding " + binding[1] / count + " bytes/event");
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testStreamingThroughput() throws Exception {
+		// measure on a corpus of 1 MB
+		final byte[] data = layout(Integer.MAX_VALUE, 1 << 20);
+		final int count = decode(new XmlLogEventSupplierFactory(), data).size();
+
+		// the first rounds warm up both suppliers, the best of the remaining ones counts
+		long binding = Long.MAX_VALUE;
+		long streaming = Long.MAX_VALUE;
+		for (int i = 0; i < 10; i++) {
+			final long b = measure(new XmlLogEventSupplierFactory(), data, count)[0];
+			final long s = measure(new StreamingXmlLogEventSupplierFactory(), data, count)[0];
+			if (i >= 5) {
+				binding = Math.min(binding, b);
+				streaming = Math.min(streaming, s);
+			}
+		}
+
+		// dropping the synthetic wrapper document and the data binding on top of
+		// the same Woodstox parser must pay off in decoding time
+		Assertions.assertTrue(streaming < binding,
+				"streaming " + streaming / 1_000_000 + " ms, data binding " + binding / 1_000_000 + " ms");
+	}
+
+	private long[] measure(final LogEventSupplierFactory factory, final byte[] data, final int count) throws Exception {
+		final long allocated = allocatedBytes();
+		final long start = System.nanoTime();
+		final List<LogEvent> events = decode(factory, data);
+		final long elapsed = System.nanoTime() - start;
+		final long bytes = allocatedBytes() - allocated;
+
+		Assertions.assertEquals(count, events.size());
+		return new long[] { elapsed, bytes };
+	}
+
+	private long allocatedBytes() throws JMException {
+		// use the platform MBean server in order not to depend on com.sun.management
+		final Object allocated = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME), "CurrentThreadAllocatedBytes");
+		Assumptions.assumeTrue(allocated instanceof Long value && value.longValue() >= 0);
+		return ((Long) allocated).longValue();
+	}
+
+	private List<LogEvent> decode(final LogEventSupplierFactory factory, final byte[] data) throws IOException {
+		final List<LogEvent> events = new ArrayList<>();
+		final LogEventSupplier supplier = factory.get(new ByteArrayInputStream(data));
+		Assertions.assertNotNull(supplier);
+		try {
+			while (true) {
+				events.add(supplier.get());
+			}
+		} catch (final EOFException ex) {
+			// end of data reached
+		}
+		return events;
+	}
+
+	private byte[] layout(final int count) {
+		return layout(count, Integer.MAX_VALUE);
+	}
+
+	private byte[] layout(final int count, final int size) {
+		final XmlLayout layout = XmlLayout.newBuilder()
+				.setComplete(false)
+				.setCompact(true)
+				.setEventEol(true)
+				.setLocationInfo(true)
+				.setProperties(true)
+				.build();
+		final RuntimeException thrown = new RuntimeException("Failure", new IllegalStateException("Cause"));
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (int i = 0; i < count && bytes.size() < size; i++) {
+			final SortedArrayStringMap context = new SortedArrayStringMap();
+			context.putValue("request", "r" + (i % 7));
+			context.putValue("user", "u" + (i % 3));
+
+			final LogEvent event = Log4jLogEvent.newBuilder()
+					.setLoggerName(TestXmlLogEventSupplierFactory.class.getName())
+					.setLoggerFqcn(Logger.class.getName())
+					.setLevel(i % 10 == 0 ? Level.WARN : Level.INFO)
+					.setMarker(i % 5 == 0 ? MarkerManager.getMarker("AUDIT") : null)
+					.setMessage(new SimpleMessage("Message " + i))
+					.setThrown(i % 20 == 0 ? thrown : null)
+					.setContextData(context)
+					.setContextStack(new MutableThreadContextStack(List.of("outer", "inner")))
+					.setSource(new StackTraceElement(TestXmlLogEventSupplierFactory.class.getName(), "layout", "TestXmlLogEventSupplierFactory.java", i))
+					.setThreadName("worker-" + (i % 4))
+					.setThreadId(i % 4)
+					.setThreadPriority(5)
+					.setTimeMillis(System.currentTimeMillis())
+					.build();
+			bytes.writeBytes(layout.toByteArray(event));
+		}
+		return bytes.toByteArray();
+	}
+
+	@Test
+	void testFrameReader() throws IOException {
+		final byte[] data = """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<Events xmlns="http://logging.apache.org/log4j/2.0/events">
+				<Event level="INFO" loggerName="a>b"><Message>&lt;/Event&gt;</Message></Event>
+				<Event level="WARN" loggerName="c"><Message>b</Message></Event>
+				</Events>
+				""".getBytes(StandardCharsets.UTF_8);
+		final LogEventSupplier supplier = new StreamingXmlLogEventSupplierFactory().get(new ByteArrayInputStream(data));
+		final FramingLogEventSupplier framing = Assertions.assertInstanceOf(FramingLogEventSupplier.class, supplier);
+		final LogEventFrameReader reader = framing.getFrameReader();
+		Assertions.assertEquals("</Event>", framing.decode(reader.next()).getMessage().getFormattedMessage());
+		Assertions.assertEquals("b", framing.decode(reader.next()).getMessage().getFormattedMessage());
+		Assertions.assertThrows(EOFException.class, reader::next);
+	}
+
+	@Test
+	void testParallelParsing() throws Exception {
+		final int count = 10_000;
+		final byte[] data = layout(count);
+
+		final List<LogEvent> events = new ArrayList<>();
+		runWithParserThreads(data, 4, events);
+
+		Assertions.assertEquals(count, events.size());
+		for (int i = 0; i < count; i++) {
+			Assertions.assertEquals("Message " + i, events.get(i).getMessage().getFormattedMessage());
+		}
+	}
+
+	@Test
+	@Tag("benchmark")
+	void testParallelThroughput() throws Exception {
+		final int count = 50_000;
+		final byte[] data = layout(count);
+		final int threads = Runtime.getRuntime().availableProcessors();
+
+		Assumptions.assumeTrue(threads >= 4, "parallel parsing requires at least four processors");
+
+		// compare the fastest of four runs once a first round warmed up both pipelines
+		long sequential = Long.MAX_VALUE;
+		long parallel = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			final long s = runWithParserThreads(data, 0, new ArrayList<>());
+			final long p = runWithParserThreads(data, threads, new ArrayList<>());
+			if (i > 0) {
+				sequential = Math.min(sequential, s);
+				parallel = Math.min(parallel, p);
+			}
+		}
+
+		// framing only scans for the close tag of an event while parsing the
+		// fragments dominates, so four or more cores have to cut the time by
+		// at least a third
+		Assertions.assertTrue(parallel < sequential * 2 / 3,
+				threads + " parser threads " + parallel / 1_000_000 + " ms, sequential " + sequential / 1_000_000 + " ms");
+	}
+
+	private long runWithParserThreads(final byte[] data, final int parserThreads, final List<LogEvent> events) throws Exception {
+		final Semaphore sema = new Semaphore(0);
+		final List<Throwable> errors = new ArrayList<>();
+		final LogEventServer server = new LogEventServer(List.of(new StreamingXmlLogEventSupplierFactory()), events::add);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+			sema.release();
+		});
+		server.setParserThreads(parserThreads);
+		server.start();
+
+		final long start = System.nanoTime();
+		try {
+			try (final Socket socket = new Socket("localhost", server.getPort())) {
+				socket.getOutputStream().write(data);
+			}
+			sema.acquire();
+		} finally {
+			server.stop();
+		}
+		final long elapsed = System.nanoTime() - start;
+
+		if (!errors.isEmpty()) {
+			Assertions.fail(errors.getFirst());
+		}
+		return elapsed;
+	}
+
+	@Test
+	void testLoadGenerator() throws Exception {
+		final LoadGenerator generator = new LoadGenerator();
+		generator.setLayout(LoadGenerator.Layout.XML);
+		generator.setConnections(2);
+		generator.setEvents(2_000);
+		generator.setThrowableRatio(0.1);
+
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		final LogEventServer server = new LogEventServer(List.of(new XmlLogEventSupplierFactory()), generator);
+		server.addErrorListener((msg, ex) -> {
+			if (!(ex instanceof EOFException)) {
+				errors.add(ex);
+			}
+		});
+		server.start();
+
+		final LoadGenerator.Report report;
+		try {
+			report = generator.run("localhost", server.getPort());
+		} finally {
+			server.stop();
+		}
+
+		if (!errors.isEmpty()) {
+			Assertions.fail(errors.getFirst());
+		}
+		Assertions.assertEquals(2_000, report.received());
+		Assertions.assertEquals(200, report.thrown());
+		Assertions.assertTrue(report.p50() <= report.p99() && report.p99() <= report.p999(), report.toString());
+		Assertions.assertTrue(report.eventsPerSecond() > 0, report.toString());
+	}
+
+	@Test
+	void testFirstEventLatency() throws Exception {
+		final LoadGenerator generator = new LoadGenerator();
+		generator.setLayout(LoadGenerator.Layout.XML);
+		generator.setEvents(1);
+
+		final LogEventServer server = new LogEventServer(List.of(new XmlLogEventSupplierFactory()), generator);
+		// deliver single events right away
+		server.setBatchDelay(0);
+		server.start();
+
+		final int samples = 50;
+		final long[] latencies = new long[samples];
+		try {
+			for (int i = 0; i < samples; i++) {
+				final LoadGenerator.Report report = generator.run("localhost", server.getPort());
+				Assertions.assertEquals(1, report.received());
+				latencies[i] = report.firstNanos();
+			}
+		} finally {
+			server.stop();
+		}
+
+		// the shared readers are warmed up once, connections do not pay for
+		// it again
+		Arrays.sort(latencies);
+		Assertions.assertTrue(latencies[samples / 2] < 100_000_000L, "connect to first event " + latencies[samples / 2] / 1_000_000 + " ms (median)");
+	}
+
 	@SuppressWarnings("deprecation")
 	private void runWithConfiguration(final Configuration config, final LogEventSupplierFactory... factories) throws IOException, InterruptedException {
 		// use a semaphore to block until the handler thread fails
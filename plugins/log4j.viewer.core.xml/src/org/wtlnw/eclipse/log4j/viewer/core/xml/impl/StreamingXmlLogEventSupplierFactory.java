@@ -0,0 +1,557 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.xml.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.core.jackson.Log4jXmlObjectMapper;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.codehaus.stax2.XMLStreamReader2;
+import org.codehaus.stax2.XMLStreamWriter2;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventFrameReader;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LazyLogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.util.StringPool;
+
+import com.ctc.wstx.api.WstxInputProperties;
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.ctc.wstx.stax.WstxOutputFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * {@link LogEventSupplierFactory} implementation for XmlLayout based
+ * {@link LogEvent}s which reads the {@code <Event>} elements directly from a
+ * Woodstox {@link XMLStreamReader2} rather than using Jackson's data binding.
+ *
+ * <p>
+ * XML fragments are read in Woodstox' fragment parsing mode, thus no wrapper
+ * stream providing a synthetic root element is required. The
+ * {@code ContextStack} element, which is not displayed by the viewer, is
+ * skipped without being decoded. The {@code Thrown}, {@code ContextMap} and
+ * {@code Source} elements are retained as raw bytes and decoded by the
+ * {@link LazyLogEvent}s on demand only. Throwables are handed to Jackson's
+ * data binding then, since {@link ThrowableProxy} cannot be created otherwise.
+ * </p>
+ *
+ * <p>
+ * The suppliers are {@link FramingLogEventSupplier}s finding the boundaries of
+ * events by looking for the {@code </Event>} closing tag, which allows the
+ * server to decode the events of a single connection in parallel.
+ * </p>
+ *
+ * <p>
+ * Note: the factory supports the same streams as
+ * {@link XmlLogEventSupplierFactory}.
+ * </p>
+ */
+public class StreamingXmlLogEventSupplierFactory implements LogEventSupplierFactory {
+
+	/**
+	 * The {@link XMLInputFactory} for well-formed XML documents.
+	 */
+	private static final XMLInputFactory DOCUMENT_FACTORY = createInputFactory(WstxInputProperties.PARSING_MODE_DOCUMENT);
+
+	/**
+	 * The {@link XMLInputFactory} for streams of XML fragments.
+	 */
+	private static final XMLInputFactory FRAGMENT_FACTORY = createInputFactory(WstxInputProperties.PARSING_MODE_FRAGMENT);
+
+	/**
+	 * The {@link XMLOutputFactory} used for retaining elements as raw bytes.
+	 */
+	private static final XMLOutputFactory OUTPUT_FACTORY = createOutputFactory();
+
+	/**
+	 * The {@link ObjectReader} used for {@link ThrowableProxy} de-serialization.
+	 */
+	private static final ObjectReader THROWN_READER = new Log4jXmlObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+			.readerFor(ThrowableProxy.class);
+
+	/**
+	 * The {@link LazyLogEvent.Decoder} shared by all events.
+	 */
+	private static final LazyLogEvent.Decoder DECODER = new XmlDecoder();
+
+	/**
+	 * @param mode the Woodstox parsing mode to use
+	 * @return a new {@link XMLInputFactory} using the given parsing mode
+	 */
+	private static XMLInputFactory createInputFactory(final WstxInputProperties.ParsingMode mode) {
+		// instantiate Woodstox directly rather than relying on the service
+		// lookup of XMLInputFactory.newFactory() which does not work in OSGi
+		final XMLInputFactory factory = new WstxInputFactory();
+		factory.setProperty(WstxInputProperties.P_INPUT_PARSING_MODE, mode);
+
+		// events are received from the network, never resolve anything
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
+	/**
+	 * @return a new {@link XMLOutputFactory} declaring the namespaces of copied
+	 *         elements automatically
+	 */
+	private static XMLOutputFactory createOutputFactory() {
+		final XMLOutputFactory factory = new WstxOutputFactory();
+		factory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, Boolean.TRUE);
+		return factory;
+	}
+
+	@Override
+	public LogEventSupplier get(final InputStream stream) throws IOException {
+		if (!stream.markSupported()) {
+			throw new IllegalArgumentException();
+		}
+
+		stream.mark(16);
+		try {
+			final byte[] bytes = stream.readNBytes(16);
+			final String string = new String(bytes).trim();
+			final boolean complete = string.startsWith("<?xml");
+			final boolean fragment = string.startsWith("<Event");
+			if (complete || fragment) {
+				// make sure to reset the stream prior to supplier initialization
+				stream.reset();
+				return new FramingXmlLogEventSupplier(stream, complete);
+			}
+		} catch (final Exception ex) {
+			// failed to read from the stream
+		}
+
+		// either we do not support the stream or we failed reading from it
+		stream.reset();
+		return null;
+	}
+
+	/**
+	 * @param ex the {@link XMLStreamException} to convert
+	 * @return the {@link IOException} which caused the given exception (e.g. a
+	 *         socket timeout) or a new one wrapping it
+	 */
+	private static IOException toIOException(final XMLStreamException ex) {
+		if (ex.getNestedException() instanceof IOException ioe) {
+			return ioe;
+		}
+		return new IOException(ex);
+	}
+
+	/**
+	 * A {@link FramingLogEventSupplier} implementation reading {@link LogEvent}s
+	 * either sequentially using a {@link StreamingXmlLogEventSupplier} or frame by
+	 * frame using an {@link XmlFrameReader}.
+	 */
+	private static class FramingXmlLogEventSupplier implements FramingLogEventSupplier {
+
+		/**
+		 * The {@link InputStream} to read the events from.
+		 */
+		private final InputStream _stream;
+
+		/**
+		 * {@code true} if the stream contains a well-formed XML document or
+		 * {@code false} for XML fragments only.
+		 */
+		private final boolean _complete;
+
+		/**
+		 * The {@link StreamingXmlLogEventSupplier} reading the events
+		 * sequentially or {@code null} if {@link #get()} was not called yet.
+		 */
+		private StreamingXmlLogEventSupplier _supplier;
+
+		/**
+		 * Create a {@link FramingXmlLogEventSupplier}.
+		 *
+		 * @param stream   the {@link InputStream} to read the events from
+		 * @param complete {@code true} if the stream contains a well-formed XML
+		 *                 document or {@code false} for XML fragments only
+		 */
+		FramingXmlLogEventSupplier(final InputStream stream, final boolean complete) {
+			_stream = stream;
+			_complete = complete;
+		}
+
+		@Override
+		public LogEvent get() throws IOException {
+			// create the reader lazily since it reads ahead from the stream
+			if (_supplier == null) {
+				final XMLInputFactory factory = _complete ? DOCUMENT_FACTORY : FRAGMENT_FACTORY;
+				try {
+					_supplier = new StreamingXmlLogEventSupplier((XMLStreamReader2) factory.createXMLStreamReader(_stream));
+				} catch (final XMLStreamException ex) {
+					throw toIOException(ex);
+				}
+			}
+			return _supplier.get();
+		}
+
+		@Override
+		public LogEventFrameReader getFrameReader() {
+			return new XmlFrameReader(_stream);
+		}
+
+		@Override
+		public LogEvent decode(final byte[] frame) throws IOException {
+			try {
+				final XMLStreamReader2 reader = (XMLStreamReader2) DOCUMENT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(frame));
+				final LogEvent event = new StreamingXmlLogEventSupplier(reader).get();
+
+				// allow Woodstox to recycle the reader's buffers
+				reader.close();
+				return event;
+			} catch (final XMLStreamException ex) {
+				throw toIOException(ex);
+			}
+		}
+	}
+
+	/**
+	 * A {@link LogEventFrameReader} returning {@code <Event>} elements, skipping
+	 * the XML declaration and the enclosing {@code <Events>} element of complete
+	 * documents.
+	 *
+	 * <p>
+	 * Note: frames are returned without XML declaration and are thus expected to
+	 * be UTF-8 encoded, which is the default of XmlLayout.
+	 * </p>
+	 */
+	private static class XmlFrameReader extends LogEventFrameReader {
+
+		/**
+		 * The beginning of an event's start tag.
+		 */
+		private static final byte[] START = "<Event".getBytes(StandardCharsets.US_ASCII);
+
+		/**
+		 * An event's end tag.
+		 */
+		private static final byte[] END = "</Event>".getBytes(StandardCharsets.US_ASCII);
+
+		/**
+		 * Create an {@link XmlFrameReader}.
+		 *
+		 * @param stream the {@link InputStream} to read the frames from
+		 */
+		XmlFrameReader(final InputStream stream) {
+			super(stream);
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			int b = readStart();
+			append(START);
+			append(b);
+
+			// read the rest of the start tag, quoted attribute values may contain '>'
+			int quote = 0;
+			while (b != '>' || quote != 0) {
+				final int previous = b;
+				b = readFrame();
+				if (quote != 0) {
+					if (b == quote) {
+						quote = 0;
+					}
+				} else if (b == '"' || b == '\'') {
+					quote = b;
+				} else if (b == '>' && previous == '/') {
+					// empty element
+					return frame();
+				}
+			}
+
+			// the '<' of the end tag never occurs within text content
+			int matched = 0;
+			while (matched < END.length) {
+				b = readFrame();
+				matched = b == END[matched] ? matched + 1 : b == '<' ? 1 : 0;
+			}
+			return frame();
+		}
+
+		/**
+		 * Skip to the next event's start tag.
+		 *
+		 * @return the byte following {@link #START}
+		 * @throws IOException  if an error occurred while reading from the stream
+		 * @throws EOFException if end of stream was reached
+		 */
+		private int readStart() throws IOException {
+			int matched = 0;
+			while (true) {
+				final int b = read();
+				if (b < 0) {
+					throw new EOFException();
+				}
+				if (matched < START.length) {
+					matched = b == START[matched] ? matched + 1 : b == '<' ? 1 : 0;
+				} else if (b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '>' || b == '/') {
+					return b;
+				} else {
+					// e.g. the <Events> element of complete documents
+					matched = b == '<' ? 1 : 0;
+				}
+			}
+		}
+
+		/**
+		 * @return the next byte of the current frame which has been appended to it
+		 * @throws IOException if an error occurred while reading from the stream or
+		 *                     the stream ended within the frame
+		 */
+		private int readFrame() throws IOException {
+			final int b = read();
+			if (b < 0) {
+				throw new IOException("Unexpected end of stream within an event.");
+			}
+			append(b);
+			return b;
+		}
+	}
+
+	/**
+	 * A {@link LogEventSupplier} implementation reading {@link LogEvent}s event
+	 * by event from an {@link XMLStreamReader2}.
+	 */
+	private static class StreamingXmlLogEventSupplier implements LogEventSupplier {
+
+		/**
+		 * The {@link XMLStreamReader2} to read the events from.
+		 */
+		private final XMLStreamReader2 _reader;
+
+		/**
+		 * The buffer to copy lazily decoded elements into, it is reused for all
+		 * events.
+		 */
+		private final ByteArrayOutputStream _buffer = new ByteArrayOutputStream();
+
+		/**
+		 * Create a {@link StreamingXmlLogEventSupplier}.
+		 *
+		 * @param reader the {@link XMLStreamReader2} to read the events from
+		 */
+		StreamingXmlLogEventSupplier(final XMLStreamReader2 reader) {
+			_reader = reader;
+		}
+
+		@Override
+		public LogEvent get() throws IOException {
+			try {
+				// skip the enclosing <Events> element of complete documents
+				while (_reader.hasNext()) {
+					if (_reader.next() == XMLStreamConstants.START_ELEMENT && "Event".equals(_reader.getLocalName())) {
+						return readEvent();
+					}
+				}
+			} catch (final XMLStreamException ex) {
+				throw toIOException(ex);
+			} catch (final RuntimeException ex) {
+				// make sure to wrap other RuntimeExceptions (e.g. malformed numbers)
+				// in an IOException to terminate the handler thread correctly
+				throw new IOException(ex);
+			}
+
+			// when we get here, we're done reading from the stream
+			throw new EOFException();
+		}
+
+		/**
+		 * Read the {@code <Event>} element whose start tag is the current event of
+		 * the reader.
+		 *
+		 * @return the read {@link LogEvent}
+		 * @throws XMLStreamException if an error occurred while reading
+		 */
+		private LogEvent readEvent() throws XMLStreamException {
+			final LazyLogEvent.Builder builder = LazyLogEvent.newBuilder(DECODER);
+			final MutableInstant instant = new MutableInstant();
+
+			for (int i = 0; i < _reader.getAttributeCount(); i++) {
+				final String value = _reader.getAttributeValue(i);
+				switch (_reader.getAttributeLocalName(i)) {
+				case "timeMillis" -> instant.initFromEpochMilli(Long.parseLong(value), 0);
+				case "level" -> builder.setLevel(Level.toLevel(value));
+				case "loggerName" -> builder.setLoggerName(StringPool.getDefault().intern(value));
+				case "loggerFqcn" -> builder.setLoggerFqcn(StringPool.getDefault().intern(value));
+				case "thread" -> builder.setThreadName(StringPool.getDefault().intern(value));
+				case "threadId" -> builder.setThreadId(Long.parseLong(value));
+				case "threadPriority" -> builder.setThreadPriority(Integer.parseInt(value));
+				case "endOfBatch" -> builder.setEndOfBatch(Boolean.parseBoolean(value));
+				default -> {
+					// not displayed by the viewer
+				}
+				}
+			}
+
+			while (_reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+				switch (_reader.getLocalName()) {
+				case "Instant" -> readInstant(instant);
+				case "Message" -> builder.setMessage(new SimpleMessage(_reader.getElementText()));
+				case "Marker" -> builder.setMarker(readMarker());
+				case "ContextMap" -> builder.setContextBytes(copy());
+				case "Thrown" -> builder.setThrownBytes(copy());
+				case "Source" -> builder.setSourceBytes(copy());
+				default -> _reader.skipElement();
+				}
+			}
+
+			return builder.setInstant(instant).build();
+		}
+
+		/**
+		 * Read the {@code <Instant>} element into the given {@link MutableInstant}.
+		 *
+		 * @param instant the {@link MutableInstant} to initialize
+		 * @throws XMLStreamException if an error occurred while reading
+		 */
+		private void readInstant(final MutableInstant instant) throws XMLStreamException {
+			final String seconds = _reader.getAttributeValue(null, "epochSecond");
+			final String nanos = _reader.getAttributeValue(null, "nanoOfSecond");
+			instant.initFromEpochSecond(seconds != null ? Long.parseLong(seconds) : 0, nanos != null ? Integer.parseInt(nanos) : 0);
+			_reader.skipElement();
+		}
+
+		/**
+		 * @return the {@link Marker} described by the {@code <Marker>} element, its
+		 *         parents are ignored
+		 * @throws XMLStreamException if an error occurred while reading
+		 */
+		private Marker readMarker() throws XMLStreamException {
+			final String marker = _reader.getAttributeValue(null, "name");
+			_reader.skipElement();
+			return marker != null ? MarkerManager.getMarker(marker) : null;
+		}
+
+		/**
+		 * Copy the current element including its children without decoding it.
+		 *
+		 * @return the raw bytes of the current element
+		 * @throws XMLStreamException if an error occurred while reading
+		 */
+		private byte[] copy() throws XMLStreamException {
+			_buffer.reset();
+			final XMLStreamWriter2 writer = (XMLStreamWriter2) OUTPUT_FACTORY.createXMLStreamWriter(_buffer, "UTF-8");
+			int depth = 0;
+			while (true) {
+				switch (_reader.getEventType()) {
+				case XMLStreamConstants.START_ELEMENT -> depth++;
+				case XMLStreamConstants.END_ELEMENT -> depth--;
+				default -> {
+					// copied as is
+				}
+				}
+				writer.copyEventFromReader(_reader, false);
+				if (depth == 0) {
+					break;
+				}
+				_reader.next();
+			}
+			writer.close();
+			return _buffer.toByteArray();
+		}
+	}
+
+	/**
+	 * {@link LazyLogEvent.Decoder} implementation for elements retained by
+	 * {@link StreamingXmlLogEventSupplier#copy()}.
+	 */
+	private static class XmlDecoder implements LazyLogEvent.Decoder {
+
+		@Override
+		public ThrowableProxy decodeThrown(final byte[] bytes) throws IOException {
+			return THROWN_READER.readValue(bytes);
+		}
+
+		@Override
+		public ReadOnlyStringMap decodeContextData(final byte[] bytes) throws IOException {
+			final SortedArrayStringMap map = new SortedArrayStringMap();
+			try {
+				final XMLStreamReader2 reader = open(bytes);
+				// the context map consists of <item key="..." value="..."/> elements
+				while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+					final String key = reader.getAttributeValue(null, "key");
+					if (key != null) {
+						map.putValue(StringPool.getDefault().intern(key), reader.getAttributeValue(null, "value"));
+					}
+					reader.skipElement();
+				}
+				reader.close();
+			} catch (final XMLStreamException ex) {
+				throw toIOException(ex);
+			}
+			map.freeze();
+			return map;
+		}
+
+		@Override
+		public StackTraceElement decodeSource(final byte[] bytes) throws IOException {
+			final String declaringClass;
+			final String method;
+			final String file;
+			final String line;
+			try {
+				final XMLStreamReader2 reader = open(bytes);
+				declaringClass = reader.getAttributeValue(null, "class");
+				method = reader.getAttributeValue(null, "method");
+				file = reader.getAttributeValue(null, "file");
+				line = reader.getAttributeValue(null, "line");
+				reader.close();
+			} catch (final XMLStreamException ex) {
+				throw toIOException(ex);
+			}
+			if (declaringClass == null || method == null) {
+				throw new IOException("Incomplete source location.");
+			}
+			try {
+				return new StackTraceElement(declaringClass, method, file, line != null ? Integer.parseInt(line) : -1);
+			} catch (final NumberFormatException ex) {
+				throw new IOException(ex);
+			}
+		}
+
+		/**
+		 * @param bytes the raw bytes of the retained element
+		 * @return a new {@link XMLStreamReader2} positioned at the start tag of the
+		 *         retained element
+		 * @throws XMLStreamException if an error occurred while reading
+		 */
+		private XMLStreamReader2 open(final byte[] bytes) throws XMLStreamException {
+			final XMLStreamReader2 reader = (XMLStreamReader2) DOCUMENT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(bytes));
+			reader.nextTag();
+			return reader;
+		}
+	}
+}
@@ -32,12 +32,72 @@ import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 /**
  * {@link LogEventSupplierFactory} implementation for XML based {@link LogEvent}s.
  */
 public class XmlLogEventSupplierFactory implements LogEventSupplierFactory {
 
+	/**
+	 * The start tag of the element wrapping XML fragments.
+	 */
+	private static final String EVENTS_START = "<Events xmlns=\"https://logging.apache.org/log4j/2.0/events\">";
+
+	/**
+	 * The end tag of the element wrapping XML fragments.
+	 */
+	private static final String EVENTS_END = "</Events>";
+
+	/**
+	 * A synthetic event touching all commonly used properties, it is read once
+	 * in order to have Jackson build its deserializers up-front.
+	 */
+	private static final String WARM_UP_EVENT = """
+			<Event thread="main" level="INFO" loggerName="warm-up" endOfBatch="false" loggerFqcn="warm.Up" threadId="1" threadPriority="5">
+			<Instant epochSecond="0" nanoOfSecond="0"/>
+			<Marker name="warm-up"/>
+			<Message>warm-up</Message>
+			<ContextMap><item key="key" value="value"/></ContextMap>
+			<ContextStack><ContextStackItem>warm-up</ContextStackItem></ContextStack>
+			<Thrown commonElementCount="0" message="warm-up" name="java.lang.RuntimeException">
+			<ExtendedStackTrace><ExtendedStackTraceItem class="warm.Up" method="run" file="Up.java" line="1" exact="false" location="?" version="?"/></ExtendedStackTrace>
+			</Thrown>
+			<Source class="warm.Up" method="run" file="Up.java" line="1"/>
+			</Event>
+			""";
+
+	/**
+	 * The {@link ObjectReader} shared by all connections.
+	 *
+	 * <p>
+	 * Note: {@link ObjectReader}s are immutable and thread-safe and share the
+	 * deserializers built by their mapper, thus creating the reader once and
+	 * warming it up when the factory is instantiated upon bundle activation
+	 * spares each connection the expensive deserializer introspection.
+	 * </p>
+	 */
+	private static final ObjectReader READER = createReader();
+
+	/**
+	 * @return a new warmed up {@link ObjectReader} for {@link Log4jLogEvent}s
+	 */
+	private static ObjectReader createReader() {
+		final ObjectReader reader = new Log4jXmlObjectMapper()
+				.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+				.readerFor(Log4jLogEvent.class);
+
+		try (final MappingIterator<LogEvent> events = reader.readValues(EVENTS_START + WARM_UP_EVENT + EVENTS_END)) {
+			while (events.hasNext()) {
+				events.next();
+			}
+		} catch (final IOException | RuntimeException ex) {
+			// warming up is an optimization only, the reader works nonetheless
+		}
+
+		return reader;
+	}
+
 	@Override
 	public LogEventSupplier get(final InputStream stream) throws IOException {
 		if (!stream.markSupported()) {
@@ -87,19 +147,16 @@ public class XmlLogEventSupplierFactory implements LogEventSupplierFactory {
 			final InputStream input;
 			if (!complete) {
 				final Vector<InputStream> streams = new Vector<>();
-				streams.add(new ByteArrayInputStream("<Events xmlns=\"https://logging.apache.org/log4j/2.0/events\">".getBytes()));
+				streams.add(new ByteArrayInputStream(EVENTS_START.getBytes()));
 				streams.add(stream);
-				streams.add(new ByteArrayInputStream("</Events>".getBytes()));
+				streams.add(new ByteArrayInputStream(EVENTS_END.getBytes()));
 				
 				input = new SequenceInputStream(streams.elements());
 			} else {
 				input = stream;
 			}
 			
-			_reader = new Log4jXmlObjectMapper()
-					.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-					.readerFor(Log4jLogEvent.class)
-					.readValues(input);
+			_reader = READER.readValues(input);
 		}
 
 		@Override
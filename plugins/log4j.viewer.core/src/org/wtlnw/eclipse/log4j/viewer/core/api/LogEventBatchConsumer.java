@@ -0,0 +1,57 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.api;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.core.LogEvent;
+
+/**
+ * A {@link Consumer} of {@link LogEvent}s which prefers receiving events in
+ * batches rather than one by one.
+ *
+ * <p>
+ * Event sources (e.g. the event server) recognize implementations of this
+ * interface and deliver chunks of events collected until either a size or a
+ * time limit was hit. This allows sinks to amortize expensive operations like
+ * locking or UI updates over an entire batch.
+ * </p>
+ *
+ * <p>
+ * Note: events of a single connection are delivered in the order they were
+ * received, while batches of different connections may be delivered
+ * concurrently.
+ * </p>
+ */
+@FunctionalInterface
+public interface LogEventBatchConsumer extends Consumer<LogEvent> {
+
+	/**
+	 * Consume the given batch of {@link LogEvent}s.
+	 *
+	 * @param events the non-empty and unmodifiable {@link List} of
+	 *               {@link LogEvent}s in the order they were received
+	 */
+	void acceptAll(List<LogEvent> events);
+
+	/**
+	 * Consume the given {@link LogEvent} as a batch containing a single event.
+	 */
+	@Override
+	default void accept(final LogEvent event) {
+		acceptAll(List.of(event));
+	}
+}
@@ -0,0 +1,225 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.api;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.apache.logging.log4j.core.LogEvent;
+
+/**
+ * Implementing classes are responsible for splitting an {@link InputStream}
+ * into frames, each containing the raw bytes of a single {@link LogEvent}.
+ *
+ * <p>
+ * Finding the boundaries of an event is expected to be considerably cheaper
+ * than decoding it, e.g. by tracking the nesting depth of JSON objects or
+ * looking for the closing tag of XML elements, so that a single thread is able
+ * to keep multiple threads busy decoding the frames.
+ * </p>
+ *
+ * <p>
+ * This class provides the buffering of the stream and of the current frame,
+ * implementing classes are to scan the stream byte by byte using
+ * {@link #read()} and {@link #append(int)} or up to a delimiter using
+ * {@link #appendUntil(int)}.
+ * </p>
+ */
+public abstract class LogEventFrameReader {
+
+	/**
+	 * The maximum size in bytes of a single frame.
+	 */
+	public static final int MAX_FRAME_SIZE = 1 << 26;
+
+	/**
+	 * The number of bytes to read from the stream at once.
+	 */
+	private static final int CHUNK_SIZE = 1 << 13;
+
+	/**
+	 * The {@link InputStream} to read the frames from.
+	 */
+	private final InputStream _stream;
+
+	/**
+	 * The bytes read from the stream but not scanned yet.
+	 */
+	private final byte[] _chunk = new byte[CHUNK_SIZE];
+
+	/**
+	 * The index of the next byte to scan in {@link #_chunk}.
+	 */
+	private int _position;
+
+	/**
+	 * The number of valid bytes in {@link #_chunk}.
+	 */
+	private int _limit;
+
+	/**
+	 * The bytes of the current frame.
+	 */
+	private byte[] _frame = new byte[1 << 10];
+
+	/**
+	 * The number of valid bytes in {@link #_frame}.
+	 */
+	private int _length;
+
+	/**
+	 * Create a {@link LogEventFrameReader}.
+	 *
+	 * @param stream the {@link InputStream} to read the frames from
+	 */
+	protected LogEventFrameReader(final InputStream stream) {
+		_stream = stream;
+	}
+
+	/**
+	 * Read the next frame, skipping any data between frames.
+	 *
+	 * @return the raw bytes of the next {@link LogEvent}
+	 * @throws IOException  if an error occurred while reading from the stream or
+	 *                      the stream ended within a frame
+	 * @throws EOFException to indicate end of stream
+	 */
+	public abstract byte[] next() throws IOException, EOFException;
+
+	/**
+	 * @return {@code true} if data has been received already which has not been
+	 *         returned by {@link #next()} yet, i.e. if reading the next frame is
+	 *         likely not to block
+	 * @throws IOException if an error occurred while checking the stream
+	 */
+	public boolean available() throws IOException {
+		return _position < _limit || _stream.available() > 0;
+	}
+
+	/**
+	 * @return the next byte of the stream or {@code -1} if end of stream was
+	 *         reached
+	 * @throws IOException if an error occurred while reading from the stream
+	 */
+	protected final int read() throws IOException {
+		if (_position == _limit && !fill()) {
+			return -1;
+		}
+		return _chunk[_position++] & 0xFF;
+	}
+
+	/**
+	 * Append all bytes up to the given delimiter to the current frame, scanning
+	 * the buffered chunk as a whole rather than byte by byte. The delimiter itself
+	 * is consumed but not appended.
+	 *
+	 * @param delimiter the byte terminating the bytes to append
+	 * @return {@code true} if the delimiter was found or {@code false} if end of
+	 *         stream was reached before
+	 * @throws IOException if an error occurred while reading from the stream or
+	 *                     the frame exceeds {@link #MAX_FRAME_SIZE}
+	 */
+	protected final boolean appendUntil(final int delimiter) throws IOException {
+		final byte b = (byte) delimiter;
+		while (_position < _limit || fill()) {
+			int end = _position;
+			while (end < _limit && _chunk[end] != b) {
+				end++;
+			}
+			append(_chunk, _position, end - _position);
+			if (end < _limit) {
+				_position = end + 1;
+				return true;
+			}
+			_position = end;
+		}
+		return false;
+	}
+
+	/**
+	 * Append the given byte to the current frame.
+	 *
+	 * @param b the byte to append
+	 * @throws IOException if the frame exceeds {@link #MAX_FRAME_SIZE}
+	 */
+	protected final void append(final int b) throws IOException {
+		if (_length == _frame.length) {
+			if (_length == MAX_FRAME_SIZE) {
+				throw new IOException("Event exceeds the maximum frame size of " + MAX_FRAME_SIZE + " bytes.");
+			}
+			_frame = Arrays.copyOf(_frame, Math.min(_length * 2, MAX_FRAME_SIZE));
+		}
+		_frame[_length++] = (byte) b;
+	}
+
+	/**
+	 * Append the given bytes to the current frame.
+	 *
+	 * @param bytes the bytes to append
+	 * @throws IOException if the frame exceeds {@link #MAX_FRAME_SIZE}
+	 */
+	protected final void append(final byte[] bytes) throws IOException {
+		append(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Append the given range of bytes to the current frame.
+	 *
+	 * @param bytes  the bytes to append
+	 * @param offset the index of the first byte to append
+	 * @param length the number of bytes to append
+	 * @throws IOException if the frame exceeds {@link #MAX_FRAME_SIZE}
+	 */
+	private void append(final byte[] bytes, final int offset, final int length) throws IOException {
+		if (length > _frame.length - _length) {
+			if (length > MAX_FRAME_SIZE - _length) {
+				throw new IOException("Event exceeds the maximum frame size of " + MAX_FRAME_SIZE + " bytes.");
+			}
+			_frame = Arrays.copyOf(_frame, Math.min(Math.max(_frame.length * 2, _length + length), MAX_FRAME_SIZE));
+		}
+		System.arraycopy(bytes, offset, _frame, _length, length);
+		_length += length;
+	}
+
+	/**
+	 * Read the next chunk from the stream.
+	 *
+	 * @return {@code true} if bytes were read or {@code false} if end of stream
+	 *         was reached
+	 * @throws IOException if an error occurred while reading from the stream
+	 */
+	private boolean fill() throws IOException {
+		final int read = _stream.read(_chunk);
+		if (read <= 0) {
+			return false;
+		}
+		_position = 0;
+		_limit = read;
+		return true;
+	}
+
+	/**
+	 * Complete the current frame and start a new one.
+	 *
+	 * @return the bytes appended to the current frame
+	 */
+	protected final byte[] frame() {
+		final byte[] frame = Arrays.copyOf(_frame, _length);
+		_length = 0;
+		return frame;
+	}
+}
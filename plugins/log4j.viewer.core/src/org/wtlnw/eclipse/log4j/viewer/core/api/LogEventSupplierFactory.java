@@ -65,4 +65,37 @@ public interface LogEventSupplierFactory {
 		 */
 		LogEvent get() throws IOException, EOFException;
 	}
+
+	/**
+	 * Implementing classes additionally support splitting the associated
+	 * {@link InputStream} into frames, which can be decoded independently of
+	 * each other and thus in parallel.
+	 *
+	 * <p>
+	 * Note: a stream is either read using {@link #get()} or using
+	 * {@link #getFrameReader()}, both must not be combined.
+	 * </p>
+	 */
+	public interface FramingLogEventSupplier extends LogEventSupplier {
+
+		/**
+		 * @return a new {@link LogEventFrameReader} splitting the associated
+		 *         {@link InputStream} into frames to be passed to
+		 *         {@link #decode(byte[])}
+		 */
+		LogEventFrameReader getFrameReader();
+
+		/**
+		 * Decode a frame returned by the {@link #getFrameReader() frame reader}.
+		 *
+		 * <p>
+		 * Note: this method is called by multiple threads concurrently.
+		 * </p>
+		 *
+		 * @param frame the raw bytes of the {@link LogEvent} to decode
+		 * @return the decoded {@link LogEvent}
+		 * @throws IOException if the frame could not be decoded
+		 */
+		LogEvent decode(byte[] frame) throws IOException;
+	}
 }
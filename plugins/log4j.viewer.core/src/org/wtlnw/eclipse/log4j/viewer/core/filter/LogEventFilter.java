@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import org.apache.logging.log4j.core.LogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventColumnStore;
 
 /**
  * Instances of this class provide a description for filtering {@link LogEvent}s according to their properties.
@@ -70,6 +71,20 @@ public class LogEventFilter implements Predicate<LogEvent> {
 		throw new AssertionError("No filter found for property: " + property.getName());
 	}
 	
+	/**
+	 * @return {@code true} if any of the receiver's property filters is enabled,
+	 *         {@code false} if the receiver accepts all events
+	 */
+	public boolean isEnabled() {
+		for (final LogEventPropertyFilter filter : _filters) {
+			if (filter.isEnabled()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	@Override
 	public boolean test(final LogEvent event) {
 		for (final LogEventPropertyFilter filter : _filters) {
@@ -80,4 +95,21 @@ public class LogEventFilter implements Predicate<LogEvent> {
 
 		return true;
 	}
+
+	/**
+	 * @param store the {@link LogEventColumnStore} containing the event to test
+	 * @param index the index of the event in the given store
+	 * @return {@code true} if the event at the given index satisfies all
+	 *         property filters, reading its properties directly from the
+	 *         store's columns
+	 */
+	public boolean test(final LogEventColumnStore store, final int index) {
+		for (final LogEventPropertyFilter filter : _filters) {
+			if (!filter.test(store, index)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
 }
@@ -15,9 +15,12 @@
 package org.wtlnw.eclipse.log4j.viewer.core.filter;
 
 import java.time.Instant;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.apache.logging.log4j.core.LogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LazyLogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventColumnStore;
 import org.wtlnw.eclipse.log4j.viewer.core.util.Util;
 
 /**
@@ -29,28 +32,33 @@ public enum LogEventProperty {
 	/**
 	 * Literal representing the moment in time a {@link LogEvent} occurred.
 	 */
-	TIMESTAMP("Timestamp", e -> Util.FORMAT.format(Instant.ofEpochMilli(e.getInstant().getEpochMillisecond()))),
+	TIMESTAMP("Timestamp", e -> Util.FORMAT.format(Instant.ofEpochMilli(e.getInstant().getEpochMillisecond())),
+			(s, i) -> Util.FORMAT.format(Instant.ofEpochMilli(s.getTimeMillis(i)))),
 
 	/**
 	 * Literal representing a {@link LogEvent}'s severity level.
 	 */
-	LEVEL("Level", e -> e.getLevel().toString()),
+	LEVEL("Level", e -> e.getLevel().toString(), (s, i) -> s.getLevel(i).toString()),
 
 	/**
 	 * Literal representing a {@link LogEvent}'s category (aka logger name).
 	 */
-	CATEGORY("Category", e -> e.getLoggerName()),
+	CATEGORY("Category", e -> e.getLoggerName(), (s, i) -> s.getLoggerName(i)),
 
 	/**
 	 * Literal representing a {@link LogEvent}'s formatted message.
 	 */
-	MESSAGE("Message", e -> e.getMessage().getFormattedMessage()),
+	MESSAGE("Message", e -> e.getMessage().getFormattedMessage(), (s, i) -> s.getFormattedMessage(i)),
 
 	/**
 	 * A literal representing whether an error was logged or not.
 	 */
 	@SuppressWarnings("deprecation")
-	THROWABLE("Throwable", e -> e.getThrownProxy() == null ? "" : "x");
+	THROWABLE("Throwable", e -> {
+		// do not decode lazy events' throwables just for displaying them in the table
+		final boolean thrown = e instanceof LazyLogEvent lazy ? lazy.hasThrown() : e.getThrownProxy() != null;
+		return thrown ? "x" : "";
+	}, (s, i) -> s.hasThrown(i) ? "x" : "");
 
 	/**
 	 * @see #getName()
@@ -62,15 +70,22 @@ public enum LogEventProperty {
 	 */
 	private final Function<LogEvent, String> _accessor;
 
+	/**
+	 * @see #getColumnValueProvider()
+	 */
+	private final BiFunction<LogEventColumnStore, Integer, String> _columnAccessor;
+
 	/**
 	 * Create a {@link LogEventProperty}.
 	 * 
-	 * @param name     see {@link #getName()}
-	 * @param accessor see {@link #getValueProvider()}
+	 * @param name           see {@link #getName()}
+	 * @param accessor       see {@link #getValueProvider()}
+	 * @param columnAccessor see {@link #getColumnValueProvider()}
 	 */
-	private LogEventProperty(final String name, final Function<LogEvent, String> accessor) {
+	private LogEventProperty(final String name, final Function<LogEvent, String> accessor, final BiFunction<LogEventColumnStore, Integer, String> columnAccessor) {
 		_name = name;
 		_accessor = accessor;
+		_columnAccessor = columnAccessor;
 	}
 
 	/**
@@ -87,4 +102,13 @@ public enum LogEventProperty {
 	public Function<LogEvent, String> getValueProvider() {
 		return _accessor;
 	}
+
+	/**
+	 * @return the {@link BiFunction} to be used to retrieve the property value of
+	 *         the event at a given index directly from the columns of a
+	 *         {@link LogEventColumnStore}
+	 */
+	public BiFunction<LogEventColumnStore, Integer, String> getColumnValueProvider() {
+		return _columnAccessor;
+	}
 }
@@ -20,6 +20,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.core.LogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventColumnStore;
 
 /**
  * Instances of this class provide a description for filtering {@link LogEvent}s according to their properties.
@@ -240,7 +241,31 @@ public class LogEventPropertyFilter implements Predicate<LogEvent> {
 			return true;
 		}
 		
-		final String value = _property.getValueProvider().apply(event);
+		return matches(_property.getValueProvider().apply(event));
+	}
+
+	/**
+	 * @param store the {@link LogEventColumnStore} containing the event to test
+	 * @param index the index of the event in the given store
+	 * @return {@code true} if the event at the given index satisfies the
+	 *         receiver's criteria, reading its property directly from the
+	 *         store's columns, {@code false} otherwise. Disabled receiver's
+	 *         always return {@code true}.
+	 */
+	public boolean test(final LogEventColumnStore store, final int index) {
+		// fast-path return for disabled filters
+		if (!_enabled) {
+			return true;
+		}
+
+		return matches(_property.getColumnValueProvider().apply(store, index));
+	}
+
+	/**
+	 * @param value the property value to match, may be {@code null}
+	 * @return {@code true} if the given value satisfies the receiver's criteria
+	 */
+	private boolean matches(final String value) {
 		final Matcher matcher = _pattern.matcher(value == null ? "" : value);
 		final boolean result = _wholeWord ? matcher.matches() : matcher.find();
 		
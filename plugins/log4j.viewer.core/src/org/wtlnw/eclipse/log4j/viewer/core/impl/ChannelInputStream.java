@@ -0,0 +1,252 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Instances of this class provide an {@link InputStream} view of the data read
+ * from a non-blocking channel by a {@link LogEventSelector} event loop.
+ *
+ * <p>
+ * The event loop {@link #offer(byte[]) offers} chunks of data as soon as they
+ * arrive while the reading thread blocks until data is available. Once the
+ * amount of buffered data exceeds the receiver's limit, the event loop is
+ * expected to stop reading from the channel until the receiver calls the
+ * resume callback after having been drained below half of its limit.
+ * </p>
+ *
+ * <p>
+ * Note: this class uses {@link ReentrantLock}s rather than monitors in order
+ * not to pin virtual threads blocking in {@link #read(byte[], int, int)}.
+ * </p>
+ */
+class ChannelInputStream extends InputStream {
+
+	/**
+	 * The {@link ReentrantLock} to be used for synchronized access to the
+	 * receiver's state.
+	 */
+	private final ReentrantLock _lock = new ReentrantLock();
+
+	/**
+	 * The {@link Condition} signaled when data or end of stream arrives.
+	 */
+	private final Condition _data = _lock.newCondition();
+
+	/**
+	 * The chunks of data offered by the event loop but not read yet.
+	 */
+	private final ArrayDeque<byte[]> _chunks = new ArrayDeque<>();
+
+	/**
+	 * The maximum number of bytes to buffer before the event loop is advised to
+	 * suspend reading.
+	 */
+	private final int _limit;
+
+	/**
+	 * The {@link Runnable} to call when a suspended channel can be read again.
+	 */
+	private final Runnable _resume;
+
+	/**
+	 * The {@link Runnable} to call when the receiver is closed by the reading
+	 * thread.
+	 */
+	private final Runnable _close;
+
+	/**
+	 * The read position within the first chunk.
+	 */
+	private int _offset = 0;
+
+	/**
+	 * The total number of bytes available for reading without blocking.
+	 */
+	private int _available = 0;
+
+	/**
+	 * Flag indicating whether the event loop has been advised to suspend reading.
+	 */
+	private boolean _suspended = false;
+
+	/**
+	 * Flag indicating whether no more data is to be expected.
+	 */
+	private boolean _finished = false;
+
+	/**
+	 * The error to report to the reading thread once all data has been read or
+	 * {@code null} if end of stream is to be reported instead.
+	 */
+	private IOException _error;
+
+	/**
+	 * Create a {@link ChannelInputStream}.
+	 *
+	 * @param limit  the maximum number of bytes to buffer before suspending reads
+	 * @param resume the {@link Runnable} to call when reading can be resumed
+	 * @param close  the {@link Runnable} to call when the reading thread closes
+	 *               the receiver
+	 */
+	ChannelInputStream(final int limit, final Runnable resume, final Runnable close) {
+		_limit = limit;
+		_resume = Objects.requireNonNull(resume);
+		_close = Objects.requireNonNull(close);
+	}
+
+	/**
+	 * Append the given chunk of data to the receiver.
+	 *
+	 * <p>
+	 * Note: this method is to be called by the event loop only.
+	 * </p>
+	 *
+	 * @param chunk the data read from the channel
+	 * @return {@code true} if the event loop may continue reading or
+	 *         {@code false} if it must suspend reading until resumed
+	 */
+	boolean offer(final byte[] chunk) {
+		_lock.lock();
+		try {
+			_chunks.addLast(chunk);
+			_available += chunk.length;
+			_data.signalAll();
+
+			if (_available >= _limit) {
+				_suspended = true;
+			}
+			return !_suspended;
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * Signal end of stream after all remaining data has been read.
+	 *
+	 * @param error the {@link IOException} to report instead of end of stream or
+	 *              {@code null}
+	 */
+	void finish(final IOException error) {
+		_lock.lock();
+		try {
+			if (!_finished) {
+				_finished = true;
+				_error = error;
+			}
+			_data.signalAll();
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		final byte[] b = new byte[1];
+		return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		Objects.checkFromIndexSize(off, len, b.length);
+		if (len == 0) {
+			return 0;
+		}
+
+		final boolean resume;
+		int count = 0;
+
+		_lock.lock();
+		try {
+			while (_available == 0) {
+				if (_finished) {
+					if (_error != null) {
+						throw _error;
+					}
+					return -1;
+				}
+
+				try {
+					_data.await();
+				} catch (final InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException();
+				}
+			}
+
+			while (count < len && _available > 0) {
+				final byte[] chunk = _chunks.getFirst();
+				final int n = Math.min(len - count, chunk.length - _offset);
+				System.arraycopy(chunk, _offset, b, off + count, n);
+
+				count += n;
+				_offset += n;
+				_available -= n;
+
+				if (_offset == chunk.length) {
+					_chunks.removeFirst();
+					_offset = 0;
+				}
+			}
+
+			resume = _suspended && _available <= _limit / 2;
+			if (resume) {
+				_suspended = false;
+			}
+		} finally {
+			_lock.unlock();
+		}
+
+		// make sure to call the event loop without holding the lock
+		if (resume) {
+			_resume.run();
+		}
+
+		return count;
+	}
+
+	@Override
+	public int available() throws IOException {
+		_lock.lock();
+		try {
+			return _available;
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		_lock.lock();
+		try {
+			_chunks.clear();
+			_available = 0;
+			_offset = 0;
+		} finally {
+			_lock.unlock();
+		}
+
+		finish(null);
+		_close.run();
+	}
+}
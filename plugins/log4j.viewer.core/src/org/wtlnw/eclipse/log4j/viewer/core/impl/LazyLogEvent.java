@@ -0,0 +1,637 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.AbstractLogEvent;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.core.time.Instant;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+
+/**
+ * A {@link LogEvent} implementation decoding expensive properties on demand.
+ *
+ * <p>
+ * Only the properties displayed in the event table (instant, level, logger
+ * name and message) and a few cheap ones are decoded eagerly by the
+ * {@link org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.LogEventSupplier
+ * LogEventSupplier}. The throwable, the context data and the source are kept
+ * as raw bytes and decoded by a format specific {@link Decoder} upon first
+ * access, which is usually when the event is opened in the detail dialog.
+ * Raw bytes are much smaller than e.g. a {@link ThrowableProxy} with its
+ * extended stack trace, thus this reduces both parsing time and retained heap.
+ * </p>
+ *
+ * <p>
+ * Note: instances are serialized as regular {@link Log4jLogEvent}s.
+ * </p>
+ */
+public class LazyLogEvent extends AbstractLogEvent {
+
+	/**
+	 * @see java.io.Serializable
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Implementations of this interface decode the raw bytes of lazily
+	 * decoded properties.
+	 */
+	public interface Decoder {
+
+		/**
+		 * @param bytes the raw bytes of a throwable
+		 * @return the decoded {@link ThrowableProxy}
+		 * @throws IOException if the given bytes could not be decoded
+		 */
+		ThrowableProxy decodeThrown(byte[] bytes) throws IOException;
+
+		/**
+		 * @param bytes the raw bytes of the context data
+		 * @return the decoded {@link ReadOnlyStringMap}
+		 * @throws IOException if the given bytes could not be decoded
+		 */
+		ReadOnlyStringMap decodeContextData(byte[] bytes) throws IOException;
+
+		/**
+		 * @param bytes the raw bytes of a source location
+		 * @return the decoded {@link StackTraceElement}
+		 * @throws IOException if the given bytes could not be decoded
+		 */
+		StackTraceElement decodeSource(byte[] bytes) throws IOException;
+	}
+
+	/**
+	 * @see #getInstant()
+	 */
+	private final MutableInstant _instant = new MutableInstant();
+
+	/**
+	 * @see #getLevel()
+	 */
+	private final Level _level;
+
+	/**
+	 * @see #getLoggerName()
+	 */
+	private final String _loggerName;
+
+	/**
+	 * @see #getLoggerFqcn()
+	 */
+	private final String _loggerFqcn;
+
+	/**
+	 * @see #getMessage()
+	 */
+	private final Message _message;
+
+	/**
+	 * @see #getMarker()
+	 */
+	private final Marker _marker;
+
+	/**
+	 * @see #getThreadName()
+	 */
+	private final String _threadName;
+
+	/**
+	 * @see #getThreadId()
+	 */
+	private final long _threadId;
+
+	/**
+	 * @see #getThreadPriority()
+	 */
+	private final int _threadPriority;
+
+	/**
+	 * @see #isEndOfBatch()
+	 */
+	private final boolean _endOfBatch;
+
+	/**
+	 * The {@link Decoder} for the lazily decoded properties.
+	 */
+	private final transient Decoder _decoder;
+
+	/**
+	 * The lazily decoded throwable or {@code null} if there is none, which may be
+	 * shared with other events by a {@link ThrowableStore}.
+	 */
+	private transient volatile Thrown _thrown;
+
+	/**
+	 * The raw bytes of the context data or {@code null} if there is none or it
+	 * has been decoded already.
+	 */
+	private volatile byte[] _contextBytes;
+
+	/**
+	 * The raw bytes of the source or {@code null} if there is none or it has been
+	 * decoded already.
+	 */
+	private volatile byte[] _sourceBytes;
+
+	/**
+	 * @see #getContextData()
+	 */
+	private volatile ReadOnlyStringMap _contextData;
+
+	/**
+	 * @see #getSource()
+	 */
+	private volatile StackTraceElement _source;
+
+	/**
+	 * Create a {@link LazyLogEvent}.
+	 *
+	 * @param builder the {@link Builder} providing the event's properties
+	 */
+	private LazyLogEvent(final Builder builder) {
+		_instant.initFrom(builder._instant);
+		_level = builder._level;
+		_loggerName = builder._loggerName;
+		_loggerFqcn = builder._loggerFqcn;
+		_message = builder._message;
+		_marker = builder._marker;
+		_threadName = builder._threadName;
+		_threadId = builder._threadId;
+		_threadPriority = builder._threadPriority;
+		_endOfBatch = builder._endOfBatch;
+		_decoder = builder._decoder;
+		_thrown = builder._thrownBytes == null ? null : new Thrown(_decoder, builder._thrownBytes);
+		_contextBytes = builder._contextBytes;
+		_sourceBytes = builder._sourceBytes;
+	}
+
+	/**
+	 * @param decoder the {@link Decoder} for the lazily decoded properties
+	 * @return a new {@link Builder} for {@link LazyLogEvent}s
+	 * @throws NullPointerException if the given decoder is {@code null}
+	 */
+	public static Builder newBuilder(final Decoder decoder) throws NullPointerException {
+		return new Builder(decoder);
+	}
+
+	@Override
+	public Instant getInstant() {
+		return _instant;
+	}
+
+	@Override
+	public long getTimeMillis() {
+		return _instant.getEpochMillisecond();
+	}
+
+	@Override
+	public Level getLevel() {
+		return _level;
+	}
+
+	@Override
+	public String getLoggerName() {
+		return _loggerName;
+	}
+
+	@Override
+	public String getLoggerFqcn() {
+		return _loggerFqcn;
+	}
+
+	@Override
+	public Message getMessage() {
+		return _message;
+	}
+
+	@Override
+	public Marker getMarker() {
+		return _marker;
+	}
+
+	@Override
+	public String getThreadName() {
+		return _threadName;
+	}
+
+	@Override
+	public long getThreadId() {
+		return _threadId;
+	}
+
+	@Override
+	public int getThreadPriority() {
+		return _threadPriority;
+	}
+
+	@Override
+	public boolean isEndOfBatch() {
+		return _endOfBatch;
+	}
+
+	/**
+	 * @return {@code true} if the receiver carries a throwable, which unlike
+	 *         {@link #getThrownProxy()} does not require it to be decoded
+	 */
+	public boolean hasThrown() {
+		return _thrown != null;
+	}
+
+	/**
+	 * @return {@code true} if the receiver carries non-empty context data, which
+	 *         unlike {@link #getContextData()} does not require it to be decoded
+	 */
+	public boolean hasContextData() {
+		if (_contextBytes != null) {
+			return true;
+		}
+
+		// the raw bytes are discarded only after the decoded data was published
+		final ReadOnlyStringMap data = _contextData;
+		return data != null && !data.isEmpty();
+	}
+
+	/**
+	 * @return {@code true} if the receiver carries a source location, which
+	 *         unlike {@link #getSource()} does not require it to be decoded
+	 */
+	public boolean hasSource() {
+		return _sourceBytes != null || _source != null;
+	}
+
+	/**
+	 * @return the number of raw bytes the receiver retains for properties which
+	 *         have not been decoded yet
+	 */
+	public long getEncodedSize() {
+		final Thrown thrown = _thrown;
+		final byte[] thrownBytes = thrown != null ? thrown.getBytes() : null;
+		final byte[] contextBytes = _contextBytes;
+		final byte[] sourceBytes = _sourceBytes;
+
+		return (thrownBytes != null ? thrownBytes.length : 0)
+				+ (contextBytes != null ? contextBytes.length : 0)
+				+ (sourceBytes != null ? sourceBytes.length : 0);
+	}
+
+	@Override
+	public ThrowableProxy getThrownProxy() {
+		final Thrown thrown = _thrown;
+		return thrown != null ? thrown.getProxy() : null;
+	}
+
+	/**
+	 * @return the receiver's lazily decoded throwable or {@code null} if there is
+	 *         none
+	 */
+	Thrown getThrown() {
+		return _thrown;
+	}
+
+	/**
+	 * Setter for {@link #getThrown()}.
+	 *
+	 * @param thrown an equal {@link Thrown} to be shared with other events
+	 */
+	void setThrown(final Thrown thrown) {
+		_thrown = thrown;
+	}
+
+	@Override
+	public ReadOnlyStringMap getContextData() {
+		final byte[] bytes = _contextBytes;
+		if (bytes != null) {
+			try {
+				_contextData = _decoder.decodeContextData(bytes);
+			} catch (final IOException ex) {
+				// the raw bytes are corrupted, treat the event as if it had no context data
+			}
+			_contextBytes = null;
+		}
+
+		final ReadOnlyStringMap data = _contextData;
+		return data != null ? data : ContextDataFactory.emptyFrozenContextData();
+	}
+
+	@Override
+	public Map<String, String> getContextMap() {
+		return getContextData().toMap();
+	}
+
+	@Override
+	public StackTraceElement getSource() {
+		final byte[] bytes = _sourceBytes;
+		if (bytes != null) {
+			try {
+				_source = _decoder.decodeSource(bytes);
+			} catch (final IOException ex) {
+				// the raw bytes are corrupted, treat the event as if it had no source
+			}
+			_sourceBytes = null;
+		}
+		return _source;
+	}
+
+	/**
+	 * Replace the receiver with a fully decoded event upon serialization.
+	 *
+	 * @return the {@link Object} to be serialized instead of the receiver
+	 */
+	protected Object writeReplace() {
+		return Log4jLogEvent.serialize(this, false);
+	}
+
+	/**
+	 * A throwable decoded from its raw bytes upon first access. Instances may be
+	 * shared by events carrying equal throwables, so that they are retained and
+	 * decoded only once.
+	 */
+	static final class Thrown {
+
+		/**
+		 * The {@link Decoder} for the raw bytes.
+		 */
+		private final Decoder _decoder;
+
+		/**
+		 * @see #getBytes()
+		 */
+		private volatile byte[] _bytes;
+
+		/**
+		 * @see #getProxy()
+		 */
+		private volatile ThrowableProxy _proxy;
+
+		/**
+		 * Create a {@link Thrown}.
+		 *
+		 * @param decoder the {@link Decoder} for the raw bytes
+		 * @param bytes   see {@link #getBytes()}
+		 */
+		Thrown(final Decoder decoder, final byte[] bytes) {
+			_decoder = decoder;
+			_bytes = bytes;
+		}
+
+		/**
+		 * @return the raw bytes of the throwable or {@code null} if it has been
+		 *         decoded already
+		 */
+		byte[] getBytes() {
+			return _bytes;
+		}
+
+		/**
+		 * @return the decoded {@link ThrowableProxy} or {@code null} if the raw
+		 *         bytes are corrupted
+		 */
+		ThrowableProxy getProxy() {
+			final byte[] bytes = _bytes;
+			if (bytes != null) {
+				try {
+					_proxy = _decoder.decodeThrown(bytes);
+				} catch (final IOException ex) {
+					// the raw bytes are corrupted, treat the event as if it had no throwable
+				}
+				_bytes = null;
+			}
+			return _proxy;
+		}
+	}
+
+	/**
+	 * A builder for {@link LazyLogEvent}s.
+	 */
+	public static class Builder {
+
+		/**
+		 * @see LazyLogEvent#getInstant()
+		 */
+		private final MutableInstant _instant = new MutableInstant();
+
+		/**
+		 * @see LazyLogEvent#getLevel()
+		 */
+		private Level _level = Level.OFF;
+
+		/**
+		 * @see LazyLogEvent#getLoggerName()
+		 */
+		private String _loggerName;
+
+		/**
+		 * @see LazyLogEvent#getLoggerFqcn()
+		 */
+		private String _loggerFqcn;
+
+		/**
+		 * @see LazyLogEvent#getMessage()
+		 */
+		private Message _message;
+
+		/**
+		 * @see LazyLogEvent#getMarker()
+		 */
+		private Marker _marker;
+
+		/**
+		 * @see LazyLogEvent#getThreadName()
+		 */
+		private String _threadName;
+
+		/**
+		 * @see LazyLogEvent#getThreadId()
+		 */
+		private long _threadId;
+
+		/**
+		 * @see LazyLogEvent#getThreadPriority()
+		 */
+		private int _threadPriority;
+
+		/**
+		 * @see LazyLogEvent#isEndOfBatch()
+		 */
+		private boolean _endOfBatch;
+
+		/**
+		 * @see LazyLogEvent#newBuilder(Decoder)
+		 */
+		private final Decoder _decoder;
+
+		/**
+		 * @see #setThrownBytes(byte[])
+		 */
+		private byte[] _thrownBytes;
+
+		/**
+		 * @see #setContextBytes(byte[])
+		 */
+		private byte[] _contextBytes;
+
+		/**
+		 * @see #setSourceBytes(byte[])
+		 */
+		private byte[] _sourceBytes;
+
+		/**
+		 * Create a {@link Builder}.
+		 *
+		 * @param decoder see {@link LazyLogEvent#newBuilder(Decoder)}
+		 */
+		private Builder(final Decoder decoder) {
+			_decoder = Objects.requireNonNull(decoder);
+		}
+
+		/**
+		 * @param instant see {@link LazyLogEvent#getInstant()}
+		 * @return the receiver
+		 */
+		public Builder setInstant(final Instant instant) {
+			_instant.initFrom(instant);
+			return this;
+		}
+
+		/**
+		 * @param level see {@link LazyLogEvent#getLevel()}
+		 * @return the receiver
+		 */
+		public Builder setLevel(final Level level) {
+			_level = level;
+			return this;
+		}
+
+		/**
+		 * @param loggerName see {@link LazyLogEvent#getLoggerName()}
+		 * @return the receiver
+		 */
+		public Builder setLoggerName(final String loggerName) {
+			_loggerName = loggerName;
+			return this;
+		}
+
+		/**
+		 * @param loggerFqcn see {@link LazyLogEvent#getLoggerFqcn()}
+		 * @return the receiver
+		 */
+		public Builder setLoggerFqcn(final String loggerFqcn) {
+			_loggerFqcn = loggerFqcn;
+			return this;
+		}
+
+		/**
+		 * @param message see {@link LazyLogEvent#getMessage()}
+		 * @return the receiver
+		 */
+		public Builder setMessage(final Message message) {
+			_message = message;
+			return this;
+		}
+
+		/**
+		 * @param marker see {@link LazyLogEvent#getMarker()}
+		 * @return the receiver
+		 */
+		public Builder setMarker(final Marker marker) {
+			_marker = marker;
+			return this;
+		}
+
+		/**
+		 * @param threadName see {@link LazyLogEvent#getThreadName()}
+		 * @return the receiver
+		 */
+		public Builder setThreadName(final String threadName) {
+			_threadName = threadName;
+			return this;
+		}
+
+		/**
+		 * @param threadId see {@link LazyLogEvent#getThreadId()}
+		 * @return the receiver
+		 */
+		public Builder setThreadId(final long threadId) {
+			_threadId = threadId;
+			return this;
+		}
+
+		/**
+		 * @param threadPriority see {@link LazyLogEvent#getThreadPriority()}
+		 * @return the receiver
+		 */
+		public Builder setThreadPriority(final int threadPriority) {
+			_threadPriority = threadPriority;
+			return this;
+		}
+
+		/**
+		 * @param endOfBatch see {@link LazyLogEvent#isEndOfBatch()}
+		 * @return the receiver
+		 */
+		public Builder setEndOfBatch(final boolean endOfBatch) {
+			_endOfBatch = endOfBatch;
+			return this;
+		}
+
+		/**
+		 * @param bytes the raw bytes to be decoded by
+		 *              {@link Decoder#decodeThrown(byte[])} or {@code null}
+		 * @return the receiver
+		 */
+		public Builder setThrownBytes(final byte[] bytes) {
+			_thrownBytes = bytes;
+			return this;
+		}
+
+		/**
+		 * @param bytes the raw bytes to be decoded by
+		 *              {@link Decoder#decodeContextData(byte[])} or {@code null}
+		 * @return the receiver
+		 */
+		public Builder setContextBytes(final byte[] bytes) {
+			_contextBytes = bytes;
+			return this;
+		}
+
+		/**
+		 * @param bytes the raw bytes to be decoded by
+		 *              {@link Decoder#decodeSource(byte[])} or {@code null}
+		 * @return the receiver
+		 */
+		public Builder setSourceBytes(final byte[] bytes) {
+			_sourceBytes = bytes;
+			return this;
+		}
+
+		/**
+		 * @return a new {@link LazyLogEvent} with the receiver's properties
+		 */
+		public LazyLogEvent build() {
+			return new LazyLogEvent(this);
+		}
+	}
+}
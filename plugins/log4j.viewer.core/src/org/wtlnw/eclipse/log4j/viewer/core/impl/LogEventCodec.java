@@ -0,0 +1,366 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.core.time.Instant;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.wtlnw.eclipse.log4j.viewer.core.util.StringPool;
+
+/**
+ * Instances of this class encode {@link LogEvent}s into a compact binary
+ * record and decode such records into {@link LazyLogEvent}s, which is used
+ * for keeping events outside the heap, e.g. on disk.
+ *
+ * <p>
+ * A record starts with the properties displayed in the event table and a few
+ * cheap ones, followed by the length-prefixed throwable, context data and
+ * source. Messages are stored formatted. Decoding reads the leading properties
+ * eagerly and keeps the trailing ones as raw bytes, which the decoded event
+ * decodes on first access. Throwables are stored as serialized
+ * {@link ThrowableProxy}s and read using the same class filter as
+ * {@link SerializedLogEventSupplierFactory}.
+ * </p>
+ *
+ * <p>
+ * Instances are stateless and thus safe to be used by multiple threads
+ * concurrently.
+ * </p>
+ */
+public class LogEventCodec implements LazyLogEvent.Decoder {
+
+	/**
+	 * The length written for {@code null} strings and absent properties.
+	 */
+	private static final int NONE = -1;
+
+	/**
+	 * The maximum nesting depth of marker parents to write.
+	 */
+	private static final int MAX_MARKER_DEPTH = 16;
+
+	/**
+	 * @see #getDefault()
+	 */
+	private static final LogEventCodec DEFAULT = new LogEventCodec();
+
+	/**
+	 * @return the {@link LogEventCodec} to be used by default
+	 */
+	public static LogEventCodec getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * @param event the {@link LogEvent} to encode
+	 * @return the binary record of the given event
+	 * @throws IOException if the event's throwable could not be serialized
+	 */
+	public byte[] encode(final LogEvent event) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		final DataOutputStream out = new DataOutputStream(bytes);
+
+		final Instant instant = event.getInstant();
+		out.writeLong(instant.getEpochMillisecond());
+		out.writeInt(instant.getNanoOfMillisecond());
+
+		final Level level = event.getLevel();
+		writeString(out, level != null ? level.name() : null);
+		out.writeInt(level != null ? level.intLevel() : 0);
+		writeString(out, event.getLoggerName());
+		writeString(out, event.getLoggerFqcn());
+		writeString(out, event.getThreadName());
+		out.writeLong(event.getThreadId());
+		out.writeInt(event.getThreadPriority());
+		out.writeBoolean(event.isEndOfBatch());
+
+		final Message message = event.getMessage();
+		writeString(out, message != null ? message.getFormattedMessage() : null);
+		writeMarker(out, event.getMarker(), MAX_MARKER_DEPTH);
+
+		writeBytes(out, encodeThrown(event.getThrownProxy()));
+		writeBytes(out, encodeContextData(event.getContextData()));
+		writeBytes(out, encodeSource(event.getSource()));
+
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * @param record the binary record of a {@link LogEvent} as written by
+	 *               {@link #encode(LogEvent)}
+	 * @return the decoded {@link LazyLogEvent}
+	 * @throws IOException if the given record is corrupted
+	 */
+	public LazyLogEvent decode(final byte[] record) throws IOException {
+		final ByteBuffer in = ByteBuffer.wrap(record);
+		try {
+			final MutableInstant instant = new MutableInstant();
+			instant.initFromEpochMilli(in.getLong(), in.getInt());
+
+			final String levelName = readString(in);
+			final int intLevel = in.getInt();
+			final LazyLogEvent.Builder builder = LazyLogEvent.newBuilder(this)
+					.setInstant(instant)
+					.setLevel(levelName != null ? Level.forName(levelName, intLevel) : null)
+					.setLoggerName(StringPool.getDefault().intern(readString(in)))
+					.setLoggerFqcn(StringPool.getDefault().intern(readString(in)))
+					.setThreadName(StringPool.getDefault().intern(readString(in)))
+					.setThreadId(in.getLong())
+					.setThreadPriority(in.getInt())
+					.setEndOfBatch(in.get() != 0);
+
+			final String message = readString(in);
+			return builder.setMessage(message != null ? new SimpleMessage(message) : null)
+					.setMarker(readMarker(in))
+					.setThrownBytes(readBytes(in))
+					.setContextBytes(readBytes(in))
+					.setSourceBytes(readBytes(in))
+					.build();
+		} catch (final BufferUnderflowException | IllegalArgumentException ex) {
+			throw new IOException("Corrupted event record.", ex);
+		}
+	}
+
+	@Override
+	public ThrowableProxy decodeThrown(final byte[] bytes) throws IOException {
+		try (final ObjectInputStream in = new SerializedLogEventSupplierFactory.LogEventInputStream(new ByteArrayInputStream(bytes))) {
+			return (ThrowableProxy) in.readObject();
+		} catch (final ClassNotFoundException | ClassCastException ex) {
+			throw new IOException(ex);
+		}
+	}
+
+	@Override
+	public ReadOnlyStringMap decodeContextData(final byte[] bytes) throws IOException {
+		final ByteBuffer in = ByteBuffer.wrap(bytes);
+		try {
+			final int size = in.getInt();
+			if (size < 0 || size > in.remaining() / 8) {
+				throw new BufferUnderflowException();
+			}
+
+			final SortedArrayStringMap map = new SortedArrayStringMap(size);
+			for (int i = 0; i < size; i++) {
+				map.putValue(StringPool.getDefault().intern(readString(in)), readString(in));
+			}
+			map.freeze();
+			return map;
+		} catch (final BufferUnderflowException | IllegalArgumentException ex) {
+			throw new IOException("Corrupted context data.", ex);
+		}
+	}
+
+	@Override
+	public StackTraceElement decodeSource(final byte[] bytes) throws IOException {
+		final ByteBuffer in = ByteBuffer.wrap(bytes);
+		try {
+			return new StackTraceElement(readString(in), readString(in), readString(in), in.getInt());
+		} catch (final BufferUnderflowException | IllegalArgumentException | NullPointerException ex) {
+			throw new IOException("Corrupted source.", ex);
+		}
+	}
+
+	/**
+	 * @param proxy the {@link ThrowableProxy} to encode or {@code null}
+	 * @return the serialized proxy or {@code null} if there is none
+	 * @throws IOException if the proxy could not be serialized
+	 */
+	private static byte[] encodeThrown(final ThrowableProxy proxy) throws IOException {
+		if (proxy == null) {
+			return null;
+		}
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 10);
+		try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(proxy);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * @param data the {@link ReadOnlyStringMap} to encode or {@code null}
+	 * @return the encoded data or {@code null} if there is none
+	 * @throws IOException if the data could not be written
+	 */
+	private static byte[] encodeContextData(final ReadOnlyStringMap data) throws IOException {
+		if (data == null || data.isEmpty()) {
+			return null;
+		}
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		final DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(data.size());
+		final IOException[] error = { null };
+		data.forEach((key, value) -> {
+			try {
+				writeString(out, key);
+				writeString(out, value != null ? value.toString() : null);
+			} catch (final IOException ex) {
+				error[0] = ex;
+			}
+		});
+		if (error[0] != null) {
+			throw error[0];
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * @param source the {@link StackTraceElement} to encode or {@code null}
+	 * @return the encoded source or {@code null} if there is none
+	 * @throws IOException if the source could not be written
+	 */
+	private static byte[] encodeSource(final StackTraceElement source) throws IOException {
+		if (source == null) {
+			return null;
+		}
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		final DataOutputStream out = new DataOutputStream(bytes);
+		writeString(out, source.getClassName());
+		writeString(out, source.getMethodName());
+		writeString(out, source.getFileName());
+		out.writeInt(source.getLineNumber());
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * @param out    the {@link DataOutputStream} to write to
+	 * @param marker the {@link Marker} to write or {@code null}
+	 * @param depth  the remaining depth of parents to write
+	 * @throws IOException if the marker could not be written
+	 */
+	private static void writeMarker(final DataOutputStream out, final Marker marker, final int depth) throws IOException {
+		if (marker == null) {
+			writeString(out, null);
+			return;
+		}
+
+		final Marker[] parents = depth > 0 && marker.hasParents() ? marker.getParents() : new Marker[0];
+		writeString(out, marker.getName());
+		out.writeInt(parents.length);
+		for (final Marker parent : parents) {
+			writeMarker(out, parent, depth - 1);
+		}
+	}
+
+	/**
+	 * @param in the {@link ByteBuffer} to read from
+	 * @return the {@link Marker} read or {@code null}
+	 */
+	private static Marker readMarker(final ByteBuffer in) {
+		final String name = readString(in);
+		if (name == null) {
+			return null;
+		}
+
+		// create detached markers in order not to modify the global ones
+		final Marker marker = new MarkerManager.Log4jMarker(name);
+		final int count = in.getInt();
+		if (count > 0) {
+			final Marker[] parents = new Marker[count];
+			for (int i = 0; i < count; i++) {
+				parents[i] = readMarker(in);
+			}
+			marker.setParents(parents);
+		}
+		return marker;
+	}
+
+	/**
+	 * @param out   the {@link DataOutputStream} to write to
+	 * @param value the {@link String} to write or {@code null}
+	 * @throws IOException if the string could not be written
+	 */
+	private static void writeString(final DataOutputStream out, final String value) throws IOException {
+		writeBytes(out, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+	}
+
+	/**
+	 * @param in the {@link ByteBuffer} to read from
+	 * @return the {@link String} read or {@code null}
+	 */
+	private static String readString(final ByteBuffer in) {
+		final int length = readLength(in);
+		if (length == NONE) {
+			return null;
+		}
+
+		final String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+		in.position(in.position() + length);
+		return value;
+	}
+
+	/**
+	 * @param out   the {@link DataOutputStream} to write to
+	 * @param bytes the bytes to write or {@code null}
+	 * @throws IOException if the bytes could not be written
+	 */
+	private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+		if (bytes == null) {
+			out.writeInt(NONE);
+		} else {
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * @param in the {@link ByteBuffer} to read from
+	 * @return the bytes read or {@code null}
+	 */
+	private static byte[] readBytes(final ByteBuffer in) {
+		final int length = readLength(in);
+		if (length == NONE) {
+			return null;
+		}
+
+		final byte[] bytes = new byte[length];
+		in.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * @param in the {@link ByteBuffer} to read from
+	 * @return the length of the following string or bytes or {@link #NONE}
+	 * @throws BufferUnderflowException if the length exceeds the remaining bytes
+	 */
+	private static int readLength(final ByteBuffer in) throws BufferUnderflowException {
+		final int length = in.getInt();
+		if (length < NONE || length > in.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		return length;
+	}
+}
@@ -0,0 +1,235 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.core.appender.SocketAppender;
+
+/**
+ * Instances of this class receive datagrams sent by {@link SocketAppender}s
+ * using the UDP protocol.
+ *
+ * <p>
+ * Each datagram contains a layout's header, a single event and the layout's
+ * footer and can therefore be decoded on its own. Datagrams are received by a
+ * single thread calling {@link #receive()} into a pooled buffer and queued for
+ * decoding by another thread calling {@link #take()}, thus decoding does not
+ * delay receiving. Datagrams arriving while the queue is full are dropped
+ * rather than blocking the receiving thread, since the sending application
+ * would not be slowed down by UDP anyway.
+ * </p>
+ *
+ * <p>
+ * Note: this class uses {@link ReentrantLock}s rather than monitors in order
+ * not to pin virtual threads blocking in {@link #take()}.
+ * </p>
+ */
+class LogEventDatagramReceiver implements Closeable {
+
+	/**
+	 * The size in bytes of the operating system's socket receive buffer to
+	 * request in order to survive bursts while datagrams are being queued.
+	 */
+	private static final int SOCKET_BUFFER_SIZE = 1 << 22;
+
+	/**
+	 * The {@link DatagramChannel} to receive datagrams from.
+	 */
+	private final DatagramChannel _channel;
+
+	/**
+	 * The buffer to receive datagrams into, it is reused for all datagrams. It
+	 * exceeds the maximum datagram size by one byte, thus datagrams filling it
+	 * are known to be too large.
+	 */
+	private final ByteBuffer _buffer;
+
+	/**
+	 * The maximum number of received but not yet decoded datagrams.
+	 */
+	private final int _capacity;
+
+	/**
+	 * The {@link LongAdder} to count dropped datagrams with.
+	 */
+	private final LongAdder _dropped;
+
+	/**
+	 * The {@link LongAdder} to count truncated datagrams with.
+	 */
+	private final LongAdder _truncated;
+
+	/**
+	 * The {@link ReentrantLock} to be used for synchronized access to the queue.
+	 */
+	private final ReentrantLock _lock = new ReentrantLock();
+
+	/**
+	 * The {@link Condition} signaled when a datagram was queued or the receiver
+	 * was closed.
+	 */
+	private final Condition _notEmpty = _lock.newCondition();
+
+	/**
+	 * The datagrams received but not decoded yet.
+	 */
+	private final ArrayDeque<byte[]> _queue = new ArrayDeque<>();
+
+	/**
+	 * Flag indicating whether the receiver has been closed.
+	 */
+	private boolean _closed = false;
+
+	/**
+	 * Create a {@link LogEventDatagramReceiver}.
+	 *
+	 * @param port      the port to receive datagrams on
+	 * @param maxSize   the maximum number of bytes of a datagram
+	 * @param capacity  the maximum number of received but not yet decoded
+	 *                  datagrams
+	 * @param dropped   the {@link LongAdder} to count datagrams with which were
+	 *                  dropped because the queue was full
+	 * @param truncated the {@link LongAdder} to count datagrams with which
+	 *                  exceeded the maximum size
+	 * @throws IOException if the channel could not be opened
+	 */
+	LogEventDatagramReceiver(final int port, final int maxSize, final int capacity, final LongAdder dropped, final LongAdder truncated) throws IOException {
+		_buffer = ByteBuffer.allocateDirect(maxSize + 1);
+		_capacity = capacity;
+		_dropped = Objects.requireNonNull(dropped);
+		_truncated = Objects.requireNonNull(truncated);
+		_channel = DatagramChannel.open();
+
+		try {
+			// the operating system may silently cap the requested size
+			_channel.setOption(StandardSocketOptions.SO_RCVBUF, SOCKET_BUFFER_SIZE);
+			_channel.bind(new InetSocketAddress(port));
+		} catch (final IOException ex) {
+			_channel.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Receive datagrams and queue them for decoding until the receiver is
+	 * closed.
+	 *
+	 * @throws IOException if an error occurred while receiving, which is also the
+	 *                     case when the receiver is closed
+	 */
+	void receive() throws IOException {
+		while (true) {
+			_buffer.clear();
+			_channel.receive(_buffer);
+
+			// datagrams exceeding the buffer are cut off by the channel, those
+			// filling it exceed the maximum size
+			if (!_buffer.hasRemaining()) {
+				_truncated.increment();
+				continue;
+			}
+
+			final byte[] datagram = new byte[_buffer.flip().remaining()];
+			_buffer.get(datagram);
+
+			if (!offer(datagram)) {
+				_dropped.increment();
+			}
+		}
+	}
+
+	/**
+	 * @param datagram the datagram to queue
+	 * @return {@code true} if the datagram was queued or {@code false} if the
+	 *         queue is full
+	 */
+	private boolean offer(final byte[] datagram) {
+		_lock.lock();
+		try {
+			if (_queue.size() >= _capacity) {
+				return false;
+			}
+
+			_queue.addLast(datagram);
+			_notEmpty.signal();
+			return true;
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * Block until a datagram has been received.
+	 *
+	 * @return the next received datagram or {@code null} if the receiver has
+	 *         been closed
+	 * @throws InterruptedIOException if the calling thread was interrupted while
+	 *                                waiting
+	 */
+	byte[] take() throws InterruptedIOException {
+		_lock.lock();
+		try {
+			while (_queue.isEmpty()) {
+				if (_closed) {
+					return null;
+				}
+				_notEmpty.await();
+			}
+			return _queue.removeFirst();
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * Count a received datagram as dropped, e.g. because it could not be decoded.
+	 */
+	void drop() {
+		_dropped.increment();
+	}
+
+	/**
+	 * Stop receiving datagrams and wake up the thread waiting in {@link #take()}.
+	 * Datagrams received so far are discarded.
+	 */
+	@Override
+	public void close() throws IOException {
+		_lock.lock();
+		try {
+			_closed = true;
+			_queue.clear();
+			_notEmpty.signalAll();
+		} finally {
+			_lock.unlock();
+		}
+
+		_channel.close();
+	}
+}
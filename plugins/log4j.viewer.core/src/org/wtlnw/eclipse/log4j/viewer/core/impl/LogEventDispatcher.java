@@ -0,0 +1,402 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventBatchConsumer;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventServer.OverflowPolicy;
+
+/**
+ * Instances of this class decouple reading {@link LogEvent}s from a connection
+ * and delivering them to a {@link LogEventBatchConsumer}.
+ *
+ * <p>
+ * The connection's handler thread {@link #put(LogEvent) puts} events into a
+ * bounded queue while a separate virtual thread drains it and delivers the
+ * events in batches. A batch is delivered as soon as it contains the maximum
+ * number of events or the first event of the batch has been waiting for the
+ * maximum delay. The delivery thread is started upon the first event in order
+ * not to waste resources on idle connections.
+ * </p>
+ *
+ * <p>
+ * When the queue is full, the configured {@link OverflowPolicy} decides whether
+ * to block the handler thread or to discard events.
+ * </p>
+ *
+ * <p>
+ * If the consumer throws, the failure is reported, pending events are
+ * discarded and subsequent calls to {@link #put(LogEvent)} fail rather than
+ * waiting for a delivery thread which is gone.
+ * </p>
+ *
+ * <p>
+ * Note: {@link #put(LogEvent)} and {@link #close()} are to be called by the
+ * connection's handler thread only.
+ * </p>
+ */
+class LogEventDispatcher {
+
+	/**
+	 * The {@link LogEventBatchConsumer} to deliver batches to.
+	 */
+	private final LogEventBatchConsumer _consumer;
+
+	/**
+	 * The maximum number of queued {@link LogEvent}s.
+	 */
+	private final int _capacity;
+
+	/**
+	 * The maximum number of {@link LogEvent}s per batch.
+	 */
+	private final int _batchSize;
+
+	/**
+	 * The maximum time in nanoseconds to wait for a batch to fill up.
+	 */
+	private final long _batchDelay;
+
+	/**
+	 * The {@link OverflowPolicy} to apply when the queue is full.
+	 */
+	private final OverflowPolicy _policy;
+
+	/**
+	 * The {@link Level} below which events are discarded first when applying
+	 * {@link OverflowPolicy#DROP_BELOW_LEVEL}.
+	 */
+	private final Level _dropLevel;
+
+	/**
+	 * The {@link LongAdder} to count discarded events with.
+	 */
+	private final LongAdder _dropped;
+
+	/**
+	 * The listener to report a failure of the consumer to.
+	 */
+	private final BiConsumer<String, Throwable> _errorListener;
+
+	/**
+	 * The {@link ReentrantLock} to be used for synchronized access to the queue.
+	 */
+	private final ReentrantLock _lock = new ReentrantLock();
+
+	/**
+	 * The {@link Condition} signaled when events are added or the receiver is
+	 * closed.
+	 */
+	private final Condition _notEmpty = _lock.newCondition();
+
+	/**
+	 * The {@link Condition} signaled when events are removed.
+	 */
+	private final Condition _notFull = _lock.newCondition();
+
+	/**
+	 * The queued {@link LogEvent}s.
+	 */
+	private final ArrayDeque<LogEvent> _queue;
+
+	/**
+	 * Flag indicating whether no more events are to be expected.
+	 */
+	private boolean _closed = false;
+
+	/**
+	 * The {@link Throwable} thrown by the consumer or {@code null} if events are
+	 * still being delivered.
+	 */
+	private Throwable _failure;
+
+	/**
+	 * The {@link Thread} delivering the queued events or {@code null} if no event
+	 * was queued yet.
+	 */
+	private Thread _thread;
+
+	/**
+	 * Create a {@link LogEventDispatcher}.
+	 *
+	 * @param consumer   the {@link LogEventBatchConsumer} to deliver batches to
+	 * @param capacity   the maximum number of queued events
+	 * @param batchSize  the maximum number of events per batch
+	 * @param batchDelay the maximum time in milliseconds to wait for a batch to
+	 *                   fill up
+	 * @param policy     the {@link OverflowPolicy} to apply when the queue is full
+	 * @param dropLevel  the {@link Level} below which events are discarded first
+	 *                   when applying {@link OverflowPolicy#DROP_BELOW_LEVEL}
+	 * @param dropped    the {@link LongAdder} to count discarded events with
+	 * @param errorListener the listener to report a failure of the consumer to
+	 */
+	LogEventDispatcher(final LogEventBatchConsumer consumer, final int capacity, final int batchSize, final int batchDelay,
+			final OverflowPolicy policy, final Level dropLevel, final LongAdder dropped, final BiConsumer<String, Throwable> errorListener) {
+		_consumer = Objects.requireNonNull(consumer);
+		_capacity = capacity;
+		// a batch can never grow larger than the queue
+		_batchSize = Math.min(batchSize, capacity);
+		_batchDelay = TimeUnit.MILLISECONDS.toNanos(batchDelay);
+		_policy = Objects.requireNonNull(policy);
+		_dropLevel = Objects.requireNonNull(dropLevel);
+		_dropped = Objects.requireNonNull(dropped);
+		_errorListener = Objects.requireNonNull(errorListener);
+		_queue = new ArrayDeque<>(Math.min(capacity, 1 << 10));
+	}
+
+	/**
+	 * Queue the given {@link LogEvent} for delivery, applying the receiver's
+	 * {@link OverflowPolicy} if the queue is full.
+	 *
+	 * @param event the {@link LogEvent} to queue
+	 * @throws InterruptedIOException if the calling thread was interrupted while
+	 *                                waiting for the queue to drain
+	 * @throws IOException            if the consumer failed, thus events can no
+	 *                                longer be delivered
+	 */
+	void put(final LogEvent event) throws InterruptedIOException, IOException {
+		Objects.requireNonNull(event);
+
+		if (_thread == null) {
+			_thread = Thread.ofVirtual().start(this::deliver);
+		}
+
+		_lock.lock();
+		try {
+			checkFailure();
+			while (_queue.size() >= _capacity) {
+				switch (_policy) {
+				case BLOCK:
+					_notFull.await();
+					checkFailure();
+					break;
+				case DROP_OLDEST:
+					_queue.removeFirst();
+					_dropped.increment();
+					break;
+				case DROP_NEWEST:
+					_dropped.increment();
+					return;
+				case DROP_BELOW_LEVEL:
+					if (isDroppable(event)) {
+						_dropped.increment();
+						return;
+					}
+					if (removeDroppable()) {
+						_dropped.increment();
+					} else {
+						_notFull.await();
+						checkFailure();
+					}
+					break;
+				}
+			}
+
+			_queue.addLast(event);
+
+			// wake up the draining thread only if it is waiting for
+			// the first event or a batch has been completed
+			final int size = _queue.size();
+			if (size == 1 || size == _batchSize) {
+				_notEmpty.signal();
+			}
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * Note: the calling thread must hold {@link #_lock}.
+	 *
+	 * @throws IOException if the consumer failed
+	 */
+	private void checkFailure() throws IOException {
+		if (_failure != null) {
+			throw new IOException("The consumer failed, events are no longer delivered.", _failure);
+		}
+	}
+
+	/**
+	 * @return {@code true} if the consumer failed, thus events are no longer
+	 *         delivered
+	 */
+	boolean isFailed() {
+		_lock.lock();
+		try {
+			return _failure != null;
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of currently queued {@link LogEvent}s
+	 */
+	int size() {
+		_lock.lock();
+		try {
+			return _queue.size();
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * @param event the {@link LogEvent} to check
+	 * @return {@code true} if the given event is less specific than the
+	 *         receiver's drop level
+	 */
+	private boolean isDroppable(final LogEvent event) {
+		final Level level = event.getLevel();
+		return level == null || !level.isMoreSpecificThan(_dropLevel);
+	}
+
+	/**
+	 * Remove the oldest queued {@link LogEvent} which is less specific than the
+	 * receiver's drop level.
+	 *
+	 * @return {@code true} if such an event was removed
+	 */
+	private boolean removeDroppable() {
+		for (final Iterator<LogEvent> iter = _queue.iterator(); iter.hasNext();) {
+			if (isDroppable(iter.next())) {
+				iter.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Signal that no more events are to be expected and block until all events
+	 * queued so far have been delivered.
+	 *
+	 * <p>
+	 * Note: if the calling thread is interrupted while waiting, pending events
+	 * are discarded and the interruption status is restored.
+	 * </p>
+	 */
+	void close() {
+		_lock.lock();
+		try {
+			_closed = true;
+			_notEmpty.signalAll();
+		} finally {
+			_lock.unlock();
+		}
+
+		if (_thread != null) {
+			try {
+				_thread.join();
+			} catch (final InterruptedException ex) {
+				// the server is going down without waiting for pending events
+				_thread.interrupt();
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Deliver queued events until the receiver is closed and all events have been
+	 * delivered, the delivering thread is interrupted or the consumer fails.
+	 */
+	private void deliver() {
+		try {
+			List<LogEvent> batch = new ArrayList<>();
+			while (take(batch)) {
+				_consumer.acceptAll(Collections.unmodifiableList(batch));
+
+				// consumers are allowed to keep the delivered batch
+				batch = new ArrayList<>();
+			}
+		} catch (final InterruptedException ex) {
+			// the server is going down without waiting for pending events
+		} catch (final RuntimeException | Error ex) {
+			fail(ex);
+		}
+	}
+
+	/**
+	 * Discard all pending events, wake up the handler thread waiting for the
+	 * queue to drain and report the given failure of the consumer.
+	 *
+	 * @param failure the {@link Throwable} thrown by the consumer
+	 */
+	private void fail(final Throwable failure) {
+		_lock.lock();
+		try {
+			_failure = failure;
+			_queue.clear();
+			_notFull.signalAll();
+		} finally {
+			_lock.unlock();
+		}
+
+		_errorListener.accept("Consumer failed to accept events, events of this connection are no longer delivered.", failure);
+	}
+
+	/**
+	 * Move the next batch of queued events to the given {@link List}.
+	 *
+	 * @param batch the empty {@link List} to fill
+	 * @return {@code true} if the batch was filled or {@code false} if the
+	 *         receiver is closed and no more events are to be delivered
+	 * @throws InterruptedException if the calling thread was interrupted
+	 */
+	private boolean take(final List<LogEvent> batch) throws InterruptedException {
+		_lock.lockInterruptibly();
+		try {
+			while (_queue.isEmpty()) {
+				if (_closed) {
+					return false;
+				}
+				_notEmpty.await();
+			}
+
+			// wait for the batch to fill up, but no longer than the batch delay
+			long remaining = _batchDelay;
+			while (_queue.size() < _batchSize && !_closed && remaining > 0) {
+				remaining = _notEmpty.awaitNanos(remaining);
+			}
+
+			for (int i = 0; i < _batchSize && !_queue.isEmpty(); i++) {
+				batch.add(_queue.removeFirst());
+			}
+			_notFull.signalAll();
+
+			return true;
+		} finally {
+			_lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+
+/**
+ * Instances of this class describe an additional TCP port or Unix domain
+ * socket a {@link LogEventServer} accepts connections on.
+ *
+ * <p>
+ * An endpoint may be pinned to a single {@link LogEventSupplierFactory}, in
+ * which case connections accepted on it are read using that factory right away
+ * rather than probing all {@link LogEventServer#getSupplierFactories()}.
+ * </p>
+ */
+public class LogEventEndpoint {
+
+	/**
+	 * @see #getPort()
+	 */
+	private final int _port;
+
+	/**
+	 * @see #getPath()
+	 */
+	private final Path _path;
+
+	/**
+	 * @see #getFactory()
+	 */
+	private final LogEventSupplierFactory _factory;
+
+	/**
+	 * Create a {@link LogEventEndpoint} for a TCP port.
+	 *
+	 * @param port    see {@link #getPort()}
+	 * @param factory see {@link #getFactory()}
+	 * @throws IllegalArgumentException if the given port is invalid
+	 */
+	public LogEventEndpoint(final int port, final LogEventSupplierFactory factory) throws IllegalArgumentException {
+		if (port < 0 || port > 65535) {
+			throw new IllegalArgumentException("Invalid port number: " + port);
+		}
+
+		_port = port;
+		_path = null;
+		_factory = factory;
+	}
+
+	/**
+	 * Create a {@link LogEventEndpoint} for a Unix domain socket.
+	 *
+	 * @param path    see {@link #getPath()}
+	 * @param factory see {@link #getFactory()}
+	 * @throws NullPointerException if the given path is {@code null}
+	 */
+	public LogEventEndpoint(final Path path, final LogEventSupplierFactory factory) throws NullPointerException {
+		_port = -1;
+		_path = Objects.requireNonNull(path);
+		_factory = factory;
+	}
+
+	/**
+	 * @return the TCP port to accept connections on or {@code -1} if the receiver
+	 *         describes a Unix domain socket
+	 */
+	public int getPort() {
+		return _port;
+	}
+
+	/**
+	 * @return the {@link Path} of the Unix domain socket to accept connections on
+	 *         or {@code null} if the receiver describes a TCP port
+	 */
+	public Path getPath() {
+		return _path;
+	}
+
+	/**
+	 * @return the {@link LogEventSupplierFactory} to read all connections
+	 *         accepted on the receiver with or {@code null} if the factory is to
+	 *         be determined for each connection
+	 */
+	public LogEventSupplierFactory getFactory() {
+		return _factory;
+	}
+
+	@Override
+	public String toString() {
+		return _path != null ? _path.toString() : Integer.toString(_port);
+	}
+}
@@ -0,0 +1,444 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Instances of this class multiplex all connections accepted by a
+ * {@link LogEventServer} running in {@link LogEventServer.Mode#SELECTOR} mode
+ * over a small, fixed number of event loop threads.
+ *
+ * <p>
+ * The first event loop accepts incoming connections on all server channels
+ * provided upon construction and distributes them
+ * among all event loops in a round-robin fashion. Each event loop performs
+ * non-blocking reads for its connections and hands the data to the
+ * connection's {@link ChannelInputStream} which is then read by the
+ * connection handler provided upon construction.
+ * </p>
+ */
+class LogEventSelector implements Closeable {
+
+	/**
+	 * The size in bytes of each event loop's read buffer.
+	 */
+	private static final int READ_BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * The {@link ServerSocketChannel}s to accept incoming connections from.
+	 */
+	private final List<ServerSocketChannel> _servers;
+
+	/**
+	 * The maximum number of bytes buffered per connection before reading from
+	 * that connection is suspended.
+	 */
+	private final int _limit;
+
+	/**
+	 * The {@link ConnectionHandler} to be called for each accepted connection.
+	 */
+	private final ConnectionHandler _handler;
+
+	/**
+	 * The {@link EventLoop}s handling accepted connections.
+	 */
+	private final EventLoop[] _loops;
+
+	/**
+	 * The index of the {@link EventLoop} to assign the next accepted connection to.
+	 */
+	private final AtomicInteger _next = new AtomicInteger();
+
+	/**
+	 * Create a {@link LogEventSelector} and start its event loop threads.
+	 *
+	 * @param servers the bound {@link ServerSocketChannel}s to accept incoming
+	 *                connections from, which are closed along with the receiver
+	 * @param loops   the number of event loop threads to start
+	 * @param limit   the maximum number of bytes to buffer per connection before
+	 *                suspending reads from that connection
+	 * @param handler the {@link ConnectionHandler} to be called for each accepted
+	 *                connection; it is called from an event loop thread and must
+	 *                therefore not block
+	 * @throws IOException if the server channels could not be registered
+	 */
+	LogEventSelector(final List<ServerSocketChannel> servers, final int loops, final int limit, final ConnectionHandler handler) throws IOException {
+		_handler = Objects.requireNonNull(handler);
+		_servers = List.copyOf(servers);
+		_limit = limit;
+		_loops = new EventLoop[loops];
+
+		try {
+			for (int i = 0; i < loops; i++) {
+				_loops[i] = new EventLoop(i);
+			}
+
+			// the first event loop is responsible for accepting connections
+			for (final ServerSocketChannel server : _servers) {
+				server.configureBlocking(false);
+				_loops[0].execute(() -> server.register(_loops[0]._selector, SelectionKey.OP_ACCEPT));
+			}
+
+			for (final EventLoop loop : _loops) {
+				loop._thread.start();
+			}
+		} catch (final IOException ex) {
+			close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Stop all event loops, close all connections and block until all event loop
+	 * threads have terminated.
+	 */
+	@Override
+	public void close() {
+		for (final ServerSocketChannel server : _servers) {
+			try {
+				server.close();
+			} catch (final IOException ex) {
+				// nothing we could do about it
+			}
+		}
+
+		for (final EventLoop loop : _loops) {
+			if (loop != null) {
+				loop.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * An event loop thread serving a subset of the accepted connections.
+	 */
+	private class EventLoop implements Runnable {
+
+		/**
+		 * The {@link Selector} for the event loop's channels.
+		 */
+		private final Selector _selector;
+
+		/**
+		 * The {@link Thread} running the event loop.
+		 */
+		private final Thread _thread;
+
+		/**
+		 * The tasks to be executed by the event loop thread.
+		 */
+		private final ConcurrentLinkedQueue<IOTask> _tasks = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * The buffer to read data into, it is shared by all channels of this loop.
+		 */
+		private final ByteBuffer _buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+		/**
+		 * Flag indicating whether the event loop has been requested to stop.
+		 */
+		private volatile boolean _shutdown = false;
+
+		/**
+		 * Create an {@link EventLoop}.
+		 *
+		 * @param index the index of the event loop used for thread naming
+		 * @throws IOException if the {@link Selector} could not be opened
+		 */
+		EventLoop(final int index) throws IOException {
+			_selector = Selector.open();
+			_thread = new Thread(this, LogEventSelector.class.getSimpleName() + "-" + index);
+		}
+
+		/**
+		 * Schedule the given task for execution in the event loop's thread.
+		 *
+		 * @param task the task to execute
+		 */
+		void execute(final IOTask task) {
+			_tasks.add(task);
+			_selector.wakeup();
+		}
+
+		/**
+		 * Request the event loop to stop and wait for its termination.
+		 */
+		void shutdown() {
+			_shutdown = true;
+			_selector.wakeup();
+
+			if (_thread.isAlive() && _thread != Thread.currentThread()) {
+				try {
+					_thread.join();
+				} catch (final InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			// release whatever the thread did not (or could not because it was never started)
+			if (!_thread.isAlive()) {
+				closeAll();
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (!_shutdown) {
+					_selector.select();
+
+					IOTask task;
+					while ((task = _tasks.poll()) != null) {
+						try {
+							task.run();
+						} catch (final IOException ex) {
+							// the channel the task was meant for is broken, ignore it
+						}
+					}
+
+					for (final SelectionKey key : _selector.selectedKeys()) {
+						if (!key.isValid()) {
+							continue;
+						}
+						if (key.isAcceptable()) {
+							accept((ServerSocketChannel) key.channel());
+						} else if (key.isReadable()) {
+							read(key);
+						}
+					}
+					_selector.selectedKeys().clear();
+				}
+			} catch (final IOException | ClosedSelectorException ex) {
+				// selector is broken, terminate the event loop
+			} finally {
+				closeAll();
+			}
+		}
+
+		/**
+		 * Accept all pending connections and assign them to the event loops.
+		 *
+		 * @param server the {@link ServerSocketChannel} to accept connections from
+		 */
+		private void accept(final ServerSocketChannel server) {
+			try {
+				SocketChannel channel;
+				while ((channel = server.accept()) != null) {
+					channel.configureBlocking(false);
+
+					final EventLoop loop = _loops[Math.floorMod(_next.getAndIncrement(), _loops.length)];
+					loop.execute(loop.new Registration(channel, server));
+				}
+			} catch (final IOException ex) {
+				// failed to accept the connection, continue with the next one
+			}
+		}
+
+		/**
+		 * An {@link IOTask} registering an accepted {@link SocketChannel} with the
+		 * enclosing event loop and announcing it to the connection handler.
+		 */
+		private class Registration implements IOTask {
+
+			/**
+			 * The accepted {@link SocketChannel} to register.
+			 */
+			private final SocketChannel _channel;
+
+			/**
+			 * The {@link ServerSocketChannel} the channel was accepted from.
+			 */
+			private final ServerSocketChannel _server;
+
+			/**
+			 * Create a {@link Registration}.
+			 *
+			 * @param channel the accepted {@link SocketChannel} to register
+			 * @param server  the {@link ServerSocketChannel} the channel was accepted
+			 *                from
+			 */
+			Registration(final SocketChannel channel, final ServerSocketChannel server) {
+				_channel = channel;
+				_server = server;
+			}
+
+			@Override
+			public void run() throws IOException {
+				final SocketAddress address;
+				final SelectionKey key;
+				try {
+					final SocketAddress remote = _channel.getRemoteAddress();
+					address = remote instanceof UnixDomainSocketAddress ? _channel.getLocalAddress() : remote;
+					key = _channel.register(_selector, SelectionKey.OP_READ);
+				} catch (final IOException ex) {
+					abort();
+					throw ex;
+				}
+
+				final ChannelInputStream stream = new ChannelInputStream(_limit,
+						() -> execute(() -> resume(key)),
+						() -> execute(() -> close(key)));
+				key.attach(stream);
+
+				try {
+					_handler.accept(stream, address, _server);
+				} catch (final RuntimeException ex) {
+					// the handler refused the connection, e.g. due to server shutdown
+					close(key);
+				}
+			}
+
+			/**
+			 * Close the channel without registering it.
+			 */
+			void abort() {
+				try {
+					_channel.close();
+				} catch (final IOException ex) {
+					// nothing we could do about it
+				}
+			}
+		}
+
+		/**
+		 * Read available data from the channel associated with the given key.
+		 *
+		 * @param key the {@link SelectionKey} of the channel to read from
+		 */
+		private void read(final SelectionKey key) {
+			final SocketChannel channel = (SocketChannel) key.channel();
+			final ChannelInputStream stream = (ChannelInputStream) key.attachment();
+
+			try {
+				_buffer.clear();
+				final int count = channel.read(_buffer);
+				if (count < 0) {
+					stream.finish(null);
+					close(key);
+				} else if (count > 0) {
+					final byte[] chunk = new byte[count];
+					_buffer.flip().get(chunk);
+
+					// stop reading from the channel until the stream has been drained
+					if (!stream.offer(chunk)) {
+						key.interestOps(0);
+					}
+				}
+			} catch (final IOException ex) {
+				stream.finish(ex);
+				close(key);
+			}
+		}
+
+		/**
+		 * Resume reading from the channel associated with the given key.
+		 *
+		 * @param key the {@link SelectionKey} of the channel to resume reading from
+		 */
+		private void resume(final SelectionKey key) {
+			if (key.isValid()) {
+				key.interestOps(SelectionKey.OP_READ);
+			}
+		}
+
+		/**
+		 * Close the channel associated with the given key.
+		 *
+		 * @param key the {@link SelectionKey} of the channel to close
+		 */
+		private void close(final SelectionKey key) {
+			key.cancel();
+			try {
+				key.channel().close();
+			} catch (final IOException ex) {
+				// nothing we could do about it
+			}
+		}
+
+		/**
+		 * Close all channels registered with the receiver and the selector itself.
+		 */
+		private void closeAll() {
+			try {
+				for (final SelectionKey key : _selector.keys()) {
+					if (key.attachment() instanceof ChannelInputStream stream) {
+						stream.finish(null);
+					}
+					close(key);
+				}
+				_selector.close();
+			} catch (final IOException | ClosedSelectorException ex) {
+				// nothing we could do about it
+			}
+
+			// close channels which have been accepted but not registered yet
+			IOTask task;
+			while ((task = _tasks.poll()) != null) {
+				if (task instanceof Registration registration) {
+					registration.abort();
+				}
+			}
+		}
+	}
+
+	/**
+	 * A callback announcing accepted connections.
+	 */
+	@FunctionalInterface
+	interface ConnectionHandler {
+
+		/**
+		 * Handle an accepted connection.
+		 *
+		 * @param stream  the {@link ChannelInputStream} to read the connection's
+		 *                data from
+		 * @param address the connection's remote address or the local address for
+		 *                Unix domain socket connections whose clients are usually
+		 *                unnamed
+		 * @param server  the {@link ServerSocketChannel} the connection was
+		 *                accepted from
+		 */
+		void accept(ChannelInputStream stream, SocketAddress address, ServerSocketChannel server);
+	}
+
+	/**
+	 * A task to be executed by an {@link EventLoop} thread.
+	 */
+	@FunctionalInterface
+	private interface IOTask {
+
+		/**
+		 * Execute the task.
+		 *
+		 * @throws IOException if an error occurred
+		 */
+		void run() throws IOException;
+	}
+}
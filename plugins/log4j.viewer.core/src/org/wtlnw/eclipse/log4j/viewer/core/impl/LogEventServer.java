@@ -15,25 +15,61 @@
 package org.wtlnw.eclipse.log4j.viewer.core.impl;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.net.SocketTimeoutException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.SocketAppender;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventBatchConsumer;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventFrameReader;
 import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.FramingLogEventSupplier;
 import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.LogEventSupplier;
 
 /**
@@ -42,6 +78,89 @@ import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory.LogEventS
  */
 public class LogEventServer {
 
+	/**
+	 * The minimum number of bytes to buffer per connection.
+	 */
+	public static final int MIN_CONNECTION_BUFFER_SIZE = 1 << 10;
+
+	/**
+	 * The maximum UDP payload of IPv4 datagrams in bytes.
+	 */
+	public static final int MAX_DATAGRAM_SIZE = 65_507;
+
+	/**
+	 * The maximum size in bytes of the stream buffer the event parser reads from.
+	 */
+	private static final int STREAM_BUFFER_SIZE = 1 << 13;
+
+	/**
+	 * The maximum number of datagrams which have been received but not decoded
+	 * yet.
+	 */
+	private static final int DATAGRAM_QUEUE_CAPACITY = 1 << 12;
+
+	/**
+	 * The maximum number of frames to be decoded by a single parser task.
+	 */
+	private static final int PARSE_CHUNK_SIZE = 1 << 6;
+
+	/**
+	 * The maximum number of parser tasks per parser thread a connection may have
+	 * pending.
+	 */
+	private static final int PARSE_WINDOW = 1 << 2;
+
+	/**
+	 * An enumeration of strategies for handling accepted connections.
+	 */
+	public enum Mode {
+
+		/**
+		 * Each accepted connection is served by a dedicated platform thread blocking
+		 * on socket reads.
+		 */
+		BLOCKING,
+
+		/**
+		 * All accepted connections are multiplexed by a fixed number of
+		 * {@link java.nio.channels.Selector} based event loop threads performing
+		 * non-blocking reads, while {@link LogEvent}s are decoded by virtual threads
+		 * which do not occupy a platform thread while waiting for data.
+		 */
+		SELECTOR
+	}
+
+	/**
+	 * An enumeration of strategies for handling {@link LogEvent}s read from a
+	 * connection whose queue of undelivered events is full.
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Stop reading from the connection until the consumer caught up, which
+		 * eventually blocks the sending application due to TCP backpressure.
+		 */
+		BLOCK,
+
+		/**
+		 * Discard the oldest queued event in favor of the new one.
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * Discard the new event.
+		 */
+		DROP_NEWEST,
+
+		/**
+		 * Discard the new event if it is less specific than
+		 * {@link LogEventServer#getDropLevel()}, otherwise discard the oldest queued
+		 * event less specific than that level or block as in {@link #BLOCK} if there
+		 * is none.
+		 */
+		DROP_BELOW_LEVEL
+	}
+
 	/**
 	 * @see #getPort()
 	 */
@@ -57,11 +176,28 @@ public class LogEventServer {
 	 */
 	private final Consumer<LogEvent> _consumer;
 
+	/**
+	 * The {@link LogEventBatchConsumer} to deliver events to, which is either
+	 * {@link #getConsumer()} itself or an adapter for it.
+	 */
+	private final LogEventBatchConsumer _batchConsumer;
+
 	/**
 	 * @see #getSupplierFactories()
 	 */
 	private final List<LogEventSupplierFactory> _factories;
 
+	/**
+	 * @see #getSupplierSignatures()
+	 */
+	private Map<LogEventSupplierFactory, List<byte[]>> _signatures = Map.of();
+
+	/**
+	 * The {@link LogEventSignatureIndex} determining the candidates of
+	 * {@link #getSupplierFactories()} for each stream.
+	 */
+	private LogEventSignatureIndex _signatureIndex;
+
 	/**
 	 * A {@link List} of {@link Consumer}s to be called when the server's state changes.
 	 * 
@@ -84,6 +220,157 @@ public class LogEventServer {
 	 */
 	private volatile ExecutorService _executor;
 
+	/**
+	 * The {@link ExecutorService} decoding frames in parallel or {@code null} if
+	 * {@link #getParserThreads()} is zero.
+	 */
+	private volatile ExecutorService _parsers;
+
+	/**
+	 * The maximum number of chunks of frames pending per connection while
+	 * decoding in parallel, captured by {@link #start()} before
+	 * {@link #_parsers} so that handlers need not read
+	 * {@link #getParserThreads()} without synchronization.
+	 */
+	private volatile int _parseWindow;
+
+	/**
+	 * The server and client sockets of the receiver which are closed in order to
+	 * wake up threads blocked on I/O when the receiver is stopped.
+	 */
+	private final Set<Closeable> _sockets = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @see #getConnectionCount()
+	 */
+	private final AtomicInteger _connections = new AtomicInteger();
+
+	/**
+	 * The {@link LogEventDispatcher}s of all open connections.
+	 */
+	private final Set<LogEventDispatcher> _dispatchers = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @see #getDroppedCount()
+	 */
+	private final LongAdder _dropped = new LongAdder();
+
+	/**
+	 * The number of open connections per remote host.
+	 */
+	private final ConcurrentHashMap<Object, Integer> _hosts = new ConcurrentHashMap<>();
+
+	/**
+	 * @see #getDroppedDatagramCount()
+	 */
+	private final LongAdder _droppedDatagrams = new LongAdder();
+
+	/**
+	 * @see #getTruncatedDatagramCount()
+	 */
+	private final LongAdder _truncatedDatagrams = new LongAdder();
+
+	/**
+	 * The {@link LogEventSelector} serving connections in {@link Mode#SELECTOR}
+	 * mode or {@code null} if the receiver is not running in that mode.
+	 */
+	private LogEventSelector _selector;
+
+	/**
+	 * @see #getMode()
+	 */
+	private Mode _mode = Mode.BLOCKING;
+
+	/**
+	 * @see #getEventLoops()
+	 */
+	private int _eventLoops = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+	/**
+	 * @see #getParserThreads()
+	 */
+	private int _parserThreads = 0;
+
+	/**
+	 * @see #getBatchSize()
+	 */
+	private int _batchSize = 512;
+
+	/**
+	 * @see #getBatchDelay()
+	 */
+	private int _batchDelay = 10;
+
+	/**
+	 * @see #getQueueCapacity()
+	 */
+	private int _queueCapacity = 1 << 13;
+
+	/**
+	 * @see #getOverflowPolicy()
+	 */
+	private OverflowPolicy _overflowPolicy = OverflowPolicy.BLOCK;
+
+	/**
+	 * @see #getDropLevel()
+	 */
+	private Level _dropLevel = Level.WARN;
+
+	/**
+	 * @see #getMaxConnections()
+	 */
+	private int _maxConnections = 1 << 10;
+
+	/**
+	 * @see #getMaxConnectionsPerHost()
+	 */
+	private int _maxConnectionsPerHost = 1 << 10;
+
+	/**
+	 * @see #getBacklog()
+	 */
+	private int _backlog = 50;
+
+	/**
+	 * @see #getConnectionBufferSize()
+	 */
+	private int _connectionBufferSize = 1 << 20;
+
+	/**
+	 * @see #isDatagramEnabled()
+	 */
+	private boolean _datagramEnabled = false;
+
+	/**
+	 * @see #getMaxDatagramSize()
+	 */
+	private int _maxDatagramSize = MAX_DATAGRAM_SIZE;
+
+	/**
+	 * @see #getSslContext()
+	 */
+	private SSLContext _sslContext;
+
+	/**
+	 * @see #isSslClientAuth()
+	 */
+	private boolean _sslClientAuth = false;
+
+	/**
+	 * @see #isTcpEnabled()
+	 */
+	private boolean _tcpEnabled = true;
+
+	/**
+	 * @see #getSocketPath()
+	 */
+	private Path _socketPath;
+
+	/**
+	 * @see #getEndpoints()
+	 */
+	private final CopyOnWriteArrayList<LogEventEndpoint> _endpoints = new CopyOnWriteArrayList<>();
+
 	/**
 	 * Create a {@link LogEventServer} with the default port (4445) and timeout
 	 * (500ms).
@@ -119,7 +406,9 @@ public class LogEventServer {
 		_port = port;
 		_timeout = timeout;
 		_consumer = Objects.requireNonNull(consumer);
+		_batchConsumer = consumer instanceof LogEventBatchConsumer batch ? batch : events -> events.forEach(consumer);
 		_factories = Objects.requireNonNull(factories);
+		_signatureIndex = new LogEventSignatureIndex(factories, _signatures);
 	}
 
 	/**
@@ -130,14 +419,26 @@ public class LogEventServer {
 	}
 
 	/**
-	 * @return the timeout in milliseconds to block when waiting for incoming
-	 *         connections or data
+	 * Threads blocked on I/O are woken up by closing their sockets when the
+	 * receiver is stopped, thus idle connections do not require any polling.
+	 * However, handlers may still be busy delivering events to the consumer.
+	 * These are given this timeout to terminate gracefully, after which they are
+	 * interrupted and given the same timeout again before {@link #stop()} gives
+	 * up waiting for them.
+	 * 
+	 * @return the timeout in milliseconds to wait for handlers to terminate when
+	 *         stopping the receiver
 	 */
 	public int getTimeout() {
 		return _timeout;
 	}
 
 	/**
+	 * Events are read and delivered by separate threads per connection. When the
+	 * consumer is a {@link LogEventBatchConsumer}, events are delivered in batches
+	 * of at most {@link #getBatchSize()} events collected for no longer than
+	 * {@link #getBatchDelay()}.
+	 * 
 	 * @return the {@link Consumer} to be called when {@link LogEvent} are read from
 	 *         incoming connections
 	 */
@@ -154,220 +455,1497 @@ public class LogEventServer {
 	}
 
 	/**
-	 * Register the given {@link Consumer} to be called when the receiver's state
-	 * changes.
-	 * 
-	 * <p>
-	 * Note: has no effect if an identical {@link Consumer} had already been
-	 * registered.
-	 * </p>
-	 * 
-	 * @param listener the {@link Consumer} to register
+	 * Factories are probed only if the stream starts with one of their
+	 * signatures, which allows determining a stream's format by peeking its
+	 * leading bytes only once rather than probing all factories in turn.
+	 * Factories without signatures are probed for all streams.
+	 *
+	 * @return the leading bytes of streams supported by each of
+	 *         {@link #getSupplierFactories()}, defaults to none
+	 * @see LogEventSignatureIndex
 	 */
-	public void addServerListener(final Consumer<Boolean> listener) {
-		_serverListeners.addIfAbsent(listener);
+	public synchronized Map<LogEventSupplierFactory, List<byte[]>> getSupplierSignatures() {
+		return _signatures;
 	}
 
 	/**
-	 * Unregister the given {@link Consumer}.
-	 * 
-	 * <p>
-	 * Note: has no effect if the given consumer was not registered.
-	 * </p>
-	 * 
-	 * @param listener the {@link Consumer} to unregister
+	 * Setter for {@link #getSupplierSignatures()}.
+	 *
+	 * @param signatures see {@link #getSupplierSignatures()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if any of the given signatures is invalid
+	 * @throws NullPointerException     if the given {@link Map} is {@code null}
 	 */
-	public void removeServerListener(final Consumer<Boolean> listener) {
-		_serverListeners.remove(listener);
+	public synchronized void setSupplierSignatures(final Map<LogEventSupplierFactory, List<byte[]>> signatures) throws IllegalStateException, IllegalArgumentException, NullPointerException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the supplier signatures of a running server.");
+		}
+		_signatureIndex = new LogEventSignatureIndex(_factories, signatures);
+		_signatures = Map.copyOf(signatures);
 	}
 
 	/**
-	 * Register the given {@link BiConsumer} to be called when a communication error occurs.
-	 * 
-	 * <p>
-	 * Note: has no effect if an identical {@link BiConsumer} had already been
-	 * registered.
-	 * </p>
-	 * 
-	 * @param listener the {@link BiConsumer} to register
+	 * @return the number of currently open connections
 	 */
-	public void addErrorListener(final BiConsumer<String, Throwable> listener) {
-		_errorListeners.addIfAbsent(listener);
+	public int getConnectionCount() {
+		return _connections.get();
 	}
-	
+
 	/**
-	 * Unregister the given {@link BiConsumer}.
-	 * 
-	 * <p>
-	 * Note: has no effect if the given consumer was not registered.
-	 * </p>
-	 * 
-	 * @param listener the {@link BiConsumer} to unregister
+	 * @return the number of {@link LogEvent}s which have been read from all open
+	 *         connections but not delivered to the consumer yet
 	 */
-	public void removeErrorListener(final BiConsumer<String, Throwable> listener) {
-		_errorListeners.remove(listener);
+	public int getQueueDepth() {
+		int depth = 0;
+		for (final LogEventDispatcher dispatcher : _dispatchers) {
+			depth += dispatcher.size();
+		}
+		return depth;
 	}
-	
+
 	/**
-	 * Start listening for incoming connections and data.
-	 * 
-	 * @throws IllegalStateException if the receiver had already been started
+	 * @return the number of {@link LogEvent}s discarded due to the
+	 *         {@link #getOverflowPolicy()} since the receiver was last started
 	 */
-	public synchronized void start() throws IllegalStateException {
-		if (_executor != null) {
-			throw new IllegalStateException();
-		}
-
-		_executor = Executors.newThreadPerTaskExecutor(Thread::new);
+	public long getDroppedCount() {
+		return _dropped.sum();
+	}
 
-		// start the acceptor thread
-		_executor.execute(() -> {
-			try (final ServerSocket server = new ServerSocket(getPort())) {
-				// make sure to set a timeout prior to entering the accept-loop
-				// because we cannot guarantee that blocking can be interrupted
-				// in order to shutdown the server itself
-				server.setSoTimeout(getTimeout());
+	/**
+	 * @return the number of datagrams which could not be decoded or were
+	 *         discarded because they arrived faster than they could be decoded
+	 *         since the receiver was last started
+	 */
+	public long getDroppedDatagramCount() {
+		return _droppedDatagrams.sum();
+	}
 
-				// notify all registered listeners of successful server start
-				_serverListeners.forEach(l -> l.accept(true));
+	/**
+	 * @return the number of datagrams discarded because they exceeded
+	 *         {@link #getMaxDatagramSize()} since the receiver was last started
+	 */
+	public long getTruncatedDatagramCount() {
+		return _truncatedDatagrams.sum();
+	}
 
-				// wait for incoming connection requests
-				accept(server, _executor);
-			} catch (final IOException e) {
-				// notify all registered listener of acceptor error
-				_errorListeners.forEach(l -> l.accept("Acceptor thread encountered an error, server is going down.", e));
+	/**
+	 * @return the {@link Mode} to be used for handling accepted connections,
+	 *         defaults to {@link Mode#BLOCKING}
+	 */
+	public synchronized Mode getMode() {
+		return _mode;
+	}
 
-				// server socket is broken, terminate the server
-				stop();
-			}
-		});
+	/**
+	 * Setter for {@link #getMode()}.
+	 *
+	 * @param mode see {@link #getMode()}
+	 * @throws IllegalStateException if the receiver is running
+	 * @throws NullPointerException  if the given mode is {@code null}
+	 */
+	public synchronized void setMode(final Mode mode) throws IllegalStateException, NullPointerException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the mode of a running server.");
+		}
+		_mode = Objects.requireNonNull(mode);
 	}
 
 	/**
-	 * Accept incoming connections and handle these in a separate thread.
-	 * 
-	 * @param server   the {@link ServerSocket} to listen for incoming connection on
-	 * @param executor the {@link ExecutorService} to be used for creating new
-	 *                 threads for data reading
-	 * @throws IOException if an error occurred while using the given
-	 *                     {@link ServerSocket}
+	 * @return the number of event loop threads to be used in
+	 *         {@link Mode#SELECTOR} mode, defaults to half the number of available
+	 *         processors
 	 */
-	private void accept(final ServerSocket server, final ExecutorService executor) throws IOException {
-		// make sure to exit the accept-loop when server stop is requested
-		while (!executor.isShutdown()) {
-			try {
-				final Socket client = server.accept();
+	public synchronized int getEventLoops() {
+		return _eventLoops;
+	}
 
-				// run event reading in a separate thread
-				executor.execute(() -> handle(client, executor));
-			} catch (final SocketTimeoutException ex) {
-				// no connection attempts, continue listening
-			} catch (final RejectedExecutionException ex) {
-				// this may happen when a connection request arrives
-				// while the server is being shut down -> ignore it
-			}
+	/**
+	 * Setter for {@link #getEventLoops()}.
+	 *
+	 * @param eventLoops see {@link #getEventLoops()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if the given number is less than one
+	 */
+	public synchronized void setEventLoops(final int eventLoops) throws IllegalStateException, IllegalArgumentException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the event loops of a running server.");
+		}
+		if (eventLoops < 1) {
+			throw new IllegalArgumentException("Invalid number of event loops: " + eventLoops);
 		}
+		_eventLoops = eventLoops;
 	}
 
 	/**
-	 * Read {@link LogEvent}s from the given {@link Socket} and forward them to
-	 * {@link #getConsumer()}.
+	 * When greater than zero, connections whose {@link LogEventSupplier} is a
+	 * {@link FramingLogEventSupplier} are read by a pipeline rather than
+	 * sequentially: the connection's framing thread splits the stream into
+	 * frames, a pool of parser threads shared by all connections decodes chunks
+	 * of frames in parallel and the connection's handler thread hands the decoded
+	 * events to the consumer in their original order. This allows a single
+	 * connection to use more than one core for decoding.
 	 * 
-	 * @param client   the {@link Socket} to read events from
-	 * @param executor the {@link ExecutorService} to check for shutdown requests
+	 * @return the number of threads decoding frames in parallel or zero to decode
+	 *         events sequentially in each connection's handler thread, defaults
+	 *         to zero
 	 */
-	private void handle(final Socket client, final ExecutorService executor) {
-		try (final InputStream stream = new BufferedInputStream(client.getInputStream())) {
-			// make sure to set a timeout prior to entering the read-loop
-			// because we cannot guarantee that blocking can be interrupted
-			// in order to shutdown the server itself
-			client.setSoTimeout(getTimeout());
-
-			// a supplier can be cached per stream because log4j
-			// allows only one layout per SocketAppender:
-			// so one connection -> one layout
-			final LogEventSupplier supplier = getSupplier(stream, executor);
-			read(supplier, executor);
-		} catch (final EOFException ex) {
-			// stream closed, terminate thread
-			_errorListeners.forEach(l -> l.accept(client.getInetAddress() + ": client connection terminated, handler thread is going down.", ex));
-		} catch (final IOException ex) {
-			// client socket is broken, notify error listeners and terminate thread
-			_errorListeners.forEach(l -> l.accept(client.getInetAddress() + ": handler thread encountered an error, connection is going down.", ex));
-		} catch (final IllegalStateException ex) {
-			// unsupported event format, notify error listeners and terminate thread
-			_errorListeners.forEach(l -> l.accept(client.getInetAddress() + ": unsupported event format, connection is going down.", ex));
-		} catch (final IllegalArgumentException ex) {
-			// stream without mark/reset support, notify error listeners and terminate thread
-			_errorListeners.forEach(l -> l.accept(client.getInetAddress() + ": unsupported stream implementation, connection is going down.", ex));
-		}
+	public synchronized int getParserThreads() {
+		return _parserThreads;
 	}
 
 	/**
-	 * @param stream   the {@link InputStream} to return the appropriate
-	 *                 {@link LogEventSupplier} for
-	 * @param executor the {@link ExecutorService} to check for shutdown requests
-	 * @return the {@link LogEventSupplier} which supports reading {@link LogEvent}s
-	 *         from the given {@link InputStream}
-	 * @throws IOException              if an error occurred while reading from the
-	 *                                  given {@link InputStream}
-	 * @throws IllegalArgumentException if the given {@link InputStream} does not
-	 *                                  support mark/reset API
-	 * @throws IllegalStateException    if an appropriate {@link LogEventSupplier}
-	 *                                  could not be determined
+	 * Setter for {@link #getParserThreads()}.
+	 *
+	 * @param parserThreads see {@link #getParserThreads()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if the given number is negative
 	 */
-	private LogEventSupplier getSupplier(final InputStream stream, final ExecutorService executor)
-			throws IOException, IllegalArgumentException, IllegalStateException {
-		if (!stream.markSupported()) {
-			throw new IllegalArgumentException("Cannot determine event supplier for connections not supporting mark/reset.");
+	public synchronized void setParserThreads(final int parserThreads) throws IllegalStateException, IllegalArgumentException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the parser threads of a running server.");
 		}
-
-		while (!executor.isShutdown()) {
-			try {
-				// wait until data arrives in order to determine which supplier to use
-				stream.mark(1);
-				if (stream.read() < 0) {
-					throw new IllegalStateException("Cannot determine event supplier for empty streams.");
-				}
-				stream.reset();
-
-				// now that we know that there is data in the stream, we can determine
-				// the supplier to be used for the given stream or fail if none was
-				// determined because.
-				for (final LogEventSupplierFactory factory : getSupplierFactories()) {
-					final LogEventSupplier supplier = factory.get(stream);
-					if (supplier != null) {
-						return supplier;
-					}
-				}
-
-				throw new IllegalStateException("Cannot determine event supplier for unknown event type.");
-			} catch (final SocketTimeoutException ex) {
-				// no incoming data, continue
-			}
+		if (parserThreads < 0) {
+			throw new IllegalArgumentException("Invalid number of parser threads: " + parserThreads);
 		}
-
-		// this may happen when no data was received at all and the server is going
-		// down.
-		throw new IllegalStateException("Cannot determine event supplier for missing data.");
+		_parserThreads = parserThreads;
 	}
 
 	/**
-	 * Read {@link LogEvent}s using the given {@link LogEventSupplier}.
+	 * @return the maximum number of {@link LogEvent}s to be delivered to a
+	 *         {@link LogEventBatchConsumer} at once, defaults to 512
+	 */
+	public synchronized int getBatchSize() {
+		return _batchSize;
+	}
+
+	/**
+	 * Setter for {@link #getBatchSize()}.
+	 *
+	 * @param batchSize see {@link #getBatchSize()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if the given size is less than one
+	 */
+	public synchronized void setBatchSize(final int batchSize) throws IllegalStateException, IllegalArgumentException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the batch size of a running server.");
+		}
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+		}
+		_batchSize = batchSize;
+	}
+
+	/**
+	 * @return the maximum time in milliseconds to wait for a batch to fill up
+	 *         before delivering it, defaults to 10ms
+	 */
+	public synchronized int getBatchDelay() {
+		return _batchDelay;
+	}
+
+	/**
+	 * Setter for {@link #getBatchDelay()}.
+	 *
+	 * @param batchDelay see {@link #getBatchDelay()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if the given delay is negative
+	 */
+	public synchronized void setBatchDelay(final int batchDelay) throws IllegalStateException, IllegalArgumentException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the batch delay of a running server.");
+		}
+		if (batchDelay < 0) {
+			throw new IllegalArgumentException("Invalid batch delay [ms]: " + batchDelay);
+		}
+		_batchDelay = batchDelay;
+	}
+
+	/**
+	 * @return the maximum number of {@link LogEvent}s per connection which have
+	 *         been read but not delivered to the consumer yet, defaults to 8192
+	 */
+	public synchronized int getQueueCapacity() {
+		return _queueCapacity;
+	}
+
+	/**
+	 * Setter for {@link #getQueueCapacity()}.
+	 *
+	 * @param queueCapacity see {@link #getQueueCapacity()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if the given capacity is less than one
+	 */
+	public synchronized void setQueueCapacity(final int queueCapacity) throws IllegalStateException, IllegalArgumentException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the queue capacity of a running server.");
+		}
+		if (queueCapacity < 1) {
+			throw new IllegalArgumentException("Invalid queue capacity: " + queueCapacity);
+		}
+		_queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * @return the {@link OverflowPolicy} to be applied when a connection's queue
+	 *         is full, defaults to {@link OverflowPolicy#BLOCK}
+	 */
+	public synchronized OverflowPolicy getOverflowPolicy() {
+		return _overflowPolicy;
+	}
+
+	/**
+	 * Setter for {@link #getOverflowPolicy()}.
+	 *
+	 * @param overflowPolicy see {@link #getOverflowPolicy()}
+	 * @throws IllegalStateException if the receiver is running
+	 * @throws NullPointerException  if the given policy is {@code null}
+	 */
+	public synchronized void setOverflowPolicy(final OverflowPolicy overflowPolicy) throws IllegalStateException, NullPointerException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the overflow policy of a running server.");
+		}
+		_overflowPolicy = Objects.requireNonNull(overflowPolicy);
+	}
+
+	/**
+	 * @return the {@link Level} below which {@link LogEvent}s are discarded first
+	 *         when applying {@link OverflowPolicy#DROP_BELOW_LEVEL}, defaults to
+	 *         {@link Level#WARN}
+	 */
+	public synchronized Level getDropLevel() {
+		return _dropLevel;
+	}
+
+	/**
+	 * Setter for {@link #getDropLevel()}.
+	 *
+	 * @param dropLevel see {@link #getDropLevel()}
+	 * @throws IllegalStateException if the receiver is running
+	 * @throws NullPointerException  if the given level is {@code null}
+	 */
+	public synchronized void setDropLevel(final Level dropLevel) throws IllegalStateException, NullPointerException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the drop level of a running server.");
+		}
+		_dropLevel = Objects.requireNonNull(dropLevel);
+	}
+
+	/**
+	 * Connections accepted while this limit is reached are closed immediately and
+	 * reported to the error listeners.
+	 * 
+	 * @return the maximum number of concurrently open connections, defaults to
+	 *         1024
+	 */
+	public synchronized int getMaxConnections() {
+		return _maxConnections;
+	}
+
+	/**
+	 * Setter for {@link #getMaxConnections()}.
+	 *
+	 * @param maxConnections see {@link #getMaxConnections()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if the given number is less than one
+	 */
+	public synchronized void setMaxConnections(final int maxConnections) throws IllegalStateException, IllegalArgumentException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the maximum number of connections of a running server.");
+		}
+		if (maxConnections < 1) {
+			throw new IllegalArgumentException("Invalid maximum number of connections: " + maxConnections);
+		}
+		_maxConnections = maxConnections;
+	}
+
+	/**
+	 * Connections accepted from a remote host which reached this limit are closed
+	 * immediately and reported to the error listeners. Connections to a Unix
+	 * domain socket (see {@link #getSocketPath()}) do not carry the address of
+	 * their client, thus they are only subject to {@link #getMaxConnections()}.
+	 * 
+	 * @return the maximum number of concurrently open connections per remote
+	 *         host, defaults to 1024
+	 */
+	public synchronized int getMaxConnectionsPerHost() {
+		return _maxConnectionsPerHost;
+	}
+
+	/**
+	 * Setter for {@link #getMaxConnectionsPerHost()}.
+	 *
+	 * @param maxConnectionsPerHost see {@link #getMaxConnectionsPerHost()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if the given number is less than one
+	 */
+	public synchronized void setMaxConnectionsPerHost(final int maxConnectionsPerHost) throws IllegalStateException, IllegalArgumentException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the maximum number of connections per host of a running server.");
+		}
+		if (maxConnectionsPerHost < 1) {
+			throw new IllegalArgumentException("Invalid maximum number of connections per host: " + maxConnectionsPerHost);
+		}
+		_maxConnectionsPerHost = maxConnectionsPerHost;
+	}
+
+	/**
+	 * @return the maximum number of pending connection requests queued by the
+	 *         operating system until they are accepted, defaults to 50
+	 */
+	public synchronized int getBacklog() {
+		return _backlog;
+	}
+
+	/**
+	 * Setter for {@link #getBacklog()}.
+	 *
+	 * @param backlog see {@link #getBacklog()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if the given backlog is less than one
+	 */
+	public synchronized void setBacklog(final int backlog) throws IllegalStateException, IllegalArgumentException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the backlog of a running server.");
+		}
+		if (backlog < 1) {
+			throw new IllegalArgumentException("Invalid backlog: " + backlog);
+		}
+		_backlog = backlog;
+	}
+
+	/**
+	 * The budget covers the stream buffer the event parser reads from and, in
+	 * {@link Mode#SELECTOR} mode, the data read from the channel but not consumed
+	 * by the parser yet. Reading from a connection is suspended while its budget
+	 * is exhausted.
+	 * 
+	 * <p>
+	 * Note: buffers allocated internally by a {@link LogEventSupplier} are not
+	 * covered by this budget.
+	 * </p>
+	 * 
+	 * @return the maximum number of bytes to buffer per connection, defaults to
+	 *         1MiB
+	 */
+	public synchronized int getConnectionBufferSize() {
+		return _connectionBufferSize;
+	}
+
+	/**
+	 * Setter for {@link #getConnectionBufferSize()}.
+	 *
+	 * @param connectionBufferSize see {@link #getConnectionBufferSize()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if the given size is less than
+	 *                                  {@value #MIN_CONNECTION_BUFFER_SIZE}
+	 */
+	public synchronized void setConnectionBufferSize(final int connectionBufferSize) throws IllegalStateException, IllegalArgumentException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the connection buffer size of a running server.");
+		}
+		if (connectionBufferSize < MIN_CONNECTION_BUFFER_SIZE) {
+			throw new IllegalArgumentException("Invalid connection buffer size [bytes]: " + connectionBufferSize);
+		}
+		_connectionBufferSize = connectionBufferSize;
+	}
+
+	/**
+	 * When enabled, {@link LogEvent}s sent by {@link SocketAppender}s using the
+	 * UDP protocol are received on {@link #getPort()} in addition to TCP
+	 * connections. Each datagram is decoded on its own, datagrams which cannot be
+	 * decoded are counted by {@link #getDroppedDatagramCount()}.
+	 * 
+	 * @return {@code true} if datagrams are to be received, defaults to
+	 *         {@code false}
+	 */
+	public synchronized boolean isDatagramEnabled() {
+		return _datagramEnabled;
+	}
+
+	/**
+	 * Setter for {@link #isDatagramEnabled()}.
+	 *
+	 * @param datagramEnabled see {@link #isDatagramEnabled()}
+	 * @throws IllegalStateException if the receiver is running
+	 */
+	public synchronized void setDatagramEnabled(final boolean datagramEnabled) throws IllegalStateException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot enable or disable datagrams of a running server.");
+		}
+		_datagramEnabled = datagramEnabled;
+	}
+
+	/**
+	 * @return the maximum number of bytes of a datagram, larger ones are
+	 *         discarded and counted by {@link #getTruncatedDatagramCount()},
+	 *         defaults to {@value #MAX_DATAGRAM_SIZE}
+	 */
+	public synchronized int getMaxDatagramSize() {
+		return _maxDatagramSize;
+	}
+
+	/**
+	 * Setter for {@link #getMaxDatagramSize()}.
+	 *
+	 * @param maxDatagramSize see {@link #getMaxDatagramSize()}
+	 * @throws IllegalStateException    if the receiver is running
+	 * @throws IllegalArgumentException if the given size is less than one or
+	 *                                  exceeds a UDP packet
+	 */
+	public synchronized void setMaxDatagramSize(final int maxDatagramSize) throws IllegalStateException, IllegalArgumentException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the maximum datagram size of a running server.");
+		}
+		if (maxDatagramSize < 1 || maxDatagramSize > 0xFFFF) {
+			throw new IllegalArgumentException("Invalid maximum datagram size [bytes]: " + maxDatagramSize);
+		}
+		_maxDatagramSize = maxDatagramSize;
+	}
+
+	/**
+	 * When set, the receiver accepts TLS connections only. TLS connections are
+	 * always served by a thread per connection performing the handshake, thus
+	 * handshakes of concurrently connecting clients are not serialized. In
+	 * {@link Mode#SELECTOR} mode, virtual threads are used for this purpose
+	 * instead of event loops.
+	 * 
+	 * @return the {@link SSLContext} to be used for accepting TLS connections or
+	 *         {@code null} for plain connections, defaults to {@code null}
+	 * @see org.wtlnw.eclipse.log4j.viewer.core.util.Util#createSslContext(java.nio.file.Path,
+	 *      char[], java.nio.file.Path, char[])
+	 */
+	public synchronized SSLContext getSslContext() {
+		return _sslContext;
+	}
+
+	/**
+	 * Setter for {@link #getSslContext()}.
+	 *
+	 * @param sslContext see {@link #getSslContext()}
+	 * @throws IllegalStateException if the receiver is running
+	 */
+	public synchronized void setSslContext(final SSLContext sslContext) throws IllegalStateException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the SSL context of a running server.");
+		}
+		_sslContext = sslContext;
+	}
+
+	/**
+	 * @return {@code true} if clients connecting via TLS are required to
+	 *         authenticate themselves, defaults to {@code false}
+	 */
+	public synchronized boolean isSslClientAuth() {
+		return _sslClientAuth;
+	}
+
+	/**
+	 * Setter for {@link #isSslClientAuth()}.
+	 *
+	 * @param sslClientAuth see {@link #isSslClientAuth()}
+	 * @throws IllegalStateException if the receiver is running
+	 */
+	public synchronized void setSslClientAuth(final boolean sslClientAuth) throws IllegalStateException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the SSL client authentication of a running server.");
+		}
+		_sslClientAuth = sslClientAuth;
+	}
+
+	/**
+	 * @return {@code true} if TCP connections are to be accepted on
+	 *         {@link #getPort()}, defaults to {@code true}
+	 */
+	public synchronized boolean isTcpEnabled() {
+		return _tcpEnabled;
+	}
+
+	/**
+	 * Setter for {@link #isTcpEnabled()}.
+	 *
+	 * @param tcpEnabled see {@link #isTcpEnabled()}
+	 * @throws IllegalStateException if the receiver is running
+	 */
+	public synchronized void setTcpEnabled(final boolean tcpEnabled) throws IllegalStateException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot enable or disable TCP of a running server.");
+		}
+		_tcpEnabled = tcpEnabled;
+	}
+
+	/**
+	 * Applications running on the same host can connect to the Unix domain socket
+	 * at this path, which avoids the overhead of the TCP stack. Connections are
+	 * served in the same way as TCP connections, but never use TLS. A stale
+	 * socket file at this path is replaced when the receiver is started, while
+	 * starting fails if the path denotes any other file or a socket another
+	 * process is listening on.
+	 * 
+	 * @return the {@link Path} of the Unix domain socket to accept connections on
+	 *         in addition to (or instead of, see {@link #isTcpEnabled()}) TCP
+	 *         connections or {@code null}, defaults to {@code null}
+	 */
+	public synchronized Path getSocketPath() {
+		return _socketPath;
+	}
+
+	/**
+	 * Setter for {@link #getSocketPath()}.
+	 *
+	 * @param socketPath see {@link #getSocketPath()}
+	 * @throws IllegalStateException if the receiver is running
+	 */
+	public synchronized void setSocketPath(final Path socketPath) throws IllegalStateException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot change the socket path of a running server.");
+		}
+		_socketPath = socketPath;
+	}
+
+	/**
+	 * @return the (possibly empty) {@link List} of additional
+	 *         {@link LogEventEndpoint}s to accept connections on
+	 */
+	public List<LogEventEndpoint> getEndpoints() {
+		return List.copyOf(_endpoints);
+	}
+
+	/**
+	 * Accept connections on the given {@link LogEventEndpoint} in addition to
+	 * {@link #getPort()} and {@link #getSocketPath()}.
+	 * 
+	 * <p>
+	 * Note: has no effect if an identical {@link LogEventEndpoint} had already
+	 * been added.
+	 * </p>
+	 * 
+	 * @param endpoint the {@link LogEventEndpoint} to add
+	 * @throws IllegalStateException if the receiver is running
+	 * @throws NullPointerException  if the given endpoint is {@code null}
+	 */
+	public synchronized void addEndpoint(final LogEventEndpoint endpoint) throws IllegalStateException, NullPointerException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot add endpoints to a running server.");
+		}
+		_endpoints.addIfAbsent(Objects.requireNonNull(endpoint));
+	}
+
+	/**
+	 * Stop accepting connections on the given {@link LogEventEndpoint}.
+	 * 
+	 * <p>
+	 * Note: has no effect if the given endpoint was not added.
+	 * </p>
+	 * 
+	 * @param endpoint the {@link LogEventEndpoint} to remove
+	 * @throws IllegalStateException if the receiver is running
+	 */
+	public synchronized void removeEndpoint(final LogEventEndpoint endpoint) throws IllegalStateException {
+		if (_executor != null) {
+			throw new IllegalStateException("Cannot remove endpoints from a running server.");
+		}
+		_endpoints.remove(endpoint);
+	}
+
+	/**
+	 * Register the given {@link Consumer} to be called when the receiver's state
+	 * changes.
+	 * 
+	 * <p>
+	 * Note: has no effect if an identical {@link Consumer} had already been
+	 * registered.
+	 * </p>
+	 * 
+	 * @param listener the {@link Consumer} to register
+	 */
+	public void addServerListener(final Consumer<Boolean> listener) {
+		_serverListeners.addIfAbsent(listener);
+	}
+
+	/**
+	 * Unregister the given {@link Consumer}.
+	 * 
+	 * <p>
+	 * Note: has no effect if the given consumer was not registered.
+	 * </p>
+	 * 
+	 * @param listener the {@link Consumer} to unregister
+	 */
+	public void removeServerListener(final Consumer<Boolean> listener) {
+		_serverListeners.remove(listener);
+	}
+
+	/**
+	 * Register the given {@link BiConsumer} to be called when a communication error occurs.
+	 * 
+	 * <p>
+	 * Note: has no effect if an identical {@link BiConsumer} had already been
+	 * registered.
+	 * </p>
+	 * 
+	 * @param listener the {@link BiConsumer} to register
+	 */
+	public void addErrorListener(final BiConsumer<String, Throwable> listener) {
+		_errorListeners.addIfAbsent(listener);
+	}
+	
+	/**
+	 * Unregister the given {@link BiConsumer}.
+	 * 
+	 * <p>
+	 * Note: has no effect if the given consumer was not registered.
+	 * </p>
+	 * 
+	 * @param listener the {@link BiConsumer} to unregister
+	 */
+	public void removeErrorListener(final BiConsumer<String, Throwable> listener) {
+		_errorListeners.remove(listener);
+	}
+	
+	/**
+	 * Start listening for incoming connections and data.
+	 * 
+	 * @throws IllegalStateException if the receiver had already been started
+	 */
+	public synchronized void start() throws IllegalStateException {
+		if (_executor != null) {
+			throw new IllegalStateException();
+		}
+
+		_dropped.reset();
+		_droppedDatagrams.reset();
+		_truncatedDatagrams.reset();
+
+		final ExecutorService executor = _mode == Mode.SELECTOR
+				? Executors.newVirtualThreadPerTaskExecutor()
+				: Executors.newThreadPerTaskExecutor(Thread::new);
+
+		// decoding is CPU bound, thus use a fixed number of platform threads
+		_parseWindow = PARSE_WINDOW * _parserThreads;
+		_parsers = _parserThreads > 0
+				? Executors.newFixedThreadPool(_parserThreads, Thread.ofPlatform().name("log4j-viewer-parser-", 0).daemon().factory())
+				: null;
+		try {
+			if (_mode == Mode.SELECTOR) {
+				startSelector(executor);
+			} else {
+				startAcceptors(executor);
+			}
+		} catch (final IOException e) {
+			executor.shutdown();
+			if (_parsers != null) {
+				_parsers.shutdown();
+				_parsers = null;
+			}
+
+			// release the listeners opened so far
+			for (final Closeable socket : _sockets) {
+				closeQuietly(socket);
+			}
+			_sockets.clear();
+
+			// notify all registered listener of acceptor error
+			_errorListeners.forEach(l -> l.accept("Acceptor thread encountered an error, server is going down.", e));
+			return;
+		}
+
+		_executor = executor;
+
+		if (_datagramEnabled) {
+			startDatagramReceiver(executor);
+		}
+
+		// notify all registered listeners of successful server start
+		_serverListeners.forEach(l -> l.accept(true));
+	}
+
+	/**
+	 * Start listening for incoming connections in {@link Mode#BLOCKING} mode.
+	 * 
+	 * @param executor the {@link ExecutorService} to be used for creating new
+	 *                 threads for accepting connections and data reading
+	 * @throws IOException if a listener could not be opened
+	 */
+	private void startAcceptors(final ExecutorService executor) throws IOException {
+		for (final LogEventEndpoint endpoint : getEffectiveEndpoints()) {
+			final LogEventSupplierFactory factory = endpoint.getFactory();
+			if (endpoint.getPath() == null) {
+				final ServerSocket server = register(createServerSocket(endpoint.getPort()), executor);
+				startAcceptor(server, executor, () -> accept(server, factory, executor));
+			} else {
+				final ServerSocketChannel server = register(createSocketChannel(endpoint.getPath()), executor);
+				startAcceptor(server, executor, () -> accept(server, factory, executor));
+			}
+		}
+	}
+
+	/**
+	 * @return the {@link List} of all {@link LogEventEndpoint}s to accept
+	 *         connections on, including {@link #getPort()} and
+	 *         {@link #getSocketPath()} if enabled
+	 */
+	private List<LogEventEndpoint> getEffectiveEndpoints() {
+		final List<LogEventEndpoint> endpoints = new ArrayList<>();
+		if (_tcpEnabled) {
+			endpoints.add(new LogEventEndpoint(getPort(), null));
+		}
+		if (_socketPath != null) {
+			endpoints.add(new LogEventEndpoint(_socketPath, null));
+		}
+		endpoints.addAll(_endpoints);
+		return endpoints;
+	}
+
+	/**
+	 * Start an acceptor thread running the given {@link Acceptor} until the given
+	 * server socket is closed.
+	 * 
+	 * @param server   the server socket to close when the acceptor terminates
+	 * @param executor the {@link ExecutorService} to be used for creating the
+	 *                 acceptor thread
+	 * @param acceptor the {@link Acceptor} to run
+	 */
+	private void startAcceptor(final Closeable server, final ExecutorService executor, final Acceptor acceptor) {
+		executor.execute(() -> {
+			try (server) {
+				// wait for incoming connection requests
+				acceptor.accept();
+			} catch (final IOException e) {
+				// the server socket is closed when stopping the receiver,
+				// which is the expected way of terminating the acceptor.
+				if (!executor.isShutdown()) {
+					// notify all registered listener of acceptor error
+					_errorListeners.forEach(l -> l.accept("Acceptor thread encountered an error, server is going down.", e));
+
+					// server socket is broken, terminate the server
+					terminate(executor);
+				}
+			} finally {
+				_sockets.remove(server);
+			}
+		});
+	}
+
+	/**
+	 * @param port the port to listen on
+	 * @return a new {@link ServerSocket} listening on the given port which is an
+	 *         {@link SSLServerSocket} if {@link #getSslContext()} is set
+	 * @throws IOException if the socket could not be created
+	 */
+	private ServerSocket createServerSocket(final int port) throws IOException {
+		if (_sslContext == null) {
+			return new ServerSocket(port, getBacklog());
+		}
+
+		final SSLServerSocket server = (SSLServerSocket) _sslContext.getServerSocketFactory().createServerSocket(port, getBacklog());
+		server.setNeedClientAuth(_sslClientAuth);
+		return server;
+	}
+
+	/**
+	 * @param path the {@link Path} of the Unix domain socket to listen on
+	 * @return a new {@link ServerSocketChannel} listening on the given path
+	 * @throws IOException if the channel could not be created
+	 */
+	private ServerSocketChannel createSocketChannel(final Path path) throws IOException {
+		// remove a stale socket file left behind by a previous run, but never
+		// take over the socket of a running server
+		if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+			try (final SocketChannel client = SocketChannel.open(UnixDomainSocketAddress.of(path))) {
+				throw new IOException("The Unix domain socket is in use by another process: " + path);
+			} catch (final ConnectException ex) {
+				deleteSocketFile(path);
+			}
+		}
+
+		final ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			return server.bind(UnixDomainSocketAddress.of(path), getBacklog());
+		} catch (final IOException ex) {
+			server.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Delete the Unix domain socket file at the given path, if any.
+	 *
+	 * @param path the {@link Path} of the socket file to delete
+	 * @throws IOException if the given path denotes a file other than a socket
+	 *                     or it could not be deleted
+	 */
+	private static void deleteSocketFile(final Path path) throws IOException {
+		final BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+		} catch (final NoSuchFileException ex) {
+			return;
+		}
+
+		// never delete a regular file, directory or link configured by mistake
+		if (!attributes.isOther()) {
+			throw new FileAlreadyExistsException(path.toString(), null, "Not a Unix domain socket.");
+		}
+		Files.deleteIfExists(path);
+	}
+
+	/**
+	 * Register the given socket to be closed when the receiver is stopped.
+	 * 
+	 * @param socket   the socket to register
+	 * @param executor the {@link ExecutorService} to check for shutdown requests
+	 * @return the given socket
+	 * @throws IOException if the receiver has been stopped in the meantime
+	 */
+	private <T extends Closeable> T register(final T socket, final ExecutorService executor) throws IOException {
+		_sockets.add(socket);
+
+		// the receiver may have been stopped concurrently, make sure
+		// not to block on a socket which is never going to be closed
+		if (executor.isShutdown()) {
+			_sockets.remove(socket);
+			socket.close();
+			throw new IOException("Server is going down.");
+		}
+
+		return socket;
+	}
+
+	/**
+	 * Stop the receiver asynchronously, unless it has been stopped in the meantime.
+	 * 
+	 * @param executor the {@link ExecutorService} of the receiver's run to stop
+	 */
+	private void terminate(final ExecutorService executor) {
+		// stop from a separate thread since the calling thread belongs to
+		// the given executor and would otherwise wait for itself to terminate
+		Thread.ofVirtual().start(() -> {
+			synchronized (this) {
+				if (_executor == executor) {
+					stop();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Start listening for incoming connections in {@link Mode#SELECTOR} mode.
+	 * 
+	 * @param executor the {@link ExecutorService} to be used for creating new
+	 *                 threads for data reading
+	 * @throws IOException if a listener could not be opened
+	 */
+	private void startSelector(final ExecutorService executor) throws IOException {
+		// remember each channel's endpoint in order to apply its factory
+		final Map<ServerSocketChannel, LogEventEndpoint> servers = new HashMap<>();
+		for (final LogEventEndpoint endpoint : getEffectiveEndpoints()) {
+			if (endpoint.getPath() != null) {
+				servers.put(register(createSocketChannel(endpoint.getPath()), executor), endpoint);
+			} else if (_sslContext != null) {
+				// TLS connections are served by blocking sockets since
+				// the handshake requires a thread per connection anyway
+				final ServerSocket server = register(createServerSocket(endpoint.getPort()), executor);
+				startAcceptor(server, executor, () -> accept(server, endpoint.getFactory(), executor));
+			} else {
+				final ServerSocketChannel server = register(ServerSocketChannel.open(), executor);
+				server.bind(new InetSocketAddress(endpoint.getPort()), getBacklog());
+				servers.put(server, endpoint);
+			}
+		}
+		if (servers.isEmpty()) {
+			return;
+		}
+
+		final int limit = getConnectionBufferSize() - getStreamBufferSize();
+		_selector = new LogEventSelector(List.copyOf(servers.keySet()), getEventLoops(), limit, (stream, remote, server) -> {
+			final LogEventSupplierFactory factory = servers.get(server).getFactory();
+			final Object client = address(remote);
+			if (!admit(client, executor)) {
+				closeQuietly(stream);
+				return;
+			}
+
+			try {
+				// decode events in a virtual thread which is parked while waiting for data
+				executor.execute(() -> {
+					try {
+						handle(stream, client, factory, executor);
+					} finally {
+						release(client);
+					}
+				});
+			} catch (final RejectedExecutionException ex) {
+				release(client);
+				throw ex;
+			}
+		});
+
+		// the selector is responsible for closing the channels from now on
+		_sockets.removeAll(servers.keySet());
+	}
+
+	/**
+	 * Start receiving datagrams in addition to TCP connections.
+	 * 
+	 * @param executor the {@link ExecutorService} to be used for creating the
+	 *                 receiving and decoding threads
+	 */
+	private void startDatagramReceiver(final ExecutorService executor) {
+		final LogEventDatagramReceiver receiver;
+		try {
+			receiver = register(new LogEventDatagramReceiver(getPort(), _maxDatagramSize, DATAGRAM_QUEUE_CAPACITY, _droppedDatagrams, _truncatedDatagrams), executor);
+		} catch (final IOException e) {
+			// TCP connections are still served, report the error only
+			_errorListeners.forEach(l -> l.accept("Datagram receiver encountered an error, datagrams are not going to be received.", e));
+			return;
+		}
+
+		// receive and decode in separate threads in order to keep up with bursts
+		executor.execute(() -> {
+			try (receiver) {
+				receiver.receive();
+			} catch (final IOException e) {
+				// the channel is closed when stopping the receiver,
+				// which is the expected way of terminating the receiving thread.
+				notifyHandlerError(executor, "Datagram receiver encountered an error, datagrams are no longer received.", e);
+			} finally {
+				_sockets.remove(receiver);
+			}
+		});
+		executor.execute(() -> handle(receiver));
+	}
+
+	/**
+	 * Decode the datagrams received by the given {@link LogEventDatagramReceiver}
+	 * and forward the {@link LogEvent}s to {@link #getConsumer()}.
+	 * 
+	 * @param receiver the {@link LogEventDatagramReceiver} to take datagrams from
+	 */
+	private void handle(final LogEventDatagramReceiver receiver) {
+		// all datagrams share a single dispatcher just like a single connection
+		final LogEventDispatcher dispatcher = new LogEventDispatcher(_batchConsumer, _queueCapacity, _batchSize, _batchDelay, _overflowPolicy, _dropLevel, _dropped,
+				(msg, ex) -> _errorListeners.forEach(l -> l.accept(msg, ex)));
+		_dispatchers.add(dispatcher);
+
+		try {
+			byte[] datagram;
+			while ((datagram = receiver.take()) != null) {
+				if (!decode(datagram, dispatcher)) {
+					receiver.drop();
+				}
+			}
+		} catch (final InterruptedIOException ex) {
+			// the receiver is being stopped forcibly
+		} catch (final IOException ex) {
+			// the consumer failed and has been reported, stop receiving
+			// datagrams which can no longer be delivered
+			closeQuietly(receiver);
+		} finally {
+			dispatcher.close();
+			_dispatchers.remove(dispatcher);
+		}
+	}
+
+	/**
+	 * Decode the {@link LogEvent}s contained in the given datagram.
+	 * 
+	 * @param datagram   the datagram to decode
+	 * @param dispatcher the {@link LogEventDispatcher} to hand the events to
+	 * @return {@code true} if the datagram was decoded completely or
+	 *         {@code false} if its format is not supported or it is corrupted
+	 * @throws InterruptedIOException if the calling thread was interrupted while
+	 *                                handing events to the dispatcher
+	 * @throws IOException            if the dispatcher's consumer failed
+	 */
+	private boolean decode(final byte[] datagram, final LogEventDispatcher dispatcher) throws InterruptedIOException, IOException {
+		final InputStream stream = new ByteArrayInputStream(datagram);
+		try {
+			// each datagram carries the layout's header, thus the supplier
+			// has to be determined for each datagram anew
+			final LogEventSupplier supplier = getSupplier(stream);
+			while (true) {
+				dispatcher.put(supplier.get());
+			}
+		} catch (final EOFException ex) {
+			// end of datagram reached
+			return true;
+		} catch (final InterruptedIOException ex) {
+			throw ex;
+		} catch (final IOException ex) {
+			if (dispatcher.isFailed()) {
+				throw ex;
+			}
+			return false;
+		} catch (final IllegalStateException | IllegalArgumentException ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * @param remote the {@link SocketAddress} of a connected client
+	 * @return the {@link Object} to be used for identifying the client in error
+	 *         messages
+	 */
+	private static Object address(final SocketAddress remote) {
+		return remote instanceof InetSocketAddress inet ? inet.getAddress() : remote;
+	}
+
+	/**
+	 * Accept incoming connections and handle these in a separate thread.
+	 * 
+	 * @param server   the {@link ServerSocket} to listen for incoming connection on
+	 * @param factory  the {@link LogEventSupplierFactory} to read all accepted
+	 *                 connections with or {@code null} to determine it for each
+	 *                 connection
+	 * @param executor the {@link ExecutorService} to be used for creating new
+	 *                 threads for data reading
+	 * @throws IOException if an error occurred while using the given
+	 *                     {@link ServerSocket}
+	 */
+	private void accept(final ServerSocket server, final LogEventSupplierFactory factory, final ExecutorService executor) throws IOException {
+		// make sure to exit the accept-loop when server stop is requested,
+		// blocking in accept() is terminated by closing the server socket
+		while (!executor.isShutdown()) {
+			final Socket client = server.accept();
+			final Object host = client.getInetAddress();
+			if (!admit(host, executor)) {
+				client.close();
+				continue;
+			}
+
+			try {
+				// run event reading in a separate thread
+				executor.execute(() -> {
+					try {
+						handle(client, factory, executor);
+					} finally {
+						release(host);
+					}
+				});
+			} catch (final RejectedExecutionException ex) {
+				// this may happen when a connection request arrives
+				// while the server is being shut down -> ignore it
+				release(host);
+				client.close();
+			}
+		}
+	}
+
+	/**
+	 * Count the given connection towards the receiver's connection limits.
+	 * Connections exceeding these limits are reported to the error listeners.
+	 * 
+	 * @param host     the {@link Object} identifying the connection's remote host
+	 * @param executor the {@link ExecutorService} to check for shutdown requests
+	 * @return {@code true} if the connection was admitted and must be
+	 *         {@link #release(Object) released} when closed or {@code false} if
+	 *         it must be closed immediately
+	 */
+	private boolean admit(final Object host, final ExecutorService executor) {
+		if (_connections.incrementAndGet() > _maxConnections) {
+			_connections.decrementAndGet();
+			notifyHandlerError(executor, host + ": connection limit reached, connection rejected.",
+					new IOException("Maximum number of connections exceeded: " + _maxConnections));
+			return false;
+		}
+
+		// clients of a Unix domain socket are identified by the socket's path
+		// rather than a host of their own, they are subject to the total limit only
+		if (!(host instanceof UnixDomainSocketAddress) && _hosts.merge(host, 1, Integer::sum) > _maxConnectionsPerHost) {
+			release(host);
+			notifyHandlerError(executor, host + ": per-host connection limit reached, connection throttled.",
+					new IOException("Maximum number of connections per host exceeded: " + _maxConnectionsPerHost));
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Stop counting the given connection towards the receiver's connection limits.
+	 * 
+	 * @param host the {@link Object} identifying the connection's remote host
+	 */
+	private void release(final Object host) {
+		_hosts.computeIfPresent(host, (key, count) -> count > 1 ? count - 1 : null);
+		_connections.decrementAndGet();
+	}
+
+	/**
+	 * @return the size in bytes of the stream buffer the event parser reads from
+	 */
+	private int getStreamBufferSize() {
+		// leave at least half of the budget to the selector's channel buffer
+		return Math.min(STREAM_BUFFER_SIZE, _connectionBufferSize / 2);
+	}
+
+	/**
+	 * Close the given {@link Closeable} ignoring any errors.
+	 * 
+	 * @param closeable the {@link Closeable} to close
+	 */
+	private static void closeQuietly(final Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (final IOException ex) {
+			// nothing we could do about it
+		}
+	}
+
+	/**
+	 * Accept incoming connections and handle these in a separate thread.
+	 * 
+	 * @param server   the {@link ServerSocketChannel} to listen for incoming
+	 *                 connection on
+	 * @param factory  the {@link LogEventSupplierFactory} to read all accepted
+	 *                 connections with or {@code null} to determine it for each
+	 *                 connection
+	 * @param executor the {@link ExecutorService} to be used for creating new
+	 *                 threads for data reading
+	 * @throws IOException if an error occurred while using the given
+	 *                     {@link ServerSocketChannel}
+	 */
+	private void accept(final ServerSocketChannel server, final LogEventSupplierFactory factory, final ExecutorService executor) throws IOException {
+		final Object host = address(server.getLocalAddress());
+
+		// blocking in accept() is terminated by closing the channel
+		while (!executor.isShutdown()) {
+			final SocketChannel client = server.accept();
+			if (!admit(host, executor)) {
+				client.close();
+				continue;
+			}
+
+			try {
+				// run event reading in a separate thread
+				executor.execute(() -> {
+					try {
+						handle(client, host, factory, executor);
+					} finally {
+						release(host);
+					}
+				});
+			} catch (final RejectedExecutionException ex) {
+				// this may happen when a connection request arrives
+				// while the server is being shut down -> ignore it
+				release(host);
+				client.close();
+			}
+		}
+	}
+
+	/**
+	 * Read {@link LogEvent}s from the given {@link SocketChannel} and forward
+	 * them to {@link #getConsumer()}.
+	 * 
+	 * @param client   the {@link SocketChannel} to read events from
+	 * @param address  the {@link Object} identifying the client in error messages
+	 * @param factory  the {@link LogEventSupplierFactory} to read events with or
+	 *                 {@code null} to determine it
+	 * @param executor the {@link ExecutorService} to check for shutdown requests
+	 */
+	private void handle(final SocketChannel client, final Object address, final LogEventSupplierFactory factory, final ExecutorService executor) {
+		try (client) {
+			// blocking in read() is terminated by closing the channel upon server stop
+			handle(Channels.newInputStream(register(client, executor)), address, factory, executor);
+		} catch (final IOException ex) {
+			// channel is broken, notify error listeners and terminate thread
+			notifyHandlerError(executor, address + ": handler thread encountered an error, connection is going down.", ex);
+		} finally {
+			_sockets.remove(client);
+		}
+	}
+
+	/**
+	 * Read {@link LogEvent}s from the given {@link Socket} and forward them to
+	 * {@link #getConsumer()}.
+	 * 
+	 * @param client   the {@link Socket} to read events from
+	 * @param factory  the {@link LogEventSupplierFactory} to read events with or
+	 *                 {@code null} to determine it
+	 * @param executor the {@link ExecutorService} to check for shutdown requests
+	 */
+	private void handle(final Socket client, final LogEventSupplierFactory factory, final ExecutorService executor) {
+		try (client) {
+			register(client, executor);
+
+			// perform the handshake in the handler thread rather than the
+			// acceptor thread in order not to serialize handshakes
+			if (client instanceof SSLSocket ssl) {
+				ssl.startHandshake();
+			}
+
+			// no read timeout required: blocking in read() is
+			// terminated by closing the socket upon server stop
+			handle(client.getInputStream(), client.getInetAddress(), factory, executor);
+		} catch (final IOException ex) {
+			// client socket is broken, notify error listeners and terminate thread
+			notifyHandlerError(executor, client.getInetAddress() + ": handler thread encountered an error, connection is going down.", ex);
+		} finally {
+			_sockets.remove(client);
+		}
+	}
+
+	/**
+	 * Read {@link LogEvent}s from the given {@link InputStream} and forward them
+	 * to {@link #getConsumer()}.
+	 * 
+	 * @param input    the {@link InputStream} of the connection to read events from
+	 * @param client   the {@link Object} identifying the client in error messages
+	 * @param factory  the {@link LogEventSupplierFactory} to read events with or
+	 *                 {@code null} to determine it
+	 * @param executor the {@link ExecutorService} to check for shutdown requests
+	 */
+	private void handle(final InputStream input, final Object client, final LogEventSupplierFactory factory, final ExecutorService executor) {
+		// deliver events in a separate thread in order not to stall reading on slow consumers
+		final LogEventDispatcher dispatcher = new LogEventDispatcher(_batchConsumer, _queueCapacity, _batchSize, _batchDelay, _overflowPolicy, _dropLevel, _dropped,
+				(msg, ex) -> _errorListeners.forEach(l -> l.accept(msg, ex)));
+		_dispatchers.add(dispatcher);
+
+		Exception error = null;
+		try (final InputStream stream = new BufferedInputStream(input, getStreamBufferSize())) {
+			// a supplier can be cached per stream because log4j
+			// allows only one layout per SocketAppender:
+			// so one connection -> one layout
+			final LogEventSupplier supplier = factory != null ? getSupplier(stream, factory) : getSupplier(stream);
+			final ExecutorService parsers = _parsers;
+			if (parsers != null && supplier instanceof FramingLogEventSupplier framing) {
+				read(framing, dispatcher, executor, parsers, _parseWindow);
+			} else {
+				read(supplier, dispatcher, executor);
+			}
+		} catch (final IOException | IllegalStateException | IllegalArgumentException ex) {
+			error = ex;
+		} finally {
+			// make sure to deliver all events read so far before reporting the
+			// connection's termination
+			dispatcher.close();
+			_dispatchers.remove(dispatcher);
+		}
+
+		if (error != null) {
+			final String message = switch (error) {
+				// stream closed, terminate thread
+				case EOFException eof -> ": client connection terminated, handler thread is going down.";
+				// client socket is broken, terminate thread
+				case IOException io -> ": handler thread encountered an error, connection is going down.";
+				// unsupported event format, terminate thread
+				case IllegalStateException ise -> ": unsupported event format, connection is going down.";
+				// stream without mark/reset support, terminate thread
+				default -> ": unsupported stream implementation, connection is going down.";
+			};
+			notifyHandlerError(executor, client + message, error);
+		}
+	}
+
+	/**
+	 * Notify all registered error listeners of a handler error unless the error
+	 * was caused by the server shutting down.
 	 * 
-	 * @param supplier the {@link LogEventSupplier} to be used for reading
 	 * @param executor the {@link ExecutorService} to check for shutdown requests
+	 * @param message  the error message
+	 * @param error    the error
+	 */
+	private void notifyHandlerError(final ExecutorService executor, final String message, final Throwable error) {
+		// connections are closed when the server is going down, which
+		// is the expected way of terminating handlers and not an error.
+		if (executor.isShutdown()) {
+			return;
+		}
+
+		_errorListeners.forEach(l -> l.accept(message, error));
+	}
+
+	/**
+	 * @param stream the {@link InputStream} to return the appropriate
+	 *               {@link LogEventSupplier} for
+	 * @return the {@link LogEventSupplier} which supports reading {@link LogEvent}s
+	 *         from the given {@link InputStream}
+	 * @throws IOException              if an error occurred while reading from the
+	 *                                  given {@link InputStream}
+	 * @throws IllegalArgumentException if the given {@link InputStream} does not
+	 *                                  support mark/reset API
+	 * @throws IllegalStateException    if an appropriate {@link LogEventSupplier}
+	 *                                  could not be determined
+	 */
+	private LogEventSupplier getSupplier(final InputStream stream)
+			throws IOException, IllegalArgumentException, IllegalStateException {
+		if (!stream.markSupported()) {
+			throw new IllegalArgumentException("Cannot determine event supplier for connections not supporting mark/reset.");
+		}
+
+		// wait until data arrives in order to determine which supplier to use
+		stream.mark(1);
+		if (stream.read() < 0) {
+			throw new IllegalStateException("Cannot determine event supplier for empty streams.");
+		}
+		stream.reset();
+
+		// now that we know that there is data in the stream, we can determine
+		// the supplier to be used for the given stream by probing the factories
+		// matching its signature or fail if none was determined.
+		for (final LogEventSupplierFactory factory : _signatureIndex.getCandidates(stream)) {
+			final LogEventSupplier supplier = factory.get(stream);
+			if (supplier != null) {
+				return supplier;
+			}
+		}
+
+		throw new IllegalStateException("Cannot determine event supplier for unknown event type.");
+	}
+
+	/**
+	 * @param stream  the {@link InputStream} to return a {@link LogEventSupplier}
+	 *                for
+	 * @param factory the {@link LogEventSupplierFactory} pinned to the stream's
+	 *                endpoint
+	 * @return the {@link LogEventSupplier} created by the given factory without
+	 *         probing any other factories
+	 * @throws IOException           if an error occurred while reading from the
+	 *                               given {@link InputStream}
+	 * @throws IllegalStateException if the given factory does not support the
+	 *                               data in the given {@link InputStream}
+	 */
+	private static LogEventSupplier getSupplier(final InputStream stream, final LogEventSupplierFactory factory) throws IOException, IllegalStateException {
+		final LogEventSupplier supplier = factory.get(stream);
+		if (supplier == null) {
+			throw new IllegalStateException("Cannot read events of unknown type using the endpoint's event supplier.");
+		}
+		return supplier;
+	}
+
+	/**
+	 * Read {@link LogEvent}s using the given {@link LogEventSupplier}.
+	 * 
+	 * @param supplier   the {@link LogEventSupplier} to be used for reading
+	 * @param dispatcher the {@link LogEventDispatcher} to hand the events to
+	 * @param executor   the {@link ExecutorService} to check for shutdown requests
 	 * @throws IOException  if an error occurred while reading events
 	 * @throws EOFException if end of stream was reached
 	 */
-	private void read(final LogEventSupplier supplier, final ExecutorService executor) throws IOException, EOFException {
-		// make sure the exit the event-loop when server stop is requested
+	private void read(final LogEventSupplier supplier, final LogEventDispatcher dispatcher, final ExecutorService executor) throws IOException, EOFException {
+		// make sure the exit the event-loop when server stop is requested,
+		// blocking in get() is terminated by closing the connection
 		while (!executor.isShutdown()) {
-			try {
-				getConsumer().accept(supplier.get());
-			} catch (final SocketTimeoutException ex) {
-				// no incoming data, continue
+			dispatcher.put(supplier.get());
+		}
+	}
+
+	/**
+	 * Read {@link LogEvent}s using the given {@link FramingLogEventSupplier},
+	 * decoding its frames in parallel.
+	 * 
+	 * <p>
+	 * A separate framing thread splits the stream into chunks of frames and
+	 * submits these to the given parsers. The calling thread awaits the decoded
+	 * chunks in the order they were submitted, thus the events are handed to the
+	 * dispatcher in the order they were received.
+	 * </p>
+	 * 
+	 * @param supplier   the {@link FramingLogEventSupplier} to be used for reading
+	 * @param dispatcher the {@link LogEventDispatcher} to hand the events to
+	 * @param executor   the {@link ExecutorService} to be used for creating the
+	 *                   framing thread and to check for shutdown requests
+	 * @param parsers    the {@link ExecutorService} to decode the frames with
+	 * @param window     the maximum number of chunks pending at a time
+	 * @throws IOException  if an error occurred while reading or decoding events
+	 * @throws EOFException if end of stream was reached
+	 */
+	private void read(final FramingLogEventSupplier supplier, final LogEventDispatcher dispatcher, final ExecutorService executor, final ExecutorService parsers, final int window) throws IOException, EOFException {
+		// bound the number of pending chunks in order to apply backpressure
+		// to the framing thread when decoding or delivery falls behind
+		final BlockingQueue<Future<LogEvent[]>> pending = new ArrayBlockingQueue<>(window);
+		final Future<?> framing;
+		try {
+			framing = executor.submit(() -> frame(supplier, pending, parsers));
+		} catch (final RejectedExecutionException ex) {
+			// the server is going down
+			return;
+		}
+
+		try {
+			while (!executor.isShutdown()) {
+				for (final LogEvent event : await(pending.take())) {
+					dispatcher.put(event);
+				}
+			}
+		} catch (final InterruptedException ex) {
+			throw new InterruptedIOException();
+		} finally {
+			// the framing thread blocking on the stream is woken up by closing it
+			framing.cancel(true);
+		}
+	}
+
+	/**
+	 * Split the stream of the given {@link FramingLogEventSupplier} into chunks of
+	 * frames and submit these to the given parsers until an error occurs.
+	 * 
+	 * @param supplier the {@link FramingLogEventSupplier} to read frames from
+	 * @param pending  the {@link BlockingQueue} to put the decoding results into
+	 *                 in order, the error terminating the stream is put last
+	 * @param parsers  the {@link ExecutorService} to decode the frames with
+	 */
+	private static void frame(final FramingLogEventSupplier supplier, final BlockingQueue<Future<LogEvent[]>> pending, final ExecutorService parsers) {
+		final LogEventFrameReader reader = supplier.getFrameReader();
+		Exception error = null;
+		try {
+			while (error == null) {
+				final List<byte[]> frames = new ArrayList<>(PARSE_CHUNK_SIZE);
+				try {
+					// submit the frames received so far rather than waiting
+					// for a chunk to fill up in order not to delay events
+					do {
+						frames.add(reader.next());
+					} while (frames.size() < PARSE_CHUNK_SIZE && reader.available());
+				} catch (final IOException | RuntimeException ex) {
+					error = ex;
+				}
+
+				if (!frames.isEmpty()) {
+					try {
+						pending.put(parsers.submit(() -> decode(supplier, frames)));
+					} catch (final RejectedExecutionException ex) {
+						error = new InterruptedIOException("Server is going down.");
+					}
+				}
 			}
+			pending.put(CompletableFuture.failedFuture(error));
+		} catch (final InterruptedException ex) {
+			// the handler thread is no longer waiting for events
+		}
+	}
+
+	/**
+	 * @param supplier the {@link FramingLogEventSupplier} to decode the given
+	 *                 frames with
+	 * @param frames   the {@link List} of frames to decode
+	 * @return the {@link LogEvent}s decoded from the given frames
+	 * @throws IOException if a frame could not be decoded
+	 */
+	private static LogEvent[] decode(final FramingLogEventSupplier supplier, final List<byte[]> frames) throws IOException {
+		final LogEvent[] events = new LogEvent[frames.size()];
+		for (int i = 0; i < events.length; i++) {
+			events[i] = supplier.decode(frames.get(i));
+		}
+		return events;
+	}
+
+	/**
+	 * @param future the {@link Future} of a chunk of decoded {@link LogEvent}s
+	 * @return the {@link LogEvent}s of the given chunk
+	 * @throws IOException          if the chunk could not be read or decoded
+	 * @throws InterruptedException if the calling thread was interrupted while
+	 *                              waiting for the chunk
+	 */
+	private static LogEvent[] await(final Future<LogEvent[]> future) throws IOException, InterruptedException {
+		try {
+			return future.get();
+		} catch (final ExecutionException ex) {
+			if (ex.getCause() instanceof IOException io) {
+				throw io;
+			}
+			throw new IOException(ex.getCause());
 		}
 	}
 
@@ -376,7 +1954,9 @@ public class LogEventServer {
 	 * accepted connections.
 	 * 
 	 * <p>
-	 * Calling threads are blocked until all connections are terminated.
+	 * Calling threads are blocked until all connections are terminated, but no
+	 * longer than twice {@link #getTimeout()} regardless of the number of open
+	 * connections.
 	 * </p>
 	 * 
 	 * @throws IllegalStateException if the receiver was not started
@@ -387,25 +1967,80 @@ public class LogEventServer {
 		}
 
 		_executor.shutdown();
+
+		// closing all sockets and channels wakes up all threads blocked on I/O
+		if (_selector != null) {
+			_selector.close();
+			_selector = null;
+		}
+		for (final Closeable socket : _sockets) {
+			try {
+				socket.close();
+			} catch (final IOException ex) {
+				// nothing we could do about it
+			}
+		}
+
 		awaitTermination();
 		_executor = null;
 
+		// all handlers have terminated, thus no more frames are to be decoded
+		if (_parsers != null) {
+			_parsers.shutdownNow();
+			_parsers = null;
+		}
+
+		for (final LogEventEndpoint endpoint : getEffectiveEndpoints()) {
+			if (endpoint.getPath() != null) {
+				try {
+					deleteSocketFile(endpoint.getPath());
+				} catch (final IOException ex) {
+					// nothing we could do about it
+				}
+			}
+		}
+
 		// notify all registered listeners of server termination
 		_serverListeners.forEach(l -> l.accept(false));
 	}
 
+	/**
+	 * An accept loop to be run by an acceptor thread.
+	 */
+	@FunctionalInterface
+	private interface Acceptor {
+
+		/**
+		 * Accept incoming connections until the server socket is closed.
+		 * 
+		 * @throws IOException if an error occurred while accepting connections
+		 */
+		void accept() throws IOException;
+	}
+
 	/**
 	 * Block current thread until the {@link ExecutorService} has terminated all
-	 * currently running tasks.
+	 * currently running tasks, but no longer than twice {@link #getTimeout()}.
+	 * Tasks still running after the first timeout are interrupted.
 	 */
 	private void awaitTermination() {
-		while (true) {
-			try {
-				if (_executor.awaitTermination(_timeout, TimeUnit.MILLISECONDS)) {
-					break;
+		boolean interrupted = false;
+		try {
+			for (int i = 0; i < 2; i++) {
+				try {
+					if (_executor.awaitTermination(_timeout, TimeUnit.MILLISECONDS)) {
+						return;
+					}
+				} catch (final InterruptedException ex) {
+					// remember the interruption and stop waiting gracefully
+					interrupted = true;
 				}
-			} catch (final InterruptedException ex) {
-				// ignore and continue waiting
+
+				_executor.shutdownNow();
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
 			}
 		}
 	}
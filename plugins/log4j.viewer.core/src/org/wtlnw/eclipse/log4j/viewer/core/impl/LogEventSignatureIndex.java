@@ -0,0 +1,203 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
+
+/**
+ * Instances of this class determine the {@link LogEventSupplierFactory}s
+ * supporting a stream by its leading bytes, so that streams are not probed by
+ * factories of unrelated formats.
+ *
+ * <p>
+ * Factories may declare any number of signatures, i.e. the bytes streams of
+ * their format start with, e.g. {@code 0xACED} for serialized events or
+ * {@code <?xml} for XML documents. Whitespace and null bytes preceding the
+ * signature are skipped. The stream is peeked only once: its first significant
+ * byte selects the factories to compare the remaining bytes with in constant
+ * time, regardless of the number of registered factories. Factories without
+ * signatures are candidates for all streams.
+ * </p>
+ */
+public class LogEventSignatureIndex {
+
+	/**
+	 * The maximum number of bytes to peek, including leading whitespace.
+	 */
+	public static final int PEEK_LIMIT = 1 << 10;
+
+	/**
+	 * A factory together with its signatures starting with a specific byte,
+	 * which are empty for factories without signatures.
+	 *
+	 * @param factory    the {@link LogEventSupplierFactory}
+	 * @param signatures the factory's signatures to compare streams with
+	 */
+	private record Candidate(LogEventSupplierFactory factory, List<byte[]> signatures) {
+
+		/**
+		 * @param head   the leading bytes of a stream
+		 * @param length the number of valid bytes in the given array
+		 * @return {@code true} if the receiver's factory supports the stream
+		 */
+		boolean matches(final byte[] head, final int length) {
+			if (signatures.isEmpty()) {
+				return true;
+			}
+			for (final byte[] signature : signatures) {
+				if (signature.length <= length && Arrays.equals(signature, 0, signature.length, head, 0, signature.length)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * The {@link Candidate}s indexed by the first byte of their signatures in
+	 * registration order, including all factories without signatures.
+	 */
+	private final List<List<Candidate>> _candidates = new ArrayList<>(256);
+
+	/**
+	 * The factories without signatures in registration order.
+	 */
+	private final List<LogEventSupplierFactory> _unsigned;
+
+	/**
+	 * The length of the longest signature.
+	 */
+	private final int _length;
+
+	/**
+	 * Create a {@link LogEventSignatureIndex}.
+	 *
+	 * @param factories  the {@link LogEventSupplierFactory}s in the order they
+	 *                   are to be probed in
+	 * @param signatures the signatures of the given factories, factories not
+	 *                   contained are candidates for all streams
+	 * @throws IllegalArgumentException if a signature is empty, longer than
+	 *                                  {@link #PEEK_LIMIT} or starts with
+	 *                                  whitespace
+	 * @throws NullPointerException     if any argument is {@code null}
+	 */
+	public LogEventSignatureIndex(final List<LogEventSupplierFactory> factories, final Map<LogEventSupplierFactory, List<byte[]>> signatures) throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(signatures);
+
+		int length = 0;
+		final List<LogEventSupplierFactory> unsigned = new ArrayList<>();
+		final List<List<Candidate>> signed = new ArrayList<>(256);
+		for (int b = 0; b < 256; b++) {
+			signed.add(new ArrayList<>());
+		}
+
+		for (final LogEventSupplierFactory factory : factories) {
+			final List<byte[]> declared = signatures.getOrDefault(Objects.requireNonNull(factory), List.of());
+			for (final byte[] signature : declared) {
+				if (signature.length == 0 || signature.length > PEEK_LIMIT || isBlank(signature[0])) {
+					throw new IllegalArgumentException("Invalid signature: " + HexFormat.of().formatHex(signature));
+				}
+				length = Math.max(length, signature.length);
+			}
+
+			if (declared.isEmpty()) {
+				unsigned.add(factory);
+				signed.forEach(candidates -> candidates.add(new Candidate(factory, List.of())));
+			} else {
+				for (int b = 0; b < 256; b++) {
+					final List<byte[]> matching = new ArrayList<>();
+					for (final byte[] signature : declared) {
+						if ((signature[0] & 0xFF) == b) {
+							matching.add(signature);
+						}
+					}
+					if (!matching.isEmpty()) {
+						signed.get(b).add(new Candidate(factory, List.copyOf(matching)));
+					}
+				}
+			}
+		}
+
+		signed.forEach(candidates -> _candidates.add(List.copyOf(candidates)));
+		_unsigned = List.copyOf(unsigned);
+		_length = length;
+	}
+
+	/**
+	 * Peek the leading bytes of the given stream and determine the factories
+	 * supporting it.
+	 *
+	 * <p>
+	 * Note: the stream is reset to its current position before returning.
+	 * </p>
+	 *
+	 * @param stream the {@link InputStream} supporting mark/reset API to peek
+	 * @return the {@link LogEventSupplierFactory}s to probe the given stream
+	 *         with in registration order
+	 * @throws IOException if an error occurred while reading from the stream
+	 */
+	public List<LogEventSupplierFactory> getCandidates(final InputStream stream) throws IOException {
+		// nothing to compare the stream with, probe all factories
+		if (_length == 0) {
+			return _unsigned;
+		}
+
+		stream.mark(PEEK_LIMIT);
+		try {
+			int b;
+			int read = 0;
+			do {
+				b = stream.read();
+			} while (isBlank(b) && ++read < PEEK_LIMIT - _length);
+
+			// only whitespace within the peek limit
+			if (b < 0 || isBlank(b)) {
+				return _unsigned;
+			}
+
+			final byte[] head = new byte[_length];
+			head[0] = (byte) b;
+			final int length = 1 + stream.readNBytes(head, 1, _length - 1);
+
+			final List<LogEventSupplierFactory> factories = new ArrayList<>();
+			for (final Candidate candidate : _candidates.get(b)) {
+				if (candidate.matches(head, length)) {
+					factories.add(candidate.factory());
+				}
+			}
+			return factories;
+		} finally {
+			stream.reset();
+		}
+	}
+
+	/**
+	 * @param b the byte to check
+	 * @return {@code true} if the given byte may precede a signature, i.e. is
+	 *         whitespace or a null byte
+	 */
+	private static boolean isBlank(final int b) {
+		return b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == 0;
+	}
+}
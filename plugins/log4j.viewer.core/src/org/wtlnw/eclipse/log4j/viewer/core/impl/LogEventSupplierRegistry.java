@@ -14,8 +14,12 @@
 
 package org.wtlnw.eclipse.log4j.viewer.core.impl;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
@@ -60,4 +64,72 @@ public class LogEventSupplierRegistry {
 		
 		return factories;
 	}
+
+	/**
+	 * Resolve the signatures declared by the {@code signature} elements of the
+	 * extensions the given factories were created for.
+	 *
+	 * @param factories the {@link LogEventSupplierFactory} instances returned by
+	 *                  {@link #getFactories()}
+	 * @return the declared signatures of the given factories to be passed to
+	 *         {@link LogEventServer#setSupplierSignatures(Map)}, factories
+	 *         without signatures are omitted
+	 */
+	public Map<LogEventSupplierFactory, List<byte[]>> getSignatures(final List<LogEventSupplierFactory> factories) {
+		final Map<String, List<byte[]>> declared = new HashMap<>();
+		final IExtensionRegistry registry = Platform.getExtensionRegistry();
+		final IExtensionPoint point = registry.getExtensionPoint(EXTENSION_POINT_ID);
+
+		for (final IExtension extension : point.getExtensions()) {
+			for (final IConfigurationElement element : extension.getConfigurationElements()) {
+				if ("supplier-factory".equals(element.getName())) {
+					final List<byte[]> signatures = new ArrayList<>();
+					for (final IConfigurationElement signature : element.getChildren("signature")) {
+						try {
+							signatures.add(parseSignature(signature));
+						} catch (IllegalArgumentException e) {
+							Platform.getLog(LogEventSupplierRegistry.class).error("Failed to parse signature of extension.", e);
+						}
+					}
+					if (!signatures.isEmpty()) {
+						declared.put(element.getAttribute("class"), signatures);
+					}
+				}
+			}
+		}
+
+		final Map<LogEventSupplierFactory, List<byte[]>> signatures = new HashMap<>();
+		for (final LogEventSupplierFactory factory : factories) {
+			final List<byte[]> signature = declared.get(factory.getClass().getName());
+			if (signature != null) {
+				signatures.put(factory, signature);
+			}
+		}
+		return signatures;
+	}
+
+	/**
+	 * @param element the {@code signature} {@link IConfigurationElement} to parse
+	 * @return the signature's bytes given either as {@code text} or as
+	 *         hexadecimal {@code bytes}, e.g. {@code 0xACED}
+	 * @throws IllegalArgumentException if the signature is empty or invalid
+	 */
+	private static byte[] parseSignature(final IConfigurationElement element) throws IllegalArgumentException {
+		final String text = element.getAttribute("text");
+		final String hex = element.getAttribute("bytes");
+
+		final byte[] bytes;
+		if (text != null) {
+			bytes = text.getBytes(StandardCharsets.UTF_8);
+		} else if (hex != null) {
+			bytes = HexFormat.of().parseHex(hex.startsWith("0x") || hex.startsWith("0X") ? hex.substring(2) : hex);
+		} else {
+			bytes = new byte[0];
+		}
+
+		if (bytes.length == 0) {
+			throw new IllegalArgumentException("Invalid signature: " + element);
+		}
+		return bytes;
+	}
 }
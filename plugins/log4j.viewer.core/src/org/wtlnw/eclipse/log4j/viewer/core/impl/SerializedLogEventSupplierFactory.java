@@ -16,17 +16,109 @@ package org.wtlnw.eclipse.log4j.viewer.core.impl;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputFilter;
 import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
 import java.io.StreamCorruptedException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.core.LogEvent;
 import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
 
 /**
  * {@link LogEventSupplierFactory} implementation for serialized {@link LogEvent}s.
+ *
+ * <p>
+ * Streams are read using an {@link ObjectInputFilter} which accepts the classes
+ * making up serialized Log4j events only, thus arbitrary object graphs sent by
+ * malicious clients are rejected before being instantiated. As a consequence,
+ * {@link org.apache.logging.log4j.message.ObjectMessage}s carrying application
+ * specific objects cannot be read.
+ * </p>
+ *
+ * <p>
+ * The classes resolved for accepted class descriptors are cached by all
+ * connections, which spares subsequent streams the class loader lookups.
+ * </p>
  */
 public class SerializedLogEventSupplierFactory implements LogEventSupplierFactory {
 
+	/**
+	 * The maximum depth of the object graph of a single event.
+	 */
+	private static final int MAX_DEPTH = 100;
+
+	/**
+	 * The maximum length of arrays within an event.
+	 */
+	private static final int MAX_ARRAY_LENGTH = 1 << 24;
+
+	/**
+	 * The packages whose classes are accepted.
+	 */
+	private static final Set<String> ALLOWED_PACKAGES = Set.of(
+			"org.apache.logging.log4j",
+			"org.apache.logging.log4j.core.impl",
+			"org.apache.logging.log4j.core.time",
+			"org.apache.logging.log4j.message",
+			"org.apache.logging.log4j.spi",
+			"org.apache.logging.log4j.util");
+
+	/**
+	 * The classes outside {@link #ALLOWED_PACKAGES} which are accepted.
+	 */
+	private static final Set<String> ALLOWED_CLASSES = Set.of(
+			"java.lang.Boolean",
+			"java.lang.Byte",
+			"java.lang.Character",
+			"java.lang.Double",
+			"java.lang.Enum",
+			"java.lang.Float",
+			"java.lang.Integer",
+			"java.lang.Long",
+			"java.lang.Number",
+			"java.lang.Short",
+			"java.lang.StackTraceElement",
+			"java.lang.String",
+			"java.rmi.MarshalledObject",
+			"java.util.ArrayList",
+			"java.util.HashMap");
+
+	/**
+	 * The {@link ObjectInputFilter} applied to all streams, which is also
+	 * inherited by the {@link java.rmi.MarshalledObject}s wrapping messages.
+	 */
+	private static final ObjectInputFilter FILTER = info -> {
+		if (info.depth() > MAX_DEPTH || info.arrayLength() > MAX_ARRAY_LENGTH) {
+			return ObjectInputFilter.Status.REJECTED;
+		}
+		if (info.serialClass() == null) {
+			return ObjectInputFilter.Status.ALLOWED;
+		}
+		return isAllowed(info.serialClass()) ? ObjectInputFilter.Status.ALLOWED : ObjectInputFilter.Status.REJECTED;
+	};
+
+	/**
+	 * The classes resolved so far by their names.
+	 */
+	private static final ConcurrentHashMap<String, Class<?>> CLASSES = new ConcurrentHashMap<>();
+
+	/**
+	 * @param type the {@link Class} to check
+	 * @return {@code true} if instances of the given class (or arrays thereof)
+	 *         may be read
+	 */
+	private static boolean isAllowed(final Class<?> type) {
+		Class<?> component = type;
+		while (component.isArray()) {
+			component = component.getComponentType();
+		}
+		return component.isPrimitive()
+				|| ALLOWED_PACKAGES.contains(component.getPackageName())
+				|| ALLOWED_CLASSES.contains(component.getName());
+	}
+
 	@Override
 	public LogEventSupplier get(final InputStream stream) throws IOException {
 		if (!stream.markSupported()) {
@@ -38,11 +130,11 @@ public class SerializedLogEventSupplierFactory implements LogEventSupplierFactor
 		try {
 			// this will check the stream's header and fail if it's not
 			// a valid ObjectInputStream or is not supported.
-			final ObjectInputStream ois = new ObjectInputStream(stream);
+			final ObjectInputStream ois = new LogEventInputStream(stream);
 			return () -> {
 				try {
 					return (LogEvent) ois.readObject();
-				} catch (final ClassNotFoundException ex) {
+				} catch (final ClassNotFoundException | ClassCastException ex) {
 					throw new IOException(ex);
 				}
 			};
@@ -53,4 +145,53 @@ public class SerializedLogEventSupplierFactory implements LogEventSupplierFactor
 			return null;
 		}
 	}
+
+	/**
+	 * An {@link ObjectInputStream} applying {@link SerializedLogEventSupplierFactory#FILTER}
+	 * and resolving classes using {@link SerializedLogEventSupplierFactory#CLASSES},
+	 * which is also used for reading throwables written by {@link LogEventCodec}.
+	 */
+	static class LogEventInputStream extends ObjectInputStream {
+
+		/**
+		 * Create a {@link LogEventInputStream}.
+		 *
+		 * @param stream the {@link InputStream} to read from
+		 * @throws IOException if the stream header could not be read
+		 */
+		LogEventInputStream(final InputStream stream) throws IOException {
+			super(stream);
+			setObjectInputFilter(FILTER);
+		}
+
+		@Override
+		protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			final Class<?> cached = CLASSES.get(desc.getName());
+			if (cached != null) {
+				return cached;
+			}
+
+			// classes are always resolved by this bundle's class loader, thus
+			// the result is the same for all streams. Cache accepted classes
+			// only in order not to retain classes of rejected streams.
+			final Class<?> resolved = load(desc);
+			if (isAllowed(resolved)) {
+				CLASSES.putIfAbsent(desc.getName(), resolved);
+			}
+			return resolved;
+		}
+
+		/**
+		 * Look up the class for the given descriptor by means of the class loader,
+		 * which is done only if it is not cached yet.
+		 *
+		 * @param desc the {@link ObjectStreamClass} to look up the class for
+		 * @return the resolved {@link Class}
+		 * @throws IOException            see {@link ObjectInputStream#resolveClass(ObjectStreamClass)}
+		 * @throws ClassNotFoundException if the class could not be found
+		 */
+		Class<?> load(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			return super.resolveClass(desc);
+		}
+	}
 }
@@ -0,0 +1,501 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ExtendedStackTraceElement;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventRingBuffer;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventSizeEstimator;
+
+/**
+ * Instances of this class deduplicate the throwables of retained
+ * {@link LogEvent}s, so that e.g. the thousands of events produced by a retry
+ * loop share a single throwable rather than each one retaining its own
+ * extended stack trace.
+ *
+ * <p>
+ * Throwables are addressed by their content: raw bytes of {@link LazyLogEvent}s
+ * are compared as they are, decoded {@link ThrowableProxy}s are compared by
+ * class name, message, frames, causes and suppressed throwables. Each distinct
+ * throwable is held by a reference counted {@link Entry}: events are
+ * {@link #acquire(LogEvent) acquired} when they are retained and must be
+ * {@link #release(LogEvent) released} when they are discarded, e.g. by using
+ * {@link #release(LogEvent)} as eviction listener of a
+ * {@link LogEventRingBuffer}. Entries are removed as soon as no retained event
+ * refers to them anymore.
+ * </p>
+ *
+ * <p>
+ * Note: this class is thread-safe.
+ * </p>
+ */
+public class ThrowableStore {
+
+	/**
+	 * Instances of this class represent a distinct throwable shared by all
+	 * retained events carrying an equal one.
+	 */
+	public static final class Entry {
+
+		/**
+		 * The content key the receiver is stored with.
+		 */
+		private final Object _key;
+
+		/**
+		 * The shared object, i.e. either a {@link LazyLogEvent.Thrown} or a
+		 * {@link ThrowableProxy}.
+		 */
+		private final Object _shared;
+
+		/**
+		 * @see #getReferences()
+		 */
+		private volatile int _references;
+
+		/**
+		 * @see #getOccurrences()
+		 */
+		private volatile long _occurrences;
+
+		/**
+		 * Create an {@link Entry}.
+		 *
+		 * @param key    see {@link #_key}
+		 * @param shared see {@link #_shared}
+		 */
+		private Entry(final Object key, final Object shared) {
+			_key = key;
+			_shared = shared;
+		}
+
+		/**
+		 * @return the shared {@link ThrowableProxy}, which is decoded upon first
+		 *         access for {@link LazyLogEvent}s, or {@code null} if its raw
+		 *         bytes are corrupted
+		 */
+		public ThrowableProxy getThrownProxy() {
+			return _shared instanceof LazyLogEvent.Thrown thrown ? thrown.getProxy() : (ThrowableProxy) _shared;
+		}
+
+		/**
+		 * @return the number of currently retained events referring to the
+		 *         receiver
+		 */
+		public int getReferences() {
+			return _references;
+		}
+
+		/**
+		 * @return the number of events acquired with an equal throwable since
+		 *         the receiver was created
+		 */
+		public long getOccurrences() {
+			return _occurrences;
+		}
+	}
+
+	/**
+	 * The {@link Lock} guarding the receiver's state.
+	 */
+	private final Lock _lock = new ReentrantLock();
+
+	/**
+	 * The {@link Entry}s mapped by their content key.
+	 */
+	private final Map<Object, Entry> _entries = new HashMap<>();
+
+	/**
+	 * The {@link Entry}s mapped by their shared object, which allows releasing
+	 * events without computing their content key again.
+	 */
+	private final Map<Object, Entry> _shared = new IdentityHashMap<>();
+
+	/**
+	 * @see #getHits()
+	 */
+	private long _hits;
+
+	/**
+	 * @see #getMisses()
+	 */
+	private long _misses;
+
+	/**
+	 * @see #getSavedBytes()
+	 */
+	private long _savedBytes;
+
+	/**
+	 * Register the throwable of the given {@link LogEvent} with the receiver.
+	 *
+	 * <p>
+	 * If an equal throwable is stored already, the returned event refers to the
+	 * stored one: {@link LazyLogEvent}s are updated in place, other events are
+	 * copied to a {@link Log4jLogEvent} referring to the stored
+	 * {@link ThrowableProxy}. Events without throwable are returned as they are.
+	 * </p>
+	 *
+	 * @param event the {@link LogEvent} to be retained
+	 * @return the {@link LogEvent} to retain instead of the given one
+	 */
+	public LogEvent acquire(final LogEvent event) {
+		final Object shared;
+		final Object key;
+
+		if (event instanceof LazyLogEvent lazy) {
+			final LazyLogEvent.Thrown thrown = lazy.getThrown();
+			if (thrown == null) {
+				return event;
+			}
+
+			// events are acquired right after they were read, thus their raw
+			// bytes are available unless the throwable is shared already
+			final byte[] bytes = thrown.getBytes();
+			shared = thrown;
+			key = bytes == null ? null : new BytesKey(bytes);
+		} else {
+			final ThrowableProxy proxy = event.getThrownProxy();
+			if (proxy == null) {
+				return event;
+			}
+
+			shared = proxy;
+			key = new ProxyKey(proxy);
+		}
+
+		Entry entry;
+		_lock.lock();
+		try {
+			entry = _shared.get(shared);
+			if (entry == null) {
+				if (key == null) {
+					// neither shared nor addressable, e.g. decoded before
+					return event;
+				}
+
+				entry = _entries.get(key);
+				if (entry == null) {
+					entry = new Entry(key, shared);
+					_entries.put(key, entry);
+					_shared.put(shared, entry);
+					_misses++;
+				} else {
+					_hits++;
+					_savedBytes += key instanceof BytesKey bytes ? LogEventSizeEstimator.ARRAY_OVERHEAD + bytes._bytes.length : LogEventSizeEstimator.estimate((ThrowableProxy) shared);
+				}
+				entry._occurrences++;
+			}
+			entry._references++;
+		} finally {
+			_lock.unlock();
+		}
+
+		if (entry._shared == shared) {
+			return event;
+		} else if (event instanceof LazyLogEvent lazy) {
+			lazy.setThrown((LazyLogEvent.Thrown) entry._shared);
+			return event;
+		} else {
+			return new Log4jLogEvent.Builder(event).setThrownProxy((ThrowableProxy) entry._shared).build();
+		}
+	}
+
+	/**
+	 * Unregister the throwable of the given {@link LogEvent}, which must have
+	 * been returned by {@link #acquire(LogEvent)} before. The stored throwable is
+	 * removed once no retained event refers to it anymore.
+	 *
+	 * @param event the {@link LogEvent} which is no longer retained
+	 */
+	public void release(final LogEvent event) {
+		final Object shared = event instanceof LazyLogEvent lazy ? lazy.getThrown() : event.getThrownProxy();
+		if (shared == null) {
+			return;
+		}
+
+		_lock.lock();
+		try {
+			final Entry entry = _shared.get(shared);
+			if (entry != null && --entry._references == 0) {
+				_shared.remove(shared);
+				_entries.remove(entry._key);
+			}
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of distinct throwables currently stored
+	 */
+	public int getSize() {
+		_lock.lock();
+		try {
+			return _entries.size();
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * @return a snapshot of the currently stored {@link Entry}s, i.e. the
+	 *         distinct throwables of all retained events, the most frequent one
+	 *         first
+	 */
+	public List<Entry> getEntries() {
+		final List<Entry> entries;
+		_lock.lock();
+		try {
+			entries = new ArrayList<>(_entries.values());
+		} finally {
+			_lock.unlock();
+		}
+
+		entries.sort(Comparator.comparingLong(Entry::getOccurrences).reversed());
+		return entries;
+	}
+
+	/**
+	 * @return the number of throwables acquired which were stored already
+	 */
+	public long getHits() {
+		_lock.lock();
+		try {
+			return _hits;
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of throwables acquired which were not stored yet
+	 */
+	public long getMisses() {
+		_lock.lock();
+		try {
+			return _misses;
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the estimated number of bytes saved by sharing stored throwables
+	 *         rather than retaining duplicates
+	 */
+	public long getSavedBytes() {
+		_lock.lock();
+		try {
+			return _savedBytes;
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * Remove all stored throwables and reset the statistics. Events acquired
+	 * before keep their throwables.
+	 */
+	public void clear() {
+		_lock.lock();
+		try {
+			_entries.clear();
+			_shared.clear();
+			_hits = _misses = _savedBytes = 0;
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		_lock.lock();
+		try {
+			return String.format("%d distinct throwables, %d hits, %d misses, %d bytes saved", _entries.size(), _hits, _misses, _savedBytes);
+		} finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * @param proxy the {@link ThrowableProxy} to get the frames of
+	 * @return the given proxy's extended stack trace, which is empty rather than
+	 *         {@code null} for decoded proxies without one
+	 */
+	private static ExtendedStackTraceElement[] frames(final ThrowableProxy proxy) {
+		final ExtendedStackTraceElement[] frames = proxy.getExtendedStackTrace();
+		return frames != null ? frames : new ExtendedStackTraceElement[0];
+	}
+
+	/**
+	 * @param proxy the {@link ThrowableProxy} to get the suppressed throwables of
+	 * @return the given proxy's suppressed throwables, which are empty rather
+	 *         than {@code null} for decoded proxies without any
+	 */
+	private static ThrowableProxy[] suppressed(final ThrowableProxy proxy) {
+		final ThrowableProxy[] suppressed = proxy.getSuppressedProxies();
+		return suppressed != null ? suppressed : new ThrowableProxy[0];
+	}
+
+	/**
+	 * The content key of raw throwable bytes.
+	 */
+	private static final class BytesKey {
+
+		/**
+		 * The raw bytes.
+		 */
+		private final byte[] _bytes;
+
+		/**
+		 * The cached hash code of {@link #_bytes}.
+		 */
+		private final int _hash;
+
+		/**
+		 * Create a {@link BytesKey}.
+		 *
+		 * @param bytes see {@link #_bytes}
+		 */
+		private BytesKey(final byte[] bytes) {
+			_bytes = bytes;
+			_hash = Arrays.hashCode(bytes);
+		}
+
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof BytesKey other && _hash == other._hash && Arrays.equals(_bytes, other._bytes);
+		}
+	}
+
+	/**
+	 * The content key of a decoded {@link ThrowableProxy}.
+	 */
+	private static final class ProxyKey {
+
+		/**
+		 * The decoded {@link ThrowableProxy}.
+		 */
+		private final ThrowableProxy _proxy;
+
+		/**
+		 * The cached hash code of {@link #_proxy}.
+		 */
+		private final int _hash;
+
+		/**
+		 * Create a {@link ProxyKey}.
+		 *
+		 * @param proxy see {@link #_proxy}
+		 */
+		private ProxyKey(final ThrowableProxy proxy) {
+			_proxy = proxy;
+			_hash = hash(proxy);
+		}
+
+		/**
+		 * @param proxy the {@link ThrowableProxy} to compute the hash code for
+		 * @return the hash code of the given proxy's content
+		 */
+		private static int hash(final ThrowableProxy proxy) {
+			int hash = Objects.hash(proxy.getName(), proxy.getMessage(), proxy.getCommonElementCount());
+			for (final ExtendedStackTraceElement frame : frames(proxy)) {
+				hash = 31 * hash + Objects.hash(frame.getClassName(), frame.getMethodName(), frame.getFileName(), frame.getLineNumber());
+			}
+			if (proxy.getCauseProxy() != null) {
+				hash = 31 * hash + hash(proxy.getCauseProxy());
+			}
+			for (final ThrowableProxy suppressed : suppressed(proxy)) {
+				hash = 31 * hash + hash(suppressed);
+			}
+			return hash;
+		}
+
+		/**
+		 * @param a the first {@link ThrowableProxy} to compare, may be {@code null}
+		 * @param b the second {@link ThrowableProxy} to compare, may be {@code null}
+		 * @return {@code true} if both proxies have equal content
+		 */
+		private static boolean equal(final ThrowableProxy a, final ThrowableProxy b) {
+			if (a == b) {
+				return true;
+			} else if (a == null || b == null) {
+				return false;
+			} else if (!Objects.equals(a.getName(), b.getName())
+					|| !Objects.equals(a.getMessage(), b.getMessage())
+					|| a.getCommonElementCount() != b.getCommonElementCount()) {
+				return false;
+			}
+
+			final ExtendedStackTraceElement[] framesA = frames(a);
+			final ExtendedStackTraceElement[] framesB = frames(b);
+			if (framesA.length != framesB.length) {
+				return false;
+			}
+			for (int i = 0; i < framesA.length; i++) {
+				final ExtendedStackTraceElement frameA = framesA[i];
+				final ExtendedStackTraceElement frameB = framesB[i];
+				if (frameA.getLineNumber() != frameB.getLineNumber()
+						|| !Objects.equals(frameA.getClassName(), frameB.getClassName())
+						|| !Objects.equals(frameA.getMethodName(), frameB.getMethodName())
+						|| !Objects.equals(frameA.getFileName(), frameB.getFileName())) {
+					return false;
+				}
+			}
+
+			final ThrowableProxy[] suppressedA = suppressed(a);
+			final ThrowableProxy[] suppressedB = suppressed(b);
+			if (suppressedA.length != suppressedB.length) {
+				return false;
+			}
+			for (int i = 0; i < suppressedA.length; i++) {
+				if (!equal(suppressedA[i], suppressedB[i])) {
+					return false;
+				}
+			}
+
+			return equal(a.getCauseProxy(), b.getCauseProxy());
+		}
+
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof ProxyKey other && _hash == other._hash && equal(_proxy, other._proxy);
+		}
+	}
+}
@@ -0,0 +1,875 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.ThreadContext.ContextStack;
+import org.apache.logging.log4j.core.AbstractLogEvent;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.time.Instant;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LazyLogEvent;
+
+/**
+ * Instances of this class provide a cyclic buffer for {@link LogEvent}s which
+ * stores the events' properties in primitive columns rather than retaining
+ * their object graphs.
+ *
+ * <p>
+ * Timestamps are stored as epoch nanoseconds in a {@code long[]}, levels as
+ * {@code byte} indices, logger names, logger FQCNs and thread names as
+ * {@code int} symbol ids and formatted messages as UTF-8 in a single byte
+ * arena. Events carrying properties without a column, i.e. a throwable,
+ * context data, a context stack, a marker or a source location, are retained
+ * as they are in a side table. {@link #get(int)} returns these events
+ * themselves and creates a {@link LogEvent} view of the columns for all other
+ * events, which are therefore not identical across calls. Use
+ * {@link #getSequence(int)} to identify events instead.
+ * </p>
+ *
+ * <p>
+ * The semantics of {@link #put(LogEvent)}, {@link #get(int)} and
+ * {@link #clear()} are the same as for {@link LogEventRingBuffer}, including the
+ * optional eviction listener and byte budget. The eviction listener is
+ * notified before the evicted event is removed, thus {@link #getSequence(int)
+ * getSequence(0)} returns its sequence number. Events stored in columns are
+ * charged with their column and message bytes against the budget, events of
+ * the side table with the size estimated by the {@link LogEventSizeEstimator}.
+ * Symbols are reference counted and released together with the last event
+ * referring to them, their bytes are charged against the budget as well.
+ * </p>
+ *
+ * <p>
+ * Note: this class is not thread-safe. Make sure to synchronize access for
+ * reading/writing where necessary.
+ * </p>
+ */
+public class LogEventColumnStore {
+
+	/**
+	 * The minimum number of bytes by which the message arena grows.
+	 */
+	private static final int MIN_ARENA_GROWTH = 1 << 12;
+
+	/**
+	 * The number of bytes retained per entry by the primitive columns and the
+	 * (compressed) reference of the side table.
+	 */
+	private static final int ROW_BYTES = 8 + 1 + 4 + 4 + 4 + 8 + 1 + 4 + 4 + 8 + 4;
+
+	/**
+	 * The estimated number of bytes retained per symbol in addition to its
+	 * characters, i.e. the string, its map entry and its list reference.
+	 */
+	private static final int SYMBOL_OVERHEAD = 40 + 32 + 4;
+
+	/**
+	 * The symbol id representing {@code null}.
+	 */
+	private static final int NULL = -1;
+
+	/**
+	 * The eviction listener ignoring all events, which spares creating views of
+	 * evicted entries.
+	 */
+	private static final Consumer<LogEvent> IGNORE = event -> {};
+
+	/**
+	 * The epoch nanoseconds of the events' instants.
+	 */
+	private final long[] _timestamps;
+
+	/**
+	 * The indices of the events' levels in {@link #_levels}.
+	 */
+	private final byte[] _levelIds;
+
+	/**
+	 * The symbol ids of the events' logger names.
+	 */
+	private final int[] _loggers;
+
+	/**
+	 * The symbol ids of the events' logger FQCNs.
+	 */
+	private final int[] _fqcns;
+
+	/**
+	 * The symbol ids of the events' thread names.
+	 */
+	private final int[] _threads;
+
+	/**
+	 * The events' thread ids.
+	 */
+	private final long[] _threadIds;
+
+	/**
+	 * The events' thread priorities.
+	 */
+	private final byte[] _threadPriorities;
+
+	/**
+	 * The offsets of the events' formatted messages in {@link #_arena}.
+	 */
+	private final int[] _messageOffsets;
+
+	/**
+	 * The lengths of the events' formatted messages in {@link #_arena}.
+	 */
+	private final int[] _messageLengths;
+
+	/**
+	 * The bytes the events are charged with against {@link #_byteBudget}.
+	 */
+	private final long[] _sizes;
+
+	/**
+	 * The side table of events retained as they are or {@code null} for events
+	 * stored in columns only.
+	 */
+	private final LogEvent[] _events;
+
+	/**
+	 * The UTF-8 bytes of all retained messages in insertion order.
+	 */
+	private byte[] _arena = new byte[MIN_ARENA_GROWTH];
+
+	/**
+	 * The offset in {@link #_arena} to append the next message at.
+	 */
+	private int _arenaHead = 0;
+
+	/**
+	 * The number of bytes of retained messages in {@link #_arena}.
+	 */
+	private long _arenaSize = 0;
+
+	/**
+	 * The distinct {@link Level}s indexed by {@link #_levelIds}.
+	 */
+	private final List<Level> _levels = new ArrayList<>();
+
+	/**
+	 * The symbols indexed by their ids, released ids being {@code null}.
+	 */
+	private final List<String> _symbols = new ArrayList<>();
+
+	/**
+	 * The symbol ids mapped by their symbols.
+	 */
+	private final Map<String, Integer> _symbolIds = new HashMap<>();
+
+	/**
+	 * The number of retained entries referring to the symbols indexed by their
+	 * ids.
+	 */
+	private int[] _symbolRefs = new int[1 << 6];
+
+	/**
+	 * The released symbol ids to be reused.
+	 */
+	private int[] _freeSymbols = new int[1 << 6];
+
+	/**
+	 * The number of released symbol ids in {@link #_freeSymbols}.
+	 */
+	private int _freeSymbolCount = 0;
+
+	/**
+	 * The estimated number of bytes retained by all registered symbols.
+	 */
+	private long _symbolBytes = 0;
+
+	/**
+	 * @see #getByteBudget()
+	 */
+	private final long _byteBudget;
+
+	/**
+	 * The sum of {@link #_sizes} of all retained events.
+	 */
+	private long _budgetedBytes = 0;
+
+	/**
+	 * The {@link LogEventSizeEstimator} to estimate the size of events of the
+	 * side table with.
+	 */
+	private final LogEventSizeEstimator _estimator;
+
+	/**
+	 * The {@link Consumer} to notify about evicted {@link LogEvent}s.
+	 */
+	private final Consumer<LogEvent> _evictionListener;
+
+	/**
+	 * The first entry in the buffer (inclusive).
+	 */
+	private int _tail = 0;
+
+	/**
+	 * The last entry in the buffer (exclusive).
+	 */
+	private int _head = 0;
+
+	/**
+	 * @see #getSize()
+	 */
+	private int _size = 0;
+
+	/**
+	 * The sequence number of the next event to put.
+	 */
+	private long _sequence = 0;
+
+	/**
+	 * Create a {@link LogEventColumnStore}.
+	 *
+	 * @param capacity see {@link #getCapacity()}
+	 * @throws IllegalArgumentException if the given capacity is less than one
+	 */
+	public LogEventColumnStore(final int capacity) throws IllegalArgumentException {
+		this(capacity, IGNORE);
+	}
+
+	/**
+	 * Create a {@link LogEventColumnStore}.
+	 *
+	 * @param capacity         see {@link #getCapacity()}
+	 * @param evictionListener the {@link Consumer} to notify about each
+	 *                         {@link LogEvent} leaving the buffer
+	 * @throws IllegalArgumentException if the given capacity is less than one
+	 * @throws NullPointerException     if the given listener is {@code null}
+	 */
+	public LogEventColumnStore(final int capacity, final Consumer<LogEvent> evictionListener) throws IllegalArgumentException, NullPointerException {
+		this(capacity, Long.MAX_VALUE, LogEventSizeEstimator.getDefault(), evictionListener);
+	}
+
+	/**
+	 * Create a {@link LogEventColumnStore}.
+	 *
+	 * @param capacity         see {@link #getCapacity()}
+	 * @param byteBudget       see {@link #getByteBudget()}
+	 * @param estimator        the {@link LogEventSizeEstimator} to estimate the
+	 *                         size of events of the side table with
+	 * @param evictionListener the {@link Consumer} to notify about each
+	 *                         {@link LogEvent} leaving the buffer
+	 * @throws IllegalArgumentException if the given capacity or byte budget is
+	 *                                  less than one
+	 * @throws NullPointerException     if the given estimator or listener is
+	 *                                  {@code null}
+	 */
+	public LogEventColumnStore(final int capacity, final long byteBudget, final LogEventSizeEstimator estimator,
+			final Consumer<LogEvent> evictionListener) throws IllegalArgumentException, NullPointerException {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		if (byteBudget < 1) {
+			throw new IllegalArgumentException("Invalid byte budget: " + byteBudget);
+		}
+
+		_timestamps = new long[capacity];
+		_levelIds = new byte[capacity];
+		_loggers = new int[capacity];
+		_fqcns = new int[capacity];
+		_threads = new int[capacity];
+		_threadIds = new long[capacity];
+		_threadPriorities = new byte[capacity];
+		_messageOffsets = new int[capacity];
+		_messageLengths = new int[capacity];
+		_sizes = new long[capacity];
+		_events = new LogEvent[capacity];
+		_byteBudget = byteBudget;
+		_estimator = Objects.requireNonNull(estimator);
+		_evictionListener = Objects.requireNonNull(evictionListener);
+	}
+
+	/**
+	 * @return the receiver's capacity
+	 */
+	public int getCapacity() {
+		return _events.length;
+	}
+
+	/**
+	 * @return the number of {@link LogEvent}s retrievable via {@link #get(int)}
+	 */
+	public int getSize() {
+		return _size;
+	}
+
+	/**
+	 * @return the maximum number of bytes the retained events are charged with,
+	 *         which is {@link Long#MAX_VALUE} for stores bounded by their
+	 *         capacity only
+	 */
+	public long getByteBudget() {
+		return _byteBudget;
+	}
+
+	/**
+	 * Insert the given {@link LogEvent} at receiver's head.
+	 *
+	 * @param event the {@link LogEvent} to insert
+	 */
+	public void put(final LogEvent event) {
+		final int level = isColumnar(event) ? levelId(event.getLevel()) : NULL;
+		final byte[] message = level != NULL ? messageBytes(event) : null;
+		final long size = _byteBudget == Long.MAX_VALUE ? 0 : ROW_BYTES + (message != null ? message.length : _estimator.estimate(event));
+
+		// register the symbols first, thus evicting the tail does not release
+		// them and their bytes are charged
+		final int logger = level != NULL ? symbolId(event.getLoggerName()) : NULL;
+		final int fqcn = level != NULL ? symbolId(event.getLoggerFqcn()) : NULL;
+		final int thread = level != NULL ? symbolId(event.getThreadName()) : NULL;
+
+		// evict the tail prior to overwriting its columns
+		while (_size == _events.length || (_size > 0 && _budgetedBytes + getSymbolBytes() + size > _byteBudget)) {
+			removeFirst();
+		}
+
+		final int i = _head;
+		_sizes[i] = size;
+		_budgetedBytes += size;
+		if (level == NULL) {
+			// keep events with properties lacking a column as they are
+			_events[i] = event;
+			_messageLengths[i] = 0;
+		} else {
+			final Instant instant = event.getInstant();
+			_timestamps[i] = instant.getEpochMillisecond() * 1_000_000L + instant.getNanoOfMillisecond();
+			_levelIds[i] = (byte) level;
+			_loggers[i] = logger;
+			_fqcns[i] = fqcn;
+			_threads[i] = thread;
+			_threadIds[i] = event.getThreadId();
+			_threadPriorities[i] = (byte) event.getThreadPriority();
+			append(i, message);
+		}
+
+		if (++_head == _events.length) {
+			_head = 0;
+		}
+		_size++;
+		_sequence++;
+	}
+
+	/**
+	 * @param index the zero based index (zero is the buffer's tail) to retrieve the
+	 *              {@link LogEvent} at
+	 * @return the {@link LogEvent} at the given index in the buffer
+	 * @throws IndexOutOfBoundsException if the given index is less than zero or the
+	 *                                   receiver does not have that many entries
+	 */
+	public LogEvent get(final int index) throws IndexOutOfBoundsException {
+		final int i = slot(index);
+		final LogEvent event = _events[i];
+		if (event != null) {
+			return event;
+		}
+
+		final MutableInstant instant = new MutableInstant();
+		instant.initFromEpochMilli(Math.floorDiv(_timestamps[i], 1_000_000L), (int) Math.floorMod(_timestamps[i], 1_000_000L));
+		return new ColumnLogEvent(instant, _levels.get(_levelIds[i] & 0xFF), symbol(_loggers[i]), symbol(_fqcns[i]),
+				symbol(_threads[i]), _threadIds[i], _threadPriorities[i], getFormattedMessage(index));
+	}
+
+	/**
+	 * @param index the zero based index (zero is the buffer's tail)
+	 * @return the epoch milliseconds of the {@link LogEvent} at the given index
+	 *         read from its column
+	 * @throws IndexOutOfBoundsException if the given index is invalid
+	 */
+	public long getTimeMillis(final int index) throws IndexOutOfBoundsException {
+		final int i = slot(index);
+		final LogEvent event = _events[i];
+		return event != null ? event.getTimeMillis() : Math.floorDiv(_timestamps[i], 1_000_000L);
+	}
+
+	/**
+	 * @param index the zero based index (zero is the buffer's tail)
+	 * @return the {@link Level} of the {@link LogEvent} at the given index read
+	 *         from its column
+	 * @throws IndexOutOfBoundsException if the given index is invalid
+	 */
+	public Level getLevel(final int index) throws IndexOutOfBoundsException {
+		final int i = slot(index);
+		final LogEvent event = _events[i];
+		return event != null ? event.getLevel() : _levels.get(_levelIds[i] & 0xFF);
+	}
+
+	/**
+	 * @param index the zero based index (zero is the buffer's tail)
+	 * @return the logger name of the {@link LogEvent} at the given index read
+	 *         from its column
+	 * @throws IndexOutOfBoundsException if the given index is invalid
+	 */
+	public String getLoggerName(final int index) throws IndexOutOfBoundsException {
+		final int i = slot(index);
+		final LogEvent event = _events[i];
+		return event != null ? event.getLoggerName() : symbol(_loggers[i]);
+	}
+
+	/**
+	 * @param index the zero based index (zero is the buffer's tail)
+	 * @return the thread name of the {@link LogEvent} at the given index read
+	 *         from its column
+	 * @throws IndexOutOfBoundsException if the given index is invalid
+	 */
+	public String getThreadName(final int index) throws IndexOutOfBoundsException {
+		final int i = slot(index);
+		final LogEvent event = _events[i];
+		return event != null ? event.getThreadName() : symbol(_threads[i]);
+	}
+
+	/**
+	 * @param index the zero based index (zero is the buffer's tail)
+	 * @return the formatted message of the {@link LogEvent} at the given index
+	 *         decoded from the message column
+	 * @throws IndexOutOfBoundsException if the given index is invalid
+	 */
+	public String getFormattedMessage(final int index) throws IndexOutOfBoundsException {
+		final int i = slot(index);
+		final LogEvent event = _events[i];
+		if (event != null) {
+			return event.getMessage() != null ? event.getMessage().getFormattedMessage() : "";
+		}
+		return new String(_arena, _messageOffsets[i], _messageLengths[i], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param index the zero based index (zero is the buffer's tail)
+	 * @return {@code true} if the {@link LogEvent} at the given index carries a
+	 *         throwable, which does not require lazy throwables to be decoded
+	 * @throws IndexOutOfBoundsException if the given index is invalid
+	 */
+	public boolean hasThrown(final int index) throws IndexOutOfBoundsException {
+		final LogEvent event = _events[slot(index)];
+		if (event == null) {
+			return false;
+		}
+		return event instanceof LazyLogEvent lazy ? lazy.hasThrown() : event.getThrownProxy() != null;
+	}
+
+	/**
+	 * @param index the zero based index (zero is the buffer's tail)
+	 * @return the unique sequence number of the {@link LogEvent} at the given
+	 *         index, i.e. the number of events put before it since the receiver
+	 *         was created
+	 * @throws IndexOutOfBoundsException if the given index is invalid
+	 */
+	public long getSequence(final int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= _size) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return _sequence - _size + index;
+	}
+
+	/**
+	 * @param sequence the sequence number of a {@link LogEvent}
+	 * @return the index of the {@link LogEvent} with the given sequence number
+	 *         or {@code -1} if it is not retained (anymore)
+	 * @see #getSequence(int)
+	 */
+	public int indexOf(final long sequence) {
+		final long index = sequence - (_sequence - _size);
+		return index >= 0 && index < _size ? (int) index : -1;
+	}
+
+	/**
+	 * @return the sequence number the next {@link LogEvent} put will get
+	 * @see #getSequence(int)
+	 */
+	public long getNextSequence() {
+		return _sequence;
+	}
+
+	/**
+	 * @return the estimated number of bytes retained by the receiver's columns,
+	 *         message arena and symbols, excluding the events of the side table
+	 */
+	public long getRetainedBytes() {
+		return (long) _events.length * ROW_BYTES + _arena.length + _symbolBytes;
+	}
+
+	/**
+	 * Clears the receiver and {@code null}s its contents.
+	 */
+	public void clear() {
+		while (_size > 0) {
+			removeFirst();
+		}
+
+		_head = _tail = 0;
+		_budgetedBytes = 0;
+		_arena = new byte[MIN_ARENA_GROWTH];
+		_arenaHead = 0;
+		_arenaSize = 0;
+		_symbols.clear();
+		_symbolIds.clear();
+		_symbolRefs = new int[1 << 6];
+		_freeSymbolCount = 0;
+		_symbolBytes = 0;
+	}
+
+	/**
+	 * Notify the eviction listener about the entry at the receiver's tail and
+	 * remove it.
+	 */
+	private void removeFirst() {
+		// notify prior to removing the entry, thus the listener may query its
+		// sequence number via getSequence(0)
+		if (_evictionListener != IGNORE) {
+			_evictionListener.accept(get(0));
+		}
+
+		if (_events[_tail] == null) {
+			release(_loggers[_tail]);
+			release(_fqcns[_tail]);
+			release(_threads[_tail]);
+		}
+		_arenaSize -= _messageLengths[_tail];
+		_budgetedBytes -= _sizes[_tail];
+		_events[_tail] = null;
+		if (++_tail == _events.length) {
+			_tail = 0;
+		}
+		_size--;
+	}
+
+	/**
+	 * @param event the {@link LogEvent} to encode the message of
+	 * @return the UTF-8 bytes of the given event's formatted message
+	 */
+	private static byte[] messageBytes(final LogEvent event) {
+		final Message message = event.getMessage();
+		final String text = message != null ? message.getFormattedMessage() : null;
+		return text != null ? text.getBytes(StandardCharsets.UTF_8) : new byte[0];
+	}
+
+	/**
+	 * @param index the zero based index (zero is the buffer's tail)
+	 * @return the index of the given entry in the receiver's columns
+	 * @throws IndexOutOfBoundsException if the given index is invalid
+	 */
+	private int slot(final int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= _size) {
+			throw new IndexOutOfBoundsException(index);
+		}
+
+		int i = _tail + index;
+		if (i >= _events.length) {
+			i -= _events.length;
+		}
+		return i;
+	}
+
+	/**
+	 * Append the given message bytes to the arena, compacting it first if
+	 * there is not enough space left.
+	 *
+	 * @param slot  the index of the entry in the receiver's columns
+	 * @param bytes the UTF-8 bytes of the entry's message
+	 */
+	private void append(final int slot, final byte[] bytes) {
+		if (_arenaHead + bytes.length > _arena.length) {
+			// copy retained messages in insertion order to a new arena leaving
+			// space for at least half as many bytes again, which amortizes the
+			// copying over subsequent appends
+			final long size = _arenaSize + bytes.length + Math.max(MIN_ARENA_GROWTH, _arenaSize / 2);
+			if (size > Integer.MAX_VALUE - 8) {
+				throw new IllegalStateException("Cannot retain more than 2GB of messages.");
+			}
+
+			final byte[] arena = new byte[(int) size];
+			int offset = 0;
+			for (int index = 0; index < _size; index++) {
+				final int i = slot(index);
+				System.arraycopy(_arena, _messageOffsets[i], arena, offset, _messageLengths[i]);
+				_messageOffsets[i] = offset;
+				offset += _messageLengths[i];
+			}
+			_arena = arena;
+			_arenaHead = offset;
+		}
+
+		System.arraycopy(bytes, 0, _arena, _arenaHead, bytes.length);
+		_messageOffsets[slot] = _arenaHead;
+		_messageLengths[slot] = bytes.length;
+		_arenaHead += bytes.length;
+		_arenaSize += bytes.length;
+	}
+
+	/**
+	 * @param level the {@link Level} to index
+	 * @return the index of the given level in {@link #_levels} or {@link #NULL}
+	 *         if it cannot be indexed by a single byte
+	 */
+	private int levelId(final Level level) {
+		if (level == null) {
+			return NULL;
+		}
+
+		int id = _levels.indexOf(level);
+		if (id < 0 && _levels.size() <= 0xFF) {
+			id = _levels.size();
+			_levels.add(level);
+		}
+		return id;
+	}
+
+	/**
+	 * @return the number of bytes the registered symbols are charged with
+	 *         against the byte budget
+	 */
+	private long getSymbolBytes() {
+		return _byteBudget == Long.MAX_VALUE ? 0 : _symbolBytes;
+	}
+
+	/**
+	 * Reference the given symbol by another entry.
+	 *
+	 * @param symbol the {@link String} to return the symbol id for
+	 * @return the id of the given symbol, which is registered if necessary
+	 */
+	private int symbolId(final String symbol) {
+		if (symbol == null) {
+			return NULL;
+		}
+
+		final Integer existing = _symbolIds.get(symbol);
+		if (existing != null) {
+			_symbolRefs[existing]++;
+			return existing;
+		}
+
+		// reuse the id of a released symbol if possible
+		final int id;
+		if (_freeSymbolCount > 0) {
+			id = _freeSymbols[--_freeSymbolCount];
+			_symbols.set(id, symbol);
+		} else {
+			id = _symbols.size();
+			_symbols.add(symbol);
+			if (id == _symbolRefs.length) {
+				_symbolRefs = Arrays.copyOf(_symbolRefs, 2 * id);
+			}
+		}
+		_symbolIds.put(symbol, id);
+		_symbolRefs[id] = 1;
+		_symbolBytes += SYMBOL_OVERHEAD + symbol.length();
+		return id;
+	}
+
+	/**
+	 * Dereference the symbol with the given id by an entry, releasing it if no
+	 * other entry refers to it.
+	 *
+	 * @param id the symbol id
+	 */
+	private void release(final int id) {
+		if (id == NULL || --_symbolRefs[id] > 0) {
+			return;
+		}
+
+		final String symbol = _symbols.set(id, null);
+		_symbolIds.remove(symbol);
+		_symbolBytes -= SYMBOL_OVERHEAD + symbol.length();
+		if (_freeSymbolCount == _freeSymbols.length) {
+			_freeSymbols = Arrays.copyOf(_freeSymbols, 2 * _freeSymbolCount);
+		}
+		_freeSymbols[_freeSymbolCount++] = id;
+	}
+
+	/**
+	 * @param id the symbol id
+	 * @return the symbol with the given id
+	 */
+	private String symbol(final int id) {
+		return id == NULL ? null : _symbols.get(id);
+	}
+
+	/**
+	 * @param event the {@link LogEvent} to check
+	 * @return {@code true} if all properties of the given event are stored in
+	 *         columns
+	 */
+	private static boolean isColumnar(final LogEvent event) {
+		if (event.getMarker() != null) {
+			return false;
+		} else if (event instanceof LazyLogEvent lazy) {
+			// check without decoding lazy properties
+			return !lazy.hasThrown() && !lazy.hasContextData() && !lazy.hasSource();
+		}
+		return event.getThrownProxy() == null && event.getContextData().isEmpty() && event.getSource() == null
+				&& (event.getContextStack() == null || event.getContextStack().getDepth() == 0);
+	}
+
+	/**
+	 * A {@link LogEvent} view of the columns of a single entry.
+	 */
+	private static class ColumnLogEvent extends AbstractLogEvent {
+
+		/**
+		 * @see java.io.Serializable
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * @see #getInstant()
+		 */
+		private final MutableInstant _instant;
+
+		/**
+		 * @see #getLevel()
+		 */
+		private final Level _level;
+
+		/**
+		 * @see #getLoggerName()
+		 */
+		private final String _loggerName;
+
+		/**
+		 * @see #getLoggerFqcn()
+		 */
+		private final String _loggerFqcn;
+
+		/**
+		 * @see #getThreadName()
+		 */
+		private final String _threadName;
+
+		/**
+		 * @see #getThreadId()
+		 */
+		private final long _threadId;
+
+		/**
+		 * @see #getThreadPriority()
+		 */
+		private final int _threadPriority;
+
+		/**
+		 * @see #getMessage()
+		 */
+		private final Message _message;
+
+		/**
+		 * Create a {@link ColumnLogEvent}.
+		 *
+		 * @param instant        see {@link #getInstant()}
+		 * @param level          see {@link #getLevel()}
+		 * @param loggerName     see {@link #getLoggerName()}
+		 * @param loggerFqcn     see {@link #getLoggerFqcn()}
+		 * @param threadName     see {@link #getThreadName()}
+		 * @param threadId       see {@link #getThreadId()}
+		 * @param threadPriority see {@link #getThreadPriority()}
+		 * @param message        the formatted message
+		 */
+		private ColumnLogEvent(final MutableInstant instant, final Level level, final String loggerName, final String loggerFqcn,
+				final String threadName, final long threadId, final int threadPriority, final String message) {
+			_instant = instant;
+			_level = level;
+			_loggerName = loggerName;
+			_loggerFqcn = loggerFqcn;
+			_threadName = threadName;
+			_threadId = threadId;
+			_threadPriority = threadPriority;
+			_message = new SimpleMessage(message);
+		}
+
+		@Override
+		public Instant getInstant() {
+			return _instant;
+		}
+
+		@Override
+		public long getTimeMillis() {
+			return _instant.getEpochMillisecond();
+		}
+
+		@Override
+		public Level getLevel() {
+			return _level;
+		}
+
+		@Override
+		public String getLoggerName() {
+			return _loggerName;
+		}
+
+		@Override
+		public String getLoggerFqcn() {
+			return _loggerFqcn;
+		}
+
+		@Override
+		public String getThreadName() {
+			return _threadName;
+		}
+
+		@Override
+		public long getThreadId() {
+			return _threadId;
+		}
+
+		@Override
+		public int getThreadPriority() {
+			return _threadPriority;
+		}
+
+		@Override
+		public Message getMessage() {
+			return _message;
+		}
+
+		@Override
+		public ReadOnlyStringMap getContextData() {
+			// events with context data are retained in the side table
+			return ContextDataFactory.emptyFrozenContextData();
+		}
+
+		@Override
+		public ContextStack getContextStack() {
+			// events with a context stack are retained in the side table
+			return ThreadContext.EMPTY_STACK;
+		}
+
+		/**
+		 * Replace the receiver with a regular event upon serialization.
+		 *
+		 * @return the {@link Object} to be serialized instead of the receiver
+		 */
+		protected Object writeReplace() {
+			return Log4jLogEvent.serialize(this, false);
+		}
+	}
+}
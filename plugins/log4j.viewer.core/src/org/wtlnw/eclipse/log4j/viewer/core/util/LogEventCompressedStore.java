@@ -0,0 +1,496 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventCodec;
+
+/**
+ * Instances of this class keep {@link LogEvent}s evicted from an in-memory
+ * buffer in compressed blocks, which allows retaining a history many times
+ * larger than the buffer within the same amount of heap.
+ *
+ * <p>
+ * Events are encoded by a {@link LogEventCodec} and appended to the current
+ * block. Once a block reaches the configured block size, it is compressed by a
+ * {@link Deflater} and only the compressed bytes and the offsets of its
+ * records are retained. Reading an event of a compressed block inflates the
+ * whole block, thus a small LRU cache of inflated blocks makes scrolling
+ * through or scanning consecutive events cheap. Events are addressed by
+ * sequence numbers which are expected to be contiguous, e.g. those of
+ * {@link LogEventColumnStore#getSequence(int)}.
+ * </p>
+ *
+ * <p>
+ * Once the compressed blocks exceed the configured maximum number of bytes,
+ * the events of the oldest block are passed to the eviction listener, e.g. a
+ * {@link LogEventSpillStore}, and the block is discarded. The listener is
+ * notified before each event is removed, thus {@link #getFirstSequence()}
+ * returns the evicted event's sequence number.
+ * </p>
+ *
+ * <p>
+ * Note: this class is not thread-safe. Make sure to synchronize access for
+ * reading/writing where necessary. Concurrent readers do not need to be
+ * synchronized with each other, since the cache is synchronized internally.
+ * </p>
+ */
+public class LogEventCompressedStore {
+
+	/**
+	 * The default number of uncompressed bytes of a single block.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+	/**
+	 * The default number of inflated blocks to cache.
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 1 << 3;
+
+	/**
+	 * The eviction listener ignoring all events, which spares decoding evicted
+	 * blocks.
+	 */
+	private static final Consumer<LogEvent> IGNORE = event -> {};
+
+	/**
+	 * @see #getMaxBytes()
+	 */
+	private final long _maxBytes;
+
+	/**
+	 * The number of uncompressed bytes at which a block is compressed.
+	 */
+	private final int _blockSize;
+
+	/**
+	 * The {@link LogEventCodec} to encode and decode events with.
+	 */
+	private final LogEventCodec _codec;
+
+	/**
+	 * The {@link Consumer} to notify about each {@link LogEvent} leaving the
+	 * receiver.
+	 */
+	private final Consumer<LogEvent> _evictionListener;
+
+	/**
+	 * The compressed blocks, oldest first.
+	 */
+	private final List<Block> _blocks = new ArrayList<>();
+
+	/**
+	 * The most recently used inflated blocks.
+	 */
+	private final Map<Block, byte[]> _cache;
+
+	/**
+	 * The uncompressed records of the current block.
+	 */
+	private byte[] _pending = new byte[1 << 10];
+
+	/**
+	 * The offsets of the records in {@link #_pending} followed by the offset of
+	 * the next record.
+	 */
+	private int[] _pendingOffsets = new int[1 << 6];
+
+	/**
+	 * The number of records in {@link #_pending}.
+	 */
+	private int _pendingCount = 0;
+
+	/**
+	 * The number of bytes retained by the compressed blocks.
+	 */
+	private long _compressedBytes = 0;
+
+	/**
+	 * @see #getFirstSequence()
+	 */
+	private long _firstSequence = 0;
+
+	/**
+	 * @see #getNextSequence()
+	 */
+	private long _nextSequence = 0;
+
+	/**
+	 * Create a {@link LogEventCompressedStore} discarding evicted events.
+	 *
+	 * @param maxBytes see {@link #getMaxBytes()}
+	 * @throws IllegalArgumentException if the given maximum is less than
+	 *                                  {@link #DEFAULT_BLOCK_SIZE}
+	 */
+	public LogEventCompressedStore(final long maxBytes) throws IllegalArgumentException {
+		this(maxBytes, DEFAULT_BLOCK_SIZE, DEFAULT_CACHE_SIZE, IGNORE);
+	}
+
+	/**
+	 * Create a {@link LogEventCompressedStore}.
+	 *
+	 * @param maxBytes         see {@link #getMaxBytes()}
+	 * @param blockSize        the number of uncompressed bytes of a single
+	 *                         block
+	 * @param cacheSize        the number of inflated blocks to cache
+	 * @param evictionListener the {@link Consumer} to notify about each
+	 *                         {@link LogEvent} leaving the receiver
+	 * @throws IllegalArgumentException if the given block size is less than
+	 *                                  {@code 1 << 10}, the given maximum is
+	 *                                  less than the block size or the given
+	 *                                  cache size is less than one
+	 * @throws NullPointerException     if the given listener is {@code null}
+	 */
+	public LogEventCompressedStore(final long maxBytes, final int blockSize, final int cacheSize,
+			final Consumer<LogEvent> evictionListener) throws IllegalArgumentException, NullPointerException {
+		if (blockSize < 1 << 10) {
+			throw new IllegalArgumentException("Invalid block size: " + blockSize);
+		}
+		if (maxBytes < blockSize) {
+			throw new IllegalArgumentException("Invalid maximum number of bytes: " + maxBytes);
+		}
+		if (cacheSize < 1) {
+			throw new IllegalArgumentException("Invalid cache size: " + cacheSize);
+		}
+
+		_maxBytes = maxBytes;
+		_blockSize = blockSize;
+		_codec = LogEventCodec.getDefault();
+		_evictionListener = Objects.requireNonNull(evictionListener);
+		_cache = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Block, byte[]> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * @return the maximum number of bytes of all compressed blocks and the
+	 *         current block, the oldest block is evicted once it is exceeded
+	 */
+	public long getMaxBytes() {
+		return _maxBytes;
+	}
+
+	/**
+	 * @return the sequence number of the oldest retained event
+	 */
+	public long getFirstSequence() {
+		return _firstSequence;
+	}
+
+	/**
+	 * @return the sequence number of the next event to append
+	 */
+	public long getNextSequence() {
+		return _nextSequence;
+	}
+
+	/**
+	 * @return the number of retained events
+	 */
+	public long getSize() {
+		return _nextSequence - _firstSequence;
+	}
+
+	/**
+	 * @return the number of bytes retained by the compressed blocks and the
+	 *         current block, not including the cache of inflated blocks
+	 */
+	public long getRetainedBytes() {
+		return _compressedBytes + _pending.length + 4L * _pendingOffsets.length;
+	}
+
+	/**
+	 * Append the given {@link LogEvent}, evicting the oldest blocks as
+	 * necessary in order not to exceed {@link #getMaxBytes()}.
+	 *
+	 * @param sequence the sequence number of the given event, which must be
+	 *                 {@link #getNextSequence()} unless the receiver is empty
+	 * @param event    the {@link LogEvent} to append
+	 * @throws IllegalArgumentException if the given sequence number does not
+	 *                                  follow the previous one
+	 */
+	public void append(final long sequence, final LogEvent event) throws IllegalArgumentException {
+		if (getSize() == 0) {
+			_firstSequence = _nextSequence = sequence;
+		} else if (sequence != _nextSequence) {
+			throw new IllegalArgumentException("Invalid sequence: " + sequence);
+		}
+
+		final byte[] record = encode(event);
+		if (_pendingCount > 0 && _pendingOffsets[_pendingCount] + record.length > _blockSize) {
+			compress();
+		}
+
+		final int offset = _pendingOffsets[_pendingCount];
+		if (offset + record.length > _pending.length) {
+			_pending = Arrays.copyOf(_pending, Math.max(2 * _pending.length, offset + record.length));
+		}
+		if (_pendingCount + 2 > _pendingOffsets.length) {
+			_pendingOffsets = Arrays.copyOf(_pendingOffsets, 2 * _pendingOffsets.length);
+		}
+		System.arraycopy(record, 0, _pending, offset, record.length);
+		_pendingOffsets[++_pendingCount] = offset + record.length;
+		_nextSequence++;
+
+		while (!_blocks.isEmpty() && getRetainedBytes() > _maxBytes) {
+			removeFirst();
+		}
+	}
+
+	/**
+	 * @param sequence the sequence number of the {@link LogEvent} to read
+	 * @return the decoded {@link LogEvent} with the given sequence number or
+	 *         {@code null} if it is not retained (anymore)
+	 * @throws UncheckedIOException if the event's record is corrupted
+	 */
+	public LogEvent get(final long sequence) throws UncheckedIOException {
+		if (sequence < _firstSequence || sequence >= _nextSequence) {
+			return null;
+		}
+
+		final long pendingFirst = _nextSequence - _pendingCount;
+		if (sequence >= pendingFirst) {
+			final int index = (int) (sequence - pendingFirst);
+			return decode(_pending, _pendingOffsets[index], _pendingOffsets[index + 1]);
+		}
+
+		final Block block = _blocks.get(indexOf(sequence));
+		final int index = (int) (sequence - block._firstSequence);
+		return decode(inflate(block), block._offsets[index], block._offsets[index + 1]);
+	}
+
+	/**
+	 * Remove all events without notifying the eviction listener. Subsequent
+	 * events may start at any sequence number.
+	 */
+	public void clear() {
+		_blocks.clear();
+		synchronized (_cache) {
+			_cache.clear();
+		}
+		_pending = new byte[1 << 10];
+		_pendingOffsets = new int[1 << 6];
+		_pendingCount = 0;
+		_compressedBytes = 0;
+		_firstSequence = _nextSequence;
+	}
+
+	/**
+	 * @param event the {@link LogEvent} to encode
+	 * @return the binary record of the given event
+	 */
+	private byte[] encode(final LogEvent event) {
+		try {
+			return _codec.encode(event);
+		} catch (final IOException ex) {
+			// the throwable could not be serialized, keep the event without it
+			// rather than leaving a gap
+			try {
+				return _codec.encode(new Log4jLogEvent.Builder(event).setThrown(null).setThrownProxy(null).build());
+			} catch (final IOException nested) {
+				throw new UncheckedIOException(nested);
+			}
+		}
+	}
+
+	/**
+	 * @param records the records to read from
+	 * @param start   the offset of the record to decode (inclusive)
+	 * @param end     the offset of the record to decode (exclusive)
+	 * @return the decoded {@link LogEvent}
+	 * @throws UncheckedIOException if the record is corrupted
+	 */
+	private LogEvent decode(final byte[] records, final int start, final int end) throws UncheckedIOException {
+		try {
+			return _codec.decode(Arrays.copyOfRange(records, start, end));
+		} catch (final IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Compress the current block.
+	 */
+	private void compress() {
+		final int length = _pendingOffsets[_pendingCount];
+		final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(_pending, 0, length);
+			deflater.finish();
+
+			final ByteArrayOutputStream out = new ByteArrayOutputStream(length / 4);
+			final byte[] buffer = new byte[1 << 12];
+			while (!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+
+			final Block block = new Block(_nextSequence - _pendingCount, out.toByteArray(), Arrays.copyOf(_pendingOffsets, _pendingCount + 1));
+			_blocks.add(block);
+			_compressedBytes += block.getRetainedBytes();
+		} finally {
+			deflater.end();
+		}
+		_pendingCount = 0;
+
+		// do not retain the buffer grown by an exceptionally large record
+		if (_pending.length > 2 * _blockSize) {
+			_pending = new byte[_blockSize];
+		}
+	}
+
+	/**
+	 * Evict the oldest block, notifying the eviction listener about each of its
+	 * events.
+	 */
+	private void removeFirst() {
+		final Block block = _blocks.getFirst();
+		if (_evictionListener != IGNORE) {
+			// the block is about to be discarded, thus do not cache it
+			final byte[] cached;
+			synchronized (_cache) {
+				cached = _cache.get(block);
+			}
+			final byte[] records = cached != null ? cached : decompress(block);
+			for (int i = 0; i < block._offsets.length - 1; i++) {
+				_evictionListener.accept(decode(records, block._offsets[i], block._offsets[i + 1]));
+				_firstSequence++;
+			}
+		}
+
+		_blocks.removeFirst();
+		synchronized (_cache) {
+			_cache.remove(block);
+		}
+		_compressedBytes -= block.getRetainedBytes();
+		_firstSequence = _blocks.isEmpty() ? _nextSequence - _pendingCount : _blocks.getFirst()._firstSequence;
+	}
+
+	/**
+	 * @param sequence the sequence number of a compressed event
+	 * @return the index of the block containing the given event
+	 */
+	private int indexOf(final long sequence) {
+		int low = 0;
+		int high = _blocks.size() - 1;
+		while (low < high) {
+			final int mid = (low + high + 1) >>> 1;
+			if (_blocks.get(mid)._firstSequence <= sequence) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @param block the {@link Block} to inflate
+	 * @return the uncompressed records of the given block, which are cached
+	 * @throws UncheckedIOException if the block is corrupted
+	 */
+	private byte[] inflate(final Block block) throws UncheckedIOException {
+		synchronized (_cache) {
+			return _cache.computeIfAbsent(block, LogEventCompressedStore::decompress);
+		}
+	}
+
+	/**
+	 * @param block the {@link Block} to decompress
+	 * @return the uncompressed records of the given block
+	 * @throws UncheckedIOException if the block is corrupted
+	 */
+	private static byte[] decompress(final Block block) throws UncheckedIOException {
+		final byte[] records = new byte[block._offsets[block._offsets.length - 1]];
+		final Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(block._data);
+			int length = 0;
+			while (length < records.length) {
+				final int inflated = inflater.inflate(records, length, records.length - length);
+				if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+					throw new DataFormatException("Truncated block.");
+				}
+				length += inflated;
+			}
+		} catch (final DataFormatException ex) {
+			throw new UncheckedIOException(new IOException("Corrupted block.", ex));
+		} finally {
+			inflater.end();
+		}
+		return records;
+	}
+
+	/**
+	 * A compressed block of records together with their offsets.
+	 */
+	private static final class Block {
+
+		/**
+		 * The sequence number of the block's first record.
+		 */
+		private final long _firstSequence;
+
+		/**
+		 * The compressed records.
+		 */
+		private final byte[] _data;
+
+		/**
+		 * The offsets of the uncompressed records followed by their total
+		 * length.
+		 */
+		private final int[] _offsets;
+
+		/**
+		 * Create a {@link Block}.
+		 *
+		 * @param firstSequence see {@link #_firstSequence}
+		 * @param data          see {@link #_data}
+		 * @param offsets       see {@link #_offsets}
+		 */
+		Block(final long firstSequence, final byte[] data, final int[] offsets) {
+			_firstSequence = firstSequence;
+			_data = data;
+			_offsets = offsets;
+		}
+
+		/**
+		 * @return the number of bytes retained by the receiver
+		 */
+		long getRetainedBytes() {
+			return LogEventSizeEstimator.ARRAY_OVERHEAD + _data.length + LogEventSizeEstimator.ARRAY_OVERHEAD + 4L * _offsets.length;
+		}
+	}
+}
@@ -14,6 +14,9 @@
 
 package org.wtlnw.eclipse.log4j.viewer.core.util;
 
+import java.util.Objects;
+import java.util.function.Consumer;
+
 import org.apache.logging.log4j.core.LogEvent;
 
 /**
@@ -38,6 +41,20 @@ import org.apache.logging.log4j.core.LogEvent;
  * </p>
  * 
  * <p>
+ * An optional eviction listener is notified about each {@link LogEvent} leaving
+ * the buffer, i.e. when it is overwritten by {@link #put(LogEvent)} or removed
+ * by {@link #clear()}, which allows releasing resources shared by events.
+ * </p>
+ * 
+ * <p>
+ * Besides its capacity, the buffer may be bounded by a byte budget: the size of
+ * each {@link LogEvent} is estimated by a {@link LogEventSizeEstimator} when it
+ * is put, and events are evicted from the tail until the estimated retained
+ * bytes of all events fit into the budget. A single event exceeding the budget
+ * is retained on its own.
+ * </p>
+ * 
+ * <p>
  * Note: this class is not thread-safe. Make sure to synchronize access for reading/writing
  * where necessary. 
  * </p>
@@ -49,6 +66,11 @@ public class LogEventRingBuffer {
 	 */
 	private final LogEvent[] _events;
 
+	/**
+	 * The estimated sizes of the buffer's {@link LogEvent}s.
+	 */
+	private final long[] _sizes;
+
 	/**
 	 * The first entry in the buffer (inclusive).
 	 */
@@ -64,6 +86,26 @@ public class LogEventRingBuffer {
 	 */
 	private int _size = 0;
 
+	/**
+	 * @see #getRetainedBytes()
+	 */
+	private long _retainedBytes = 0;
+
+	/**
+	 * @see #getByteBudget()
+	 */
+	private final long _byteBudget;
+
+	/**
+	 * The {@link LogEventSizeEstimator} to estimate the size of put events with.
+	 */
+	private final LogEventSizeEstimator _estimator;
+
+	/**
+	 * The {@link Consumer} to notify about evicted {@link LogEvent}s.
+	 */
+	private final Consumer<LogEvent> _evictionListener;
+
 	/**
 	 * Create a {@link LogEventRingBuffer}.
 	 * 
@@ -71,10 +113,49 @@ public class LogEventRingBuffer {
 	 * @throws IllegalArgumentException if the given capacity is less than one
 	 */
 	public LogEventRingBuffer(final int capacity) throws IllegalArgumentException {
+		this(capacity, event -> {});
+	}
+
+	/**
+	 * Create a {@link LogEventRingBuffer}.
+	 * 
+	 * @param capacity         see {@link #getCapacity()}
+	 * @param evictionListener the {@link Consumer} to notify about each
+	 *                         {@link LogEvent} leaving the buffer
+	 * @throws IllegalArgumentException if the given capacity is less than one
+	 * @throws NullPointerException     if the given listener is {@code null}
+	 */
+	public LogEventRingBuffer(final int capacity, final Consumer<LogEvent> evictionListener) throws IllegalArgumentException, NullPointerException {
+		this(capacity, Long.MAX_VALUE, LogEventSizeEstimator.getDefault(), evictionListener);
+	}
+
+	/**
+	 * Create a {@link LogEventRingBuffer}.
+	 * 
+	 * @param capacity         see {@link #getCapacity()}
+	 * @param byteBudget       see {@link #getByteBudget()}
+	 * @param estimator        the {@link LogEventSizeEstimator} to estimate the
+	 *                         size of put events with
+	 * @param evictionListener the {@link Consumer} to notify about each
+	 *                         {@link LogEvent} leaving the buffer
+	 * @throws IllegalArgumentException if the given capacity or byte budget is
+	 *                                  less than one
+	 * @throws NullPointerException     if the given estimator or listener is
+	 *                                  {@code null}
+	 */
+	public LogEventRingBuffer(final int capacity, final long byteBudget, final LogEventSizeEstimator estimator,
+			final Consumer<LogEvent> evictionListener) throws IllegalArgumentException, NullPointerException {
 		if (capacity < 1) {
 			throw new IllegalArgumentException();
 		}
+		if (byteBudget < 1) {
+			throw new IllegalArgumentException("Invalid byte budget: " + byteBudget);
+		}
 		_events = new LogEvent[capacity];
+		_sizes = new long[capacity];
+		_byteBudget = byteBudget;
+		_estimator = Objects.requireNonNull(estimator);
+		_evictionListener = Objects.requireNonNull(evictionListener);
 	}
 
 	/**
@@ -91,28 +172,45 @@ public class LogEventRingBuffer {
 		return _size;
 	}
 
+	/**
+	 * @return the maximum number of estimated bytes to retain, which is
+	 *         {@link Long#MAX_VALUE} for buffers bounded by their capacity only
+	 */
+	public long getByteBudget() {
+		return _byteBudget;
+	}
+
+	/**
+	 * @return the estimated number of bytes retained by the receiver's
+	 *         {@link LogEvent}s, which is zero if the receiver is not bounded by
+	 *         a byte budget since sizes are estimated for budgeting only
+	 */
+	public long getRetainedBytes() {
+		return _retainedBytes;
+	}
+
 	/**
 	 * Insert the given {@link LogEvent} at receiver's head.
 	 * 
 	 * @param event the {@link LogEvent} to insert
 	 */
 	public void put(final LogEvent event) {
+		final long size = _byteBudget == Long.MAX_VALUE ? 0 : _estimator.estimate(event);
+
+		// evict the tail until there is room for the event
+		while (_size == _events.length || (_size > 0 && _retainedBytes + size > _byteBudget)) {
+			_evictionListener.accept(removeFirst());
+		}
+
 		_events[_head] = event;
+		_sizes[_head] = size;
+		_retainedBytes += size;
 
 		// advance head cursor and wrap around if necessary
 		if (++_head == _events.length) {
 			_head = 0;
 		}
-
-		// buffer is not full yet, so we can simply increment the size
-		if (_size < _events.length) {
-			_size++;
-		}
-		// buffer is full, so the size does not change;
-		// instead, advance tail cursor and wrap around if necessary
-		else if (++_tail == _events.length) {
-			_tail = 0;
-		}
+		_size++;
 	}
 
 	/**
@@ -139,10 +237,29 @@ public class LogEventRingBuffer {
 	 * Clears the receiver and {@code null}s its contents.
 	 */
 	public void clear() {
-		for (int i = 0; i < _size; i++) {
-			_events[i] = null;
+		while (_size > 0) {
+			_evictionListener.accept(removeFirst());
+		}
+
+		_head = _tail = 0;
+	}
+
+	/**
+	 * Remove the {@link LogEvent} at the receiver's tail.
+	 *
+	 * @return the removed {@link LogEvent}
+	 */
+	private LogEvent removeFirst() {
+		final LogEvent evicted = _events[_tail];
+		_events[_tail] = null;
+		_retainedBytes -= _sizes[_tail];
+
+		// advance tail cursor and wrap around if necessary
+		if (++_tail == _events.length) {
+			_tail = 0;
 		}
+		_size--;
 
-		_head = _tail = _size = 0;
+		return evicted;
 	}
 }
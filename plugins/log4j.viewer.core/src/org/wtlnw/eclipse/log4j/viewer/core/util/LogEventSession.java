@@ -0,0 +1,580 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventCodec;
+
+/**
+ * Instances of this class persist captured {@link LogEvent}s in session files,
+ * which allows restoring them after a restart.
+ *
+ * <p>
+ * Events are encoded by a {@link LogEventCodec} and appended to the current
+ * session file by a background thread, thus {@link #append(List)} neither
+ * blocks on I/O nor encodes events on the caller's thread. The session is
+ * split into generations of about half of the configured maximum number of
+ * bytes each. Once the current generation is full, the previous one is
+ * deleted and a new one is started, which retains at least the most recent
+ * half of the maximum. Events exceeding {@link #MAX_PENDING} are not
+ * persisted, since the session must not exhaust the heap.
+ * </p>
+ *
+ * <p>
+ * Upon creation, the receiver maps the most recent session files found in its
+ * directory into memory and indexes their records, verifying each record's
+ * checksum. Restoring even millions of events thus takes a fraction of a
+ * second, the restored events being decoded on demand via
+ * {@link #getRestored(int)}. Restored files are never written to, subsequent
+ * events are appended to a new generation instead. They are deleted once the
+ * restored events are {@link #releaseRestored() released}, thus the session
+ * files may take up twice the maximum number of bytes until then. A truncated
+ * or corrupted record, e.g. of a crashed workbench, cuts off its generation.
+ * </p>
+ *
+ * <p>
+ * Note: {@link #getRestored(int)} may be called concurrently, all other
+ * methods are expected to be called by a single thread at a time.
+ * </p>
+ */
+public class LogEventSession implements Closeable {
+
+	/**
+	 * The magic number identifying session files.
+	 */
+	private static final int MAGIC = 0x4C345653;
+
+	/**
+	 * The version of the session file format.
+	 */
+	private static final int VERSION = 2;
+
+	/**
+	 * The number of bytes of a session file's header.
+	 */
+	private static final int HEADER_SIZE = 8;
+
+	/**
+	 * The number of bytes preceding a record, i.e. its length and checksum.
+	 */
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	/**
+	 * The suffix of session files, which are named after their generation.
+	 */
+	private static final String SUFFIX = ".session";
+
+	/**
+	 * The maximum number of events waiting to be written, further events are
+	 * not persisted rather than exhausting the heap.
+	 */
+	private static final int MAX_PENDING = 1 << 18;
+
+	/**
+	 * @see #getDirectory()
+	 */
+	private final Path _directory;
+
+	/**
+	 * The maximum number of bytes of a single generation.
+	 */
+	private final long _generationSize;
+
+	/**
+	 * The {@link LogEventCodec} to encode and decode events with.
+	 */
+	private final LogEventCodec _codec;
+
+	/**
+	 * The {@link BiConsumer} to notify about write errors.
+	 */
+	private final BiConsumer<String, Throwable> _errorListener;
+
+	/**
+	 * The single thread writing the session files.
+	 */
+	private final ExecutorService _writer;
+
+	/**
+	 * The number of events submitted but not written yet.
+	 */
+	private final AtomicInteger _pending = new AtomicInteger();
+
+	/**
+	 * The generations restored upon creation, oldest first.
+	 */
+	private volatile List<Generation> _restored;
+
+	/**
+	 * @see #getRestoredSize()
+	 */
+	private final int _restoredSize;
+
+	/**
+	 * The generation number of the first session file created by the
+	 * receiver, preceding ones are restored generations.
+	 */
+	private final long _firstGeneration;
+
+	/**
+	 * The generation number of the current session file.
+	 */
+	private long _generation;
+
+	/**
+	 * The {@link FileChannel} of the current session file or {@code null} if
+	 * writing failed.
+	 */
+	private FileChannel _channel;
+
+	/**
+	 * The buffer of records to write.
+	 */
+	private ByteBuffer _buffer = ByteBuffer.allocate(1 << 16);
+
+	/**
+	 * The {@link CRC32} to compute the checksums of written records with.
+	 */
+	private final CRC32 _crc = new CRC32();
+
+	/**
+	 * Create a {@link LogEventSession} restoring the events of the session
+	 * files in the given directory and appending subsequent events to them.
+	 *
+	 * @param directory     see {@link #getDirectory()}
+	 * @param maxBytes      the maximum number of bytes of all session files
+	 * @param errorListener the {@link BiConsumer} to notify about write errors,
+	 *                      after which events are no longer persisted
+	 * @throws IllegalArgumentException if the given maximum is less than
+	 *                                  {@code 1 << 10} or a single generation
+	 *                                  would exceed {@link Integer#MAX_VALUE}
+	 * @throws NullPointerException     if the given directory or listener is
+	 *                                  {@code null}
+	 * @throws IOException              if the session files could not be read
+	 *                                  or created
+	 */
+	public LogEventSession(final Path directory, final long maxBytes, final BiConsumer<String, Throwable> errorListener)
+			throws IllegalArgumentException, NullPointerException, IOException {
+		if (maxBytes < 1 << 10 || maxBytes / 2 > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid maximum number of bytes: " + maxBytes);
+		}
+
+		_directory = Files.createDirectories(Objects.requireNonNull(directory));
+		_generationSize = maxBytes / 2;
+		_codec = LogEventCodec.getDefault();
+		_errorListener = Objects.requireNonNull(errorListener);
+
+		// restore the most recent generations up to the maximum number of
+		// bytes and discard older, empty and invalid ones
+		final List<Long> generations = listGenerations();
+		final List<Generation> restored = new ArrayList<>();
+		long restoredBytes = 0;
+		for (int i = generations.size() - 1; i >= 0; i--) {
+			final Path path = getPath(generations.get(i));
+			final Generation generation = restoredBytes < maxBytes ? Generation.restore(path) : null;
+			if (generation != null && generation.getSize() > 0) {
+				restored.addFirst(generation);
+				restoredBytes += generation._records.limit();
+			} else {
+				delete(path);
+			}
+		}
+		_restored = restored;
+		_restoredSize = restored.stream().mapToInt(Generation::getSize).sum();
+
+		// never write to the mapped files, which may even contain a truncated
+		// record, but start a new generation
+		_firstGeneration = generations.isEmpty() ? 0 : generations.getLast() + 1;
+		_generation = _firstGeneration;
+		_channel = create(getPath(_generation));
+
+		_writer = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("log4j-viewer-session").daemon().factory());
+	}
+
+	/**
+	 * @return the directory containing the receiver's session files
+	 */
+	public Path getDirectory() {
+		return _directory;
+	}
+
+	/**
+	 * @return the number of events restored upon creation
+	 */
+	public int getRestoredSize() {
+		return _restored.isEmpty() ? 0 : _restoredSize;
+	}
+
+	/**
+	 * @param index the zero based index of a restored event (zero is the
+	 *              oldest)
+	 * @return the decoded {@link LogEvent} at the given index
+	 * @throws IndexOutOfBoundsException if the given index is invalid
+	 * @throws UncheckedIOException      if the event's record is corrupted
+	 */
+	public LogEvent getRestored(final int index) throws IndexOutOfBoundsException, UncheckedIOException {
+		int offset = Objects.checkIndex(index, getRestoredSize());
+		for (final Generation generation : _restored) {
+			if (offset < generation.getSize()) {
+				try {
+					return _codec.decode(generation.get(offset));
+				} catch (final IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}
+			offset -= generation.getSize();
+		}
+		throw new IndexOutOfBoundsException(index);
+	}
+
+	/**
+	 * Release the restored events, which are no longer required, and delete
+	 * their session files in the background.
+	 */
+	public void releaseRestored() {
+		final List<Generation> restored = _restored;
+		_restored = List.of();
+		if (!restored.isEmpty()) {
+			_writer.execute(() -> restored.forEach(generation -> delete(generation._path)));
+		}
+	}
+
+	/**
+	 * Persist the given {@link LogEvent}s in the background. If too many events
+	 * are waiting to be written already, the given events are not persisted.
+	 *
+	 * @param events the {@link LogEvent}s to persist in the order given
+	 */
+	public void append(final List<LogEvent> events) {
+		if (_pending.addAndGet(events.size()) > MAX_PENDING) {
+			_pending.addAndGet(-events.size());
+			return;
+		}
+
+		final List<LogEvent> copy = List.copyOf(events);
+		_writer.execute(() -> {
+			try {
+				write(copy);
+			} finally {
+				_pending.addAndGet(-copy.size());
+			}
+		});
+	}
+
+	/**
+	 * Delete all session files in the background. Subsequently appended events
+	 * are written to a new session file.
+	 */
+	public void clear() {
+		releaseRestored();
+		_writer.execute(() -> {
+			try {
+				closeChannel();
+				for (final long generation : listGenerations()) {
+					delete(getPath(generation));
+				}
+				_channel = create(getPath(++_generation));
+			} catch (final IOException ex) {
+				fail(ex);
+			}
+		});
+	}
+
+	/**
+	 * Wait until all events appended so far have been written.
+	 *
+	 * @throws InterruptedException if the current thread was interrupted while
+	 *                              waiting
+	 */
+	public void flush() throws InterruptedException {
+		try {
+			_writer.submit(() -> {}).get();
+		} catch (final ExecutionException ex) {
+			// cannot happen for an empty task
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Write all pending events and close the current session file.
+	 */
+	@Override
+	public void close() {
+		_writer.shutdown();
+		try {
+			_writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		closeChannel();
+
+		// retain the session files of restored events which were not released
+		_restored = List.of();
+	}
+
+	/**
+	 * Note: this method is called by the writer thread only.
+	 *
+	 * @param events the {@link LogEvent}s to write to the current session file
+	 */
+	private void write(final List<LogEvent> events) {
+		if (_channel == null) {
+			return;
+		}
+
+		try {
+			for (final LogEvent event : events) {
+				final byte[] record = _codec.encode(event);
+				if (_buffer.remaining() < RECORD_HEADER_SIZE + record.length) {
+					drain();
+					if (_buffer.capacity() < RECORD_HEADER_SIZE + record.length) {
+						_buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + record.length);
+					}
+				}
+				_crc.reset();
+				_crc.update(record);
+				_buffer.putInt(record.length).putInt((int) _crc.getValue()).put(record);
+			}
+			drain();
+		} catch (final IOException ex) {
+			fail(ex);
+		}
+	}
+
+	/**
+	 * Write the buffered records to the current session file, starting a new
+	 * generation once it is full. Restored generations are deleted by
+	 * {@link #releaseRestored()} only, since their events may still be shown.
+	 *
+	 * @throws IOException if the records could not be written
+	 */
+	private void drain() throws IOException {
+		_buffer.flip();
+		while (_buffer.hasRemaining()) {
+			_channel.write(_buffer);
+		}
+		_buffer.clear();
+
+		if (_channel.position() >= _generationSize) {
+			closeChannel();
+			if (_generation > _firstGeneration) {
+				delete(getPath(_generation - 1));
+			}
+			_channel = create(getPath(++_generation));
+		}
+	}
+
+	/**
+	 * Stop persisting events after the given error and notify the error
+	 * listener.
+	 *
+	 * @param ex the {@link IOException} which occurred
+	 */
+	private void fail(final IOException ex) {
+		closeChannel();
+		_buffer.clear();
+		_errorListener.accept("Failed to write the session, subsequent events are not persisted.", ex);
+	}
+
+	/**
+	 * Close the current session file, ignoring errors.
+	 */
+	private void closeChannel() {
+		if (_channel != null) {
+			try {
+				_channel.close();
+			} catch (final IOException ex) {
+				// the written records remain readable up to the last complete one
+			}
+			_channel = null;
+		}
+	}
+
+	/**
+	 * @return the generation numbers of the session files in the receiver's
+	 *         directory in ascending order
+	 * @throws IOException if the directory could not be listed
+	 */
+	private List<Long> listGenerations() throws IOException {
+		try (final Stream<Path> files = Files.list(_directory)) {
+			return files.map(path -> path.getFileName().toString())
+					.filter(name -> name.endsWith(SUFFIX))
+					.map(name -> name.substring(0, name.length() - SUFFIX.length()))
+					.filter(name -> !name.isEmpty() && name.chars().allMatch(Character::isDigit) && name.length() < 19)
+					.map(Long::valueOf)
+					.sorted()
+					.toList();
+		}
+	}
+
+	/**
+	 * @param generation a generation number
+	 * @return the path of the given generation's session file
+	 */
+	private Path getPath(final long generation) {
+		return _directory.resolve(generation + SUFFIX);
+	}
+
+	/**
+	 * Delete the given session file. Files which are still mapped and cannot
+	 * be deleted on this platform are deleted when the VM exits.
+	 *
+	 * @param path the path of the session file to delete
+	 */
+	private static void delete(final Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (final IOException ex) {
+			path.toFile().deleteOnExit();
+		}
+	}
+
+	/**
+	 * @param path the path of the session file to create
+	 * @return the {@link FileChannel} to append records to the new file
+	 * @throws IOException if the file could not be created
+	 */
+	private static FileChannel create(final Path path) throws IOException {
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+		try {
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			return channel;
+		} catch (final IOException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * A restored session file mapped into memory together with the offsets of
+	 * its records.
+	 */
+	private static final class Generation {
+
+		/**
+		 * The path of the session file.
+		 */
+		private final Path _path;
+
+		/**
+		 * The mapped session file.
+		 */
+		private final MappedByteBuffer _records;
+
+		/**
+		 * The offsets of the records in {@link #_records}.
+		 */
+		private final int[] _offsets;
+
+		/**
+		 * Create a {@link Generation}.
+		 *
+		 * @param path    see {@link #_path}
+		 * @param records see {@link #_records}
+		 * @param offsets see {@link #_offsets}
+		 */
+		private Generation(final Path path, final MappedByteBuffer records, final int[] offsets) {
+			_path = path;
+			_records = records;
+			_offsets = offsets;
+		}
+
+		/**
+		 * @return the number of records
+		 */
+		int getSize() {
+			return _offsets.length;
+		}
+
+		/**
+		 * @param index the index of the record
+		 * @return a copy of the record at the given index
+		 */
+		byte[] get(final int index) {
+			final int offset = _offsets[index];
+			final byte[] record = new byte[_records.getInt(offset)];
+			_records.get(offset + RECORD_HEADER_SIZE, record);
+			return record;
+		}
+
+		/**
+		 * @param path the path of the session file to restore
+		 * @return the restored {@link Generation} or {@code null} if the given
+		 *         file is no (complete) session file
+		 * @throws IOException if the file could not be read
+		 */
+		static Generation restore(final Path path) throws IOException {
+			final MappedByteBuffer records;
+			try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+					return null;
+				}
+				records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			if (records.getInt(0) != MAGIC || records.getInt(4) != VERSION) {
+				return null;
+			}
+
+			// index the records up to the first truncated or corrupted one
+			final CRC32 crc = new CRC32();
+			int[] offsets = new int[1 << 10];
+			int count = 0;
+			int offset = HEADER_SIZE;
+			while (records.limit() - offset >= RECORD_HEADER_SIZE) {
+				final int length = records.getInt(offset);
+				if (length < 0 || length > records.limit() - offset - RECORD_HEADER_SIZE) {
+					break;
+				}
+				crc.reset();
+				crc.update(records.slice(offset + RECORD_HEADER_SIZE, length));
+				if ((int) crc.getValue() != records.getInt(offset + 4)) {
+					break;
+				}
+				if (count == offsets.length) {
+					offsets = Arrays.copyOf(offsets, 2 * count);
+				}
+				offsets[count++] = offset;
+				offset += RECORD_HEADER_SIZE + length;
+			}
+			return new Generation(path, records, Arrays.copyOf(offsets, count));
+		}
+	}
+}
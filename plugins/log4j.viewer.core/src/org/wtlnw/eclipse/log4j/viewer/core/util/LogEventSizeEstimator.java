@@ -0,0 +1,151 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ExtendedStackTraceElement;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LazyLogEvent;
+
+/**
+ * Instances of this class estimate the number of heap bytes retained by
+ * {@link LogEvent}s, which allows buffers to evict events by their size rather
+ * than by their number.
+ *
+ * <p>
+ * The estimate is meant to be cheap rather than exact: it accounts for the
+ * event itself, its formatted message, its throwable, its context data and its
+ * source location. Logger and thread names are not accounted for, since they
+ * are typically shared by many events (see {@link StringPool}). Properties of
+ * {@link LazyLogEvent}s which have not been decoded yet are accounted for by
+ * their raw bytes, so that estimating does not decode them. Throwables are
+ * accounted for by each event carrying them, even if they are shared, which
+ * makes the estimate an upper bound.
+ * </p>
+ */
+public class LogEventSizeEstimator {
+
+	/**
+	 * The estimated number of bytes retained by a {@link LogEvent} in addition
+	 * to its properties, i.e. the event, its instant and its message object.
+	 */
+	public static final int EVENT_OVERHEAD = 160;
+
+	/**
+	 * The estimated number of bytes retained by a {@link String} in addition to
+	 * its characters, i.e. the headers and fields of the string and its array.
+	 */
+	public static final int STRING_OVERHEAD = 40;
+
+	/**
+	 * The estimated number of bytes retained by an array in addition to its
+	 * elements.
+	 */
+	public static final int ARRAY_OVERHEAD = 16;
+
+	/**
+	 * The estimated number of bytes retained by a single context data entry in
+	 * addition to the characters of its key and value.
+	 */
+	public static final int ENTRY_OVERHEAD = 2 * STRING_OVERHEAD + 16;
+
+	/**
+	 * The estimated number of bytes retained by a {@link StackTraceElement}
+	 * representing a source location.
+	 */
+	public static final int SOURCE_OVERHEAD = 128;
+
+	/**
+	 * The estimated number of bytes retained by a {@link ThrowableProxy} in
+	 * addition to its frames.
+	 */
+	public static final int PROXY_OVERHEAD = 96;
+
+	/**
+	 * The estimated number of bytes retained by a single
+	 * {@link ExtendedStackTraceElement} including its {@link StackTraceElement}
+	 * and class information.
+	 */
+	public static final int FRAME_OVERHEAD = 128;
+
+	/**
+	 * @see #getDefault()
+	 */
+	private static final LogEventSizeEstimator DEFAULT = new LogEventSizeEstimator();
+
+	/**
+	 * @return the {@link LogEventSizeEstimator} to be used by default
+	 */
+	public static LogEventSizeEstimator getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * @param event the {@link LogEvent} to estimate the size of
+	 * @return the estimated number of bytes retained by the given event
+	 */
+	public long estimate(final LogEvent event) {
+		final Message message = event.getMessage();
+		final String text = message != null ? message.getFormattedMessage() : null;
+		long size = EVENT_OVERHEAD + (text != null ? STRING_OVERHEAD + text.length() : 0);
+
+		if (event instanceof LazyLogEvent lazy) {
+			// account for undecoded properties without decoding them
+			final long encoded = lazy.getEncodedSize();
+			return size + (encoded > 0 ? ARRAY_OVERHEAD + encoded : 0);
+		}
+
+		final ThrowableProxy thrown = event.getThrownProxy();
+		if (thrown != null) {
+			size += estimate(thrown);
+		}
+
+		final ReadOnlyStringMap contextData = event.getContextData();
+		if (contextData != null && !contextData.isEmpty()) {
+			final long[] entries = { 0 };
+			contextData.forEach((key, value) -> entries[0] += ENTRY_OVERHEAD + key.length() + (value != null ? value.toString().length() : 0));
+			size += entries[0];
+		}
+
+		if (event.getSource() != null) {
+			size += SOURCE_OVERHEAD;
+		}
+
+		return size;
+	}
+
+	/**
+	 * @param proxy the {@link ThrowableProxy} to estimate the size of
+	 * @return the estimated number of bytes retained by the given proxy
+	 *         including its causes and suppressed throwables
+	 */
+	public static long estimate(final ThrowableProxy proxy) {
+		final ExtendedStackTraceElement[] frames = proxy.getExtendedStackTrace();
+		long size = PROXY_OVERHEAD + (frames != null ? (long) FRAME_OVERHEAD * frames.length : 0);
+		if (proxy.getCauseProxy() != null) {
+			size += estimate(proxy.getCauseProxy());
+		}
+
+		final ThrowableProxy[] suppressed = proxy.getSuppressedProxies();
+		if (suppressed != null) {
+			for (final ThrowableProxy other : suppressed) {
+				size += estimate(other);
+			}
+		}
+		return size;
+	}
+}
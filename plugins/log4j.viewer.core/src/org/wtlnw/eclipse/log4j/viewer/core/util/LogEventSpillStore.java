@@ -0,0 +1,466 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventCodec;
+
+/**
+ * Instances of this class keep {@link LogEvent}s evicted from an in-memory
+ * buffer in append-only segment files, which allows retaining a history far
+ * larger than the heap.
+ *
+ * <p>
+ * Events are encoded by a {@link LogEventCodec} and appended to the current
+ * segment, a data file mapped into memory via {@link FileChannel#map}. The
+ * offset of each record is written to the segment's index file, which is
+ * mapped as well, so that the heap retains a few bytes per segment only,
+ * regardless of the number of events. Events are addressed by sequence numbers
+ * which are expected to be contiguous, e.g. those of
+ * {@link LogEventColumnStore#getSequence(int)}. Once the segments exceed the
+ * configured maximum number of bytes, the oldest segment is deleted. Segment
+ * files found in the directory upon creation, e.g. of a crashed workbench, are
+ * deleted, thus a fixed directory may be used across restarts.
+ * </p>
+ *
+ * <p>
+ * If a segment cannot be written, e.g. because the disk is full, all segments
+ * are deleted and subsequent events are discarded, since the history would
+ * have a gap otherwise.
+ * </p>
+ *
+ * <p>
+ * Note: this class is not thread-safe. Make sure to synchronize access for
+ * reading/writing where necessary. Reading only does not modify the receiver,
+ * thus concurrent readers do not need to be synchronized with each other.
+ * </p>
+ */
+public class LogEventSpillStore implements Closeable {
+
+	/**
+	 * The default number of bytes of a single segment.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+
+	/**
+	 * The minimum number of bytes of a single record, which determines the size
+	 * of the index files.
+	 */
+	private static final int MIN_RECORD_SIZE = 64;
+
+	/**
+	 * @see #getDirectory()
+	 */
+	private final Path _directory;
+
+	/**
+	 * @see #getMaxBytes()
+	 */
+	private final long _maxBytes;
+
+	/**
+	 * The number of bytes of a single segment.
+	 */
+	private final int _segmentSize;
+
+	/**
+	 * The {@link LogEventCodec} to encode and decode events with.
+	 */
+	private final LogEventCodec _codec;
+
+	/**
+	 * The retained segments, oldest first.
+	 */
+	private final List<Segment> _segments = new ArrayList<>();
+
+	/**
+	 * The number of segments created so far, which names the next one.
+	 */
+	private long _created = 0;
+
+	/**
+	 * @see #getFirstSequence()
+	 */
+	private long _firstSequence = 0;
+
+	/**
+	 * @see #getNextSequence()
+	 */
+	private long _nextSequence = 0;
+
+	/**
+	 * {@code true} if writing failed and events are discarded.
+	 */
+	private boolean _failed = false;
+
+	/**
+	 * Create a {@link LogEventSpillStore}.
+	 *
+	 * @param directory   see {@link #getDirectory()}
+	 * @param maxBytes    see {@link #getMaxBytes()}
+	 * @param segmentSize the number of bytes of a single segment
+	 * @throws IllegalArgumentException if the given segment size is less than
+	 *                                  {@code 1 << 10} or the given maximum is
+	 *                                  less than the segment size
+	 * @throws IOException              if the directory could not be created
+	 *                                  or listed
+	 */
+	public LogEventSpillStore(final Path directory, final long maxBytes, final int segmentSize) throws IllegalArgumentException, IOException {
+		if (segmentSize < 1 << 10) {
+			throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+		}
+		if (maxBytes < segmentSize) {
+			throw new IllegalArgumentException("Invalid maximum number of bytes: " + maxBytes);
+		}
+
+		_directory = Files.createDirectories(Objects.requireNonNull(directory));
+		_maxBytes = maxBytes;
+		_segmentSize = segmentSize;
+		_codec = LogEventCodec.getDefault();
+
+		// segments left behind by a crashed workbench are never read again
+		deleteStaleSegments();
+	}
+
+	/**
+	 * @return the directory containing the receiver's segment files
+	 */
+	public Path getDirectory() {
+		return _directory;
+	}
+
+	/**
+	 * @return the maximum number of bytes of all segments, the oldest segment
+	 *         is deleted once it is exceeded
+	 */
+	public long getMaxBytes() {
+		return _maxBytes;
+	}
+
+	/**
+	 * @return the sequence number of the oldest retained event
+	 */
+	public long getFirstSequence() {
+		return _firstSequence;
+	}
+
+	/**
+	 * @return the sequence number of the next event to append
+	 */
+	public long getNextSequence() {
+		return _nextSequence;
+	}
+
+	/**
+	 * @return the number of retained events
+	 */
+	public long getSize() {
+		return _nextSequence - _firstSequence;
+	}
+
+	/**
+	 * @return the number of bytes of all retained segments on disk
+	 */
+	public long getRetainedBytes() {
+		long bytes = 0;
+		for (final Segment segment : _segments) {
+			bytes += segment._records.capacity() + segment._offsets.capacity();
+		}
+		return bytes;
+	}
+
+	/**
+	 * Append the given {@link LogEvent}.
+	 *
+	 * @param sequence the sequence number of the given event, which must be
+	 *                 {@link #getNextSequence()} unless the receiver is empty
+	 * @param event    the {@link LogEvent} to append
+	 * @throws IllegalArgumentException if the given sequence number does not
+	 *                                  follow the previous one
+	 * @throws UncheckedIOException     if the event could not be written, in
+	 *                                  which case the receiver is cleared and
+	 *                                  discards all subsequent events
+	 */
+	public void append(final long sequence, final LogEvent event) throws IllegalArgumentException, UncheckedIOException {
+		if (getSize() == 0) {
+			_firstSequence = _nextSequence = sequence;
+		} else if (sequence != _nextSequence) {
+			throw new IllegalArgumentException("Invalid sequence: " + sequence);
+		}
+
+		if (_failed) {
+			_firstSequence = ++_nextSequence;
+			return;
+		}
+
+		try {
+			final byte[] record = _codec.encode(event);
+			Segment segment = _segments.isEmpty() ? null : _segments.getLast();
+			if (segment == null || !segment.fits(record.length)) {
+				segment = createSegment(record.length);
+			}
+			segment.append(record);
+			_nextSequence++;
+		} catch (final IOException ex) {
+			// discard the history rather than keeping it with a gap
+			_failed = true;
+			deleteSegments();
+			_firstSequence = ++_nextSequence;
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * @param sequence the sequence number of the {@link LogEvent} to read
+	 * @return the decoded {@link LogEvent} with the given sequence number or
+	 *         {@code null} if it is not retained (anymore)
+	 * @throws UncheckedIOException if the event's record is corrupted
+	 */
+	public LogEvent get(final long sequence) throws UncheckedIOException {
+		if (sequence < _firstSequence || sequence >= _nextSequence) {
+			return null;
+		}
+
+		// segments are few, thus searching them in reverse is cheap and
+		// finds recent events first
+		for (int i = _segments.size() - 1; i >= 0; i--) {
+			final Segment segment = _segments.get(i);
+			if (sequence >= segment._firstSequence) {
+				try {
+					return _codec.decode(segment.get((int) (sequence - segment._firstSequence)));
+				} catch (final IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Delete all segments. Subsequent events may start at any sequence number.
+	 */
+	public void clear() {
+		deleteSegments();
+		_firstSequence = _nextSequence;
+		_failed = false;
+	}
+
+	/**
+	 * Delete all segments and the receiver's directory if it is empty.
+	 */
+	@Override
+	public void close() {
+		clear();
+		try {
+			Files.deleteIfExists(_directory);
+		} catch (final IOException ex) {
+			// the directory contains other files or is still in use
+		}
+	}
+
+	/**
+	 * Delete the segment files found in the receiver's directory. New segments
+	 * are numbered after them, since files which cannot be deleted on this
+	 * platform remain until the VM exits.
+	 *
+	 * @throws IOException if the directory could not be listed
+	 */
+	private void deleteStaleSegments() throws IOException {
+		final List<Path> stale;
+		try (final Stream<Path> files = Files.list(_directory)) {
+			stale = files.filter(path -> {
+				final String name = path.getFileName().toString();
+				return name.endsWith(".seg") || name.endsWith(".idx");
+			}).toList();
+		}
+
+		for (final Path path : stale) {
+			final String name = path.getFileName().toString();
+			final String id = name.substring(0, name.length() - 4);
+			if (!id.isEmpty() && id.length() < 19 && id.chars().allMatch(Character::isDigit)) {
+				_created = Math.max(_created, Long.parseLong(id) + 1);
+			}
+			try {
+				Files.deleteIfExists(path);
+			} catch (final IOException ex) {
+				path.toFile().deleteOnExit();
+			}
+		}
+	}
+
+	/**
+	 * Create a new segment, deleting the oldest ones as necessary in order not
+	 * to exceed {@link #getMaxBytes()}.
+	 *
+	 * @param length the length of the record to append to the new segment
+	 * @return the new {@link Segment}
+	 * @throws IOException if the segment's files could not be created
+	 */
+	private Segment createSegment(final int length) throws IOException {
+		final long records = Math.max(_segmentSize, 4L + length);
+		final long offsets = 4L * (records / MIN_RECORD_SIZE);
+		while (!_segments.isEmpty() && getRetainedBytes() + records + offsets > _maxBytes) {
+			final Segment oldest = _segments.removeFirst();
+			oldest.delete();
+			_firstSequence = _segments.isEmpty() ? _nextSequence : _segments.getFirst()._firstSequence;
+		}
+
+		final long id = _created++;
+		final Segment segment = new Segment(_directory.resolve(id + ".seg"), _directory.resolve(id + ".idx"), records, offsets, _nextSequence);
+		_segments.add(segment);
+		return segment;
+	}
+
+	/**
+	 * Delete all segments.
+	 */
+	private void deleteSegments() {
+		for (final Segment segment : _segments) {
+			segment.delete();
+		}
+		_segments.clear();
+	}
+
+	/**
+	 * A data file of records together with the index file of their offsets.
+	 */
+	private static final class Segment {
+
+		/**
+		 * The path of the data file.
+		 */
+		private final Path _recordsPath;
+
+		/**
+		 * The path of the index file.
+		 */
+		private final Path _offsetsPath;
+
+		/**
+		 * The mapped data file, each record is prefixed by its length.
+		 */
+		private final MappedByteBuffer _records;
+
+		/**
+		 * The mapped index file containing the records' offsets.
+		 */
+		private final MappedByteBuffer _offsets;
+
+		/**
+		 * The sequence number of the segment's first record.
+		 */
+		private final long _firstSequence;
+
+		/**
+		 * The number of records in the segment.
+		 */
+		private int _count = 0;
+
+		/**
+		 * The offset in {@link #_records} to append the next record at.
+		 */
+		private int _position = 0;
+
+		/**
+		 * Create a {@link Segment}.
+		 *
+		 * @param recordsPath   the path of the data file
+		 * @param offsetsPath   the path of the index file
+		 * @param records       the size of the data file
+		 * @param offsets       the size of the index file
+		 * @param firstSequence the sequence number of the first record
+		 * @throws IOException if the files could not be created or mapped
+		 */
+		Segment(final Path recordsPath, final Path offsetsPath, final long records, final long offsets, final long firstSequence) throws IOException {
+			_recordsPath = recordsPath;
+			_offsetsPath = offsetsPath;
+			_records = map(recordsPath, records);
+			_offsets = map(offsetsPath, offsets);
+			_firstSequence = firstSequence;
+		}
+
+		/**
+		 * @param length the length of a record
+		 * @return {@code true} if a record of the given length fits into the
+		 *         receiver
+		 */
+		boolean fits(final int length) {
+			return _position + 4L + length <= _records.capacity() && 4L * (_count + 1) <= _offsets.capacity();
+		}
+
+		/**
+		 * @param record the record to append
+		 */
+		void append(final byte[] record) {
+			_records.putInt(_position, record.length);
+			_records.put(_position + 4, record);
+			_offsets.putInt(4 * _count, _position);
+			_position += 4 + record.length;
+			_count++;
+		}
+
+		/**
+		 * @param index the index of the record within the receiver
+		 * @return a copy of the record at the given index
+		 */
+		byte[] get(final int index) {
+			final int offset = _offsets.getInt(4 * Objects.checkIndex(index, _count));
+			final byte[] record = new byte[_records.getInt(offset)];
+			_records.get(offset + 4, record);
+			return record;
+		}
+
+		/**
+		 * Delete the receiver's files. Files which are still mapped and cannot be
+		 * deleted on this platform are deleted when the VM exits.
+		 */
+		void delete() {
+			for (final Path path : List.of(_recordsPath, _offsetsPath)) {
+				try {
+					Files.deleteIfExists(path);
+				} catch (final IOException ex) {
+					path.toFile().deleteOnExit();
+				}
+			}
+		}
+
+		/**
+		 * @param path the path of the file to create and map
+		 * @param size the size of the file
+		 * @return the file mapped into memory for reading and writing
+		 * @throws IOException if the file could not be created or mapped
+		 */
+		private static MappedByteBuffer map(final Path path, final long size) throws IOException {
+			try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+					StandardOpenOption.WRITE, StandardOpenOption.SPARSE)) {
+				// the mapping remains valid after closing the channel
+				return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			}
+		}
+	}
+}
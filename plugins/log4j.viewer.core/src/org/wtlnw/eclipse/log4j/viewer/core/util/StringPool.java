@@ -0,0 +1,243 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.core.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.core.LogEvent;
+
+/**
+ * Instances of this class deduplicate the strings of decoded {@link LogEvent}s
+ * which are likely to repeat, e.g. logger names, thread names and context data
+ * keys, so that retained events share a single instance of each.
+ *
+ * <p>
+ * The pool is bounded: once {@link #getCapacity()} distinct strings are
+ * pooled, further strings are returned as they are. If less than half of the
+ * calls since the pool was last checked were hits, e.g. because the strings
+ * logged have changed, the pool is emptied to make room for the current ones.
+ * Retained events may then keep instances of an earlier generation. It is safe
+ * to be used by multiple threads concurrently, suppliers of all connections
+ * are expected to use the {@link #getDefault() default} pool.
+ * </p>
+ */
+public class StringPool {
+
+	/**
+	 * The default maximum number of distinct strings to pool.
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+
+	/**
+	 * The estimated number of bytes retained by a {@link String} in addition to
+	 * its characters, i.e. the headers and fields of the string and its array.
+	 */
+	private static final int STRING_OVERHEAD = 40;
+
+	/**
+	 * The minimum number of calls to {@link #intern(String)} between two checks
+	 * of the hit rate of a full pool.
+	 */
+	private static final int MIN_WINDOW = 1 << 10;
+
+	/**
+	 * @see #getDefault()
+	 */
+	private static final StringPool DEFAULT = new StringPool(DEFAULT_CAPACITY);
+
+	/**
+	 * The pooled strings mapped to themselves.
+	 */
+	private final ConcurrentHashMap<String, String> _strings = new ConcurrentHashMap<>();
+
+	/**
+	 * @see #getCapacity()
+	 */
+	private final int _capacity;
+
+	/**
+	 * @see #getHits()
+	 */
+	private final LongAdder _hits = new LongAdder();
+
+	/**
+	 * @see #getMisses()
+	 */
+	private final LongAdder _misses = new LongAdder();
+
+	/**
+	 * @see #getSavedBytes()
+	 */
+	private final LongAdder _savedBytes = new LongAdder();
+
+	/**
+	 * The number of hits since the hit rate was last checked.
+	 */
+	private final LongAdder _windowHits = new LongAdder();
+
+	/**
+	 * The number of misses since the hit rate was last checked.
+	 */
+	private final LongAdder _windowMisses = new LongAdder();
+
+	/**
+	 * Create a {@link StringPool}.
+	 *
+	 * @param capacity see {@link #getCapacity()}
+	 * @throws IllegalArgumentException if the given capacity is negative
+	 */
+	public StringPool(final int capacity) throws IllegalArgumentException {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+
+		_capacity = capacity;
+	}
+
+	/**
+	 * @return the {@link StringPool} shared by all event suppliers
+	 */
+	public static StringPool getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * @param string the {@link String} to deduplicate, may be {@code null}
+	 * @return the pooled instance equal to the given string or the given string
+	 *         itself if it was not pooled before
+	 */
+	public String intern(final String string) {
+		if (string == null) {
+			return null;
+		}
+
+		final String pooled = _strings.get(string);
+		if (pooled != null) {
+			return hit(pooled);
+		}
+
+		if (_strings.size() < _capacity) {
+			// another thread may have pooled the string in the meantime
+			final String previous = _strings.putIfAbsent(string, string);
+			if (previous != null) {
+				return hit(previous);
+			}
+		} else {
+			evictIfIneffective();
+		}
+
+		_misses.increment();
+		_windowMisses.increment();
+		return string;
+	}
+
+	/**
+	 * Count a call to {@link #intern(String)} returning a pooled instance.
+	 *
+	 * @param pooled the pooled instance to return
+	 * @return the given instance
+	 */
+	private String hit(final String pooled) {
+		_hits.increment();
+		_windowHits.increment();
+		_savedBytes.add(STRING_OVERHEAD + pooled.length());
+		return pooled;
+	}
+
+	/**
+	 * Empty the full pool if less than half of the calls to
+	 * {@link #intern(String)} since the last check were hits.
+	 */
+	private void evictIfIneffective() {
+		final long hits = _windowHits.sum();
+		final long misses = _windowMisses.sum();
+		if (hits + misses >= Math.max(_capacity, MIN_WINDOW)) {
+			_windowHits.reset();
+			_windowMisses.reset();
+			if (misses > hits) {
+				_strings.clear();
+			}
+		}
+	}
+
+	/**
+	 * @return the maximum number of distinct strings to pool
+	 */
+	public int getCapacity() {
+		return _capacity;
+	}
+
+	/**
+	 * @return the number of distinct strings currently pooled
+	 */
+	public int getSize() {
+		return _strings.size();
+	}
+
+	/**
+	 * @return the number of calls to {@link #intern(String)} which returned a
+	 *         pooled instance, including those which lost the race to pool
+	 *         the string to another thread
+	 */
+	public long getHits() {
+		return _hits.sum();
+	}
+
+	/**
+	 * @return the number of calls to {@link #intern(String)} with a non-null
+	 *         string which was not pooled yet
+	 */
+	public long getMisses() {
+		return _misses.sum();
+	}
+
+	/**
+	 * @return the ratio of {@link #getHits()} to all calls to
+	 *         {@link #intern(String)} with a non-null string or {@code 0} if
+	 *         there were none
+	 */
+	public double getHitRate() {
+		final long hits = getHits();
+		final long total = hits + getMisses();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * @return the estimated number of bytes saved by returning pooled instances
+	 *         rather than retaining duplicates, assuming compact (Latin-1)
+	 *         strings
+	 */
+	public long getSavedBytes() {
+		return _savedBytes.sum();
+	}
+
+	/**
+	 * Remove all pooled strings and reset the statistics.
+	 */
+	public void clear() {
+		_strings.clear();
+		_hits.reset();
+		_misses.reset();
+		_savedBytes.reset();
+		_windowHits.reset();
+		_windowMisses.reset();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d strings pooled, hit rate %.1f%%, %d bytes saved", getSize(), getHitRate() * 100, getSavedBytes());
+	}
+}
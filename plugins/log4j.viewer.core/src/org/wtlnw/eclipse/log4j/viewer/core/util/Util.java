@@ -14,11 +14,20 @@
 
 package org.wtlnw.eclipse.log4j.viewer.core.util;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
 import java.time.ZoneId;
 import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.TrustManagerFactory;
+
 import org.apache.logging.log4j.core.LogEvent;
 
 /**
@@ -33,4 +42,53 @@ public class Util {
 			.withChronology(IsoChronology.INSTANCE)
 			.withLocale(Locale.getDefault())
 			.withZone(ZoneId.systemDefault());
+
+	/**
+	 * The maximum number of TLS sessions to cache for resumption.
+	 */
+	public static final int SSL_SESSION_CACHE_SIZE = 1 << 12;
+
+	/**
+	 * The time in seconds after which cached TLS sessions expire.
+	 */
+	public static final int SSL_SESSION_TIMEOUT = 60 * 60;
+
+	/**
+	 * Create an {@link SSLContext} for servers accepting TLS connections.
+	 * 
+	 * <p>
+	 * The context's {@link SSLSessionContext} caches sessions in order to allow
+	 * clients reconnecting e.g. after a restart to resume their previous session
+	 * rather than performing a full handshake.
+	 * </p>
+	 * 
+	 * @param keyStore           the key store containing the server's key and
+	 *                           certificate
+	 * @param keyStorePassword   the password of the given key store and its keys
+	 * @param trustStore         the trust store containing the certificates of
+	 *                           trusted clients or {@code null} to use the
+	 *                           default trust store
+	 * @param trustStorePassword the password of the given trust store or
+	 *                           {@code null}
+	 * @return the new {@link SSLContext}
+	 * @throws IOException              if a store could not be read
+	 * @throws GeneralSecurityException if a store is invalid or the context could
+	 *                                  not be initialized
+	 */
+	public static SSLContext createSslContext(final Path keyStore, final char[] keyStorePassword, final Path trustStore, final char[] trustStorePassword) throws IOException, GeneralSecurityException {
+		final KeyManagerFactory keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keys.init(KeyStore.getInstance(keyStore.toFile(), keyStorePassword), keyStorePassword);
+
+		final TrustManagerFactory trust = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		trust.init(trustStore != null ? KeyStore.getInstance(trustStore.toFile(), trustStorePassword) : null);
+
+		final SSLContext context = SSLContext.getInstance("TLS");
+		context.init(keys.getKeyManagers(), trust.getTrustManagers(), null);
+
+		final SSLSessionContext sessions = context.getServerSessionContext();
+		sessions.setSessionCacheSize(SSL_SESSION_CACHE_SIZE);
+		sessions.setSessionTimeout(SSL_SESSION_TIMEOUT);
+
+		return context;
+	}
 }
@@ -27,16 +27,134 @@ public interface LogViewerPreferenceConstants {
 	String PORT = "port";
 
 	/**
-	 * The timeout in milliseconds to block for when listening
-	 * for incoming connection requests or data for.
+	 * The timeout in milliseconds to wait for connection handlers
+	 * to terminate gracefully when stopping the server.
 	 */
 	String TIMEOUT = "timeout";
 
 	/**
-	 * The number of entries to be displayed in the log event view.
+	 * The name of the strategy to be used for handling accepted connections.
+	 */
+	String MODE = "mode";
+
+	/**
+	 * The number of threads decoding the events of a single connection in
+	 * parallel or zero to decode them sequentially.
+	 */
+	String PARSER_THREADS = "parser-threads";
+
+	/**
+	 * The maximum number of events per connection which have been received but
+	 * not displayed yet.
+	 */
+	String QUEUE = "queue";
+
+	/**
+	 * The name of the strategy to be used when a connection's queue is full.
+	 */
+	String OVERFLOW = "overflow";
+
+	/**
+	 * The name of the level below which events are dropped first when a
+	 * connection's queue is full.
+	 */
+	String OVERFLOW_LEVEL = "overflow-level";
+
+	/**
+	 * The maximum number of concurrently open connections.
+	 */
+	String CONNECTIONS = "connections";
+
+	/**
+	 * The maximum number of concurrently open connections per remote host.
+	 */
+	String CONNECTIONS_PER_HOST = "connections-per-host";
+
+	/**
+	 * The flag indicating whether to receive events sent as UDP datagrams.
+	 */
+	String DATAGRAM = "datagram";
+
+	/**
+	 * The flag indicating whether to accept TCP connections.
+	 */
+	String TCP = "tcp";
+
+	/**
+	 * The path of the Unix domain socket to accept connections on or an empty
+	 * string.
+	 */
+	String SOCKET_PATH = "socket-path";
+
+	/**
+	 * The flag indicating whether to accept TLS connections only.
+	 */
+	String SSL = "ssl";
+
+	/**
+	 * The path of the key store containing the server's key and certificate.
+	 */
+	String SSL_KEYSTORE = "ssl-keystore";
+
+	/**
+	 * The password of the key store and its keys, which is kept in the secure
+	 * storage (see {@link SecurePasswordFieldEditor}).
+	 */
+	String SSL_KEYSTORE_PASSWORD = "ssl-keystore-password";
+
+	/**
+	 * The path of the trust store containing the certificates of trusted clients,
+	 * clients are required to authenticate themselves if set.
+	 */
+	String SSL_TRUSTSTORE = "ssl-truststore";
+
+	/**
+	 * The password of the trust store, which is kept in the secure storage (see
+	 * {@link SecurePasswordFieldEditor}).
+	 */
+	String SSL_TRUSTSTORE_PASSWORD = "ssl-truststore-password";
+
+	/**
+	 * The maximum number of entries to be displayed in the log event view.
 	 */
 	String BUFFER = "buffer";
 
+	/**
+	 * The maximum number of megabytes the entries displayed in the log event
+	 * view are estimated to retain.
+	 */
+	String BUFFER_BUDGET = "buffer-budget";
+
+	/**
+	 * The maximum number of megabytes of compressed memory for entries evicted
+	 * from the event buffer, which remain displayed in the log event view, or
+	 * {@code 0} not to compress them.
+	 */
+	String COMPRESSED_SIZE = "compressed-size";
+
+	/**
+	 * The flag indicating whether to keep entries evicted from the event buffer
+	 * on disk, which remain displayed in the log event view.
+	 */
+	String SPILL = "spill";
+
+	/**
+	 * The maximum number of megabytes of disk space for entries evicted from
+	 * the event buffer.
+	 */
+	String SPILL_SIZE = "spill-size";
+
+	/**
+	 * The flag indicating whether to persist captured entries, which are
+	 * restored when the log event view is opened again.
+	 */
+	String SESSION = "session";
+
+	/**
+	 * The maximum number of megabytes of disk space for persisted entries.
+	 */
+	String SESSION_SIZE = "session-size";
+
 	/**
 	 * The flag indicating whether to automatically start listening
 	 * for incoming events when the log event view is opened.
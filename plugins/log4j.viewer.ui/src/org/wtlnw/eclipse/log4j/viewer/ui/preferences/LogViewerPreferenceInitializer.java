@@ -14,10 +14,12 @@
 
 package org.wtlnw.eclipse.log4j.viewer.ui.preferences;
 
+import org.apache.logging.log4j.Level;
 import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.preference.PreferenceConverter;
 import org.eclipse.swt.graphics.RGB;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventServer;
 import org.wtlnw.eclipse.log4j.viewer.ui.Activator;
 
 /**
@@ -31,7 +33,26 @@ public class LogViewerPreferenceInitializer extends AbstractPreferenceInitialize
 		
 		store.setDefault(LogViewerPreferenceConstants.PORT, 4445);
 		store.setDefault(LogViewerPreferenceConstants.TIMEOUT, 500);
-		store.setDefault(LogViewerPreferenceConstants.BUFFER, 1 << 12);
+		store.setDefault(LogViewerPreferenceConstants.MODE, LogEventServer.Mode.BLOCKING.name());
+		store.setDefault(LogViewerPreferenceConstants.PARSER_THREADS, 0);
+		store.setDefault(LogViewerPreferenceConstants.QUEUE, 1 << 13);
+		store.setDefault(LogViewerPreferenceConstants.OVERFLOW, LogEventServer.OverflowPolicy.BLOCK.name());
+		store.setDefault(LogViewerPreferenceConstants.OVERFLOW_LEVEL, Level.WARN.name());
+		store.setDefault(LogViewerPreferenceConstants.CONNECTIONS, 1 << 10);
+		store.setDefault(LogViewerPreferenceConstants.CONNECTIONS_PER_HOST, 1 << 10);
+		store.setDefault(LogViewerPreferenceConstants.DATAGRAM, false);
+		store.setDefault(LogViewerPreferenceConstants.TCP, true);
+		store.setDefault(LogViewerPreferenceConstants.SOCKET_PATH, "");
+		store.setDefault(LogViewerPreferenceConstants.SSL, false);
+		store.setDefault(LogViewerPreferenceConstants.SSL_KEYSTORE, "");
+		store.setDefault(LogViewerPreferenceConstants.SSL_TRUSTSTORE, "");
+		store.setDefault(LogViewerPreferenceConstants.BUFFER, 1 << 16);
+		store.setDefault(LogViewerPreferenceConstants.BUFFER_BUDGET, 1 << 6);
+		store.setDefault(LogViewerPreferenceConstants.COMPRESSED_SIZE, 1 << 6);
+		store.setDefault(LogViewerPreferenceConstants.SPILL, false);
+		store.setDefault(LogViewerPreferenceConstants.SPILL_SIZE, 1 << 10);
+		store.setDefault(LogViewerPreferenceConstants.SESSION, false);
+		store.setDefault(LogViewerPreferenceConstants.SESSION_SIZE, 1 << 8);
 		store.setDefault(LogViewerPreferenceConstants.AUTOSTART, true);
 		
 		PreferenceConverter.setDefault(store, LogViewerPreferenceConstants.COLOR_DEBUG, new RGB(0, 0, 0));
@@ -14,13 +14,18 @@
 
 package org.wtlnw.eclipse.log4j.viewer.ui.preferences;
 
+import org.apache.logging.log4j.Level;
 import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.ColorFieldEditor;
+import org.eclipse.jface.preference.ComboFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.FileFieldEditor;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.preference.IntegerFieldEditor;
+import org.eclipse.jface.preference.StringFieldEditor;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventServer;
 import org.wtlnw.eclipse.log4j.viewer.ui.Activator;
 import org.wtlnw.eclipse.log4j.viewer.ui.views.LogViewerPart;
 
@@ -46,8 +51,61 @@ public class LogViewerPreferencePage extends FieldEditorPreferencePage implement
 	public void createFieldEditors() {
 		addField(new IntegerFieldEditor(LogViewerPreferenceConstants.PORT, "Server &port: ", getFieldEditorParent()));
 		addField(new IntegerFieldEditor(LogViewerPreferenceConstants.TIMEOUT, "Server &timeout [ms]: ", getFieldEditorParent()));
+		addField(new ComboFieldEditor(LogViewerPreferenceConstants.MODE, "Server &mode: ", new String[][] {
+			{ "Thread per connection", LogEventServer.Mode.BLOCKING.name() },
+			{ "Selector event loops", LogEventServer.Mode.SELECTOR.name() }
+		}, getFieldEditorParent()));
+		final IntegerFieldEditor parsers = new IntegerFieldEditor(LogViewerPreferenceConstants.PARSER_THREADS, "Parser threads (0 = sequential): ", getFieldEditorParent());
+		parsers.setValidRange(0, Integer.MAX_VALUE);
+		addField(parsers);
+		final IntegerFieldEditor queue = new IntegerFieldEditor(LogViewerPreferenceConstants.QUEUE, "Connection &queue: ", getFieldEditorParent());
+		queue.setValidRange(1, Integer.MAX_VALUE);
+		addField(queue);
+		addField(new ComboFieldEditor(LogViewerPreferenceConstants.OVERFLOW, "&Overflow policy: ", new String[][] {
+			{ "Block sender", LogEventServer.OverflowPolicy.BLOCK.name() },
+			{ "Drop oldest events", LogEventServer.OverflowPolicy.DROP_OLDEST.name() },
+			{ "Drop newest events", LogEventServer.OverflowPolicy.DROP_NEWEST.name() },
+			{ "Drop events below level", LogEventServer.OverflowPolicy.DROP_BELOW_LEVEL.name() }
+		}, getFieldEditorParent()));
+		addField(new ComboFieldEditor(LogViewerPreferenceConstants.OVERFLOW_LEVEL, "Drop &level: ", new String[][] {
+			{ "Debug", Level.DEBUG.name() },
+			{ "Info", Level.INFO.name() },
+			{ "Warning", Level.WARN.name() },
+			{ "Error", Level.ERROR.name() },
+			{ "Fatal", Level.FATAL.name() }
+		}, getFieldEditorParent()));
+		final IntegerFieldEditor connections = new IntegerFieldEditor(LogViewerPreferenceConstants.CONNECTIONS, "Max. &connections: ", getFieldEditorParent());
+		connections.setValidRange(1, Integer.MAX_VALUE);
+		addField(connections);
+		final IntegerFieldEditor connectionsPerHost = new IntegerFieldEditor(LogViewerPreferenceConstants.CONNECTIONS_PER_HOST, "Max. TCP connections per &host: ", getFieldEditorParent());
+		connectionsPerHost.setValidRange(1, Integer.MAX_VALUE);
+		addField(connectionsPerHost);
+		addField(new BooleanFieldEditor(LogViewerPreferenceConstants.TCP, "Accept TCP connections", getFieldEditorParent()));
+		addField(new StringFieldEditor(LogViewerPreferenceConstants.SOCKET_PATH, "Unix domain socket path: ", getFieldEditorParent()));
+		addField(new BooleanFieldEditor(LogViewerPreferenceConstants.DATAGRAM, "Receive &UDP datagrams", getFieldEditorParent()));
+		addField(new BooleanFieldEditor(LogViewerPreferenceConstants.SSL, "Accept TLS connections o&nly", getFieldEditorParent()));
+		addField(new FileFieldEditor(LogViewerPreferenceConstants.SSL_KEYSTORE, "&Key store: ", getFieldEditorParent()));
+		addField(new SecurePasswordFieldEditor(LogViewerPreferenceConstants.SSL_KEYSTORE_PASSWORD, "Key store pa&ssword: ", getFieldEditorParent()));
+		addField(new FileFieldEditor(LogViewerPreferenceConstants.SSL_TRUSTSTORE, "T&rust store: ", getFieldEditorParent()));
+		addField(new SecurePasswordFieldEditor(LogViewerPreferenceConstants.SSL_TRUSTSTORE_PASSWORD, "Trust store password: ", getFieldEditorParent()));
 		addField(new BooleanFieldEditor(LogViewerPreferenceConstants.AUTOSTART, "Server &autostart", getFieldEditorParent()));
 		addField(new IntegerFieldEditor(LogViewerPreferenceConstants.BUFFER, "Event &buffer: ", getFieldEditorParent()));
+		final IntegerFieldEditor budget = new IntegerFieldEditor(LogViewerPreferenceConstants.BUFFER_BUDGET, "Event buffer budget [MB]: ", getFieldEditorParent());
+		budget.setValidRange(1, Integer.MAX_VALUE);
+		addField(budget);
+		final IntegerFieldEditor compressed = new IntegerFieldEditor(LogViewerPreferenceConstants.COMPRESSED_SIZE, "Compressed history size [MB] (0 = off): ", getFieldEditorParent());
+		compressed.setValidRange(0, Integer.MAX_VALUE);
+		addField(compressed);
+		addField(new BooleanFieldEditor(LogViewerPreferenceConstants.SPILL, "Keep e&victed events on disk", getFieldEditorParent()));
+		final IntegerFieldEditor spill = new IntegerFieldEditor(LogViewerPreferenceConstants.SPILL_SIZE, "Disk history size [MB]: ", getFieldEditorParent());
+		spill.setValidRange(1, Integer.MAX_VALUE);
+		addField(spill);
+		addField(new BooleanFieldEditor(LogViewerPreferenceConstants.SESSION, "Restore captured events on restart", getFieldEditorParent()));
+
+		// a session generation, i.e. half the session, must fit into a mapped buffer
+		final IntegerFieldEditor session = new IntegerFieldEditor(LogViewerPreferenceConstants.SESSION_SIZE, "Session size [MB]: ", getFieldEditorParent());
+		session.setValidRange(1, (1 << 12) - 1);
+		addField(session);
 		
 		addField(new ColorFieldEditor(LogViewerPreferenceConstants.COLOR_DEBUG, "&Debug color: ", getFieldEditorParent()));
 		addField(new ColorFieldEditor(LogViewerPreferenceConstants.COLOR_INFO, "&Info color: ", getFieldEditorParent()));
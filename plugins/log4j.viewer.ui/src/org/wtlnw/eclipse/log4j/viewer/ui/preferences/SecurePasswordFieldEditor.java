@@ -0,0 +1,130 @@
+/********************************************************************************
+ * Copyright (c) 2025 wtlnw and contributors
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Apache Software License 2.0
+ * which is available at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR Apache-2.0
+ ********************************************************************************/
+
+package org.wtlnw.eclipse.log4j.viewer.ui.preferences;
+
+import java.io.IOException;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.equinox.security.storage.ISecurePreferences;
+import org.eclipse.equinox.security.storage.SecurePreferencesFactory;
+import org.eclipse.equinox.security.storage.StorageException;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.preference.StringFieldEditor;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Text;
+import org.wtlnw.eclipse.log4j.viewer.ui.Activator;
+
+/**
+ * {@link StringFieldEditor} implementation for passwords, which are kept
+ * encrypted in the Eclipse secure storage rather than in the plug-in's
+ * preference store and are not revealed while being entered.
+ */
+public class SecurePasswordFieldEditor extends StringFieldEditor {
+
+	/**
+	 * Create a {@link SecurePasswordFieldEditor}.
+	 *
+	 * @param name   the name of the password, see {@link #getPassword(String)}
+	 * @param label  the label of the field editor
+	 * @param parent the parent {@link Composite} of the field editor's controls
+	 */
+	public SecurePasswordFieldEditor(final String name, final String label, final Composite parent) {
+		super(name, label, parent);
+		getTextControl(parent).setEchoChar('*');
+	}
+
+	/**
+	 * Read a password from the secure storage. A password still kept in clear
+	 * text by the plug-in's preference store is moved to the secure storage.
+	 *
+	 * @param name the name of the password
+	 * @return the password with the given name or an empty string if not set
+	 * @throws StorageException if the secure storage could not be read or
+	 *                          written
+	 */
+	public static String getPassword(final String name) throws StorageException {
+		final IPreferenceStore store = Activator.getInstance().getPreferenceStore();
+		if (store.contains(name)) {
+			final String password = store.getString(name);
+			store.setToDefault(name);
+			if (getNode().get(name, null) == null) {
+				setPassword(name, password);
+			}
+		}
+		return getNode().get(name, "");
+	}
+
+	/**
+	 * Store a password in the secure storage.
+	 *
+	 * @param name     the name of the password
+	 * @param password the password to store encrypted or an empty string to
+	 *                 remove it
+	 * @throws StorageException if the secure storage could not be written
+	 */
+	public static void setPassword(final String name, final String password) throws StorageException {
+		final ISecurePreferences node = getNode();
+		if (password.isEmpty()) {
+			node.remove(name);
+		} else {
+			node.put(name, password, true);
+		}
+
+		try {
+			node.flush();
+		} catch (final IOException ex) {
+			throw new StorageException(StorageException.INTERNAL_ERROR, ex);
+		}
+	}
+
+	/**
+	 * @return the {@link ISecurePreferences} node of this plug-in
+	 */
+	private static ISecurePreferences getNode() {
+		return SecurePreferencesFactory.getDefault().node(Activator.getInstance().getBundle().getSymbolicName());
+	}
+
+	@Override
+	protected void doLoad() {
+		final Text text = getTextControl();
+		if (text != null) {
+			try {
+				text.setText(getPassword(getPreferenceName()));
+			} catch (final StorageException ex) {
+				Platform.getLog(getClass()).error("Failed to read a password from the secure storage.", ex);
+			}
+			oldValue = text.getText();
+		}
+	}
+
+	@Override
+	protected void doLoadDefault() {
+		final Text text = getTextControl();
+		if (text != null) {
+			text.setText("");
+		}
+		valueChanged();
+	}
+
+	@Override
+	public void store() {
+		// the preference store neither keeps the password nor its default
+		try {
+			setPassword(getPreferenceName(), getStringValue());
+		} catch (final StorageException ex) {
+			Platform.getLog(getClass()).error("Failed to write a password to the secure storage.", ex);
+		}
+	}
+}
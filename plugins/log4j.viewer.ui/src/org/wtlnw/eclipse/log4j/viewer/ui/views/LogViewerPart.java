@@ -18,15 +18,23 @@ import static org.eclipse.swt.events.SelectionListener.widgetSelectedAdapter;
 
 import java.io.EOFException;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.impl.ThrowableProxy;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.equinox.security.storage.StorageException;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IMenuCreator;
 import org.eclipse.jface.action.IMenuManager;
@@ -67,15 +75,22 @@ import org.eclipse.ui.IViewSite;
 import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.part.ViewPart;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventBatchConsumer;
+import org.wtlnw.eclipse.log4j.viewer.core.api.LogEventSupplierFactory;
 import org.wtlnw.eclipse.log4j.viewer.core.filter.LogEventFilter;
 import org.wtlnw.eclipse.log4j.viewer.core.filter.LogEventProperty;
 import org.wtlnw.eclipse.log4j.viewer.core.filter.LogEventPropertyFilter;
 import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventServer;
 import org.wtlnw.eclipse.log4j.viewer.core.impl.LogEventSupplierRegistry;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventSession;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventSpillStore;
+import org.wtlnw.eclipse.log4j.viewer.core.util.StringPool;
+import org.wtlnw.eclipse.log4j.viewer.core.util.Util;
 import org.wtlnw.eclipse.log4j.viewer.ui.Activator;
 import org.wtlnw.eclipse.log4j.viewer.ui.dialogs.LogEventDetailDialog;
 import org.wtlnw.eclipse.log4j.viewer.ui.dialogs.LogEventFilterDialog;
 import org.wtlnw.eclipse.log4j.viewer.ui.preferences.LogViewerPreferenceConstants;
+import org.wtlnw.eclipse.log4j.viewer.ui.preferences.SecurePasswordFieldEditor;
 
 /**
  * A {@link ViewPart} implementation displaying log4j event entries.
@@ -93,6 +108,8 @@ public class LogViewerPart extends ViewPart {
 	private Table _table;
 	private LogEventServer _server;
 	private LogViewerTableModel _model;
+	private LogEventSpillStore _spill;
+	private LogEventSession _session;
 
 	private Action _runAction;
 	private Action _pauseAction;
@@ -148,12 +165,31 @@ public class LogViewerPart extends ViewPart {
 		
 		final int port = _prefs.getInt(LogViewerPreferenceConstants.PORT);
 		final int timeout = _prefs.getInt(LogViewerPreferenceConstants.TIMEOUT);
-		_server = new LogEventServer(port, timeout, new LogEventSupplierRegistry().getFactories(), e -> {
-			// refresh paused, ignore the event
+		final LogEventBatchConsumer consumer = events -> {
+			// refresh paused, ignore the events
 			if (!_pauseAction.isChecked()) {
-				_model.put(e);
+				_model.putAll(events);
 			}
-		});
+		};
+		final LogEventSupplierRegistry registry = new LogEventSupplierRegistry();
+		final List<LogEventSupplierFactory> factories = registry.getFactories();
+		_server = new LogEventServer(port, timeout, factories, consumer);
+		_server.setSupplierSignatures(registry.getSignatures(factories));
+		_server.setMode(LogEventServer.Mode.valueOf(_prefs.getString(LogViewerPreferenceConstants.MODE)));
+		_server.setParserThreads(_prefs.getInt(LogViewerPreferenceConstants.PARSER_THREADS));
+		_server.setQueueCapacity(_prefs.getInt(LogViewerPreferenceConstants.QUEUE));
+		_server.setOverflowPolicy(LogEventServer.OverflowPolicy.valueOf(_prefs.getString(LogViewerPreferenceConstants.OVERFLOW)));
+		_server.setDropLevel(Level.valueOf(_prefs.getString(LogViewerPreferenceConstants.OVERFLOW_LEVEL)));
+		_server.setMaxConnections(_prefs.getInt(LogViewerPreferenceConstants.CONNECTIONS));
+		_server.setMaxConnectionsPerHost(_prefs.getInt(LogViewerPreferenceConstants.CONNECTIONS_PER_HOST));
+		_server.setDatagramEnabled(_prefs.getBoolean(LogViewerPreferenceConstants.DATAGRAM));
+		_server.setTcpEnabled(_prefs.getBoolean(LogViewerPreferenceConstants.TCP));
+		if (!_prefs.getString(LogViewerPreferenceConstants.SOCKET_PATH).isEmpty()) {
+			initSocketPath();
+		}
+		if (_prefs.getBoolean(LogViewerPreferenceConstants.SSL)) {
+			initSsl();
+		}
 		_server.addErrorListener((msg, ex) -> {
 			final ILog log = Platform.getLog(getClass());
 
@@ -169,8 +205,112 @@ public class LogViewerPart extends ViewPart {
 				break;
 			}
 		});
+
+		// report the effect of deduplicating strings whenever capturing stops
+		_server.addServerListener(running -> {
+			if (!running) {
+				Platform.getLog(getClass()).info("Event server stopped, " + StringPool.getDefault() + ".");
+			}
+		});
 	}
 	
+	/**
+	 * Configure the server to accept connections on the Unix domain socket
+	 * defined in the preferences.
+	 * 
+	 * @throws PartInitException if the socket path is invalid
+	 */
+	private void initSocketPath() throws PartInitException {
+		try {
+			_server.setSocketPath(Path.of(_prefs.getString(LogViewerPreferenceConstants.SOCKET_PATH)));
+		} catch (final InvalidPathException ex) {
+			throw new PartInitException("Invalid Unix domain socket path.", ex);
+		}
+	}
+
+	/**
+	 * Create the {@link LogEventSpillStore} keeping events evicted from the
+	 * event buffer in a fixed directory within this bundle's state location,
+	 * which replaces the stale segments of a previous run. Failures are logged
+	 * and leave the spill store disabled, since events can be displayed
+	 * without it.
+	 */
+	private void initSpill() {
+		final long size = _prefs.getInt(LogViewerPreferenceConstants.SPILL_SIZE) * (1L << 20);
+		try {
+			final Path directory = Activator.getInstance().getStateLocation().toPath().resolve("spill");
+			deleteLegacySpill(directory);
+			_spill = new LogEventSpillStore(directory, size, (int) Math.min(LogEventSpillStore.DEFAULT_SEGMENT_SIZE, size / 4));
+		} catch (final IOException | IllegalArgumentException ex) {
+			Platform.getLog(getClass()).error("Failed to initialize the disk history, evicted events are discarded.", ex);
+		}
+	}
+
+	/**
+	 * Delete the {@code events-*} directories created within the given spill
+	 * directory by previous versions, one per opened view, ignoring failures.
+	 *
+	 * @param directory the spill directory
+	 */
+	private static void deleteLegacySpill(final Path directory) {
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+
+		try (final Stream<Path> legacy = Files.list(directory)) {
+			for (final Path dir : legacy.filter(path -> path.getFileName().toString().startsWith("events-") && Files.isDirectory(path)).toList()) {
+				try (final Stream<Path> files = Files.list(dir)) {
+					for (final Path file : files.toList()) {
+						Files.deleteIfExists(file);
+					}
+				}
+				Files.deleteIfExists(dir);
+			}
+		} catch (final IOException ex) {
+			// the stale files are retried the next time
+		}
+	}
+
+	/**
+	 * Create the {@link LogEventSession} persisting captured events in this
+	 * bundle's state location, restoring the events of the previous session.
+	 * Failures are logged and leave the session disabled, since events can be
+	 * displayed without it.
+	 */
+	private void initSession() {
+		final long size = _prefs.getInt(LogViewerPreferenceConstants.SESSION_SIZE) * (1L << 20);
+		try {
+			_session = new LogEventSession(Activator.getInstance().getStateLocation().toPath().resolve("session"), size,
+					(message, ex) -> Platform.getLog(getClass()).error(message, ex));
+		} catch (final IOException | IllegalArgumentException ex) {
+			Platform.getLog(getClass()).error("Failed to restore the session, captured events are not persisted.", ex);
+		}
+	}
+
+	/**
+	 * Configure the server to accept TLS connections only using the key and trust
+	 * stores defined in the preferences, whose passwords are read from the secure
+	 * storage.
+	 * 
+	 * @throws PartInitException if the stores could not be loaded
+	 */
+	private void initSsl() throws PartInitException {
+		final String trustStore = _prefs.getString(LogViewerPreferenceConstants.SSL_TRUSTSTORE);
+		try {
+			_server.setSslContext(Util.createSslContext(
+					Path.of(_prefs.getString(LogViewerPreferenceConstants.SSL_KEYSTORE)),
+					SecurePasswordFieldEditor.getPassword(LogViewerPreferenceConstants.SSL_KEYSTORE_PASSWORD).toCharArray(),
+					trustStore.isEmpty() ? null : Path.of(trustStore),
+					SecurePasswordFieldEditor.getPassword(LogViewerPreferenceConstants.SSL_TRUSTSTORE_PASSWORD).toCharArray()));
+		} catch (final IOException | GeneralSecurityException | InvalidPathException | StorageException ex) {
+			// do not fall back to plain connections silently
+			throw new PartInitException("Failed to initialize TLS, check the key and trust store settings.", ex);
+		}
+
+		// clients must authenticate themselves when a dedicated trust store is given
+		_server.setSslClientAuth(!trustStore.isEmpty());
+	}
+
 	@Override
 	public void createPartControl(final Composite parent) {
 		// initialize the color registry
@@ -270,7 +410,15 @@ public class LogViewerPart extends ViewPart {
 		}));
 		
 		// initialize the model BEFORE starting the server
-		_model = new LogViewerTableModel(_table, _prefs.getInt(LogViewerPreferenceConstants.BUFFER), _filter);
+		if (_prefs.getBoolean(LogViewerPreferenceConstants.SPILL)) {
+			initSpill();
+		}
+		if (_prefs.getBoolean(LogViewerPreferenceConstants.SESSION)) {
+			initSession();
+		}
+		_model = new LogViewerTableModel(_table, _prefs.getInt(LogViewerPreferenceConstants.BUFFER),
+				_prefs.getInt(LogViewerPreferenceConstants.BUFFER_BUDGET),
+				_prefs.getInt(LogViewerPreferenceConstants.COMPRESSED_SIZE), _spill, _session, _filter);
 		
 		createActions();
 		fillContextMenu();
@@ -601,6 +749,12 @@ public class LogViewerPart extends ViewPart {
 		
 		// stop listening to preference changes
 		if (_prefs != null) _prefs.removePropertyChangeListener(_prefListener); 
+
+		// delete the disk history
+		if (_spill != null) _spill.close();
+
+		// write the pending events of the session
+		if (_session != null) _session.close();
 		
 		// lastly, do whatever the super-class does
 		super.dispose();
@@ -14,17 +14,34 @@
 
 package org.wtlnw.eclipse.log4j.viewer.ui.views;
 
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
 
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Table;
 import org.wtlnw.eclipse.log4j.viewer.core.filter.LogEventFilter;
-import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventRingBuffer;
+import org.wtlnw.eclipse.log4j.viewer.core.impl.ThrowableStore;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventColumnStore;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventCompressedStore;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventSession;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventSizeEstimator;
+import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventSpillStore;
 
 /**
  * Instances of this class represent a thread-safe model for the virtual
@@ -32,6 +49,12 @@ import org.wtlnw.eclipse.log4j.viewer.core.util.LogEventRingBuffer;
  */
 public class LogViewerTableModel {
 
+	/**
+	 * The number of events re-filtered by a {@link FilterJob} per acquisition of
+	 * the read lock.
+	 */
+	private static final int FILTER_CHUNK_SIZE = 1 << 12;
+
 	/**
 	 * The {@link ReadWriteLock} to be used for synchronized access to the
 	 * underlying event buffers.
@@ -44,16 +67,60 @@ public class LogViewerTableModel {
     private final Table _table;
     
 	/**
-	 * The {@link LogEventRingBuffer} instance containing unfiltered
-	 * {@link LogEvent}s.
+	 * @see #getThrowableStore()
+	 */
+    private final ThrowableStore _throwables = new ThrowableStore();
+
+	/**
+	 * The {@link LogEventColumnStore} instance containing unfiltered
+	 * {@link LogEvent}s, which releases their throwables upon eviction.
+	 */
+    private final LogEventColumnStore _rawEvents;
+
+	/**
+	 * The {@link LogEventCompressedStore} instance containing the
+	 * {@link LogEvent}s evicted from {@link #_rawEvents} or {@code null} if
+	 * evicted events are spilled or discarded immediately.
+	 */
+    private final LogEventCompressedStore _compressed;
+
+	/**
+	 * The {@link LogEventSpillStore} instance containing the {@link LogEvent}s
+	 * evicted from {@link #_compressed} (or {@link #_rawEvents}) or
+	 * {@code null} if evicted events are discarded.
+	 */
+    private final LogEventSpillStore _spill;
+
+	/**
+	 * The {@link LogEventSession} instance persisting captured
+	 * {@link LogEvent}s or {@code null} if they are not persisted.
+	 */
+    private final LogEventSession _session;
+
+	/**
+	 * The number of {@link LogEvent}s restored from {@link #_session}, which
+	 * precede all captured events with the sequence numbers {@code -_restored}
+	 * to {@code -1}, or {@code 0} if they were discarded.
+	 */
+    private int _restored = 0;
+
+	/**
+	 * The {@link SequenceIndex} instance containing the sequence numbers of
+	 * the filtered {@link LogEvent}s actually displayed in the table.
+	 */
+    private SequenceIndex _tableData = new SequenceIndex();
+
+	/**
+	 * The {@link FilterJob} re-filtering the retained {@link LogEvent}s or
+	 * {@code null} if none is running.
 	 */
-    private final LogEventRingBuffer _rawEvents;
+    private FilterJob _filterJob;
 
 	/**
-	 * The {@link LogEventRingBuffer} instance containing filtered {@link LogEvent}s
-	 * actually displayed in the table.
+	 * {@code true} while {@link #clear()} evicts all events, which are not to
+	 * be spilled.
 	 */
-    private final LogEventRingBuffer _tableData;
+    private boolean _clearing = false;
 
 	/**
 	 * @see #getFilter()
@@ -72,13 +139,37 @@ public class LogViewerTableModel {
 	 * @param table  see {@link #getTable()}
 	 * @param size   the maximum number of captured {@link LogEvent}s to be
 	 *               displayed
+	 * @param budget the maximum number of megabytes the captured
+	 *               {@link LogEvent}s are estimated to retain, the oldest
+	 *               events are evicted once it is exceeded
+	 * @param compressed the maximum number of megabytes of compressed
+	 *               {@link LogEvent}s evicted from the buffer, which remain
+	 *               displayed, or {@code 0} not to compress them
+	 * @param spill  the {@link LogEventSpillStore} to keep evicted
+	 *               {@link LogEvent}s in, which remain displayed, or
+	 *               {@code null} to discard them
+	 * @param session the {@link LogEventSession} to persist captured
+	 *               {@link LogEvent}s in, whose restored events are displayed
+	 *               first, or {@code null} not to persist them
 	 * @param filter see {@link #getFilter()}
 	 */
-	public LogViewerTableModel(final Table table, final int size, final LogEventFilter filter) {
+	public LogViewerTableModel(final Table table, final int size, final int budget, final int compressed,
+			final LogEventSpillStore spill, final LogEventSession session, final LogEventFilter filter) {
 		_table = Objects.requireNonNull(table);
 		_filter = Objects.requireNonNull(filter);
-		_rawEvents = new LogEventRingBuffer(size);
-		_tableData = new LogEventRingBuffer(size);
+		_spill = spill;
+		_session = session;
+		_compressed = compressed > 0 ? new LogEventCompressedStore(compressed * (1L << 20),
+				LogEventCompressedStore.DEFAULT_BLOCK_SIZE, LogEventCompressedStore.DEFAULT_CACHE_SIZE, this::spill) : null;
+		_rawEvents = new LogEventColumnStore(size, budget * (1L << 20), LogEventSizeEstimator.getDefault(), this::evict);
+
+		// display the restored events, which are decoded on demand unless
+		// they need to be filtered
+		if (_session != null && _session.getRestoredSize() > 0) {
+			_restored = _session.getRestoredSize();
+			addMatching(-_restored, 0, this::resolve, -1);
+			_table.setItemCount(_tableData.getSize());
+		}
 	}
 
 	/**
@@ -88,6 +179,14 @@ public class LogViewerTableModel {
 		return _table;
 	}
 
+	/**
+	 * @return the {@link ThrowableStore} sharing the throwables of all captured
+	 *         {@link LogEvent}s, which also reports the distinct throwables
+	 */
+	public ThrowableStore getThrowableStore() {
+		return _throwables;
+	}
+
 	/**
 	 * @return the {@link LogEventFilter} to be used for filtering captured
 	 *         {@link LogEvent}s
@@ -100,48 +199,128 @@ public class LogViewerTableModel {
 	 * Setter for {@link #getFilter()}.
 	 * 
 	 * <p>
+	 * Events captured from now on are filtered right away, while the retained
+	 * events are re-filtered in the background by a {@link Job}, which does not
+	 * keep captured events from being added for more than a chunk of events at
+	 * a time. The table displays the previously filtered events until the job
+	 * is done. Setting another filter in the meantime cancels the job.
+	 * </p>
+	 * 
+	 * <p>
 	 * Note: this method must only be called from the UI thread.
 	 * </p>
 	 *
 	 * @param filter see {@link #getFilter()}
 	 */
     public void setFilter(final LogEventFilter filter) {
-        _filter = Objects.requireNonNull(filter);
+    	Objects.requireNonNull(filter);
 
-        locking(_lock.writeLock(), () -> {
-        	// try to preserve selection
-        	final int oldTableIndex = _table.getSelectionIndex();
-        	final LogEvent oldEvent = oldTableIndex < 0 ? null : getEventAt(oldTableIndex);
-        	int newDataIndex = -1;
+    	final FilterJob job = locking(_lock.writeLock(), () -> {
+    		// putAll() tests all events following the current ones with the new filter
+    		_filter = filter;
+    		cancelFilterJob();
+    		_filterJob = new FilterJob(filter, _rawEvents.getNextSequence());
+    		return _filterJob;
+    	});
+    	job.schedule();
+    }
 
-        	// reset update count and clear table data
-        	_updates = 0;
-        	_tableData.clear();
-
-        	// re-populate table data using the new filter
-        	for (int i = 0; i < _rawEvents.getSize(); i++) {
-        		final LogEvent event = _rawEvents.get(i);
-        		if (_filter.test(event)) {
-        			_tableData.put(event);
-
-        			// the previous selection is still visible -> restore it
-        			if (event == oldEvent) {
-        				newDataIndex = _tableData.getSize() - 1;
-        			}
-        		}
-        	}
+	/**
+	 * Cancel the running {@link FilterJob}, if any.
+	 * 
+	 * <p>
+	 * Note: the caller is expected to hold the write lock.
+	 * </p>
+	 */
+    private void cancelFilterJob() {
+    	if (_filterJob != null) {
+    		_filterJob.cancel();
+    		_filterJob = null;
+    	}
+    }
 
-        	// update the table with new table data
-        	_table.setItemCount(_tableData.getSize());
-        	_table.clearAll();
+	/**
+	 * Add the sequence numbers of the retained {@link LogEvent}s accepted by the
+	 * given {@link LogEventFilter} to the given {@link SequenceIndex}, starting
+	 * with the given sequence number or the oldest retained one if greater, for
+	 * at most {@link #FILTER_CHUNK_SIZE} events.
+	 * 
+	 * <p>
+	 * Note: the caller is expected to hold the read lock.
+	 * </p>
+	 *
+	 * @param matches the {@link SequenceIndex} to add the matching events to
+	 * @param from    the sequence number of the first event to test
+	 * @param end     the sequence number following the last event to test
+	 * @param filter  the {@link LogEventFilter} to test the events with
+	 * @return the sequence number of the first event not tested yet
+	 */
+    private long addMatching(final SequenceIndex matches, final long from, final long end, final LogEventFilter filter) {
+    	// skip the events discarded since the previous chunk
+    	final long first = Math.max(from, _restored > 0 ? -_restored : getFirstSequence());
+    	if (first >= end) {
+    		return end;
+    	}
 
-        	// restore previous selection (if possible)
-        	if (newDataIndex < 0) {
-        		_table.deselectAll();
-        	} else {
-        		_table.select(invert(newDataIndex));
-        	}
-        });
+    	final long next = Math.min(end, first + FILTER_CHUNK_SIZE);
+    	final boolean enabled = filter.isEnabled();
+    	for (long sequence = first; sequence < next; sequence++) {
+    		// read the properties of buffered events from their columns
+    		final int index = _rawEvents.indexOf(sequence);
+    		if (!enabled || (index >= 0 ? filter.test(_rawEvents, index) : filter.test(resolve(sequence)))) {
+    			matches.add(sequence);
+    		}
+    	}
+    	return next;
+    }
+
+	/**
+	 * Display the {@link LogEvent}s re-filtered by the given {@link FilterJob}
+	 * unless it was superseded.
+	 * 
+	 * <p>
+	 * Note: this method must only be called from the UI thread.
+	 * </p>
+	 *
+	 * @param job     the {@link FilterJob} which is done
+	 * @param matches the {@link SequenceIndex} containing the sequence numbers
+	 *                of the matching events preceding {@link FilterJob#_end}
+	 */
+    private void publish(final FilterJob job, final SequenceIndex matches) {
+    	locking(_lock.writeLock(), () -> {
+    		if (_filterJob != job || _table.isDisposed()) {
+    			return;
+    		}
+    		_filterJob = null;
+
+    		// try to preserve selection
+    		final int oldTableIndex = _table.getSelectionIndex();
+    		final long oldSequence = oldTableIndex < 0 ? 0 : _tableData.get(invert(oldTableIndex));
+
+    		// drop the events discarded while filtering and append the ones
+    		// captured in the meantime, which putAll() tested already
+    		final long oldest = _restored > 0 ? -_restored : getFirstSequence();
+    		while (matches.getSize() > 0 && matches.get(0) < oldest) {
+    			matches.removeFirst();
+    		}
+    		for (int i = _tableData.search(job._end); i < _tableData.getSize(); i++) {
+    			matches.add(_tableData.get(i));
+    		}
+
+    		// reset update count and replace the table data
+    		_updates = 0;
+    		_tableData = matches;
+    		_table.setItemCount(_tableData.getSize());
+    		_table.clearAll();
+
+    		// restore previous selection (if possible)
+    		final int newDataIndex = oldTableIndex < 0 ? -1 : _tableData.search(oldSequence);
+    		if (newDataIndex >= 0 && newDataIndex < _tableData.getSize() && _tableData.get(newDataIndex) == oldSequence) {
+    			_table.select(invert(newDataIndex));
+    		} else {
+    			_table.deselectAll();
+    		}
+    	});
     }
 
 	/**
@@ -152,10 +331,115 @@ public class LogViewerTableModel {
 	 * @param row the index of the table row to resolve the appropriate
 	 *            {@link LogEvent} for
 	 * @return the {@link LogEvent} to be displayed by the table row at the given
-	 *         index
+	 *         index, which is not necessarily identical across calls
 	 */
     public LogEvent getEventAt(final int row) {
-        return locking(_lock.readLock(), () -> _tableData.get(invert(row)));
+        return locking(_lock.readLock(), () -> resolve(_tableData.get(invert(row))));
+    }
+
+	/**
+	 * Note: the caller is expected to hold the read lock.
+	 *
+	 * @param sequence the sequence number of a retained {@link LogEvent}
+	 * @return the {@link LogEvent} with the given sequence number read from
+	 *         memory, from the spill store or from the restored session, or a
+	 *         placeholder if its record could not be read
+	 */
+    private LogEvent resolve(final long sequence) {
+    	try {
+    		if (sequence < 0) {
+    			return _session.getRestored((int) (sequence + _restored));
+    		}
+
+    		final int index = _rawEvents.indexOf(sequence);
+    		if (index >= 0) {
+    			return _rawEvents.get(index);
+    		}
+
+    		final LogEvent event = _compressed != null ? _compressed.get(sequence) : null;
+    		return event != null ? event : _spill.get(sequence);
+    	} catch (final UncheckedIOException ex) {
+    		// neither fail displaying nor filtering the table for a single record
+    		return Log4jLogEvent.newBuilder()
+    				.setLevel(Level.ERROR)
+    				.setMessage(new SimpleMessage("Failed to read the event: " + ex.getCause().getMessage()))
+    				.build();
+    	}
+    }
+
+	/**
+	 * Note: the caller is expected to hold the write lock.
+	 *
+	 * @param first       the sequence number of the first event to test
+	 * @param next        the sequence number following the last event to test
+	 * @param events      the {@link LongFunction} resolving sequence numbers
+	 * @param oldSequence the sequence number of the selected event
+	 * @return the index of the selected event in {@link #_tableData} or
+	 *         {@code -1} if it was not added
+	 */
+    private int addMatching(final long first, final long next, final LongFunction<LogEvent> events, final long oldSequence) {
+    	// spare decoding the events if the filter accepts all of them
+    	final boolean enabled = _filter.isEnabled();
+    	int index = -1;
+    	for (long sequence = first; sequence < next; sequence++) {
+    		if (!enabled || _filter.test(events.apply(sequence))) {
+    			_tableData.add(sequence);
+    			if (sequence == oldSequence) {
+    				index = _tableData.getSize() - 1;
+    			}
+    		}
+    	}
+    	return index;
+    }
+
+	/**
+	 * Release the throwable of the given {@link LogEvent} evicted from
+	 * {@link #_rawEvents} and compress or spill the event if enabled.
+	 *
+	 * @param event the evicted {@link LogEvent}
+	 */
+    private void evict(final LogEvent event) {
+    	_throwables.release(event);
+
+    	// the evicted event is still the raw buffer's tail
+    	if (_clearing) {
+    		return;
+    	} else if (_compressed != null) {
+    		_compressed.append(_rawEvents.getSequence(0), event);
+    	} else {
+    		spill(event);
+    	}
+    }
+
+	/**
+	 * Spill the given {@link LogEvent} evicted from {@link #_compressed} (or
+	 * {@link #_rawEvents}) if enabled.
+	 *
+	 * @param event the evicted {@link LogEvent}
+	 */
+    private void spill(final LogEvent event) {
+    	if (_spill != null) {
+    		try {
+    			// the evicted event is still the tail of the store evicting it
+    			_spill.append(_compressed != null ? _compressed.getFirstSequence() : _rawEvents.getSequence(0), event);
+    		} catch (final UncheckedIOException ex) {
+    			Platform.getLog(getClass()).error("Failed to spill evicted events, discarding them.", ex);
+    		}
+    	}
+    }
+
+	/**
+	 * @return the sequence number of the oldest retained captured
+	 *         {@link LogEvent} including the compressed and spilled ones
+	 */
+    private long getFirstSequence() {
+    	if (_spill != null && _spill.getSize() > 0) {
+    		return _spill.getFirstSequence();
+    	}
+    	if (_compressed != null && _compressed.getSize() > 0) {
+    		return _compressed.getFirstSequence();
+    	}
+    	return _rawEvents.getSize() > 0 ? _rawEvents.getSequence(0) : Long.MAX_VALUE;
     }
 
 	/**
@@ -178,16 +462,58 @@ public class LogViewerTableModel {
 	 * @param event the {@link LogEvent} to add
 	 */
     public void put(final LogEvent event) {
-        Objects.requireNonNull(event);
+        putAll(List.of(event));
+    }
+
+	/**
+	 * Add the given {@link LogEvent}s to the receiver asynchronously, acquiring
+	 * the write lock and scheduling a table update only once for the entire batch.
+	 * 
+	 * <p>
+	 * Note: this method is safe to be called from non-UI threads.
+	 * </p>
+	 *
+	 * @param events the {@link LogEvent}s to add in the order they were received
+	 */
+    public void putAll(final List<LogEvent> events) {
+        events.forEach(Objects::requireNonNull);
 
         locking(_lock.writeLock(), () -> {
-        	// always record the raw event
-            _rawEvents.put(event);
+            int visible = 0;
+            for (final LogEvent received : events) {
+            	// always record the raw event sharing equal throwables
+            	final LogEvent event = _throwables.acquire(received);
+                _rawEvents.put(event);
 
-            // update the table if and only if the event is visible
-            if (_filter.test(event)) {
-                _tableData.put(event);
-                _updates++;
+                // the restored events precede all captured ones, thus discard
+                // them as soon as the first captured event is discarded
+                if (_restored > 0 && getFirstSequence() > 0) {
+                	_restored = 0;
+                	_session.releaseRestored();
+                }
+
+                // drop rows whose events have just been discarded
+                final long oldest = _restored > 0 ? -_restored : getFirstSequence();
+                while (_tableData.getSize() > 0 && _tableData.get(0) < oldest) {
+                    _tableData.removeFirst();
+                }
+
+                // update the table if and only if the event is visible,
+                // reading its properties from the columns just written
+                final int index = _rawEvents.getSize() - 1;
+                if (_filter.test(_rawEvents, index)) {
+                    _tableData.add(_rawEvents.getSequence(index));
+                    visible++;
+                }
+            }
+
+            // persist the events in the background in the order recorded
+            if (_session != null) {
+            	_session.append(events);
+            }
+
+            if (visible > 0) {
+                _updates += visible;
 
                 // asynchronously update the table in order to
                 // keep the write lock for as short period of
@@ -206,8 +532,24 @@ public class LogViewerTableModel {
 	 */
     public void clear() {
         locking(_lock.writeLock(), () -> {
+        	cancelFilterJob();
         	_updates = 0;
-            _rawEvents.clear();
+        	_clearing = true;
+        	try {
+        		_rawEvents.clear();
+        	} finally {
+        		_clearing = false;
+        	}
+        	if (_compressed != null) {
+        		_compressed.clear();
+        	}
+        	if (_spill != null) {
+        		_spill.clear();
+        	}
+        	if (_session != null) {
+        		_restored = 0;
+        		_session.clear();
+        	}
             _tableData.clear();
             _table.removeAll();
         });
@@ -226,7 +568,7 @@ public class LogViewerTableModel {
     public void forEach(final Consumer<LogEvent> consumer) {
         locking(_lock.readLock(), () -> {
             for (int i = _tableData.getSize() - 1; i >= 0; i--)  {
-                consumer.accept(_tableData.get(i));
+                consumer.accept(resolve(_tableData.get(i)));
             }
         });
     }
@@ -302,4 +644,189 @@ public class LogViewerTableModel {
     		_updates = 0;
     	}));
     }
+
+	/**
+	 * A {@link Job} re-filtering the retained {@link LogEvent}s, which are
+	 * tested a chunk at a time holding the read lock.
+	 */
+    private class FilterJob extends Job {
+
+    	/**
+    	 * The {@link LogEventFilter} to test the events with.
+    	 */
+    	private final LogEventFilter _jobFilter;
+
+    	/**
+    	 * The sequence number following the last event to test, all subsequent
+    	 * events are tested by {@link LogViewerTableModel#putAll(List)}.
+    	 */
+    	private final long _end;
+
+    	/**
+    	 * The {@link Display} to publish the result on.
+    	 */
+    	private final Display _display;
+
+    	/**
+    	 * Create a {@link FilterJob}.
+    	 *
+    	 * @param filter see {@link #_jobFilter}
+    	 * @param end    see {@link #_end}
+    	 */
+    	FilterJob(final LogEventFilter filter, final long end) {
+    		super("Filtering log events");
+    		_jobFilter = filter;
+    		_end = end;
+    		_display = _table.getDisplay();
+    	}
+
+    	@Override
+    	protected IStatus run(final IProgressMonitor monitor) {
+    		final SequenceIndex matches = new SequenceIndex();
+    		long sequence = Long.MIN_VALUE;
+    		while (sequence < _end) {
+    			if (monitor.isCanceled()) {
+    				return Status.CANCEL_STATUS;
+    			}
+
+    			// release the read lock between chunks in order not to block putAll()
+    			final long from = sequence;
+    			sequence = locking(_lock.readLock(), () -> addMatching(matches, from, _end, _jobFilter));
+    		}
+
+    		if (!_display.isDisposed()) {
+    			_display.asyncExec(() -> publish(this, matches));
+    		}
+    		return Status.OK_STATUS;
+    	}
+    }
+
+	/**
+	 * An ordered list of the sequence numbers of displayed {@link LogEvent}s,
+	 * which are resolved in {@link LogViewerTableModel#_rawEvents},
+	 * {@link LogViewerTableModel#_compressed}, {@link LogViewerTableModel#_spill}
+	 * or {@link LogViewerTableModel#_session} on demand.
+	 *
+	 * <p>
+	 * Contiguous sequence numbers, i.e. those of an unfiltered table, are
+	 * represented by a range, so that a history of millions of spilled events
+	 * does not retain an array of their sequence numbers. The array is only
+	 * materialized once the first gap occurs.
+	 * </p>
+	 */
+    private static class SequenceIndex {
+
+    	/**
+    	 * The first sequence number while the receiver is a range.
+    	 */
+    	private long _first = 0;
+
+    	/**
+    	 * The sequence numbers or {@code null} while the receiver is a range.
+    	 */
+    	private long[] _sequences;
+
+    	/**
+    	 * The index of the first sequence number in {@link #_sequences}.
+    	 */
+    	private int _offset = 0;
+
+    	/**
+    	 * @see #getSize()
+    	 */
+    	private int _size = 0;
+
+    	/**
+    	 * @return the number of sequence numbers retrievable via {@link #get(int)}
+    	 */
+    	int getSize() {
+    		return _size;
+    	}
+
+    	/**
+    	 * Append the given sequence number, which must be greater than all
+    	 * sequence numbers appended before.
+    	 *
+    	 * @param sequence the sequence number to append
+    	 */
+    	void add(final long sequence) {
+    		if (_sequences == null) {
+    			if (_size == 0) {
+    				_first = sequence;
+    				_size = 1;
+    				return;
+    			} else if (sequence == _first + _size) {
+    				_size++;
+    				return;
+    			}
+
+    			// the first gap, materialize the range
+    			_sequences = new long[Math.max(16, 2 * _size)];
+    			for (int i = 0; i < _size; i++) {
+    				_sequences[i] = _first + i;
+    			}
+    		} else if (_offset + _size == _sequences.length) {
+    			// compact the array in place if it is at most half full
+    			final long[] sequences = 2 * _size > _sequences.length ? new long[2 * _size] : _sequences;
+    			System.arraycopy(_sequences, _offset, sequences, 0, _size);
+    			_sequences = sequences;
+    			_offset = 0;
+    		}
+    		_sequences[_offset + _size++] = sequence;
+    	}
+
+    	/**
+    	 * @param index the zero based index (zero is the oldest)
+    	 * @return the sequence number at the given index
+    	 * @throws IndexOutOfBoundsException if the given index is invalid
+    	 */
+    	long get(final int index) throws IndexOutOfBoundsException {
+    		Objects.checkIndex(index, _size);
+    		return _sequences == null ? _first + index : _sequences[_offset + index];
+    	}
+
+    	/**
+    	 * @param sequence the sequence number to search for
+    	 * @return the index of the given sequence number or, if it is not
+    	 *         contained, of the first greater one or {@link #getSize()} if
+    	 *         there is none
+    	 */
+    	int search(final long sequence) {
+    		if (_sequences == null) {
+    			return (int) Math.clamp(sequence - _first, 0, _size);
+    		}
+
+    		int low = 0;
+    		int high = _size;
+    		while (low < high) {
+    			final int mid = (low + high) >>> 1;
+    			if (_sequences[_offset + mid] < sequence) {
+    				low = mid + 1;
+    			} else {
+    				high = mid;
+    			}
+    		}
+    		return low;
+    	}
+
+    	/**
+    	 * Remove the oldest sequence number.
+    	 */
+    	void removeFirst() {
+    		if (_sequences == null) {
+    			_first++;
+    		} else {
+    			_offset++;
+    		}
+    		_size--;
+    	}
+
+    	/**
+    	 * Remove all sequence numbers.
+    	 */
+    	void clear() {
+    		_sequences = null;
+    		_offset = _size = 0;
+    	}
+    }
 }